@@ -33,6 +33,7 @@
 
 package janala;
 
+import janala.campaign.IterationExit;
 import janala.config.Config;
 import janala.interpreters.OrValue;
 
@@ -61,7 +62,7 @@ public class Main {
     public static void Assume(int b) {
         if (b==0) {
             System.out.println("Assumption failed!");
-            System.exit(0);
+            exit(0);
         }
     }
 
@@ -119,7 +120,7 @@ public class Main {
     public static void AssumeOrEnd(OrValue b) {
         if (!b.boolValue()) {
             System.out.println("Assumption (OR) failed!");
-            System.exit(0);
+            exit(0);
         }
     }
 
@@ -213,8 +214,17 @@ public class Main {
     private static int index;
     private static int scopeDepth;
     private static int inputDepth;
+    private static Thread exitHook;
 
     static {
+        reset();
+    }
+
+    /**
+     * Forgets the inputs of the previous execution and reads the inputs file
+     * again.  Used when several executions share one JVM.
+     */
+    public static void reset() {
         inputs = new ArrayList<String>();
         index = 0;
         scopeDepth = 0;
@@ -241,5 +251,20 @@ public class Main {
         }
     }
 
+    /**
+     * Sets the hook that replaces System.exit when the program under test
+     * does not own the JVM.  The hook is run in place of the shutdown hooks
+     * and the execution is then unwound with an IterationExit.
+     */
+    public static void setExitHook(Thread hook) {
+        exitHook = hook;
+    }
 
+    private static void exit(int status) {
+        if (exitHook == null) {
+            System.exit(status);
+        }
+        exitHook.run();
+        throw new IterationExit(status);
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.campaign;
+
+import janala.instrument.SnoopInstructionTransformer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Loads a fresh copy of the program under test for every execution of a
+ * campaign so that its static state starts from scratch.  Classes selected
+ * by the include/exclude lists are defined by this loader from instrumented
+ * bytes; the bytes are instrumented once and shared through the cache.  All
+ * other classes, in particular janala itself, come from the parent loader.
+ */
+public class CampaignClassLoader extends ClassLoader {
+    private final Map<String, byte[]> cache;
+
+    public CampaignClassLoader(ClassLoader parent, Map<String, byte[]> cache) {
+        super(parent);
+        this.cache = cache;
+    }
+
+    @Override
+    protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        Class<?> c = findLoadedClass(name);
+        if (c == null) {
+            String cname = name.replace('.', '/');
+            if (isSystemClass(name) || !SnoopInstructionTransformer.shouldInstrument(cname)) {
+                return super.loadClass(name, resolve);
+            }
+            byte[] bytes = getInstrumentedBytes(cname);
+            if (bytes == null) {
+                return super.loadClass(name, resolve);
+            }
+            c = defineClass(name, bytes, 0, bytes.length);
+        }
+        if (resolve) {
+            resolveClass(c);
+        }
+        return c;
+    }
+
+    private byte[] getInstrumentedBytes(String cname) throws ClassNotFoundException {
+        synchronized (cache) {
+            byte[] ret = cache.get(cname);
+            if (ret != null) {
+                return ret;
+            }
+        }
+        InputStream in = getParent().getResourceAsStream(cname + ".class");
+        if (in == null) {
+            return null;
+        }
+        byte[] ret;
+        try {
+            ret = SnoopInstructionTransformer.instrument(readFully(in));
+        } catch (IOException e) {
+            throw new ClassNotFoundException(cname, e);
+        } finally {
+            try {
+                in.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        synchronized (cache) {
+            cache.put(cname, ret);
+        }
+        return ret;
+    }
+
+    private static boolean isSystemClass(String name) {
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.")
+                || name.startsWith("com.sun.") || name.startsWith("jdk.") || name.startsWith("janala.");
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[4096];
+        int n;
+        while ((n = in.read(buf)) != -1) {
+            out.write(buf, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.campaign;
+
+import janala.Main;
+import janala.config.Config;
+import janala.interpreters.Value;
+import janala.logger.ClassNames;
+import janala.logger.DJVM;
+import janala.logger.DirectConcolicExecution;
+import janala.logger.DoNothingLogger;
+import janala.solvers.History;
+import janala.utils.FileUtil;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Runs a whole concolic testing campaign inside one JVM.  This replaces the
+ * loop in concolic.py which starts a new JVM, and instruments the program
+ * again, for every input.
+ *
+ * Usage: java -cp ... janala.campaign.CampaignRunner maxIterations className arguments...
+ *
+ * The program under test is loaded by a fresh CampaignClassLoader for every
+ * execution so that its static state is reset; instrumented class bytes are
+ * cached across executions.  The history is passed from one execution to the
+ * next in memory.  The program under test must not call System.exit itself.
+ */
+public class CampaignRunner {
+    private final String className;
+    private final String[] arguments;
+    private final int maxIterations;
+    private final Map<String, byte[]> classCache = new HashMap<String, byte[]>();
+
+    public CampaignRunner(String className, String[] arguments, int maxIterations) {
+        this.className = className;
+        this.arguments = arguments;
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Runs at most maxIterations executions.  Returns the number of
+     * executions after which the search was exhausted, or -1 if it was not.
+     */
+    public int run() {
+        FileUtil.remove(Config.instance.inputs);
+        FileUtil.remove(Config.instance.history);
+        FileUtil.remove(Config.instance.treeFile);
+        FileUtil.remove(Config.instance.solverCacheFile);
+        FileUtil.remove("backtrackFlag");
+
+        History history = History.createInMemoryHistory(Config.instance.getSolver());
+        for (int i = 1; i <= maxIterations; i++) {
+            System.out.println("[Input " + i + "]");
+            runOnce(history);
+            history = history.next(Config.instance.getSolver());
+            if (history == null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void runOnce(History history) {
+        Main.reset();
+        Value.symbol = 1;
+        ClassNames.instance.reset();
+
+        final DirectConcolicExecution execution = new DirectConcolicExecution(history);
+        Thread finisher = new Thread() {
+            @Override
+            public void run() {
+                DJVM.intp = new DoNothingLogger();
+                execution.run();
+            }
+        };
+        DJVM.intp = execution;
+        Main.setExitHook(finisher);
+
+        Thread current = Thread.currentThread();
+        ClassLoader saved = current.getContextClassLoader();
+        ClassLoader loader = new CampaignClassLoader(CampaignRunner.class.getClassLoader(), classCache);
+        current.setContextClassLoader(loader);
+        try {
+            Class<?> main = Class.forName(className, true, loader);
+            Method m = main.getMethod("main", String[].class);
+            m.invoke(null, (Object) arguments.clone());
+        } catch (InvocationTargetException e) {
+            if (!(e.getCause() instanceof IterationExit)) {
+                e.getCause().printStackTrace();
+            }
+        } catch (IterationExit e) {
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.exit(1);
+        } finally {
+            current.setContextClassLoader(saved);
+        }
+        finisher.run();
+        Main.setExitHook(null);
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: java janala.campaign.CampaignRunner maxIterations className arguments...");
+            System.exit(1);
+        }
+        // must be set before Config and DJVM are initialized
+        System.setProperty("janala.loggerClass", "janala.logger.DoNothingLogger");
+        System.setProperty("janala.mainClass", args[1]);
+
+        int iters = Integer.parseInt(args[0]);
+        String[] arguments = new String[args.length - 2];
+        System.arraycopy(args, 2, arguments, 0, arguments.length);
+
+        int done = new CampaignRunner(args[1], arguments, iters).run();
+        writeResult(args[1], iters, done);
+    }
+
+    /**
+     * Appends the same line as concolic.py to the test log: the campaign
+     * passes only if the search was exhausted after exactly iters - 1
+     * executions.
+     */
+    private static void writeResult(String className, int iters, int done) {
+        String line;
+        if (done == iters - 1) {
+            line = className + " (" + iters + ") passed\n";
+        } else {
+            line = "****************** " + className + " (" + iters + ") failed!!!\n";
+        }
+        FileWriter out = null;
+        try {
+            out = new FileWriter(Config.instance.testLog, true);
+            out.write(line);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.campaign;
+
+import janala.config.Config;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Explores the paths of a program with several executions running at once.
+ *
+ * Usage: java -cp ... janala.campaign.ParallelCampaign workers maxIterations className arguments...
+ *
+ * The coordinator owns the frontier: a queue of (inputs, history) pairs that
+ * still have to be run.  Each worker thread takes a pair, runs the
+ * instrumented program on it in a separate JVM inside its own working
+ * directory (worker1, worker2, ...) with -Djanala.parallelWorker=true, and
+ * puts the pairs reported back by the execution (see
+ * History.solveAndSplit) into the queue.  The campaign ends when the queue
+ * is empty and no execution is running, or after maxIterations executions.
+ * A path whose prediction failed is dropped rather than refined, so
+ * programs that use abstractions may be explored differently than by
+ * concolic.py.
+ *
+ * The agent jar is taken from -Djanala.agentJar, or else from the entry of
+ * the class path that ends with iagent.jar.
+ */
+public class ParallelCampaign {
+    private final String className;
+    private final String[] arguments;
+    private final int maxIterations;
+    private final int nWorkers;
+    private final String agentJar;
+
+    private final LinkedList<Task> frontier = new LinkedList<Task>();
+    private int running = 0;
+    private int started = 0;
+
+    private static class Task {
+        final byte[] inputs;
+        final byte[] history;
+
+        Task(byte[] inputs, byte[] history) {
+            this.inputs = inputs;
+            this.history = history;
+        }
+    }
+
+    public ParallelCampaign(String className, String[] arguments, int maxIterations, int nWorkers, String agentJar) {
+        this.className = className;
+        this.arguments = arguments;
+        this.maxIterations = maxIterations;
+        this.nWorkers = nWorkers;
+        this.agentJar = agentJar;
+    }
+
+    /**
+     * Runs the campaign.  Returns the number of executions if the search
+     * was exhausted, or -1 if maxIterations was reached first.
+     */
+    public int run() {
+        frontier.add(new Task(null, null));
+        List<Thread> workers = new ArrayList<Thread>();
+        for (int k = 1; k <= nWorkers; k++) {
+            final File dir = new File("worker" + k);
+            Thread t = new Thread("worker" + k) {
+                @Override
+                public void run() {
+                    work(dir);
+                }
+            };
+            workers.add(t);
+            t.start();
+        }
+        for (Thread t : workers) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        }
+        synchronized (this) {
+            return frontier.isEmpty() ? started : -1;
+        }
+    }
+
+    private synchronized Task take() throws InterruptedException {
+        while (frontier.isEmpty() && running > 0) {
+            wait();
+        }
+        if (frontier.isEmpty() || started >= maxIterations) {
+            notifyAll();
+            return null;
+        }
+        running++;
+        started++;
+        System.out.println("[Input " + started + "]");
+        return frontier.removeFirst();
+    }
+
+    private synchronized void done(List<Task> children) {
+        // depth-first: the newest paths are run first
+        for (int k = children.size() - 1; k >= 0; k--) {
+            frontier.addFirst(children.get(k));
+        }
+        running--;
+        notifyAll();
+    }
+
+    private void work(File dir) {
+        Task task;
+        try {
+            while ((task = take()) != null) {
+                List<Task> children = new ArrayList<Task>();
+                try {
+                    children = execute(task, dir);
+                } finally {
+                    done(children);
+                }
+            }
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    private List<Task> execute(Task task, File dir) throws IOException, InterruptedException {
+        String inputs = Config.instance.inputs;
+        String history = Config.instance.history;
+
+        if (dir.exists()) {
+            for (File f : dir.listFiles()) {
+                f.delete();
+            }
+        } else if (!dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+        if (task.inputs != null) {
+            write(new File(dir, inputs), task.inputs);
+        }
+        if (task.history != null) {
+            write(new File(dir, history), task.history);
+        }
+
+        List<String> cmd = new ArrayList<String>();
+        cmd.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        cmd.add("-Djanala.loggerClass=janala.logger.DirectConcolicExecution");
+        cmd.add("-Djanala.conf=" + new File(Config.propFile).getAbsolutePath());
+        cmd.add("-Djanala.mainClass=" + className);
+        cmd.add("-Djanala.parallelWorker=true");
+        cmd.add("-javaagent:" + agentJar);
+        cmd.add("-cp");
+        cmd.add(System.getProperty("java.class.path"));
+        cmd.add("-ea");
+        cmd.add(className);
+        for (String arg : arguments) {
+            cmd.add(arg);
+        }
+        ProcessBuilder builder = new ProcessBuilder(cmd);
+        builder.directory(dir);
+        builder.redirectErrorStream(true);
+        Process p = builder.start();
+        copyOutput(p.getInputStream());
+        p.waitFor();
+
+        List<Task> ret = new ArrayList<Task>();
+        for (int k = 1; new File(dir, history + "." + k).exists(); k++) {
+            ret.add(new Task(read(new File(dir, inputs + "." + k)), read(new File(dir, history + "." + k))));
+        }
+        return ret;
+    }
+
+    private static void copyOutput(InputStream in) throws IOException {
+        BufferedReader br = new BufferedReader(new InputStreamReader(in));
+        String line;
+        while ((line = br.readLine()) != null) {
+            synchronized (System.out) {
+                System.out.println(line);
+            }
+        }
+        br.close();
+    }
+
+    private static byte[] read(File f) throws IOException {
+        byte[] ret = new byte[(int) f.length()];
+        FileInputStream in = new FileInputStream(f);
+        try {
+            int off = 0, n;
+            while (off < ret.length && (n = in.read(ret, off, ret.length - off)) != -1) {
+                off += n;
+            }
+        } finally {
+            in.close();
+        }
+        return ret;
+    }
+
+    private static void write(File f, byte[] data) throws IOException {
+        OutputStream out = new FileOutputStream(f);
+        try {
+            out.write(data);
+        } finally {
+            out.close();
+        }
+    }
+
+    private static String findAgentJar() {
+        String ret = System.getProperty("janala.agentJar");
+        if (ret != null) {
+            return ret;
+        }
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (entry.endsWith("iagent.jar")) {
+                return entry;
+            }
+        }
+        System.err.println("Cannot find iagent.jar; set -Djanala.agentJar");
+        System.exit(1);
+        return null;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Usage: java janala.campaign.ParallelCampaign workers maxIterations className arguments...");
+            System.exit(1);
+        }
+        int workers = Integer.parseInt(args[0]);
+        int iters = Integer.parseInt(args[1]);
+        String[] arguments = new String[args.length - 3];
+        System.arraycopy(args, 3, arguments, 0, arguments.length);
+
+        int done = new ParallelCampaign(args[2], arguments, iters, workers, findAgentJar()).run();
+
+        // as in concolic.py, the campaign passes only if the search was
+        // exhausted after exactly iters - 1 executions
+        String line;
+        if (done == iters - 1) {
+            line = args[2] + " (" + iters + ") passed\n";
+        } else {
+            line = "****************** " + args[2] + " (" + iters + ") failed!!!\n";
+        }
+        FileWriter out = null;
+        try {
+            out = new FileWriter(Config.instance.testLog, true);
+            out.write(line);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+}
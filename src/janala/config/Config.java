@@ -37,6 +37,7 @@ import janala.logger.Logger;
 import janala.solvers.Solver;
 import janala.solvers.Strategy;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Properties;
@@ -45,6 +46,7 @@ public class Config {
     public static final String mainClass = System.getProperty("janala.mainClass", null);
     public static final int iteration = Integer.getInteger("janala.iteration", 0);
     public static final String propFile = System.getProperty("janala.conf","catg.conf");
+    public static final boolean parallelWorker = Boolean.getBoolean("janala.parallelWorker");
     public static final Config instance = new Config();
 
 
@@ -57,6 +59,8 @@ public class Config {
     public String traceFileName;
     public String traceAuxFileName;
     public String history;
+    public String treeFile;
+    public String solverCacheFile;
     public String inputs;
     public String yicesCommand;
     public String formulaFile;
@@ -65,11 +69,19 @@ public class Config {
     public String cvc4Command;
     public String[] excludeList;
     public String[] includeList;
+    public File classCacheDir;
+    public File idTableFile;
+    public boolean selectiveInstrumentation;
+    public boolean dualPath;
+    public boolean blockEvents;
     private String loggerClass;
     private String solver;
+    private String fallbackSolver;
     private String strategy;
     public int maxStringLength;
     public int pathId;
+    public int asyncQueueSize;
+    public int replayPrefetch;
     public boolean printFormulaAndSolutions;
     public String scopeBeginMarker;
     public String scopeEndMarker;
@@ -89,6 +101,8 @@ public class Config {
             traceFileName = properties.getProperty("catg.traceFile", "trace");
             traceAuxFileName = properties.getProperty("catg.auxTraceFile","trace.aux");
             history = properties.getProperty("catg.historyFile","history");
+            treeFile = properties.getProperty("catg.treeFile","tree");
+            solverCacheFile = properties.getProperty("catg.solverCacheFile","solverCache");
             inputs = properties.getProperty("catg.inputsFile","inputs");
             yicesCommand = properties.getProperty("catg.yicesCommand", "yices");
             formulaFile = properties.getProperty("catg.formulaFile", "formula");
@@ -98,11 +112,19 @@ public class Config {
             loggerClass = System.getProperty("janala.loggerClass", "janala.logger.FileLogger");
             analysisClass = properties.getProperty("catg.analysisClass", "janala.logger.DJVM").replace('.', '/');
             solver = properties.getProperty("catg.solverClass", "janala.solvers.YicesSolver2");
+            fallbackSolver = properties.getProperty("catg.fallbackSolverClass", "janala.solvers.CVC4Solver");
             strategy = properties.getProperty("catg.strategyClass", "janala.solvers.DFSStrategy");
             excludeList = properties.getProperty("catg.excludeList","").split(",");
             includeList = properties.getProperty("catg.includeList","catg.CATG").split(",");
+            classCacheDir = getSharedFile(properties.getProperty("catg.classCacheDir", ""));
+            idTableFile = getSharedFile(properties.getProperty("catg.idTableFile", ""));
+            selectiveInstrumentation = properties.getProperty("catg.selectiveInstrumentation","false").equals("true");
+            dualPath = properties.getProperty("catg.dualPath","false").equals("true");
+            blockEvents = properties.getProperty("catg.blockEvents","false").equals("true");
             maxStringLength = Integer.parseInt(properties.getProperty("catg.maxStringLength", "30"));
             pathId = Integer.parseInt(properties.getProperty("catg.pathId","1"));
+            asyncQueueSize = Integer.parseInt(properties.getProperty("catg.asyncQueueSize","4096"));
+            replayPrefetch = Integer.parseInt(properties.getProperty("catg.replayPrefetch","4"));
             scopeBeginMarker = properties.getProperty("catg.scopeBeginMarker", "begin$$$$");
             scopeEndMarker = properties.getProperty("catg.scopeEndMarker", "end$$$$");
 
@@ -112,6 +134,22 @@ public class Config {
     }
 
 
+    /**
+     * Resolves a path relative to catg.conf, so that parallel workers
+     * running in their own directories share the file.  Returns null for
+     * an empty path.
+     */
+    private static File getSharedFile(String path) {
+        if (path.length() == 0) {
+            return null;
+        }
+        File ret = new File(path);
+        if (!ret.isAbsolute()) {
+            ret = new File(new File(propFile).getAbsoluteFile().getParentFile(), path);
+        }
+        return ret;
+    }
+
     public Logger getLogger() {
         try {
             Class solverClass = Class.forName(loggerClass);
@@ -148,6 +186,31 @@ public class Config {
         return null;
     }
 
+    /**
+     * Returns the solver that janala.solvers.LinearSolver hands the
+     * queries it cannot decide to, or null if there is none.
+     */
+    public Solver getFallbackSolver() {
+        if (fallbackSolver.length() == 0) {
+            return null;
+        }
+        try {
+            Class solverClass = Class.forName(fallbackSolver);
+            Solver ret = (Solver)solverClass.newInstance();
+            return ret;
+        } catch (ClassNotFoundException e) {
+            e.printStackTrace();
+            System.exit(1);
+        } catch (InstantiationException e) {
+            e.printStackTrace();
+            System.exit(1);
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+        return null;
+    }
+
     public Strategy getStrategy() {
         try {
             Class solverClass = Class.forName(strategy);
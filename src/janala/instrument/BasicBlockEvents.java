@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.instrument;
+
+import janala.config.Config;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * Merges the callbacks of a basic block into one (catg.blockEvents).  Sits
+ * below SnoopInstructionMethodAdapter and collects the instrumented method.
+ * Most callbacks take constants only (iid, mid and operands such as a local
+ * variable index or a branch label); only the GETVALUE callbacks pass a
+ * value that is known at run time.  A run of constant callbacks, with the
+ * original instructions between them, becomes one call to BLOCK with the
+ * callbacks encoded in a string constant, placed where the first callback
+ * was: the original instructions in between neither throw nor jump, and a
+ * label ends the run, so the logger sees the same events in the same order.
+ * The logger decodes a block once, see janala.logger.inst.InstructionBlocks.
+ */
+public class BasicBlockEvents extends MethodNode implements Opcodes {
+    // keeps the string constant well below the class file limit
+    private static final int MAX_EVENTS = 256;
+
+    private final MethodVisitor next;
+    private final ArrayList<AbstractInsnNode> run = new ArrayList<AbstractInsnNode>();
+    private final StringBuilder block = new StringBuilder();
+    private AbstractInsnNode runStart;
+    private int nEvents;
+
+    public BasicBlockEvents(MethodVisitor next, int access, String name, String desc, String signature,
+                            String[] exceptions) {
+        super(access, name, desc, signature, exceptions);
+        this.next = next;
+    }
+
+    @Override
+    public void visitEnd() {
+        IdentityHashMap<AbstractInsnNode, MethodInsnNode> events = findEvents();
+        AbstractInsnNode insn = instructions.getFirst();
+        while (insn != null) {
+            MethodInsnNode call = events.get(insn);
+            if (call != null) {
+                if (nEvents == 0) {
+                    runStart = insn;
+                } else {
+                    block.append(';');
+                }
+                block.append(call.name);
+                for (; insn != call; insn = insn.getNext()) {
+                    run.add(insn);
+                    block.append(' ').append(getIntConstant(insn));
+                }
+                run.add(call);
+                insn = call.getNext();
+                if (++nEvents == MAX_EVENTS) {
+                    flush();
+                }
+                continue;
+            }
+            if (nEvents > 0 && !isHoistable(insn)) {
+                flush();
+            }
+            insn = insn.getNext();
+        }
+        flush();
+        accept(next);
+    }
+
+    private void flush() {
+        if (nEvents > 1) {
+            instructions.insertBefore(runStart, new LdcInsnNode(block.toString()));
+            instructions.insertBefore(runStart, new MethodInsnNode(INVOKESTATIC, Config.instance.analysisClass,
+                    "BLOCK", "(Ljava/lang/String;)V"));
+            for (AbstractInsnNode insn : run) {
+                instructions.remove(insn);
+            }
+        }
+        run.clear();
+        block.setLength(0);
+        nEvents = 0;
+    }
+
+    /**
+     * Maps the first instruction of each callback that takes constants only
+     * to the call.
+     */
+    private IdentityHashMap<AbstractInsnNode, MethodInsnNode> findEvents() {
+        IdentityHashMap<AbstractInsnNode, MethodInsnNode> ret = new IdentityHashMap<AbstractInsnNode, MethodInsnNode>();
+        for (AbstractInsnNode insn = instructions.getFirst(); insn != null; insn = insn.getNext()) {
+            if (insn.getOpcode() != INVOKESTATIC) {
+                continue;
+            }
+            MethodInsnNode call = (MethodInsnNode)insn;
+            if (!call.owner.equals(Config.instance.analysisClass) || !call.desc.matches("\\(I*\\)V")) {
+                continue;
+            }
+            AbstractInsnNode start = call;
+            int nArgs = Type.getArgumentTypes(call.desc).length;
+            for (int i = 0; i < nArgs && start != null; i++) {
+                start = start.getPrevious();
+                if (start != null && getIntConstant(start) == null) {
+                    start = null;
+                }
+            }
+            if (start != null) {
+                ret.put(start, call);
+            }
+        }
+        return ret;
+    }
+
+    private static Integer getIntConstant(AbstractInsnNode insn) {
+        int opcode = insn.getOpcode();
+        if (opcode >= ICONST_M1 && opcode <= ICONST_5) {
+            return opcode - ICONST_0;
+        } else if (opcode == BIPUSH || opcode == SIPUSH) {
+            return ((IntInsnNode)insn).operand;
+        } else if (opcode == LDC && ((LdcInsnNode)insn).cst instanceof Integer) {
+            return (Integer)((LdcInsnNode)insn).cst;
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether a callback can be moved before insn: insn neither
+     * throws nor jumps.
+     */
+    private static boolean isHoistable(AbstractInsnNode insn) {
+        int opcode = insn.getOpcode();
+        switch (opcode) {
+            case LDC:
+                return !(((LdcInsnNode)insn).cst instanceof Type);
+            case IDIV:
+            case LDIV:
+            case IREM:
+            case LREM:
+                return false;
+            default:
+                // constants, loads, stores, stack operations, arithmetic,
+                // conversions and comparisons
+                return opcode >= NOP && opcode <= ALOAD || opcode >= ISTORE && opcode <= ASTORE
+                        || opcode >= POP && opcode <= DCMPG;
+        }
+    }
+}
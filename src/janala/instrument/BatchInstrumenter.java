@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.instrument;
+
+import janala.logger.ClassNames;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+
+/**
+ * Instruments a whole classpath ahead of time.  Every class selected by the
+ * include/exclude lists of catg.conf is instrumented, on a pool of threads,
+ * and written with the other classes and resources of the classpath to one
+ * jar.  The jar also holds the ClassNames the instrumented code refers to
+ * (ClassNames.RESOURCE), so it runs with janala on the classpath but
+ * without -javaagent:
+ * <pre>
+ * java -Djanala.conf=catg.conf janala.instrument.BatchInstrumenter [-threads n] out.jar classpath
+ * </pre>
+ * When the same name occurs more than once on the classpath, the first one
+ * wins, as it would at run time.  Jar signatures are dropped since the
+ * signed classes change.
+ */
+public class BatchInstrumenter {
+    private static final String MANIFEST = "META-INF/MANIFEST.MF";
+
+    private final Map<String, Callable<byte[]>> entries = new LinkedHashMap<String, Callable<byte[]>>();
+    private final ArrayList<JarFile> jars = new ArrayList<JarFile>();
+    private int nInstrumented;
+
+    public static void main(String[] args) {
+        int nThreads = Runtime.getRuntime().availableProcessors();
+        int i = 0;
+        if (args.length > 1 && args[0].equals("-threads")) {
+            nThreads = Integer.parseInt(args[1]);
+            i = 2;
+        }
+        if (args.length != i + 2) {
+            System.err.println("Usage: java janala.instrument.BatchInstrumenter [-threads n] out.jar classpath");
+            System.exit(1);
+        }
+        long start = System.currentTimeMillis();
+        BatchInstrumenter instrumenter = new BatchInstrumenter();
+        try {
+            for (String path : args[i + 1].split(File.pathSeparator)) {
+                instrumenter.add(new File(path));
+            }
+            instrumenter.write(new File(args[i]), nThreads);
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+        System.out.println("Instrumented " + instrumenter.nInstrumented + " of " + instrumenter.entries.size()
+                + " entries in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private void add(File path) throws IOException {
+        if (path.isDirectory()) {
+            addDirectory(path, "");
+        } else if (path.isFile()) {
+            final JarFile jar = new JarFile(path);
+            jars.add(jar);
+            Enumeration<JarEntry> e = jar.entries();
+            while (e.hasMoreElements()) {
+                final JarEntry entry = e.nextElement();
+                if (!entry.isDirectory()) {
+                    add(entry.getName(), new Callable<byte[]>() {
+                        public byte[] call() throws IOException {
+                            return readFully(jar.getInputStream(entry));
+                        }
+                    });
+                }
+            }
+        } else {
+            System.err.println("Skipping missing classpath entry " + path);
+        }
+    }
+
+    private void addDirectory(File dir, String prefix) throws IOException {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            throw new IOException("Cannot list " + dir);
+        }
+        Arrays.sort(files);
+        for (final File f : files) {
+            if (f.isDirectory()) {
+                addDirectory(f, prefix + f.getName() + "/");
+            } else {
+                add(prefix + f.getName(), new Callable<byte[]>() {
+                    public byte[] call() throws IOException {
+                        return readFully(new FileInputStream(f));
+                    }
+                });
+            }
+        }
+    }
+
+    private void add(String name, final Callable<byte[]> reader) {
+        String upper = name.toUpperCase();
+        if (entries.containsKey(name) || name.equals(ClassNames.RESOURCE) || upper.startsWith("META-INF/")
+                && (upper.endsWith(".SF") || upper.endsWith(".RSA") || upper.endsWith(".DSA"))) {
+            return;
+        }
+        if (name.endsWith(".class")
+                && SnoopInstructionTransformer.shouldInstrument(name.substring(0, name.length() - 6))) {
+            nInstrumented++;
+            entries.put(name, new Callable<byte[]>() {
+                public byte[] call() throws Exception {
+                    return SnoopInstructionTransformer.instrumentUncached(reader.call());
+                }
+            });
+        } else {
+            entries.put(name, reader);
+        }
+    }
+
+    private void write(File file, int nThreads) throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+        JarOutputStream out = null;
+        try {
+            ArrayList<String> names = new ArrayList<String>(entries.keySet());
+            ArrayList<Future<byte[]>> results = new ArrayList<Future<byte[]>>(names.size());
+            for (String name : names) {
+                results.add(pool.submit(entries.get(name)));
+            }
+            out = new JarOutputStream(new FileOutputStream(file));
+            // the manifest must come first in a jar
+            int manifest = names.indexOf(MANIFEST);
+            if (manifest >= 0) {
+                writeEntry(out, MANIFEST, get(MANIFEST, results.get(manifest)));
+            }
+            for (int i = 0; i < names.size(); i++) {
+                if (i != manifest) {
+                    writeEntry(out, names.get(i), get(names.get(i), results.get(i)));
+                }
+            }
+            // all classes are instrumented: ClassNames is complete
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ObjectOutputStream oout = new ObjectOutputStream(bytes);
+            oout.writeObject(ClassNames.instance);
+            oout.close();
+            writeEntry(out, ClassNames.RESOURCE, bytes.toByteArray());
+        } catch (InterruptedException e) {
+            throw new IOException(e.toString());
+        } finally {
+            pool.shutdownNow();
+            if (out != null) {
+                out.close();
+            }
+            for (JarFile jar : jars) {
+                jar.close();
+            }
+        }
+    }
+
+    private static byte[] get(String name, Future<byte[]> result) throws IOException, InterruptedException {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            System.err.println("Failed to instrument " + name);
+            e.getCause().printStackTrace();
+            if (e.getCause() instanceof IOException) {
+                throw (IOException)e.getCause();
+            }
+            throw new IOException(String.valueOf(e.getCause()));
+        }
+    }
+
+    private static void writeEntry(JarOutputStream out, String name, byte[] bytes) throws IOException {
+        out.putNextEntry(new JarEntry(name));
+        out.write(bytes);
+        out.closeEntry();
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[4096];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.instrument;
+
+import janala.config.Config;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodAdapter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * Starts an instrumented method with a call to its uninstrumented copy,
+ * taken when the logger says that the method cannot see a symbolic value
+ * (catg.dualPath).  Sits below SnoopInstructionMethodAdapter, so the guard
+ * itself is not instrumented:
+ * <pre>
+ *     if (BEGIN_CONCRETE_CALL()) {
+ *         try {
+ *             return name$concrete(args);
+ *         } finally {
+ *             END_CONCRETE_CALL();
+ *         }
+ *     }
+ *     // instrumented body
+ * </pre>
+ */
+public class ConcreteCallGuard extends MethodAdapter implements Opcodes {
+    public static final String SUFFIX = "$concrete";
+
+    private final String owner;
+    private final boolean isStatic;
+    private final String name;
+    private final String desc;
+
+    public ConcreteCallGuard(MethodVisitor mv, String owner, int access, String name, String desc) {
+        super(mv);
+        this.owner = owner;
+        this.isStatic = (access & ACC_STATIC) != 0;
+        this.name = name;
+        this.desc = desc;
+    }
+
+    /**
+     * Returns the access flags of the copy of a method.
+     */
+    public static int getCopyAccess(int access) {
+        return (access & (ACC_STATIC | ACC_STRICT | ACC_VARARGS)) | ACC_PRIVATE | ACC_SYNTHETIC;
+    }
+
+    @Override
+    public void visitCode() {
+        mv.visitCode();
+        Label instrumented = new Label();
+        Label begin = new Label();
+        Label end = new Label();
+        Label handler = new Label();
+
+        mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "BEGIN_CONCRETE_CALL", "()Z");
+        mv.visitJumpInsn(IFEQ, instrumented);
+        mv.visitTryCatchBlock(begin, end, handler, null);
+        mv.visitLabel(begin);
+        int var = 0;
+        if (!isStatic) {
+            mv.visitVarInsn(ALOAD, var++);
+        }
+        for (Type t : Type.getArgumentTypes(desc)) {
+            mv.visitVarInsn(t.getOpcode(ILOAD), var);
+            var += t.getSize();
+        }
+        mv.visitMethodInsn(isStatic ? INVOKESTATIC : INVOKESPECIAL, owner, name + SUFFIX, desc);
+        mv.visitLabel(end);
+        mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "END_CONCRETE_CALL", "()V");
+        mv.visitInsn(Type.getReturnType(desc).getOpcode(IRETURN));
+        mv.visitLabel(handler);
+        mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "END_CONCRETE_CALL", "()V");
+        mv.visitInsn(ATHROW);
+        mv.visitLabel(instrumented);
+    }
+
+    @Override
+    public void visitMaxs(int maxStack, int maxLocals) {
+        int nArgs = Type.getArgumentsAndReturnSizes(desc) >> 2;
+        mv.visitMaxs(Math.max(maxStack, nArgs), maxLocals);
+    }
+}
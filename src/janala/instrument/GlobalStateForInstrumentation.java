@@ -33,23 +33,49 @@
 
 package janala.instrument;
 
+import janala.config.Config;
+
+/**
+ * Gives out the instruction and method ids baked into instrumented code.
+ * The ids of a method depend only on its class, name and descriptor, and
+ * on the position of each instruction in it, never on the order in which
+ * classes are loaded.  A method's id comes from the persistent id table
+ * (catg.idTableFile), and instruction i of a method with id m gets iid
+ * m * STRIDE + i.  A method with more than STRIDE instructions takes
+ * further table ids for the rest, under keys suffixed with "#1", "#2", ...
+ */
 public class GlobalStateForInstrumentation {
+    public static final int STRIDE = 1 << 13;
+
     public static GlobalStateForInstrumentation instance = new GlobalStateForInstrumentation();
-    private int iid = 0;
-    private int mid = 0;
 
-//    private TObjectIntHashMap<String> classNameToInternalID = new TObjectIntHashMap<String>();
+    private final IdTable ids = new IdTable(Config.instance.idTableFile);
+
+    /**
+     * Returns the name of the id table, which identifies the ids handed out.
+     */
+    public String getTableName() {
+        return ids.getName();
+    }
 
-    public int getIid(int line) {
-        //System.out.println("iid="+iid+" line="+line);
-        return iid++;
+    public int getMid(String key) {
+        return checkRange(ids.getId(key));
     }
 
-    public int getMid() {
-        return mid;
+    /**
+     * Returns the first iid of block k of the method with the given key;
+     * block 0 starts at the method id.
+     */
+    public int getIidBase(String key, int mid, int block) {
+        int id = block == 0 ? mid : checkRange(ids.getId(key + "#" + block));
+        return id * STRIDE;
     }
 
-    public void incMid() {
-        mid++;
+    private static int checkRange(int id) {
+        if (id >= Integer.MAX_VALUE / STRIDE) {
+            System.err.println("Too many methods in the id table");
+            System.exit(1);
+        }
+        return id;
     }
 }
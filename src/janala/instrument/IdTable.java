@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.instrument;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileLock;
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Assigns dense ids, starting from 0, to method keys.  An id, once given,
+ * never changes: the table is kept in a file that is appended to, under a
+ * file lock, by every JVM that instruments classes, so that runs and
+ * parallel workers agree on the ids whatever order they load classes in.
+ * <p>
+ * The file is text: a first line with a random name for the table, then
+ * one key per line, the key on line i+2 having id i.  Without a file the
+ * table lives in memory only.
+ */
+public class IdTable {
+    private final File file;
+    private final HashMap<String, Integer> ids = new HashMap<String, Integer>();
+    private String name;
+    private long readTo = 0;
+
+    public IdTable(File file) {
+        this.file = file;
+        if (file == null) {
+            name = Long.toHexString(new Random().nextLong());
+        } else {
+            try {
+                update(null);
+            } catch (IOException e) {
+                e.printStackTrace();
+                System.exit(1);
+            }
+        }
+    }
+
+    /**
+     * Returns a name that differs between tables, so that what depends on
+     * the ids of one table is not used with another.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getId(String key) {
+        Integer ret = ids.get(key);
+        if (ret == null) {
+            if (file == null) {
+                ret = ids.size();
+                ids.put(key, ret);
+            } else {
+                try {
+                    ret = update(key);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    System.exit(1);
+                }
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Reads the keys other JVMs have added since the last call and, if key
+     * is still missing, appends it.  Returns the id of key.
+     */
+    private Integer update(String key) throws IOException {
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null) {
+            dir.mkdirs();
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        FileLock lock = null;
+        try {
+            lock = raf.getChannel().lock();
+            if (raf.length() == 0) {
+                raf.write((Long.toHexString(new Random().nextLong()) + "\n").getBytes("UTF-8"));
+            }
+            byte[] buf = new byte[(int)(raf.length() - readTo)];
+            raf.seek(readTo);
+            raf.readFully(buf);
+            int start = 0;
+            for (int i = 0; i < buf.length; i++) {
+                if (buf[i] == '\n') {
+                    String line = new String(buf, start, i - start, "UTF-8");
+                    if (name == null) {
+                        name = line;
+                    } else {
+                        ids.put(line, ids.size());
+                    }
+                    start = i + 1;
+                }
+            }
+            // a line is complete once its newline is written; a partial
+            // one is left by a JVM that died while holding the lock
+            readTo += start;
+            if (start < buf.length) {
+                raf.setLength(readTo);
+            }
+            raf.seek(readTo);
+            if (key == null) {
+                return null;
+            }
+            Integer ret = ids.get(key);
+            if (ret == null) {
+                ret = ids.size();
+                ids.put(key, ret);
+                raf.write((key + "\n").getBytes("UTF-8"));
+                readTo = raf.getFilePointer();
+            }
+            return ret;
+        } finally {
+            if (lock != null) {
+                lock.release();
+            }
+            raf.close();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.instrument;
+
+import janala.config.Config;
+import janala.logger.ClassNames;
+import org.objectweb.asm.ClassReader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * On-disk cache of instrumented class bytes, shared by all the runs (and
+ * parallel workers) that use the same cache directory.
+ * <p>
+ * Instrumenting a class is not a pure function of its bytes: it registers
+ * classes and fields in ClassNames, and the resulting indices are baked
+ * into the code.  An entry is therefore keyed by a SHA-1 of the original
+ * bytes chained with the keys of all the classes instrumented before it in
+ * this JVM, starting from a digest of the Config fields that affect
+ * instrumentation, of the instrumenter classes themselves and of the name
+ * of the id table.  The methods that SymbolicReachability leaves
+ * uninstrumented, or gives an uninstrumented copy, are part of the key of
+ * their class.  An entry records the ClassNames entries the class
+ * added, and a hit adds them again, so that the state is the same as if
+ * the class had been instrumented.
+ * <p>
+ * Entries are written to a temporary file and renamed into place, so a
+ * reader sees either no entry or a complete one.
+ */
+public class InstrumentedClassCache {
+    private static final int MAGIC = 0x4a434c55;
+    private static final String[] INSTRUMENTER_CLASSES = {
+            "janala/instrument/BasicBlockEvents.class",
+            "janala/instrument/ConcreteCallGuard.class",
+            "janala/instrument/GlobalStateForInstrumentation.class",
+            "janala/instrument/SnoopInstructionClassAdapter.class",
+            "janala/instrument/SnoopInstructionMethodAdapter.class",
+            "janala/instrument/SymbolicReachability.class"
+    };
+
+    private final File dir;
+    private byte[] state;
+
+    public InstrumentedClassCache(File dir) {
+        this.dir = dir;
+        dir.mkdirs();
+        MessageDigest md = newDigest();
+        Config config = Config.instance;
+        update(md, config.analysisClass);
+        for (String s : config.excludeList) {
+            update(md, s);
+        }
+        md.update((byte)0);
+        for (String s : config.includeList) {
+            update(md, s);
+        }
+        md.update((byte)0);
+        md.update((byte)(config.blockEvents ? 1 : 0));
+        update(md, GlobalStateForInstrumentation.instance.getTableName());
+        for (String name : INSTRUMENTER_CLASSES) {
+            InputStream in = InstrumentedClassCache.class.getClassLoader() == null
+                    ? ClassLoader.getSystemResourceAsStream(name)
+                    : InstrumentedClassCache.class.getClassLoader().getResourceAsStream(name);
+            if (in != null) {
+                try {
+                    md.update(readFully(in));
+                } catch (IOException e) {
+                    e.printStackTrace();
+                } finally {
+                    close(in);
+                }
+            }
+        }
+        state = md.digest();
+    }
+
+    /**
+     * Returns the instrumented version of cbuf, from the cache if possible.
+     */
+    public synchronized byte[] instrument(byte[] cbuf) {
+        MessageDigest md = newDigest();
+        md.update(state);
+        md.update(cbuf);
+        String className = new ClassReader(cbuf).getClassName();
+        update(md, SymbolicReachability.instance.getUninstrumented(className));
+        update(md, SymbolicReachability.instance.getNonReaders(className));
+        state = md.digest();
+        File entry = new File(dir, name(state));
+        byte[] ret = read(entry);
+        if (ret != null) {
+            return ret;
+        }
+        int[] mark = ClassNames.instance.mark();
+        ret = SnoopInstructionTransformer.instrumentUncached(cbuf);
+        write(entry, ret, mark);
+        return ret;
+    }
+
+    private static String name(byte[] digest) {
+        StringBuilder sb = new StringBuilder(digest.length * 2 + 6);
+        for (byte b : digest) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16));
+            sb.append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.append(".class").toString();
+    }
+
+    private static byte[] read(File entry) {
+        if (!entry.exists()) {
+            return null;
+        }
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new FileInputStream(entry));
+            if (in.readInt() != MAGIC) {
+                return null;
+            }
+            byte[] ret = new byte[in.readInt()];
+            in.readFully(ret);
+            ClassNames.instance.readChanges(in);
+            return ret;
+        } catch (IOException e) {
+            return null;
+        } finally {
+            close(in);
+        }
+    }
+
+    private void write(File entry, byte[] bytes, int[] mark) {
+        File tmp = null;
+        DataOutputStream out = null;
+        try {
+            tmp = File.createTempFile("tmp", ".part", dir);
+            out = new DataOutputStream(new FileOutputStream(tmp));
+            out.writeInt(MAGIC);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            ClassNames.instance.writeChanges(mark, out);
+            out.close();
+            out = null;
+            if (!tmp.renameTo(entry)) {
+                // another process has written the same entry
+                tmp.delete();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            if (tmp != null) {
+                tmp.delete();
+            }
+        } finally {
+            close(out);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+        return null;
+    }
+
+    private static void update(MessageDigest md, String s) {
+        try {
+            md.update(s.getBytes("UTF-8"));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        md.update((byte)',');
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[4096];
+        int n;
+        while ((n = in.read(buf)) != -1) {
+            out.write(buf, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private static void close(Closeable c) {
+        if (c != null) {
+            try {
+                c.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -33,24 +33,107 @@
 
 package janala.instrument;
 
+import janala.config.Config;
+import janala.logger.ClassNames;
 import org.objectweb.asm.ClassAdapter;
 import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
 import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.util.ArrayList;
 
 public class SnoopInstructionClassAdapter extends ClassAdapter {
+    private String className;
+    private String superName;
+    private boolean isInterface;
+    private final ArrayList<String> fields = new ArrayList<String>();
+    private final ArrayList<String> staticFields = new ArrayList<String>();
+
     public SnoopInstructionClassAdapter(ClassVisitor cv) {
         super(cv);
     }
 
+    @Override
+    public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+        className = name;
+        this.superName = superName;
+        isInterface = (access & Opcodes.ACC_INTERFACE) != 0;
+        super.visit(version, access, name, signature, superName, interfaces);
+    }
+
+    @Override
+    public FieldVisitor visitField(int access, String name, String desc, String signature, Object value) {
+        if ((access & Opcodes.ACC_STATIC) != 0) {
+            staticFields.add(name);
+        } else {
+            fields.add(name);
+        }
+        return super.visitField(access, name, desc, signature, value);
+    }
+
+    /**
+     * Records the fields of the class, so that the interpreter need not load
+     * it by reflection to find their indices.
+     */
+    @Override
+    public void visitEnd() {
+        ClassNames.instance.setLayout(className, superName,
+                fields.toArray(new String[fields.size()]), staticFields.toArray(new String[staticFields.size()]));
+        super.visitEnd();
+    }
+
     public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
         //System.out.println("<**************** "+name+" desc "+desc);
         MethodVisitor mv = cv.visitMethod(access, name, desc, signature, exceptions);
-        if (mv != null) {
+        if (mv != null && SymbolicReachability.instance.isInstrumented(className, name, desc)) {
 //            System.out.println("******************* "+((access & Opcodes.ACC_STATIC)>0));
-            mv = new SnoopInstructionMethodAdapter(mv,name.equals("<init>"));
+            boolean hasCopy = hasConcreteCopy(access, name, desc);
+            if (hasCopy) {
+                mv = new ConcreteCallGuard(mv, className, access, name, desc);
+            }
+            if (Config.instance.blockEvents) {
+                mv = new BasicBlockEvents(mv, access, name, desc, signature, exceptions);
+            }
+            mv = new SnoopInstructionMethodAdapter(mv,name.equals("<init>"),className+"."+name+desc);
+            if (hasCopy) {
+                mv = addConcreteCopy(mv, access, name, desc, signature, exceptions);
+            }
         }
         //System.err.println("****************> end "+name);
 
         return mv;
     }
+
+    private boolean hasConcreteCopy(int access, String name, String desc) {
+        return Config.instance.dualPath && !isInterface && !name.startsWith("<")
+                && (access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) == 0
+                && !SymbolicReachability.instance.mayReadInputs(className, name, desc);
+    }
+
+    /**
+     * Returns a visitor that writes the method, as it is, to an
+     * uninstrumented copy and then passes it on to mv.
+     */
+    private MethodVisitor addConcreteCopy(final MethodVisitor mv, int access, String name, String desc,
+                                          String signature, String[] exceptions) {
+        final MethodVisitor copy = cv.visitMethod(ConcreteCallGuard.getCopyAccess(access),
+                name + ConcreteCallGuard.SUFFIX, desc, signature, exceptions);
+        return new MethodNode(access, name, desc, signature, exceptions) {
+            @Override
+            public void visitEnd() {
+                accept(copy);
+                // labels are bound to the method they were written to
+                for (AbstractInsnNode insn = instructions.getFirst(); insn != null; insn = insn.getNext()) {
+                    if (insn instanceof LabelNode) {
+                        ((LabelNode)insn).resetLabel();
+                    }
+                }
+                accept(mv);
+            }
+        };
+    }
 }
@@ -45,10 +45,15 @@ public class SnoopInstructionMethodAdapter extends MethodAdapter implements Opco
     boolean isSuperInitCalled;
     LinkedList<TryCatchBlock> tryCatchBlocks;
     private int line;
+    private final String key;
+    private int mid;
+    private int iidBase;
+    private int nIids;
     boolean calledNew = false;
 
-    public SnoopInstructionMethodAdapter(MethodVisitor mv, boolean isInit) {
+    public SnoopInstructionMethodAdapter(MethodVisitor mv, boolean isInit, String key) {
         super(mv);
+        this.key = key;
         this.isInit = isInit;
         this.isSuperInitCalled = false;
         tryCatchBlocks = new LinkedList<TryCatchBlock>();
@@ -56,11 +61,21 @@ public class SnoopInstructionMethodAdapter extends MethodAdapter implements Opco
 
     @Override
     public void visitCode() {
-        GlobalStateForInstrumentation.instance.incMid();
+        mid = GlobalStateForInstrumentation.instance.getMid(key);
+        iidBase = GlobalStateForInstrumentation.instance.getIidBase(key, mid, 0);
+        nIids = 0;
         //System.out.println("visitCode");
         mv.visitCode();
     }
 
+    private int getIid() {
+        if (nIids > 0 && nIids % GlobalStateForInstrumentation.STRIDE == 0) {
+            iidBase = GlobalStateForInstrumentation.instance.getIidBase(key, mid,
+                    nIids / GlobalStateForInstrumentation.STRIDE);
+        }
+        return iidBase + nIids++ % GlobalStateForInstrumentation.STRIDE;
+    }
+
     private void addBipushInsn(MethodVisitor mv, int val) {
         switch (val) {
             case 0:
@@ -91,8 +106,8 @@ public class SnoopInstructionMethodAdapter extends MethodAdapter implements Opco
     private void addValueReadInsn(MethodVisitor mv, String desc, String methodNamePrefix) {
         Type t;
 
-//        addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-//        addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+//        addBipushInsn(mv, getIid());
+//        addBipushInsn(mv,mid);
         //System.out.println("***************** desc "+desc);
         if (desc.startsWith("(")) {
             t = Type.getReturnType(desc);
@@ -154,6 +169,16 @@ public class SnoopInstructionMethodAdapter extends MethodAdapter implements Opco
         
     }
 
+    /**
+     * With catg.blockEvents, the interpreter's value of a primitive local is
+     * trusted, so that loading it does not end a block.
+     */
+    private void addLocalValueReadInsn(MethodVisitor mv, String desc) {
+        if (!Config.instance.blockEvents) {
+            addValueReadInsn(mv,desc,"GETVALUE_");
+        }
+    }
+
     private void addSpecialInsn(MethodVisitor mv, int val) {
         addBipushInsn(mv, val);
         mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "SPECIAL", "(I)V");
@@ -167,8 +192,8 @@ public class SnoopInstructionMethodAdapter extends MethodAdapter implements Opco
 
     @Override
     public void visitInsn(int opcode) {
-        addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-        addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+        addBipushInsn(mv, getIid());
+        addBipushInsn(mv,mid);
         switch (opcode) {
             case NOP:
                 mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "NOP", "(II)V");
@@ -642,33 +667,33 @@ public class SnoopInstructionMethodAdapter extends MethodAdapter implements Opco
 
     @Override
     public void visitVarInsn(int opcode, int var) {
-        addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-        addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+        addBipushInsn(mv, getIid());
+        addBipushInsn(mv,mid);
         addBipushInsn(mv, var);
         switch (opcode) {
             case ILOAD:
                 mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "ILOAD",
                         "(III)V");
                 mv.visitVarInsn(opcode, var);
-                addValueReadInsn(mv,"I","GETVALUE_");
+                addLocalValueReadInsn(mv,"I");
                 break;
             case LLOAD:
                 mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "LLOAD",
                         "(III)V");
                 mv.visitVarInsn(opcode, var);
-                addValueReadInsn(mv,"J","GETVALUE_");
+                addLocalValueReadInsn(mv,"J");
                 break;
             case FLOAD:
                 mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "FLOAD",
                         "(III)V");
                 mv.visitVarInsn(opcode, var);
-                addValueReadInsn(mv,"F","GETVALUE_");
+                addLocalValueReadInsn(mv,"F");
                 break;
             case DLOAD:
                 mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "DLOAD",
                         "(III)V");
                 mv.visitVarInsn(opcode, var);
-                addValueReadInsn(mv,"D","GETVALUE_");
+                addLocalValueReadInsn(mv,"D");
                 break;
             case ALOAD:
                 mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "ALOAD",
@@ -715,8 +740,8 @@ public class SnoopInstructionMethodAdapter extends MethodAdapter implements Opco
 
     @Override
     public void visitIntInsn(int opcode, int operand) {
-        addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-        addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+        addBipushInsn(mv, getIid());
+        addBipushInsn(mv,mid);
         switch (opcode) {
             case BIPUSH:
                 addBipushInsn(mv, operand);
@@ -741,8 +766,8 @@ public class SnoopInstructionMethodAdapter extends MethodAdapter implements Opco
 //    @Override
 //    public void visitTypeInsn(int opcode, String type) {
 //        mv.visitTypeInsn(opcode, type);
-//        addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-//        addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+//        addBipushInsn(mv, getIid());
+//        addBipushInsn(mv,mid);
 //        mv.visitLdcInsn(type);
 //        switch (opcode) {
 //            case NEW:
@@ -772,38 +797,38 @@ public class SnoopInstructionMethodAdapter extends MethodAdapter implements Opco
         switch (opcode) {
             case NEW:
                 mv.visitTypeInsn(opcode, type);
-                addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-                addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+                addBipushInsn(mv, getIid());
+                addBipushInsn(mv,mid);
                 mv.visitLdcInsn(type);
                 int cIdx = ClassNames.instance.get(type);
                 addBipushInsn(mv, cIdx);
                 mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "NEW", "(IILjava/lang/String;I)V");
                 calledNew = true;
                 addSpecialInsn(mv, 0); // for non-exceptional path
-                addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-                addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+                addBipushInsn(mv, getIid());
+                addBipushInsn(mv,mid);
                 mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "DUP", "(II)V");
                 mv.visitInsn(DUP);
                 break;
             case ANEWARRAY:
-                addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-                addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+                addBipushInsn(mv, getIid());
+                addBipushInsn(mv,mid);
                 mv.visitLdcInsn(type);
                 mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "ANEWARRAY", "(IILjava/lang/String;)V");
                 mv.visitTypeInsn(opcode, type);
                 addSpecialInsn(mv,0); // for non-exceptional path
                 break;
             case CHECKCAST:
-                addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-                addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+                addBipushInsn(mv, getIid());
+                addBipushInsn(mv,mid);
                 mv.visitLdcInsn(type);
                 mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "CHECKCAST", "(IILjava/lang/String;)V");
                 mv.visitTypeInsn(opcode, type);
                 addSpecialInsn(mv,0); // for non-exceptional path
                 break;
             case INSTANCEOF:
-                addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-                addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+                addBipushInsn(mv, getIid());
+                addBipushInsn(mv,mid);
                 mv.visitLdcInsn(type);
                 mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "INSTANCEOF", "(IILjava/lang/String;)V");
                 mv.visitTypeInsn(opcode, type);
@@ -819,8 +844,8 @@ public class SnoopInstructionMethodAdapter extends MethodAdapter implements Opco
 
     @Override
     public void visitFieldInsn(int opcode, String owner, String name, String desc) {
-        addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-        addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+        addBipushInsn(mv, getIid());
+        addBipushInsn(mv,mid);
         int cIdx = ClassNames.instance.get(owner);
         ObjectInfo tmp = ClassNames.instance.get(cIdx);
         addBipushInsn(mv,cIdx);
@@ -885,8 +910,8 @@ public class SnoopInstructionMethodAdapter extends MethodAdapter implements Opco
 //        if (owner.equals("janala/Main") && name.equals("MakeSymbolic")) {
 //            mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "MAKE_SYMBOLIC", "()V");
 //        }
-        addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-        addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+        addBipushInsn(mv, getIid());
+        addBipushInsn(mv,mid);
         mv.visitLdcInsn(owner);
         mv.visitLdcInsn(name);
         mv.visitLdcInsn(desc);
@@ -934,8 +959,8 @@ public class SnoopInstructionMethodAdapter extends MethodAdapter implements Opco
         if (isInit2 && calledNew) {
             calledNew = false;
             addValueReadInsn(mv,"Ljava/lang/Object;","GETVALUE_");
-            addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-            addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+            addBipushInsn(mv, getIid());
+            addBipushInsn(mv,mid);
             mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "POP", "(II)V");
             mv.visitInsn(POP);
         }
@@ -944,8 +969,8 @@ public class SnoopInstructionMethodAdapter extends MethodAdapter implements Opco
 
     @Override
     public void visitJumpInsn(int opcode, Label label) {
-        addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-        addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+        addBipushInsn(mv, getIid());
+        addBipushInsn(mv,mid);
         addBipushInsn(mv, System.identityHashCode(label)); // label.getOffset()
         switch (opcode) {
             case IFEQ:
@@ -1045,8 +1070,8 @@ public class SnoopInstructionMethodAdapter extends MethodAdapter implements Opco
 
     @Override
     public void visitLdcInsn(Object cst) {
-        addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-        addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+        addBipushInsn(mv, getIid());
+        addBipushInsn(mv,mid);
         mv.visitLdcInsn(cst);
         if (cst instanceof Integer) {
             mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "LDC", "(III)V");
@@ -1066,8 +1091,8 @@ public class SnoopInstructionMethodAdapter extends MethodAdapter implements Opco
 
     @Override
     public void visitIincInsn(int var, int increment) {
-        addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-        addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+        addBipushInsn(mv, getIid());
+        addBipushInsn(mv,mid);
         addBipushInsn(mv, var);
         addBipushInsn(mv, increment);
         mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "IINC", "(IIII)V");
@@ -1076,8 +1101,8 @@ public class SnoopInstructionMethodAdapter extends MethodAdapter implements Opco
 
     @Override
     public void visitTableSwitchInsn(int min, int max, Label dflt, Label[] labels) {
-        addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-        addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+        addBipushInsn(mv, getIid());
+        addBipushInsn(mv,mid);
         addBipushInsn(mv, min);
         addBipushInsn(mv, max);
         addBipushInsn(mv,System.identityHashCode(dflt)); // label.getOffset()
@@ -1097,8 +1122,8 @@ public class SnoopInstructionMethodAdapter extends MethodAdapter implements Opco
 
     @Override
     public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
-        addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-        addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+        addBipushInsn(mv, getIid());
+        addBipushInsn(mv,mid);
         addBipushInsn(mv,System.identityHashCode(dflt));  // label.getOffset()
 
         addBipushInsn(mv,keys.length);
@@ -1125,8 +1150,8 @@ public class SnoopInstructionMethodAdapter extends MethodAdapter implements Opco
 
     @Override
     public void visitMultiANewArrayInsn(String desc, int dims) {
-        addBipushInsn(mv, GlobalStateForInstrumentation.instance.getIid(line));
-        addBipushInsn(mv,GlobalStateForInstrumentation.instance.getMid());
+        addBipushInsn(mv, getIid());
+        addBipushInsn(mv,mid);
         mv.visitLdcInsn(desc);
         addBipushInsn(mv, dims);
         mv.visitMethodInsn(INVOKESTATIC, Config.instance.analysisClass, "MULTIANEWARRAY", "(IILjava/lang/String;I)V");
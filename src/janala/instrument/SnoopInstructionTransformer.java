@@ -44,6 +44,8 @@ import java.lang.instrument.Instrumentation;
 import java.security.ProtectionDomain;
 
 public class SnoopInstructionTransformer implements ClassFileTransformer {
+    private static final InstrumentedClassCache cache = Config.instance.classCacheDir == null
+            ? null : new InstrumentedClassCache(Config.instance.classCacheDir);
 
 	public static void premain(String agentArgs, Instrumentation inst) {
         //System.out.println("calling premain");
@@ -91,6 +93,16 @@ public class SnoopInstructionTransformer implements ClassFileTransformer {
     public byte[] transform(ClassLoader loader,String cname, Class<?> c, ProtectionDomain d, byte[] cbuf)
             throws IllegalClassFormatException {
 
+        if (shouldInstrument(cname)) {
+            //System.out.println("((((((((((((((( transform "+cname);
+            return instrument(cbuf);
+        } else {
+            //System.out.println("--------------- skipping "+cname);
+        }
+        return cbuf;
+    }
+
+    public static boolean shouldInstrument(String cname) {
         boolean toInstrument = true;
         String[] tmp = Config.instance.excludeList;
         for (int i = 0; i < tmp.length; i++) {
@@ -108,16 +120,24 @@ public class SnoopInstructionTransformer implements ClassFileTransformer {
                 break;
             }
         }
+        return toInstrument;
+    }
 
-        if (toInstrument) {
-            //System.out.println("((((((((((((((( transform "+cname);
-            ClassReader cr = new ClassReader(cbuf);
-            ClassWriter cw = new ClassWriter(cr, 0);
-            ClassVisitor cv = new SnoopInstructionClassAdapter(cw);
+    public static byte[] instrument(byte[] cbuf) {
+        if (cache != null) {
+            return cache.instrument(cbuf);
+        }
+        return instrumentUncached(cbuf);
+    }
+
+    static byte[] instrumentUncached(byte[] cbuf) {
+        ClassReader cr = new ClassReader(cbuf);
+        ClassWriter cw = new ClassWriter(cr, 0);
+        ClassVisitor cv = new SnoopInstructionClassAdapter(cw);
 //            ClassVisitor cv = new SnoopInstructionClassAdapter(new TraceClassVisitor(cw,new PrintWriter( System.out )));
-            cr.accept(cv, 0);
+        cr.accept(cv, 0);
 
-            byte[] ret = cw.toByteArray();
+        byte[] ret = cw.toByteArray();
 //            try {
 //                FileOutputStream out = new FileOutputStream("tmp.class");
 //                out.write(ret);
@@ -125,11 +145,7 @@ public class SnoopInstructionTransformer implements ClassFileTransformer {
 //            } catch(Exception e) {
 //                e.printStackTrace();
 //            }
-            //System.err.println(")))))))))))))) end transform "+cname);
-            return ret;
-        } else {
-            //System.out.println("--------------- skipping "+cname);
-        }
-        return cbuf;
+        //System.err.println(")))))))))))))) end transform "+cname);
+        return ret;
     }
 }
@@ -0,0 +1,704 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.instrument;
+
+import janala.config.Config;
+import janala.utils.MyLogger;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+import org.objectweb.asm.tree.analysis.Analyzer;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.objectweb.asm.tree.analysis.Frame;
+import org.objectweb.asm.tree.analysis.Interpreter;
+import org.objectweb.asm.tree.analysis.Value;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Decides which methods need instrumentation, when
+ * catg.selectiveInstrumentation is on.  Before the first class is
+ * instrumented, the classes reachable from the main class are analysed for
+ * the flow of values derived from inputs: a value is tainted if it may
+ * come from janala.Main (and so from catg.CATG), from a tainted argument,
+ * field, array element or return value, or from a library call that was
+ * given a tainted value.  The analysis is flow-sensitive within a method
+ * and iterates over the methods to a fixpoint; fields are told apart by
+ * name and type only, array elements by element kind only, and a virtual
+ * call may reach any analysed method of the same name and descriptor.
+ * Once a tainted value has reached the library, the methods that override
+ * library methods are assumed to be called back with tainted arguments.
+ * <p>
+ * A method is instrumented if it may see a tainted value, or if it may
+ * call, directly or not, a method that is instrumented: the interpreter
+ * can only follow an instrumented method if it has seen the call to it.
+ * Every other method runs uninstrumented, and its instrumented callers
+ * treat it like a library method: the interpreter sees the call and the
+ * concrete result only.  Methods of classes that were not analysed are
+ * always instrumented.
+ * <p>
+ * The granularity is the method: the interpreter keeps a shadow operand
+ * stack, so it needs every instruction of a method it follows.
+ * <p>
+ * The call graph also tells which methods may read an input, directly or
+ * through their callees, for catg.dualPath; if a method that reads inputs
+ * overrides a library method, every method that calls the library may.
+ */
+public class SymbolicReachability implements Opcodes {
+    private final static Logger logger = MyLogger.getLogger(SymbolicReachability.class.getName());
+
+    public static final SymbolicReachability instance = new SymbolicReachability();
+
+    private static final String INPUT_CLASS = "janala/Main";
+
+    private static class MethodInfo {
+        final String owner;
+        final MethodNode node;
+        final Set<MethodInfo> callers = new HashSet<MethodInfo>();
+        boolean callsLibrary;
+        boolean readsInputs;
+        boolean allTainted;
+        boolean paramsTainted;
+        boolean returnsTainted;
+        boolean tainted;
+        boolean instrument;
+
+        MethodInfo(String owner, MethodNode node) {
+            this.owner = owner;
+            this.node = node;
+        }
+    }
+
+    private static class TaintValue implements Value {
+        final int size;
+        final boolean tainted;
+
+        TaintValue(int size, boolean tainted) {
+            this.size = size;
+            this.tainted = tainted;
+        }
+
+        public int getSize() {
+            return size;
+        }
+    }
+
+    private static final TaintValue CONCRETE1 = new TaintValue(1, false);
+    private static final TaintValue CONCRETE2 = new TaintValue(2, false);
+    private static final TaintValue TAINTED1 = new TaintValue(1, true);
+    private static final TaintValue TAINTED2 = new TaintValue(2, true);
+
+    private boolean loaded;
+    private boolean analyzed;
+    private final Map<String, MethodInfo> methods = new HashMap<String, MethodInfo>();
+    private final Map<String, List<MethodInfo>> byNameAndDesc = new HashMap<String, List<MethodInfo>>();
+    private final Set<String> analysedClasses = new HashSet<String>();
+    private final Map<String, Set<String>> libraryMethods = new HashMap<String, Set<String>>();
+    private final Set<String> taintedFields = new HashSet<String>();
+    // indexed by the array load opcode minus IALOAD
+    private final boolean[] taintedArrays = new boolean[SALOAD - IALOAD + 1];
+    // a tainted value has been given to the library, which may hand it back
+    private boolean libraryTainted;
+    private boolean changed;
+
+    /**
+     * Returns whether the given method must be instrumented.
+     */
+    public synchronized boolean isInstrumented(String owner, String name, String desc) {
+        if (!isEnabled()) {
+            return true;
+        }
+        MethodInfo m = methods.get(owner + "." + name + desc);
+        return m == null || m.instrument;
+    }
+
+    private boolean isEnabled() {
+        if (!Config.instance.selectiveInstrumentation || !isLoaded()) {
+            return false;
+        }
+        if (!analyzed) {
+            analyze();
+            analyzed = true;
+        }
+        return true;
+    }
+
+    private boolean isLoaded() {
+        if (Config.mainClass == null) {
+            return false;
+        }
+        if (!loaded) {
+            loadClasses(Config.mainClass.replace('.', '/'));
+            loaded = true;
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the given method may read an input, directly or
+     * through the methods it calls.  Methods of classes that were not
+     * analysed may.
+     */
+    public synchronized boolean mayReadInputs(String owner, String name, String desc) {
+        if (!isLoaded()) {
+            return true;
+        }
+        MethodInfo m = methods.get(owner + "." + name + desc);
+        return m == null || m.readsInputs;
+    }
+
+    /**
+     * Returns the methods of a class that are left uninstrumented, as a
+     * string; what is cached about the class depends on it.
+     */
+    public synchronized String getUninstrumented(String owner) {
+        TreeSet<String> ret = new TreeSet<String>();
+        if (isEnabled()) {
+            for (Map.Entry<String, MethodInfo> e : methods.entrySet()) {
+                if (e.getValue().owner.equals(owner) && !e.getValue().instrument) {
+                    ret.add(e.getKey());
+                }
+            }
+        }
+        return ret.toString();
+    }
+
+    /**
+     * Returns the methods of a class that cannot read an input, as a string,
+     * when catg.dualPath is on; they get an uninstrumented copy.
+     */
+    public synchronized String getNonReaders(String owner) {
+        TreeSet<String> ret = new TreeSet<String>();
+        if (Config.instance.dualPath && isLoaded()) {
+            for (Map.Entry<String, MethodInfo> e : methods.entrySet()) {
+                if (e.getValue().owner.equals(owner) && !e.getValue().readsInputs) {
+                    ret.add(e.getKey());
+                }
+            }
+        }
+        return ret.toString();
+    }
+
+    private void analyze() {
+        do {
+            changed = false;
+            if (libraryTainted) {
+                taintCallbacks();
+            }
+            for (MethodInfo m : methods.values()) {
+                analyze(m);
+            }
+        } while (changed);
+
+        LinkedList<MethodInfo> worklist = new LinkedList<MethodInfo>();
+        for (MethodInfo m : methods.values()) {
+            if (m.tainted) {
+                m.instrument = true;
+                worklist.add(m);
+            }
+        }
+        while (!worklist.isEmpty()) {
+            for (MethodInfo caller : worklist.removeFirst().callers) {
+                if (!caller.instrument) {
+                    caller.instrument = true;
+                    worklist.add(caller);
+                }
+            }
+        }
+        int n = 0;
+        for (MethodInfo m : methods.values()) {
+            if (m.instrument) {
+                n++;
+            }
+        }
+        logger.log(Level.FINE, "Instrumenting {0} of " + methods.size() + " analysed methods", n);
+    }
+
+    private void loadClasses(String mainClass) {
+        LinkedList<String> worklist = new LinkedList<String>();
+        Set<String> seen = new HashSet<String>();
+        worklist.add(mainClass);
+        seen.add(mainClass);
+        while (!worklist.isEmpty()) {
+            String cname = worklist.removeFirst();
+            ClassNode cn = readClass(cname, true);
+            if (cn == null) {
+                continue;
+            }
+            analysedClasses.add(cname);
+            ArrayList<String> refs = new ArrayList<String>();
+            refs.add(cn.superName);
+            for (Object o : cn.interfaces) {
+                refs.add((String)o);
+            }
+            for (Object o : cn.methods) {
+                MethodNode mn = (MethodNode)o;
+                MethodInfo m = new MethodInfo(cname, mn);
+                methods.put(cname + "." + mn.name + mn.desc, m);
+                List<MethodInfo> list = byNameAndDesc.get(mn.name + mn.desc);
+                if (list == null) {
+                    byNameAndDesc.put(mn.name + mn.desc, list = new ArrayList<MethodInfo>());
+                }
+                list.add(m);
+                for (AbstractInsnNode insn = mn.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+                    if (insn instanceof MethodInsnNode) {
+                        refs.add(((MethodInsnNode)insn).owner);
+                    } else if (insn instanceof FieldInsnNode) {
+                        refs.add(((FieldInsnNode)insn).owner);
+                    } else if (insn instanceof TypeInsnNode) {
+                        refs.add(((TypeInsnNode)insn).desc);
+                    }
+                }
+            }
+            for (String ref : refs) {
+                if (ref != null && !ref.startsWith("[") && seen.add(ref)) {
+                    worklist.add(ref);
+                }
+            }
+        }
+
+        LinkedList<MethodInfo> readers = new LinkedList<MethodInfo>();
+        for (MethodInfo m : methods.values()) {
+            for (AbstractInsnNode insn = m.node.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+                if (insn instanceof MethodInsnNode) {
+                    MethodInsnNode call = (MethodInsnNode)insn;
+                    if (call.owner.equals(INPUT_CLASS)) {
+                        if (!m.readsInputs) {
+                            m.readsInputs = true;
+                            readers.add(m);
+                        }
+                        continue;
+                    }
+                    List<MethodInfo> targets = getTargets(call);
+                    for (MethodInfo target : targets) {
+                        target.callers.add(m);
+                    }
+                    m.callsLibrary |= targets.isEmpty();
+                }
+            }
+        }
+        setReadsInputs(readers);
+    }
+
+    private void setReadsInputs(LinkedList<MethodInfo> worklist) {
+        boolean callbacks = false;
+        while (!worklist.isEmpty()) {
+            MethodInfo m = worklist.removeFirst();
+            MethodNode mn = m.node;
+            if (!callbacks && (mn.access & (ACC_STATIC | ACC_PRIVATE)) == 0
+                    && getLibraryMethods(m.owner).contains(mn.name + mn.desc)) {
+                // the library may call it back from anywhere
+                callbacks = true;
+                for (MethodInfo caller : methods.values()) {
+                    if (caller.callsLibrary && !caller.readsInputs) {
+                        caller.readsInputs = true;
+                        worklist.add(caller);
+                    }
+                }
+            }
+            for (MethodInfo caller : m.callers) {
+                if (!caller.readsInputs) {
+                    caller.readsInputs = true;
+                    worklist.add(caller);
+                }
+            }
+        }
+    }
+
+    /**
+     * The library may call back any method that overrides a library method,
+     * with what it has been given.
+     */
+    private void taintCallbacks() {
+        for (MethodInfo m : methods.values()) {
+            MethodNode mn = m.node;
+            if (!m.paramsTainted && (mn.access & (ACC_STATIC | ACC_PRIVATE)) == 0 && !mn.name.equals("<init>")
+                    && getLibraryMethods(m.owner).contains(mn.name + mn.desc)) {
+                m.paramsTainted = true;
+                changed = true;
+            }
+        }
+    }
+
+    /**
+     * Returns the methods, as name and descriptor, that a class inherits
+     * from the supertypes that are not analysed.
+     */
+    private Set<String> getLibraryMethods(String cname) {
+        Set<String> ret = libraryMethods.get(cname);
+        if (ret == null) {
+            ret = new HashSet<String>();
+            libraryMethods.put(cname, ret);
+            ClassNode cn = readClass(cname, false);
+            if (cn != null) {
+                if (!analysedClasses.contains(cname)) {
+                    for (Object o : cn.methods) {
+                        MethodNode mn = (MethodNode)o;
+                        ret.add(mn.name + mn.desc);
+                    }
+                }
+                if (cn.superName != null) {
+                    ret.addAll(getLibraryMethods(cn.superName));
+                }
+                for (Object o : cn.interfaces) {
+                    ret.addAll(getLibraryMethods((String)o));
+                }
+            }
+        }
+        return ret;
+    }
+
+    private static ClassNode readClass(String cname, boolean withCode) {
+        if (withCode && !SnoopInstructionTransformer.shouldInstrument(cname)) {
+            return null;
+        }
+        InputStream in = ClassLoader.getSystemResourceAsStream(cname + ".class");
+        if (in == null) {
+            return null;
+        }
+        try {
+            ClassNode cn = new ClassNode();
+            new ClassReader(in).accept(cn, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES
+                    | (withCode ? 0 : ClassReader.SKIP_CODE));
+            return cn;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            try {
+                in.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void analyze(final MethodInfo m) {
+        if (m.node.instructions.size() == 0) {
+            return;
+        }
+        Analyzer analyzer = new Analyzer(new TaintInterpreter(m)) {
+            @Override
+            protected void init(String owner, MethodNode node) {
+                if (m.paramsTainted || m.allTainted) {
+                    Frame f = getFrames()[0];
+                    int nParams = Type.getArgumentsAndReturnSizes(node.desc) >> 2;
+                    if ((node.access & ACC_STATIC) != 0) {
+                        nParams--;
+                    }
+                    for (int i = 0; i < nParams; i++) {
+                        Value v = f.getLocal(i);
+                        if (v != null) {
+                            f.setLocal(i, v.getSize() == 2 ? TAINTED2 : TAINTED1);
+                        }
+                    }
+                    setTainted(m);
+                }
+            }
+        };
+        try {
+            analyzer.analyze(m.owner, m.node);
+        } catch (AnalyzerException e) {
+            logger.log(Level.WARNING, "Cannot analyse {0}: " + e.getMessage(), m.owner + "." + m.node.name);
+            if (!m.allTainted) {
+                m.allTainted = true;
+                changed = true;
+            }
+            setTainted(m);
+        }
+    }
+
+    private void setTainted(MethodInfo m) {
+        if (!m.tainted) {
+            m.tainted = true;
+            changed = true;
+        }
+    }
+
+    private List<MethodInfo> getTargets(MethodInsnNode insn) {
+        if (insn.getOpcode() == INVOKESTATIC || insn.getOpcode() == INVOKESPECIAL) {
+            MethodInfo m = methods.get(insn.owner + "." + insn.name + insn.desc);
+            if (m != null) {
+                ArrayList<MethodInfo> ret = new ArrayList<MethodInfo>(1);
+                ret.add(m);
+                return ret;
+            }
+            // inherited, or outside the analysed classes
+        }
+        List<MethodInfo> ret = byNameAndDesc.get(insn.name + insn.desc);
+        return ret == null ? new ArrayList<MethodInfo>(0) : ret;
+    }
+
+    private class TaintInterpreter implements Interpreter {
+        private final MethodInfo m;
+
+        TaintInterpreter(MethodInfo m) {
+            this.m = m;
+        }
+
+        private Value value(int size, boolean tainted) {
+            if (tainted || m.allTainted) {
+                setTainted(m);
+                return size == 2 ? TAINTED2 : TAINTED1;
+            }
+            return size == 2 ? CONCRETE2 : CONCRETE1;
+        }
+
+        private Value value(Type type, boolean tainted) {
+            return type == Type.VOID_TYPE ? null : value(type.getSize(), tainted);
+        }
+
+        private boolean isTainted(Value v) {
+            return ((TaintValue)v).tainted;
+        }
+
+        private boolean isFieldTainted(AbstractInsnNode insn) {
+            FieldInsnNode f = (FieldInsnNode)insn;
+            return taintedFields.contains(f.name + " " + f.desc);
+        }
+
+        private void setFieldTainted(AbstractInsnNode insn) {
+            FieldInsnNode f = (FieldInsnNode)insn;
+            if (taintedFields.add(f.name + " " + f.desc)) {
+                changed = true;
+            }
+        }
+
+        public Value newValue(Type type) {
+            return type == null ? CONCRETE1 : value(type, false);
+        }
+
+        public Value newOperation(AbstractInsnNode insn) {
+            switch (insn.getOpcode()) {
+                case LCONST_0:
+                case LCONST_1:
+                case DCONST_0:
+                case DCONST_1:
+                    return value(2, false);
+                case LDC:
+                    Object cst = ((LdcInsnNode)insn).cst;
+                    return value(cst instanceof Long || cst instanceof Double ? 2 : 1, false);
+                case GETSTATIC:
+                    return value(Type.getType(((FieldInsnNode)insn).desc), isFieldTainted(insn));
+                default:
+                    return value(1, false);
+            }
+        }
+
+        public Value copyOperation(AbstractInsnNode insn, Value value) {
+            return value(value.getSize(), isTainted(value));
+        }
+
+        public Value unaryOperation(AbstractInsnNode insn, Value value) {
+            boolean t = isTainted(value);
+            switch (insn.getOpcode()) {
+                case LNEG:
+                case DNEG:
+                case I2L:
+                case I2D:
+                case L2D:
+                case F2L:
+                case F2D:
+                case D2L:
+                    return value(2, t);
+                case GETFIELD:
+                    return value(Type.getType(((FieldInsnNode)insn).desc), t || isFieldTainted(insn));
+                case PUTSTATIC:
+                    if (t) {
+                        setFieldTainted(insn);
+                    }
+                    return null;
+                case IFEQ:
+                case IFNE:
+                case IFLT:
+                case IFGE:
+                case IFGT:
+                case IFLE:
+                case IFNULL:
+                case IFNONNULL:
+                case TABLESWITCH:
+                case LOOKUPSWITCH:
+                case IRETURN:
+                case LRETURN:
+                case FRETURN:
+                case DRETURN:
+                case ARETURN:
+                case ATHROW:
+                case MONITORENTER:
+                case MONITOREXIT:
+                    value(1, t);
+                    return null;
+                default:
+                    return value(1, t);
+            }
+        }
+
+        public Value binaryOperation(AbstractInsnNode insn, Value value1, Value value2) {
+            boolean t = isTainted(value1) || isTainted(value2);
+            int opcode = insn.getOpcode();
+            switch (opcode) {
+                case IALOAD:
+                case LALOAD:
+                case FALOAD:
+                case DALOAD:
+                case AALOAD:
+                case BALOAD:
+                case CALOAD:
+                case SALOAD:
+                    return value(opcode == LALOAD || opcode == DALOAD ? 2 : 1,
+                            t || taintedArrays[opcode - IALOAD]);
+                case LADD:
+                case LSUB:
+                case LMUL:
+                case LDIV:
+                case LREM:
+                case LSHL:
+                case LSHR:
+                case LUSHR:
+                case LAND:
+                case LOR:
+                case LXOR:
+                case DADD:
+                case DSUB:
+                case DMUL:
+                case DDIV:
+                case DREM:
+                    return value(2, t);
+                case PUTFIELD:
+                    if (isTainted(value2)) {
+                        setFieldTainted(insn);
+                    }
+                    return null;
+                case IF_ICMPEQ:
+                case IF_ICMPNE:
+                case IF_ICMPLT:
+                case IF_ICMPGE:
+                case IF_ICMPGT:
+                case IF_ICMPLE:
+                case IF_ACMPEQ:
+                case IF_ACMPNE:
+                    value(1, t);
+                    return null;
+                default:
+                    return value(1, t);
+            }
+        }
+
+        public Value ternaryOperation(AbstractInsnNode insn, Value value1, Value value2, Value value3) {
+            // an array store; a tainted index matters as much as a tainted value
+            if (isTainted(value2) || isTainted(value3)) {
+                int kind = insn.getOpcode() - IASTORE;
+                if (!taintedArrays[kind]) {
+                    taintedArrays[kind] = true;
+                    changed = true;
+                }
+                setTainted(m);
+            }
+            return null;
+        }
+
+        // ASM 3 declares the operands as a raw List
+        @SuppressWarnings("rawtypes")
+        public Value naryOperation(AbstractInsnNode insn, List values) {
+            boolean t = false;
+            for (Object v : values) {
+                t |= isTainted((Value)v);
+            }
+            if (insn.getOpcode() == MULTIANEWARRAY) {
+                return value(1, t);
+            }
+            MethodInsnNode call = (MethodInsnNode)insn;
+            Type ret = Type.getReturnType(call.desc);
+            if (call.owner.equals(INPUT_CLASS)) {
+                // inputs, assumptions and scopes are all seen through the
+                // interpreter, and MakeSymbolic taints its argument in place
+                if (!m.allTainted) {
+                    m.allTainted = true;
+                    changed = true;
+                }
+                return value(ret, true);
+            }
+            List<MethodInfo> targets = getTargets(call);
+            boolean retTainted = false;
+            for (MethodInfo target : targets) {
+                if (t && !target.paramsTainted) {
+                    target.paramsTainted = true;
+                    changed = true;
+                }
+                retTainted |= target.returnsTainted;
+            }
+            if (targets.isEmpty()) {
+                if (t && !libraryTainted) {
+                    libraryTainted = true;
+                    changed = true;
+                }
+                retTainted = t || libraryTainted && ret.getSort() >= Type.ARRAY;
+            }
+            return value(ret, retTainted);
+        }
+
+        public void returnOperation(AbstractInsnNode insn, Value value, Value expected) {
+            if (isTainted(value) && !m.returnsTainted) {
+                m.returnsTainted = true;
+                changed = true;
+            }
+        }
+
+        public Value merge(Value v, Value w) {
+            TaintValue a = (TaintValue)v;
+            TaintValue b = (TaintValue)w;
+            if (a.size != b.size) {
+                return a.tainted || b.tainted ? TAINTED1 : CONCRETE1;
+            }
+            if (b.tainted && !a.tainted) {
+                return b;
+            }
+            return a;
+        }
+    }
+}
@@ -68,9 +68,14 @@ public class ClassDepot {
         return ct;
     }
 
+    private Class loadClass(String cName) throws ClassNotFoundException {
+        // the program under test may live in a child loader of ours
+        return Class.forName(cName, true, Thread.currentThread().getContextClassLoader());
+    }
+
     public int getFieldIndex(String cName, String field) {
         try {
-            Class clazz = Class.forName(cName);
+            Class clazz = loadClass(cName);
             ClassTemplate ct = getOrCreateTemplate(cName,clazz);
             return ct.getFieldIndex(field);
         } catch (ClassNotFoundException e) {
@@ -82,7 +87,7 @@ public class ClassDepot {
 
     public int getStaticFieldIndex(String cName, String field) {
         try {
-            Class clazz = Class.forName(cName);
+            Class clazz = loadClass(cName);
             ClassTemplate ct = getOrCreateTemplate(cName,clazz);
             return ct.getStaticFieldIndex(field);
         } catch (ClassNotFoundException e) {
@@ -94,7 +99,7 @@ public class ClassDepot {
 
     public int nFields(String cName) {
         try {
-            Class clazz = Class.forName(cName);
+            Class clazz = loadClass(cName);
             ClassTemplate ct = getOrCreateTemplate(cName,clazz);
             return ct.nFields();
         } catch (ClassNotFoundException e) {
@@ -106,7 +111,7 @@ public class ClassDepot {
 
     public int nStaticFields(String cName) {
         try {
-            Class clazz = Class.forName(cName);
+            Class clazz = loadClass(cName);
             ClassTemplate ct = getOrCreateTemplate(cName,clazz);
             return ct.nStaticFields();
         } catch (ClassNotFoundException e) {
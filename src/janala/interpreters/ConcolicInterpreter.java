@@ -33,7 +33,6 @@
 
 package janala.interpreters;
 
-import gnu.trove.map.hash.TIntObjectHashMap;
 import janala.config.Config;
 import janala.logger.ClassNames;
 import janala.logger.FieldInfo;
@@ -43,7 +42,7 @@ import janala.solvers.History;
 import janala.utils.MyLogger;
 import org.objectweb.asm.Type;
 
-import java.util.Stack;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -53,23 +52,66 @@ import java.util.logging.Logger;
  * Time: 12:12 PM
  */
 public class ConcolicInterpreter implements IVisitor {
-    private Stack<Frame> stack;
+    // frames[0..depth] is the call stack; the frames above it are kept for reuse
+    private Frame[] frames;
+    private int depth;
     private Frame currentFrame;
     private ClassNames cnames;
-    private TIntObjectHashMap<Value> objects;
+    private ShadowHeap objects;
     private History history;
     private Instruction next;
+    // a symbolic value may be held by a field or an array element
+    private boolean symbolicHeap;
+    // the value last created for a GETVALUE, as long as it is not in the heap
+    private Value fresh;
     private final static Logger logger = MyLogger.getLogger(ConcolicInterpreter.class.getName());
 
     public ConcolicInterpreter(ClassNames cnames) {
-        stack = new Stack<Frame>();
-        stack.add(currentFrame = new Frame(0));
+        this(cnames, History.readHistory(Config.instance.getSolver()));
+    }
+
+    public ConcolicInterpreter(ClassNames cnames, History history) {
+        frames = new Frame[16];
+        frames[0] = currentFrame = new Frame(0);
         this.cnames = cnames;
-        objects = new TIntObjectHashMap<Value>();
-        history = History.readHistory(Config.instance.getSolver());
+        objects = new ShadowHeap();
+        this.history = history;
 //        inputs = new ArrayList<Value>();
     }
 
+    private void setHeapValue(Value value) {
+        if (value.isSymbolic()) {
+            symbolicHeap = true;
+        } else if (value == fresh) {
+            fresh = null;
+        }
+    }
+
+    private Frame pushFrame(int nReturnWords) {
+        depth++;
+        if (depth == frames.length) {
+            frames = Arrays.copyOf(frames, 2 * depth);
+        }
+        Frame frame = frames[depth];
+        if (frame == null) {
+            frames[depth] = frame = new Frame(nReturnWords);
+        } else {
+            frame.reset(nReturnWords);
+        }
+        return frame;
+    }
+
+    /**
+     * Returns to the caller's frame.  The frame left stays valid until the
+     * next call.
+     */
+    private Frame popFrame() {
+        Frame old = currentFrame;
+        currentFrame = frames[depth - 1];
+        depth--;
+        return old;
+    }
+
     private void checkAndSetException() {
         if (!(next instanceof SPECIAL) || ((SPECIAL)next).i!=0) {
             currentFrame.clear();
@@ -121,10 +163,71 @@ public class ConcolicInterpreter implements IVisitor {
         return val;
     }
 
+    /**
+     * Returns the constraint that value is the element of ref at index i1,
+     * as an array select for each array ref may be, or null if an element
+     * or the index is not a linear expression.
+     */
+    private Constraint getArraySelect(ObjectValue ref, IntValue i1, SymbolicInt value) {
+        if (i1.symbolic.op != SymbolicInt.COMPARISON_OPS.UN) {
+            return null;
+        }
+        SymbolicObject sref;
+        if (ref.symbolic != null) {
+            sref = ref.symbolic;
+        } else {
+            sref = new SymbolicObject();
+            sref.addGuardedObjectValue(null, ref);
+        }
+
+        Constraint ret = null;
+        SymbolicOrConstraint or1 = null;
+        for(Pair<Constraint,ObjectValue> pair: sref.guards) {
+            Value[] elements = pair.snd.concrete;
+            if (elements == null || elements.length == 0) {
+                return null;
+            }
+            SymbolicInt[] symbolic = new SymbolicInt[elements.length];
+            long[] concrete = new long[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                Value element = elements[i];
+                SymbolicInt sym;
+                if (element instanceof IntValue) {
+                    if (((IntValue)element).nonIntConstraint != null) {
+                        return null;
+                    }
+                    sym = ((IntValue)element).symbolic;
+                    concrete[i] = ((IntValue)element).concrete;
+                } else if (element instanceof LongValue) {
+                    sym = ((LongValue)element).symbolic;
+                    concrete[i] = ((LongValue)element).concrete;
+                } else {
+                    return null;
+                }
+                if (sym != null && sym.op != SymbolicInt.COMPARISON_OPS.UN) {
+                    return null;
+                }
+                symbolic[i] = sym;
+            }
+            ret = new SymbolicArraySelect(i1.symbolic, value, 0, symbolic, concrete);
+            if (pair.fst != null) {
+                ret = new SymbolicAndConstraint(ret).AND(pair.fst);
+            }
+            or1 = or1 == null ? new SymbolicOrConstraint(ret) : or1.OR(ret);
+        }
+        return sref.guards.size() == 1 ? ret : or1;
+    }
+
     private Value getArrayElementInt(int iid, ObjectValue ref, IntValue i1, Value val) {
         if (i1.symbolic != null) {
             IntValue sval = new IntValue(((IntValue)val).concrete);
             sval.MAKE_SYMBOLIC(history);
+            Constraint select = getArraySelect(ref, i1, sval.symbolic);
+            if (select != null) {
+                history.checkAndSetBranch(true, select, iid);
+                history.setLastBranchDone();
+                return sval;
+            }
             SymbolicOrConstraint or1 = null;
             SymbolicAndConstraint and1;
 
@@ -174,6 +277,12 @@ public class ConcolicInterpreter implements IVisitor {
         if (i1.symbolic != null) {
             LongValue sval = new LongValue(((LongValue)val).concrete);
             sval.MAKE_SYMBOLIC(history);
+            Constraint select = getArraySelect(ref, i1, sval.symbolic);
+            if (select != null) {
+                history.checkAndSetBranch(true, select, iid);
+                history.setLastBranchDone();
+                return sval;
+            }
             SymbolicOrConstraint or1 = null;
             SymbolicAndConstraint and1;
 
@@ -221,6 +330,7 @@ public class ConcolicInterpreter implements IVisitor {
     }
 
     public void endExecution() {
+        logger.log(Level.FINE, "{0}", objects);
         history.solveAndSave();
     }
 
@@ -230,17 +340,23 @@ public class ConcolicInterpreter implements IVisitor {
 
     public void visitAALOAD(AALOAD inst) {
         try {
-            IntValue i1 = (IntValue)currentFrame.pop();
-            ObjectValue ref = (ObjectValue)currentFrame.pop();
+            if (currentFrame.isPlainInt(0)) {
+                int i1 = currentFrame.popInt();
+                ObjectValue ref = (ObjectValue)currentFrame.pop();
+                currentFrame.push(ref.getField(i1));
+            } else {
+                IntValue i1 = (IntValue)currentFrame.pop();
+                ObjectValue ref = (ObjectValue)currentFrame.pop();
 
-            Value val = ref.getField(i1.concrete);
-            currentFrame.push(getArrayElementObject(inst.iid, ref, i1, val));
+                Value val = ref.getField(i1.concrete);
+                currentFrame.push(getArrayElementObject(inst.iid, ref, i1, val));
 
 //            if (i1.symbolic != null) {
 //                System.out.println("Symbolic index AALOAD "+i1.symbolic+ " "+i1.concrete+" "+inst.iid);
 ////                throw new RuntimeException("I am here");
 //            }
 //            currentFrame.push(ref.getField(i1.concrete));
+            }
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -250,9 +366,10 @@ public class ConcolicInterpreter implements IVisitor {
     public void visitAASTORE(AASTORE inst) {
         try {
             Value value = currentFrame.pop();
-            IntValue i = (IntValue)currentFrame.pop();
+            int i = currentFrame.popInt();
             ObjectValue ref = (ObjectValue)currentFrame.pop();
-            ref.setField(i.concrete, value);
+            ref.setField(i, value);
+            setHeapValue(value);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -269,8 +386,8 @@ public class ConcolicInterpreter implements IVisitor {
 
     public void visitANEWARRAY(ANEWARRAY inst) {
         try {
-            IntValue i1 = (IntValue)currentFrame.pop();
-            ObjectValue tmp = new ObjectValue(i1.concrete);
+            int i1 = currentFrame.popInt();
+            ObjectValue tmp = new ObjectValue(i1);
             currentFrame.push(tmp);
         } catch (Exception e) {
             e.printStackTrace();
@@ -288,7 +405,7 @@ public class ConcolicInterpreter implements IVisitor {
             if (ref.concrete==null) {
                 currentFrame.push(PlaceHolder.instance);
             } else {
-                currentFrame.push(new IntValue(ref.concrete.length));
+                currentFrame.pushInt(ref.concrete.length);
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -308,10 +425,16 @@ public class ConcolicInterpreter implements IVisitor {
 
     public void visitBALOAD(BALOAD inst) {
         try {
-            IntValue i1 = (IntValue)currentFrame.pop();
-            ObjectValue ref = (ObjectValue)currentFrame.pop();
-            Value val = ref.getField(i1.concrete);
-            currentFrame.push(getArrayElementInt(inst.iid, ref, i1, val));
+            if (currentFrame.isPlainInt(0)) {
+                int i1 = currentFrame.popInt();
+                ObjectValue ref = (ObjectValue)currentFrame.pop();
+                currentFrame.push(ref.getField(i1));
+            } else {
+                IntValue i1 = (IntValue)currentFrame.pop();
+                ObjectValue ref = (ObjectValue)currentFrame.pop();
+                Value val = ref.getField(i1.concrete);
+                currentFrame.push(getArrayElementInt(inst.iid, ref, i1, val));
+            }
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -321,9 +444,10 @@ public class ConcolicInterpreter implements IVisitor {
     public void visitBASTORE(BASTORE inst) {
         try {
             Value value = currentFrame.pop();
-            IntValue i = (IntValue)currentFrame.pop();
+            int i = currentFrame.popInt();
             ObjectValue ref = (ObjectValue)currentFrame.pop();
-            ref.setField(i.concrete, value);
+            ref.setField(i, value);
+            setHeapValue(value);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -331,15 +455,21 @@ public class ConcolicInterpreter implements IVisitor {
     }
 
     public void visitBIPUSH(BIPUSH inst) {
-        currentFrame.push(new IntValue(inst.value));
+        currentFrame.pushInt(inst.value);
     }
 
     public void visitCALOAD(CALOAD inst) {
         try {
-            IntValue i1 = (IntValue)currentFrame.pop();
-            ObjectValue ref = (ObjectValue)currentFrame.pop();
-            Value val = ref.getField(i1.concrete);
-            currentFrame.push(getArrayElementInt(inst.iid, ref, i1, val));
+            if (currentFrame.isPlainInt(0)) {
+                int i1 = currentFrame.popInt();
+                ObjectValue ref = (ObjectValue)currentFrame.pop();
+                currentFrame.push(ref.getField(i1));
+            } else {
+                IntValue i1 = (IntValue)currentFrame.pop();
+                ObjectValue ref = (ObjectValue)currentFrame.pop();
+                Value val = ref.getField(i1.concrete);
+                currentFrame.push(getArrayElementInt(inst.iid, ref, i1, val));
+            }
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -349,9 +479,10 @@ public class ConcolicInterpreter implements IVisitor {
     public void visitCASTORE(CASTORE inst) {
         try {
             Value value = currentFrame.pop();
-            IntValue i = (IntValue)currentFrame.pop();
+            int i = currentFrame.popInt();
             ObjectValue ref = (ObjectValue)currentFrame.pop();
-            ref.setField(i.concrete, value);
+            ref.setField(i, value);
+            setHeapValue(value);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -385,9 +516,15 @@ public class ConcolicInterpreter implements IVisitor {
 
     public void visitDALOAD(DALOAD inst) {
         try {
-            IntValue i1 = (IntValue)currentFrame.pop();
-            ObjectValue ref = (ObjectValue)currentFrame.pop();
-            currentFrame.push2(ref.getField(i1.concrete));
+            if (currentFrame.isPlainInt(0)) {
+                int i1 = currentFrame.popInt();
+                ObjectValue ref = (ObjectValue)currentFrame.pop();
+                currentFrame.push2(ref.getField(i1));
+            } else {
+                IntValue i1 = (IntValue)currentFrame.pop();
+                ObjectValue ref = (ObjectValue)currentFrame.pop();
+                currentFrame.push2(ref.getField(i1.concrete));
+            }
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -397,9 +534,10 @@ public class ConcolicInterpreter implements IVisitor {
     public void visitDASTORE(DASTORE inst) {
         try {
             Value value = currentFrame.pop2();
-            IntValue i = (IntValue)currentFrame.pop();
+            int i = currentFrame.popInt();
             ObjectValue ref = (ObjectValue)currentFrame.pop();
-            ref.setField(i.concrete, value);
+            ref.setField(i, value);
+            setHeapValue(value);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -468,7 +606,7 @@ public class ConcolicInterpreter implements IVisitor {
     }
 
     public void visitDUP(DUP inst) {
-        currentFrame.push(currentFrame.peek());
+        currentFrame.dup();
     }
 
     public void visitDUP2(DUP2 inst) {
@@ -541,9 +679,15 @@ public class ConcolicInterpreter implements IVisitor {
 
     public void visitFALOAD(FALOAD inst) {
         try {
-            IntValue i1 = (IntValue)currentFrame.pop();
-            ObjectValue ref = (ObjectValue)currentFrame.pop();
-            currentFrame.push(ref.getField(i1.concrete));
+            if (currentFrame.isPlainInt(0)) {
+                int i1 = currentFrame.popInt();
+                ObjectValue ref = (ObjectValue)currentFrame.pop();
+                currentFrame.push(ref.getField(i1));
+            } else {
+                IntValue i1 = (IntValue)currentFrame.pop();
+                ObjectValue ref = (ObjectValue)currentFrame.pop();
+                currentFrame.push(ref.getField(i1.concrete));
+            }
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -553,9 +697,10 @@ public class ConcolicInterpreter implements IVisitor {
     public void visitFASTORE(FASTORE inst) {
         try {
             Value value = currentFrame.pop();
-            IntValue i = (IntValue)currentFrame.pop();
+            int i = currentFrame.popInt();
             ObjectValue ref = (ObjectValue)currentFrame.pop();
-            ref.setField(i.concrete, value);
+            ref.setField(i, value);
+            setHeapValue(value);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -662,23 +807,25 @@ public class ConcolicInterpreter implements IVisitor {
     public void visitGETVALUE_Object(GETVALUE_Object inst) {
         Value peek = currentFrame.peek();
         Value tmp;
-        if (peek == PlaceHolder.instance || (((ObjectValue)peek).address != -1 && ((ObjectValue)peek).address != inst.v) ) {
+        if (peek == PlaceHolder.instance || (((ObjectValue)peek).address != -1 && !isShadowOf(peek, inst))) {
             //if (peek != PlaceHolder.instance)
             //    logger.log(Level.WARNING, "** Failed to match " + currentFrame.peek() + " and " + inst.v);
             logger.log(Level.FINE, "** Failed to match " + currentFrame.peek() + " and " + inst.v);
             currentFrame.pop();
-            tmp = objects.get(inst.v);
+            tmp = objects.get(inst.ref, inst.v);
             if (tmp!=null) {
                 currentFrame.push(tmp);
             } else if (inst.v==0) {
                 currentFrame.push(ObjectValue.NULL);
             } else {
                 if (inst.isString) {
-                    currentFrame.push(tmp = new StringValue(inst.string,inst.v));
+                    // a copy, so that the shadow does not keep the string alive
+                    String s = inst.ref == null ? inst.string : new String(inst.string);
+                    currentFrame.push(fresh = tmp = new StringValue(s,inst.v));
                 } else {
-                    currentFrame.push(tmp = new ObjectValue(100,inst.v));
+                    currentFrame.push(fresh = tmp = new ObjectValue(100,inst.v));
                 }
-                objects.put(inst.v,tmp);
+                objects.put(inst.ref,inst.v,tmp);
             }
         } else if (((ObjectValue)peek).address == -1) {
             if (inst.v == 0) {
@@ -687,34 +834,50 @@ public class ConcolicInterpreter implements IVisitor {
                 currentFrame.push(ObjectValue.NULL);
             } else {
                 ((ObjectValue)peek).setAddress(inst.v);
-                objects.put(inst.v,peek);
+                objects.put(inst.ref,inst.v,peek);
             }
         }
 //        throw new RuntimeException("Unimplemented instruction "+inst);
     }
 
+    /**
+     * Returns whether peek, which has an address, shadows the object of
+     * inst.  Objects with the same identity hash code are told apart when
+     * the object itself is known.
+     */
+    private boolean isShadowOf(Value peek, GETVALUE_Object inst) {
+        if (((ObjectValue)peek).address != inst.v) {
+            return false;
+        }
+        if (inst.ref == null) {
+            return true;
+        }
+        Value shadow = objects.get(inst.ref, inst.v);
+        return shadow == null || shadow == peek;
+    }
+
     public void visitGETVALUE_boolean(GETVALUE_boolean inst) {
-        if (currentFrame.peek()==PlaceHolder.instance || ((IntValue)currentFrame.peek()).concrete != (inst.v?1:0)) {
+        if (!currentFrame.isIntOnTop((inst.v?1:0))) {
             logger.log(Level.FINE,"** Failed to match {0} and "+inst.v, currentFrame.peek());
             currentFrame.pop();
             
-            currentFrame.push(new IntValue(inst.v?1:0));
+            currentFrame.push(fresh = new IntValue(inst.v?1:0));
         }
     }
 
     public void visitGETVALUE_byte(GETVALUE_byte inst) {
-        if (currentFrame.peek()==PlaceHolder.instance || ((IntValue)currentFrame.peek()).concrete != inst.v) {
+        if (!currentFrame.isIntOnTop(inst.v)) {
             logger.log(Level.FINE,"** Failed to match {0} and "+inst.v, currentFrame.peek());
             currentFrame.pop();
-            currentFrame.push(new IntValue(inst.v));
+            currentFrame.push(fresh = new IntValue(inst.v));
         }
     }
 
     public void visitGETVALUE_char(GETVALUE_char inst) {
-        if (currentFrame.peek()==PlaceHolder.instance || ((IntValue)currentFrame.peek()).concrete != inst.v) {
+        if (!currentFrame.isIntOnTop(inst.v)) {
             logger.log(Level.FINE,"** Failed to match {0} and "+inst.v, currentFrame.peek());
             currentFrame.pop();
-            currentFrame.push(new IntValue(inst.v));
+            currentFrame.push(fresh = new IntValue(inst.v));
         }
     }
 
@@ -722,7 +885,7 @@ public class ConcolicInterpreter implements IVisitor {
         if (currentFrame.peek2()==PlaceHolder.instance || ((DoubleValue)currentFrame.peek2()).concrete != inst.v) {
             logger.log(Level.FINE,"** Failed to match {0} and "+inst.v, currentFrame.peek());
             currentFrame.pop2();
-            currentFrame.push2(new DoubleValue(inst.v));
+            currentFrame.push2(fresh = new DoubleValue(inst.v));
         }
     }
 
@@ -730,15 +893,15 @@ public class ConcolicInterpreter implements IVisitor {
         if (currentFrame.peek()==PlaceHolder.instance || ((FloatValue)currentFrame.peek()).concrete != inst.v) {
             logger.log(Level.FINE,"** Failed to match {0} and "+inst.v, currentFrame.peek());
             currentFrame.pop();
-            currentFrame.push(new FloatValue(inst.v));
+            currentFrame.push(fresh = new FloatValue(inst.v));
         }
     }
 
     public void visitGETVALUE_int(GETVALUE_int inst) {
-        if (currentFrame.peek()==PlaceHolder.instance || ((IntValue)currentFrame.peek()).concrete != inst.v) {
+        if (!currentFrame.isIntOnTop(inst.v)) {
             logger.log(Level.FINE,"** Failed to match {0} and "+inst.v, currentFrame.peek());
             currentFrame.pop();
-            currentFrame.push(new IntValue(inst.v));
+            currentFrame.push(fresh = new IntValue(inst.v));
         }
     }
 
@@ -746,15 +909,15 @@ public class ConcolicInterpreter implements IVisitor {
         if (currentFrame.peek2()==PlaceHolder.instance || ((LongValue)currentFrame.peek2()).concrete != inst.v) {
             logger.log(Level.FINE,"** Failed to match {0} and "+inst.v, currentFrame.peek());
             currentFrame.pop2();
-            currentFrame.push2(new LongValue(inst.v));
+            currentFrame.push2(fresh = new LongValue(inst.v));
         }
     }
 
     public void visitGETVALUE_short(GETVALUE_short inst) {
-        if (currentFrame.peek()==PlaceHolder.instance || ((IntValue)currentFrame.peek()).concrete != inst.v) {
+        if (!currentFrame.isIntOnTop(inst.v)) {
             logger.log(Level.FINE,"** Failed to match {0} and "+inst.v, currentFrame.peek());
             currentFrame.pop();
-            currentFrame.push(new IntValue(inst.v));
+            currentFrame.push(fresh = new IntValue(inst.v));
         }
     }
 
@@ -765,11 +928,19 @@ public class ConcolicInterpreter implements IVisitor {
     }
 
     public void visitI2B(I2B inst) {
+        if (currentFrame.isConcreteInt(0)) {
+            currentFrame.pushInt((byte) currentFrame.popInt());
+            return;
+        }
         IntValue i1 = (IntValue)currentFrame.pop();
         currentFrame.push(i1.I2B());
     }
 
     public void visitI2C(I2C inst) {
+        if (currentFrame.isConcreteInt(0)) {
+            currentFrame.pushInt((char) currentFrame.popInt());
+            return;
+        }
         IntValue i1 = (IntValue)currentFrame.pop();
         currentFrame.push(i1.I2C());
     }
@@ -790,11 +961,20 @@ public class ConcolicInterpreter implements IVisitor {
     }
 
     public void visitI2S(I2S inst) {
+        if (currentFrame.isConcreteInt(0)) {
+            currentFrame.pushInt((short) currentFrame.popInt());
+            return;
+        }
         IntValue i1 = (IntValue)currentFrame.pop();
         currentFrame.push(i1.I2S());
     }
 
     public void visitIADD(IADD inst) {
+        if (currentFrame.isConcreteInt(0) && currentFrame.isConcreteInt(1)) {
+            int i2 = currentFrame.popInt();
+            currentFrame.pushInt(currentFrame.popInt() + i2);
+            return;
+        }
         IntValue i2 = (IntValue)currentFrame.pop();
         IntValue i1 = (IntValue)currentFrame.pop();
         currentFrame.push(i1.IADD(i2));
@@ -802,10 +982,15 @@ public class ConcolicInterpreter implements IVisitor {
 
     public void visitIALOAD(IALOAD inst) {
         try {
-            IntValue i1 = (IntValue)currentFrame.pop();
-            ObjectValue ref = (ObjectValue)currentFrame.pop();
-            Value val = ref.getField(i1.concrete);
-            currentFrame.push(getArrayElementInt(inst.iid, ref, i1, val));
+            if (currentFrame.isPlainInt(0)) {
+                int i1 = currentFrame.popInt();
+                ObjectValue ref = (ObjectValue)currentFrame.pop();
+                currentFrame.push(ref.getField(i1));
+            } else {
+                IntValue i1 = (IntValue)currentFrame.pop();
+                ObjectValue ref = (ObjectValue)currentFrame.pop();
+                Value val = ref.getField(i1.concrete);
+                currentFrame.push(getArrayElementInt(inst.iid, ref, i1, val));
 //            val = ref.getField(i1.concrete);
 //            if (i1.symbolic != null) {
 //                IntValue sval = new IntValue(((IntValue)val).concrete);
@@ -837,6 +1022,7 @@ public class ConcolicInterpreter implements IVisitor {
 //                val = sval;
 //            }
 //            currentFrame.push(val);
+            }
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -844,6 +1030,11 @@ public class ConcolicInterpreter implements IVisitor {
     }
 
     public void visitIAND(IAND inst) {
+        if (currentFrame.isConcreteInt(0) && currentFrame.isConcreteInt(1)) {
+            int i2 = currentFrame.popInt();
+            currentFrame.pushInt(currentFrame.popInt() & i2);
+            return;
+        }
         IntValue i2 = (IntValue)currentFrame.pop();
         IntValue i1 = (IntValue)currentFrame.pop();
         currentFrame.push(i1.IAND(i2));
@@ -852,9 +1043,10 @@ public class ConcolicInterpreter implements IVisitor {
     public void visitIASTORE(IASTORE inst) {
         try {
             Value value = currentFrame.pop();
-            IntValue i = (IntValue)currentFrame.pop();
+            int i = currentFrame.popInt();
             ObjectValue ref = (ObjectValue)currentFrame.pop();
-            ref.setField(i.concrete,value);
+            ref.setField(i,value);
+            setHeapValue(value);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -862,31 +1054,31 @@ public class ConcolicInterpreter implements IVisitor {
     }
 
     public void visitICONST_0(ICONST_0 inst) {
-        currentFrame.push(new IntValue(0));
+        currentFrame.pushInt(0);
     }
 
     public void visitICONST_1(ICONST_1 inst) {
-        currentFrame.push(new IntValue(1));
+        currentFrame.pushInt(1);
     }
 
     public void visitICONST_2(ICONST_2 inst) {
-        currentFrame.push(new IntValue(2));
+        currentFrame.pushInt(2);
     }
 
     public void visitICONST_3(ICONST_3 inst) {
-        currentFrame.push(new IntValue(3));
+        currentFrame.pushInt(3);
     }
 
     public void visitICONST_4(ICONST_4 inst) {
-        currentFrame.push(new IntValue(4));
+        currentFrame.pushInt(4);
     }
 
     public void visitICONST_5(ICONST_5 inst) {
-        currentFrame.push(new IntValue(5));
+        currentFrame.pushInt(5);
     }
 
     public void visitICONST_M1(ICONST_M1 inst) {
-        currentFrame.push(new IntValue(-1));
+        currentFrame.pushInt(-1);
     }
 
     public void visitIDIV(IDIV inst) {
@@ -901,43 +1093,73 @@ public class ConcolicInterpreter implements IVisitor {
     }
 
     public void visitIFEQ(IFEQ inst) {
-        IntValue i1 = (IntValue)currentFrame.pop();
-        IntValue result = i1.IFEQ();
+        IntValue result;
+        if (currentFrame.isConcreteInt(0)) {
+            result = currentFrame.popInt() == 0 ? IntValue.TRUE : IntValue.FALSE;
+        } else {
+            IntValue i1 = (IntValue)currentFrame.pop();
+            result = i1.IFEQ();
+        }
         checkAndSetBranch(result);
         history.checkAndSetBranch(result.concrete == 1, result.getSymbolic(), inst.iid);
     }
 
     public void visitIFGE(IFGE inst) {
-        IntValue i1 = (IntValue)currentFrame.pop();
-        IntValue result = i1.IFGE();
+        IntValue result;
+        if (currentFrame.isConcreteInt(0)) {
+            result = currentFrame.popInt() >= 0 ? IntValue.TRUE : IntValue.FALSE;
+        } else {
+            IntValue i1 = (IntValue)currentFrame.pop();
+            result = i1.IFGE();
+        }
         checkAndSetBranch(result);
         history.checkAndSetBranch(result.concrete==1, result.symbolic,inst.iid);
     }
 
     public void visitIFGT(IFGT inst) {
-        IntValue i1 = (IntValue)currentFrame.pop();
-        IntValue result = i1.IFGT();
+        IntValue result;
+        if (currentFrame.isConcreteInt(0)) {
+            result = currentFrame.popInt() > 0 ? IntValue.TRUE : IntValue.FALSE;
+        } else {
+            IntValue i1 = (IntValue)currentFrame.pop();
+            result = i1.IFGT();
+        }
         checkAndSetBranch(result);
         history.checkAndSetBranch(result.concrete==1, result.symbolic,inst.iid);
     }
 
     public void visitIFLE(IFLE inst) {
-        IntValue i1 = (IntValue)currentFrame.pop();
-        IntValue result = i1.IFLE();
+        IntValue result;
+        if (currentFrame.isConcreteInt(0)) {
+            result = currentFrame.popInt() <= 0 ? IntValue.TRUE : IntValue.FALSE;
+        } else {
+            IntValue i1 = (IntValue)currentFrame.pop();
+            result = i1.IFLE();
+        }
         checkAndSetBranch(result);
         history.checkAndSetBranch(result.concrete==1, result.symbolic,inst.iid);
     }
 
     public void visitIFLT(IFLT inst) {
-        IntValue i1 = (IntValue)currentFrame.pop();
-        IntValue result = i1.IFLT();
+        IntValue result;
+        if (currentFrame.isConcreteInt(0)) {
+            result = currentFrame.popInt() < 0 ? IntValue.TRUE : IntValue.FALSE;
+        } else {
+            IntValue i1 = (IntValue)currentFrame.pop();
+            result = i1.IFLT();
+        }
         checkAndSetBranch(result);
         history.checkAndSetBranch(result.concrete==1, result.symbolic,inst.iid);
     }
 
     public void visitIFNE(IFNE inst) {
-        IntValue i1 = (IntValue)currentFrame.pop();
-        IntValue result = i1.IFNE();
+        IntValue result;
+        if (currentFrame.isConcreteInt(0)) {
+            result = currentFrame.popInt() != 0 ? IntValue.TRUE : IntValue.FALSE;
+        } else {
+            IntValue i1 = (IntValue)currentFrame.pop();
+            result = i1.IFNE();
+        }
         checkAndSetBranch(result);
         history.checkAndSetBranch(result.concrete==1, result.getSymbolic(),inst.iid);
     }
@@ -973,69 +1195,118 @@ public class ConcolicInterpreter implements IVisitor {
     }
 
     public void visitIF_ICMPEQ(IF_ICMPEQ inst) {
-        IntValue i2 = (IntValue)currentFrame.pop();
-        IntValue i1 = (IntValue)currentFrame.pop();
-        IntValue result = i1.IF_ICMPEQ(i2);
+        IntValue result;
+        if (currentFrame.isConcreteInt(0) && currentFrame.isConcreteInt(1)) {
+            int i2 = currentFrame.popInt();
+            result = currentFrame.popInt() == i2 ? IntValue.TRUE : IntValue.FALSE;
+        } else {
+            IntValue i2 = (IntValue)currentFrame.pop();
+            IntValue i1 = (IntValue)currentFrame.pop();
+            result = i1.IF_ICMPEQ(i2);
+        }
         checkAndSetBranch(result);
         history.checkAndSetBranch(result.concrete==1, result.symbolic,inst.iid);
     }
 
     public void visitIF_ICMPGE(IF_ICMPGE inst) {
-        IntValue i2 = (IntValue)currentFrame.pop();
-        IntValue i1 = (IntValue)currentFrame.pop();
-        IntValue result = i1.IF_ICMPGE(i2);
+        IntValue result;
+        if (currentFrame.isConcreteInt(0) && currentFrame.isConcreteInt(1)) {
+            int i2 = currentFrame.popInt();
+            result = currentFrame.popInt() >= i2 ? IntValue.TRUE : IntValue.FALSE;
+        } else {
+            IntValue i2 = (IntValue)currentFrame.pop();
+            IntValue i1 = (IntValue)currentFrame.pop();
+            result = i1.IF_ICMPGE(i2);
+        }
         checkAndSetBranch(result);
         history.checkAndSetBranch(result.concrete==1, result.symbolic,inst.iid);
     }
 
     public void visitIF_ICMPGT(IF_ICMPGT inst) {
-        IntValue i2 = (IntValue)currentFrame.pop();
-        IntValue i1 = (IntValue)currentFrame.pop();
-        IntValue result = i1.IF_ICMPGT(i2);
+        IntValue result;
+        if (currentFrame.isConcreteInt(0) && currentFrame.isConcreteInt(1)) {
+            int i2 = currentFrame.popInt();
+            result = currentFrame.popInt() > i2 ? IntValue.TRUE : IntValue.FALSE;
+        } else {
+            IntValue i2 = (IntValue)currentFrame.pop();
+            IntValue i1 = (IntValue)currentFrame.pop();
+            result = i1.IF_ICMPGT(i2);
+        }
         checkAndSetBranch(result);
         history.checkAndSetBranch(result.concrete==1, result.symbolic,inst.iid);
     }
 
     public void visitIF_ICMPLE(IF_ICMPLE inst) {
-        IntValue i2 = (IntValue)currentFrame.pop();
-        IntValue i1 = (IntValue)currentFrame.pop();
-        IntValue result = i1.IF_ICMPLE(i2);
+        IntValue result;
+        if (currentFrame.isConcreteInt(0) && currentFrame.isConcreteInt(1)) {
+            int i2 = currentFrame.popInt();
+            result = currentFrame.popInt() <= i2 ? IntValue.TRUE : IntValue.FALSE;
+        } else {
+            IntValue i2 = (IntValue)currentFrame.pop();
+            IntValue i1 = (IntValue)currentFrame.pop();
+            result = i1.IF_ICMPLE(i2);
+        }
         checkAndSetBranch(result);
         history.checkAndSetBranch(result.concrete==1, result.symbolic,inst.iid);
     }
 
     public void visitIF_ICMPLT(IF_ICMPLT inst) {
-        IntValue i2 = (IntValue)currentFrame.pop();
-        IntValue i1 = (IntValue)currentFrame.pop();
-        IntValue result = i1.IF_ICMPLT(i2);
+        IntValue result;
+        if (currentFrame.isConcreteInt(0) && currentFrame.isConcreteInt(1)) {
+            int i2 = currentFrame.popInt();
+            result = currentFrame.popInt() < i2 ? IntValue.TRUE : IntValue.FALSE;
+        } else {
+            IntValue i2 = (IntValue)currentFrame.pop();
+            IntValue i1 = (IntValue)currentFrame.pop();
+            result = i1.IF_ICMPLT(i2);
+        }
         checkAndSetBranch(result);
         history.checkAndSetBranch(result.concrete==1, result.symbolic,inst.iid);
     }
 
     public void visitIF_ICMPNE(IF_ICMPNE inst) {
-        IntValue i2 = (IntValue)currentFrame.pop();
-        IntValue i1 = (IntValue)currentFrame.pop();
-        IntValue result = i1.IF_ICMPNE(i2);
+        IntValue result;
+        if (currentFrame.isConcreteInt(0) && currentFrame.isConcreteInt(1)) {
+            int i2 = currentFrame.popInt();
+            result = currentFrame.popInt() != i2 ? IntValue.TRUE : IntValue.FALSE;
+        } else {
+            IntValue i2 = (IntValue)currentFrame.pop();
+            IntValue i1 = (IntValue)currentFrame.pop();
+            result = i1.IF_ICMPNE(i2);
+        }
         checkAndSetBranch(result);
         history.checkAndSetBranch(result.concrete==1, result.symbolic,inst.iid);
     }
 
     public void visitIINC(IINC inst) {
+        if (currentFrame.isConcreteIntLocal(inst.var)) {
+            currentFrame.setLocalInt(inst.var, currentFrame.getLocalInt(inst.var) + inst.increment);
+            return;
+        }
         IntValue i1 = (IntValue)currentFrame.getLocal(inst.var);
         currentFrame.setLocal(inst.var, i1.IINC(inst.increment));
     }
 
     public void visitILOAD(ILOAD inst) {
-        currentFrame.push(currentFrame.getLocal(inst.var));
+        currentFrame.load(inst.var);
     }
 
     public void visitIMUL(IMUL inst) {
+        if (currentFrame.isConcreteInt(0) && currentFrame.isConcreteInt(1)) {
+            int i2 = currentFrame.popInt();
+            currentFrame.pushInt(currentFrame.popInt() * i2);
+            return;
+        }
         IntValue i2 = (IntValue)currentFrame.pop();
         IntValue i1 = (IntValue)currentFrame.pop();
         currentFrame.push(i1.IMUL(i2));
     }
 
     public void visitINEG(INEG inst) {
+        if (currentFrame.isConcreteInt(0)) {
+            currentFrame.pushInt(-currentFrame.popInt());
+            return;
+        }
         IntValue i1 = (IntValue)currentFrame.pop();
         currentFrame.push(i1.INEG());
     }
@@ -1061,36 +1332,51 @@ public class ConcolicInterpreter implements IVisitor {
         } else {
             nReturnWords = 1;
         }
-        Frame tmp;
-        stack.push(tmp = new Frame(nReturnWords));
+        Frame caller = currentFrame;
         int len = types.length;
-        Value[] tmpValues = new Value[len];
+        // the method is not instrumented, so it is run by a model
+        boolean isModel = next instanceof INVOKEMETHOD_END || next instanceof INVOKEMETHOD_EXCEPTION || next == null;
+        if (isModel && len == 1 && name.equals("MakeSymbolic")) {
+            caller.materializeTop();
+        }
+        Frame tmp = pushFrame(nReturnWords);
+        // the arguments go straight from the caller's stack into the locals
+        int words = isInstance ? 1 : 0;
+        for (int i = 0; i < len; i++) {
+            words += types[i].getSize();
+        }
         for (int i = len-1; i>=0; i--) {
             if (types[i]==Type.DOUBLE_TYPE || types[i]==Type.LONG_TYPE) {
-                tmpValues[i] = currentFrame.pop2();
+                words -= 2;
+                tmp.setLocal2(words, caller.pop2());
             } else {
-                tmpValues[i] = currentFrame.pop();
+                words--;
+                caller.store(tmp, words);
             }
         }
         ObjectValue instance = null;
         if (isInstance) {
-            instance =  (ObjectValue)currentFrame.pop();
-            tmp.addLocal(instance);
-        }
-        for (int i=0; i<len; i++) {
-            if (types[i]==Type.DOUBLE_TYPE || types[i]==Type.LONG_TYPE) {
-                tmp.addLocal2(tmpValues[i]);
-            } else {
-                tmp.addLocal(tmpValues[i]);
-            }
+            instance =  (ObjectValue)caller.pop();
+            tmp.setLocal(0, instance);
         }
         currentFrame = tmp;
 
-        if (next instanceof INVOKEMETHOD_END || next instanceof INVOKEMETHOD_EXCEPTION || next == null) {
+        if (isModel) {
+            // only the models of uninstrumented methods need the arguments
+            Value[] tmpValues = new Value[len];
+            words = isInstance ? 1 : 0;
+            for (int i = 0; i < len; i++) {
+                tmpValues[i] = tmp.getLocal(words);
+                words += types[i].getSize();
+            }
             if (isInstance) {
                 currentFrame.ret = instance.invokeMethod(name,tmpValues, history);
             } else {
 //                checkAssumption(owner,name,tmpValues);
+                if (owner.equals("janala/Main") && name.equals("MakeSymbolic") && len == 1 && tmpValues[0] != fresh) {
+                    // made symbolic in place, maybe where the heap holds it
+                    symbolicHeap = true;
+                }
                 currentFrame.ret = StaticInvocation.invokeMethod(inst.iid,owner,name,tmpValues, history);
             }
         }
@@ -1121,6 +1407,11 @@ public class ConcolicInterpreter implements IVisitor {
     }
 
     public void visitIOR(IOR inst) {
+        if (currentFrame.isConcreteInt(0) && currentFrame.isConcreteInt(1)) {
+            int i2 = currentFrame.popInt();
+            currentFrame.pushInt(currentFrame.popInt() | i2);
+            return;
+        }
         IntValue i2 = (IntValue)currentFrame.pop();
         IntValue i1 = (IntValue)currentFrame.pop();
         currentFrame.push(i1.IOR(i2));
@@ -1142,34 +1433,59 @@ public class ConcolicInterpreter implements IVisitor {
     }
 
     public void visitISHL(ISHL inst) {
+        if (currentFrame.isConcreteInt(0) && currentFrame.isConcreteInt(1)) {
+            int i2 = currentFrame.popInt();
+            currentFrame.pushInt(currentFrame.popInt() << i2);
+            return;
+        }
         IntValue i2 = (IntValue)currentFrame.pop();
         IntValue i1 = (IntValue)currentFrame.pop();
         currentFrame.push(i1.ISHL(i2));
     }
 
     public void visitISHR(ISHR inst) {
+        if (currentFrame.isConcreteInt(0) && currentFrame.isConcreteInt(1)) {
+            int i2 = currentFrame.popInt();
+            currentFrame.pushInt(currentFrame.popInt() >> i2);
+            return;
+        }
         IntValue i2 = (IntValue)currentFrame.pop();
         IntValue i1 = (IntValue)currentFrame.pop();
         currentFrame.push(i1.ISHR(i2));
     }
 
     public void visitISTORE(ISTORE inst) {
-        currentFrame.setLocal(inst.var, currentFrame.pop());
+        currentFrame.store(currentFrame, inst.var);
     }
 
     public void visitISUB(ISUB inst) {
+        if (currentFrame.isConcreteInt(0) && currentFrame.isConcreteInt(1)) {
+            int i2 = currentFrame.popInt();
+            currentFrame.pushInt(currentFrame.popInt() - i2);
+            return;
+        }
         IntValue i2 = (IntValue)currentFrame.pop();
         IntValue i1 = (IntValue)currentFrame.pop();
         currentFrame.push(i1.ISUB(i2));
     }
 
     public void visitIUSHR(IUSHR inst) {
+        if (currentFrame.isConcreteInt(0) && currentFrame.isConcreteInt(1)) {
+            int i2 = currentFrame.popInt();
+            currentFrame.pushInt(currentFrame.popInt() >>> i2);
+            return;
+        }
         IntValue i2 = (IntValue)currentFrame.pop();
         IntValue i1 = (IntValue)currentFrame.pop();
         currentFrame.push(i1.IUSHR(i2));
     }
 
     public void visitIXOR(IXOR inst) {
+        if (currentFrame.isConcreteInt(0) && currentFrame.isConcreteInt(1)) {
+            int i2 = currentFrame.popInt();
+            currentFrame.pushInt(currentFrame.popInt() ^ i2);
+            return;
+        }
         IntValue i2 = (IntValue)currentFrame.pop();
         IntValue i1 = (IntValue)currentFrame.pop();
         currentFrame.push(i1.IXOR(i2));
@@ -1201,10 +1517,16 @@ public class ConcolicInterpreter implements IVisitor {
 
     public void visitLALOAD(LALOAD inst) {
         try {
-            IntValue i1 = (IntValue)currentFrame.pop();
-            ObjectValue ref = (ObjectValue)currentFrame.pop();
-            Value val = ref.getField(i1.concrete);
-            currentFrame.push2(getArrayElementLong(inst.iid, ref, i1, val));
+            if (currentFrame.isPlainInt(0)) {
+                int i1 = currentFrame.popInt();
+                ObjectValue ref = (ObjectValue)currentFrame.pop();
+                currentFrame.push2(ref.getField(i1));
+            } else {
+                IntValue i1 = (IntValue)currentFrame.pop();
+                ObjectValue ref = (ObjectValue)currentFrame.pop();
+                Value val = ref.getField(i1.concrete);
+                currentFrame.push2(getArrayElementLong(inst.iid, ref, i1, val));
+            }
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -1220,9 +1542,10 @@ public class ConcolicInterpreter implements IVisitor {
     public void visitLASTORE(LASTORE inst) {
         try {
             Value value = currentFrame.pop2();
-            IntValue i = (IntValue)currentFrame.pop();
+            int i = currentFrame.popInt();
             ObjectValue ref = (ObjectValue)currentFrame.pop();
-            ref.setField(i.concrete,value);
+            ref.setField(i,value);
+            setHeapValue(value);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -1248,14 +1571,14 @@ public class ConcolicInterpreter implements IVisitor {
     }
 
     public void visitLDC_Object(LDC_Object inst) {
-        Value tmp = objects.get(inst.c);
+        Value tmp = objects.get(inst.ref, inst.c);
         if (tmp!=null) {
             currentFrame.push(tmp);
         } else if (inst.c==0) {
             currentFrame.push(ObjectValue.NULL);
         } else {
             currentFrame.push(tmp = new ObjectValue(100,inst.c));
-            objects.put(inst.c,tmp);
+            objects.put(inst.ref,inst.c,tmp);
         }
     }
 
@@ -1268,7 +1591,7 @@ public class ConcolicInterpreter implements IVisitor {
     }
 
     public void visitLDC_int(LDC_int inst) {
-        currentFrame.push(new IntValue(inst.c));
+        currentFrame.pushInt(inst.c);
     }
 
     public void visitLDC_long(LDC_long inst) {
@@ -1378,8 +1701,8 @@ public class ConcolicInterpreter implements IVisitor {
 
     public void visitNEWARRAY(NEWARRAY inst) {
         try {
-            IntValue i1 = (IntValue)currentFrame.pop();
-            ObjectValue tmp = new ObjectValue(i1.concrete);
+            int i1 = currentFrame.popInt();
+            ObjectValue tmp = new ObjectValue(i1);
             currentFrame.push(tmp);
         } catch (Exception e) {
             e.printStackTrace();
@@ -1410,6 +1733,7 @@ public class ConcolicInterpreter implements IVisitor {
             }
             ObjectValue ref = (ObjectValue)currentFrame.pop();
             ref.setField(fi.getFieldId(),value);
+            setHeapValue(value);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -1427,6 +1751,7 @@ public class ConcolicInterpreter implements IVisitor {
                 value = currentFrame.pop();
             }
             oi.setField(fi.getFieldId(),value);
+            setHeapValue(value);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -1442,10 +1767,16 @@ public class ConcolicInterpreter implements IVisitor {
 
     public void visitSALOAD(SALOAD inst) {
         try {
-            IntValue i1 = (IntValue)currentFrame.pop();
-            ObjectValue ref = (ObjectValue)currentFrame.pop();
-            Value val = ref.getField(i1.concrete);
-            currentFrame.push(getArrayElementInt(inst.iid, ref, i1, val));
+            if (currentFrame.isPlainInt(0)) {
+                int i1 = currentFrame.popInt();
+                ObjectValue ref = (ObjectValue)currentFrame.pop();
+                currentFrame.push(ref.getField(i1));
+            } else {
+                IntValue i1 = (IntValue)currentFrame.pop();
+                ObjectValue ref = (ObjectValue)currentFrame.pop();
+                Value val = ref.getField(i1.concrete);
+                currentFrame.push(getArrayElementInt(inst.iid, ref, i1, val));
+            }
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -1455,9 +1786,10 @@ public class ConcolicInterpreter implements IVisitor {
     public void visitSASTORE(SASTORE inst) {
         try {
             Value value = currentFrame.pop();
-            IntValue i = (IntValue)currentFrame.pop();
+            int i = currentFrame.popInt();
             ObjectValue ref = (ObjectValue)currentFrame.pop();
-            ref.setField(i.concrete,value);
+            ref.setField(i,value);
+            setHeapValue(value);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -1465,7 +1797,7 @@ public class ConcolicInterpreter implements IVisitor {
     }
 
     public void visitSIPUSH(SIPUSH inst) {
-        currentFrame.push(new IntValue(inst.value));
+        currentFrame.pushInt(inst.value);
     }
 
     public void visitSWAP(SWAP inst) {
@@ -1476,15 +1808,13 @@ public class ConcolicInterpreter implements IVisitor {
     }
 
     public void visitINVOKEMETHOD_EXCEPTION(INVOKEMETHOD_EXCEPTION inst) {
-        stack.pop();
-        currentFrame = stack.peek();
+        popFrame();
         currentFrame.clear();
         currentFrame.push(PlaceHolder.instance);  // placeholder for the exception object
     }
 
     public void visitINVOKEMETHOD_END(INVOKEMETHOD_END inst) {
-        Frame old = stack.pop();
-        currentFrame = stack.peek();
+        Frame old = popFrame();
         if (old.nReturnWords==2) {
             currentFrame.push2(old.ret);
         } else if (old.nReturnWords==1) {
@@ -1507,6 +1837,16 @@ public class ConcolicInterpreter implements IVisitor {
         
     }
 
+    /**
+     * Called on entry to a method that has an uninstrumented copy, once the
+     * call to it has been interpreted.  Returns whether the copy can run
+     * instead: the method then cannot see a symbolic value, since it reads
+     * no input and none of its arguments nor the heap is symbolic.
+     */
+    public boolean isConcreteCall() {
+        return !symbolicHeap && !currentFrame.hasSymbolicLocal();
+    }
+
     public void setNext(Instruction next) {
         this.next = next;
     }
@@ -41,9 +41,6 @@ import java.util.Map;
  * Time: 12:23 PM
  */
 public abstract class Constraint {
-    public int iid;
-    public int index;
-
     public abstract void accept(ConstraintVisitor v);
     public abstract Constraint not();
     public abstract Constraint substitute(Map<String, Long> assignments);
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.interpreters;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * An immutable list of constraints.  add returns a new list that shares
+ * this one as its prefix, so a chain of n additions takes O(n) time and
+ * memory.
+ */
+public final class ConstraintList implements Iterable<Constraint> {
+    public static final ConstraintList EMPTY = new ConstraintList(null, null);
+
+    private final Constraint last;
+    private final ConstraintList init;
+    private final int size;
+    private final int hash;
+    // the elements in order, built when the list is first iterated
+    private Constraint[] elements;
+
+    private ConstraintList(Constraint last, ConstraintList init) {
+        this.last = last;
+        this.init = init;
+        this.size = init == null ? 0 : init.size + 1;
+        this.hash = init == null ? 1 : 31 * init.hash + last.hashCode();
+    }
+
+    public ConstraintList add(Constraint c) {
+        return new ConstraintList(c, this);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private Constraint[] elements() {
+        Constraint[] ret = elements;
+        if (ret == null) {
+            ret = new Constraint[size];
+            ConstraintList l = this;
+            for (int i = size - 1; i >= 0; i--) {
+                ret[i] = l.last;
+                l = l.init;
+            }
+            elements = ret;
+        }
+        return ret;
+    }
+
+    public Iterator<Constraint> iterator() {
+        return Arrays.asList(elements()).iterator();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof ConstraintList))
+            return false;
+        ConstraintList l1 = this;
+        ConstraintList l2 = (ConstraintList) o;
+        if (size != l2.size || hash != l2.hash)
+            return false;
+        while (l1 != l2 && l1.init != null) {
+            if (!l1.last.equals(l2.last))
+                return false;
+            l1 = l1.init;
+            l2 = l2.init;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
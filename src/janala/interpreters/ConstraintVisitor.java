@@ -47,4 +47,5 @@ public interface ConstraintVisitor {
     void visitSymbolicTrue(SymbolicTrueConstraint c);
     void visitSymbolicFalse(SymbolicFalseConstraint c);
     void visitSymbolicIntCompare(SymbolicIntCompareConstraint c);
+    void visitSymbolicArraySelect(SymbolicArraySelect c);
 }
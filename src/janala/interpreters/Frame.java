@@ -33,16 +33,33 @@
 
 package janala.interpreters;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Author: Koushik Sen (ksen@cs.berkeley.edu)
  * Date: 6/17/12
  * Time: 6:03 PM
+ *
+ * The locals and the operand stack are arrays that grow as needed.
+ * Frames are reused by ConcolicInterpreter through reset(), so the arrays
+ * soon reach the size the program needs and are not allocated again.
+ *
+ * A word holding a concrete int is kept plain: its Value is null and the
+ * int is in the parallel int array.  An IntValue is only created when such
+ * a word is read as a Value, so concrete arithmetic allocates nothing.
  */
 public class Frame {
-    private ArrayList<Value> locals = new ArrayList<Value>(8);
-    private ArrayList<Value> stack = new ArrayList<Value>(8);
+    private static final int INITIAL_SIZE = 16;
+
+    private Value[] locals = new Value[INITIAL_SIZE];
+    private int[] localInts = new int[INITIAL_SIZE];
+    private int nLocals;
+    private Value[] stack = new Value[INITIAL_SIZE];
+    private int[] stackInts = new int[INITIAL_SIZE];
+    private int sp;
+    // the plain int on top of the stack at loadedAt was loaded from local loadedFrom
+    private int loadedFrom = -1;
+    private int loadedAt;
     public int nReturnWords;
     public Value ret;
 
@@ -51,85 +68,275 @@ public class Frame {
         ret = PlaceHolder.instance;
     }
 
+    /**
+     * Makes this frame empty again, for a call returning nReturnWords.
+     */
+    void reset(int nReturnWords) {
+        Arrays.fill(locals, 0, nLocals, null);
+        Arrays.fill(stack, null);
+        nLocals = 0;
+        sp = 0;
+        loadedFrom = -1;
+        this.nReturnWords = nReturnWords;
+        ret = PlaceHolder.instance;
+    }
+
+    private void ensureLocals(int size) {
+        if (size > locals.length) {
+            int length = Math.max(size, 2 * locals.length);
+            locals = Arrays.copyOf(locals, length);
+            localInts = Arrays.copyOf(localInts, length);
+        }
+    }
+
+    private void ensureStack() {
+        if (sp == stack.length) {
+            stack = Arrays.copyOf(stack, 2 * sp);
+            stackInts = Arrays.copyOf(stackInts, 2 * sp);
+        }
+    }
+
     public void addLocal(Value o) {
-        locals.add(o);
+        setLocal(nLocals, o);
     }
 
     public void addLocal2(Value o) {
-        locals.add(o);
-        locals.add(PlaceHolder.instance);
+        setLocal2(nLocals, o);
     }
 
-    public void setLocal(int index, Value o) {
-        int sz = locals.size();
-        int diff = index - sz;
-        while(diff>=0) {
-            locals.add(PlaceHolder.instance);
-            diff--;
+    private void setLocalWord(int index, Value o, int i) {
+        if (index >= nLocals) {
+            ensureLocals(index + 1);
+            Arrays.fill(locals, nLocals, index, PlaceHolder.instance);
+            nLocals = index + 1;
         }
-        locals.set(index,o);
+        locals[index] = o;
+        localInts[index] = i;
+        if (index == loadedFrom) {
+            loadedFrom = -1;
+        }
+    }
+
+    public void setLocal(int index, Value o) {
+        setLocalWord(index, o == null ? PlaceHolder.instance : o, 0);
+    }
+
+    /**
+     * Stores a concrete int in a local.
+     */
+    public void setLocalInt(int index, int i) {
+        setLocalWord(index, null, i);
     }
 
     public Value getLocal(int index) {
-        if (index < locals.size())
-            return locals.get(index);
-        else
+        if (index < nLocals) {
+            Value v = locals[index];
+            if (v == null) {
+                locals[index] = v = new IntValue(localInts[index]);
+            }
+            return v;
+        } else {
             return PlaceHolder.instance;
+        }
+    }
+
+    /**
+     * Returns whether a local holds an int with no symbolic value.
+     */
+    public boolean isConcreteIntLocal(int index) {
+        if (index >= nLocals) {
+            return false;
+        }
+        Value v = locals[index];
+        return v == null || v instanceof IntValue && !v.isSymbolic();
+    }
+
+    /**
+     * Returns the int in a local, which must be an int.
+     */
+    public int getLocalInt(int index) {
+        Value v = locals[index];
+        return v == null ? localInts[index] : ((IntValue) v).concrete;
     }
 
     public void setLocal2(int index, Value o) {
-        int sz = locals.size();
-        int diff = index - sz;
-        while(diff>=-1) {
-            locals.add(PlaceHolder.instance);
-            diff--;
+        if (index + 1 >= nLocals) {
+            ensureLocals(index + 2);
+            Arrays.fill(locals, nLocals, index + 2, PlaceHolder.instance);
+            nLocals = index + 2;
+        }
+        locals[index] = o == null ? PlaceHolder.instance : o;
+        if (index == loadedFrom || index + 1 == loadedFrom) {
+            loadedFrom = -1;
         }
-        locals.set(index,o);
     }
 
     public Value getLocal2(int index) {
-        if (index < locals.size())
-            return locals.get(index);
-        else
-            return PlaceHolder.instance;
+        return getLocal(index);
     }
 
+    /**
+     * Pushes a one-word local, keeping a plain int plain.
+     */
+    public void load(int index) {
+        if (index >= nLocals) {
+            push(PlaceHolder.instance);
+            return;
+        }
+        ensureStack();
+        Value v = locals[index];
+        stack[sp] = v;
+        stackInts[sp] = localInts[index];
+        sp++;
+        if (v == null) {
+            loadedFrom = index;
+            loadedAt = sp;
+        } else {
+            loadedFrom = -1;
+        }
+    }
+
+    /**
+     * Pops the top word into a local of callee, which may be this frame.
+     */
+    public void store(Frame callee, int index) {
+        Value v = stack[sp - 1];
+        sp--;
+        callee.setLocalWord(index, v, stackInts[sp]);
+    }
 
     public void push(Value o) {
-        stack.add(o);
+        ensureStack();
+        stack[sp++] = o == null ? PlaceHolder.instance : o;
+        loadedFrom = -1;
+    }
+
+    /**
+     * Pushes a concrete int.
+     */
+    public void pushInt(int i) {
+        ensureStack();
+        stack[sp] = null;
+        stackInts[sp++] = i;
+        loadedFrom = -1;
     }
 
     public void push2(Value o) {
-        stack.add(o);
-        stack.add(PlaceHolder.instance);
+        push(o);
+        push(PlaceHolder.instance);
+    }
+
+    private Value getWord(int index) {
+        Value v = stack[index];
+        if (v == null) {
+            stack[index] = v = new IntValue(stackInts[index]);
+        }
+        return v;
     }
 
     public Value pop() {
-        return stack.remove(stack.size()-1);
+        Value v = stack[sp - 1];
+        sp--;
+        return v == null ? new IntValue(stackInts[sp]) : v;
     }
 
     public Value pop2() {
-        stack.remove(stack.size()-1);
-        return stack.remove(stack.size()-1);
+        Value v = getWord(sp - 2);
+        sp -= 2;
+        return v;
+    }
+
+    /**
+     * Pops an int, which must not be symbolic unless only its concrete
+     * value is needed.
+     */
+    public int popInt() {
+        Value v = stack[sp - 1];
+        sp--;
+        return v == null ? stackInts[sp] : ((IntValue) v).concrete;
+    }
+
+    /**
+     * Returns whether the word at the given depth below the top of the
+     * stack is a plain int.
+     */
+    public boolean isPlainInt(int depth) {
+        return stack[sp - 1 - depth] == null;
+    }
+
+    /**
+     * Returns whether the word at the given depth below the top of the
+     * stack is an int with no symbolic value.
+     */
+    public boolean isConcreteInt(int depth) {
+        Value v = stack[sp - 1 - depth];
+        return v == null || v instanceof IntValue && !v.isSymbolic();
+    }
+
+    /**
+     * Returns whether the top of the stack is the int i.
+     */
+    public boolean isIntOnTop(int i) {
+        Value v = stack[sp - 1];
+        if (v == null) {
+            return stackInts[sp - 1] == i;
+        }
+        return v != PlaceHolder.instance && ((IntValue) v).concrete == i;
+    }
+
+    /**
+     * Turns a plain int on top of the stack into an IntValue, to be made
+     * symbolic in place.  If the int was just loaded from a local, the local
+     * gets the same IntValue, so that it becomes symbolic as well.
+     */
+    public void materializeTop() {
+        if (stack[sp - 1] == null) {
+            Value v = getWord(sp - 1);
+            if (loadedFrom >= 0 && loadedAt == sp && locals[loadedFrom] == null) {
+                locals[loadedFrom] = v;
+            }
+        }
+    }
+
+    public void dup() {
+        ensureStack();
+        stack[sp] = stack[sp - 1];
+        stackInts[sp] = stackInts[sp - 1];
+        sp++;
+        loadedFrom = -1;
     }
 
     public Value peek() {
-        return stack.get(stack.size()-1);
+        return getWord(sp - 1);
     }
 
     public Value peek2() {
-        return stack.get(stack.size()-2);
+        return getWord(sp - 2);
     }
 
     public Value peek3() {
-        return stack.get(stack.size()-3);
+        return getWord(sp - 3);
     }
 
     public Value peek4() {
-        return stack.get(stack.size()-4);
+        return getWord(sp - 4);
     }
 
     public void clear() {
-        stack.clear();
+        sp = 0;
+    }
+
+    /**
+     * Returns whether a local, and so an argument on method entry, is
+     * symbolic.
+     */
+    public boolean hasSymbolicLocal() {
+        for (int i = 0; i < nLocals; i++) {
+            Value v = locals[i];
+            if (v != null && v.isSymbolic()) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -50,6 +50,11 @@ public class IntValue extends Value {
     final static public IntValue TRUE = new IntValue(1);
     final static public IntValue FALSE = new IntValue(0);
 
+    @Override
+    public boolean isSymbolic() {
+        return symbolic != null || nonIntConstraint != null;
+    }
+
     @Override
     public Object getConcrete() {
         return concrete;
@@ -47,6 +47,11 @@ public class IntegerObjectValue extends ObjectValue {
         super(100,-1);
     }
 
+    @Override
+    public boolean isSymbolic() {
+        return intValue != null && intValue.isSymbolic() || super.isSymbolic();
+    }
+
     @Override
     public Value invokeMethod(String name, Value[] args, History history) {
         if (name.equals("<init>")) {
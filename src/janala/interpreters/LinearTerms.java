@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.interpreters;
+
+import gnu.trove.iterator.TIntLongIterator;
+
+import java.util.Arrays;
+
+/**
+ * An immutable map from variables to their non-zero coefficients in a
+ * linear expression, kept as two arrays sorted by decreasing variable.
+ */
+public final class LinearTerms {
+    public static final LinearTerms EMPTY = new LinearTerms(new int[0], new long[0]);
+
+    private final int[] vars;
+    private final long[] coeffs;
+    private final int hash;
+
+    private LinearTerms(int[] vars, long[] coeffs) {
+        this.vars = vars;
+        this.coeffs = coeffs;
+        this.hash = 31 * Arrays.hashCode(vars) + Arrays.hashCode(coeffs);
+    }
+
+    public static LinearTerms of(int var) {
+        return new LinearTerms(new int[] {var}, new long[] {1L});
+    }
+
+    /**
+     * Returns the first n of vars and coeffs, which must be sorted like
+     * those of a LinearTerms.
+     */
+    static LinearTerms of(int[] vars, long[] coeffs, int n) {
+        return new LinearTerms(n == vars.length ? vars : Arrays.copyOf(vars, n),
+                n == coeffs.length ? coeffs : Arrays.copyOf(coeffs, n));
+    }
+
+    public int size() {
+        return vars.length;
+    }
+
+    public boolean isEmpty() {
+        return vars.length == 0;
+    }
+
+    public int[] keys() {
+        return vars.clone();
+    }
+
+    public long get(int var) {
+        for (int i = 0; i < vars.length; i++) {
+            if (vars[i] == var) {
+                return coeffs[i];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the sum of this and l, or the difference if add is false.
+     */
+    LinearTerms add(LinearTerms l, boolean add) {
+        int[] v = new int[vars.length + l.vars.length];
+        long[] c = new long[v.length];
+        int n = 0, i = 0, j = 0;
+        while (i < vars.length || j < l.vars.length) {
+            long coeff;
+            if (j == l.vars.length || (i < vars.length && vars[i] > l.vars[j])) {
+                v[n] = vars[i];
+                coeff = coeffs[i++];
+            } else {
+                v[n] = l.vars[j];
+                coeff = add ? l.coeffs[j] : -l.coeffs[j];
+                if (i < vars.length && vars[i] == l.vars[j]) {
+                    coeff += coeffs[i++];
+                }
+                j++;
+            }
+            if (coeff != 0) {
+                c[n++] = coeff;
+            }
+        }
+        if (n == 0) {
+            return EMPTY;
+        }
+        return of(v, c, n);
+    }
+
+    LinearTerms multiply(long l) {
+        long[] c = new long[coeffs.length];
+        for (int i = 0; i < c.length; i++) {
+            c[i] = l * coeffs[i];
+        }
+        return new LinearTerms(vars, c);
+    }
+
+    public TIntLongIterator iterator() {
+        return new TIntLongIterator() {
+            private int i = -1;
+
+            public int key() {
+                return vars[i];
+            }
+
+            public long value() {
+                return coeffs[i];
+            }
+
+            public long setValue(long val) {
+                throw new UnsupportedOperationException();
+            }
+
+            public void advance() {
+                i++;
+            }
+
+            public boolean hasNext() {
+                return i + 1 < vars.length;
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof LinearTerms))
+            return false;
+        LinearTerms e = (LinearTerms) o;
+        return hash == e.hash && Arrays.equals(vars, e.vars) && Arrays.equals(coeffs, e.coeffs);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -37,9 +37,9 @@ import janala.config.Config;
 import janala.logger.ClassNames;
 import janala.logger.inst.IVisitor;
 import janala.logger.inst.Instruction;
+import janala.logger.inst.PrefetchingTraceReader;
 import janala.utils.MyLogger;
 
-import java.io.EOFException;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
@@ -54,19 +54,9 @@ import java.util.logging.Logger;
 public class LoadAndExecuteInstructions {
     private final static Logger logger = MyLogger.getLogger(LoadAndExecuteInstructions.class.getName());
 
-    private static Instruction readInst(ObjectInputStream inputStream) throws ClassNotFoundException, IOException {
-        Instruction inst;
-
-        try {
-            inst  = (Instruction)inputStream.readObject();
-        } catch (EOFException e) {
-            inst = null;
-        }
-        return inst;
-    }
-
     public static void main(String[] args) {
         ObjectInputStream inputStream = null;
+        PrefetchingTraceReader reader = null;
         IVisitor intp = null;
 
         Logger tester = MyLogger.getTestLogger(Config.mainClass+"."+Config.iteration);
@@ -78,11 +68,12 @@ public class LoadAndExecuteInstructions {
             //cnames.init();
 
             intp = new ConcolicInterpreter(cnames);
-            inputStream = new ObjectInputStream(new FileInputStream(Config.instance.traceFileName));
+            // the trace is decoded on another thread while it is interpreted
+            reader = new PrefetchingTraceReader(Config.instance.traceFileName, Config.instance.replayPrefetch);
 
             Instruction inst, next;
-            inst=readInst(inputStream);
-            next=readInst(inputStream);
+            inst=reader.read();
+            next=reader.read();
             int i=0;
             while(inst !=null) {
                 intp.setNext(next);
@@ -90,11 +81,10 @@ public class LoadAndExecuteInstructions {
                 //System.out.println(i+":"+inst);
                 inst.visit(intp);
                 inst = next;
-                next=readInst(inputStream);
+                next=reader.read();
                 i++;
             }
             ((ConcolicInterpreter)intp).endExecution();
-            inputStream.close();
             MyLogger.checkLog(tester);
         } catch (IOException e) {
             e.printStackTrace();
@@ -107,6 +97,9 @@ public class LoadAndExecuteInstructions {
                 if (inputStream != null) {
                     inputStream.close();
                 }
+                if (reader != null) {
+                    reader.close();
+                }
             } catch (IOException ex) {
                 ex.printStackTrace();
             }
@@ -47,6 +47,11 @@ public class LongObjectValue extends ObjectValue {
         super(100,-1);
     }
 
+    @Override
+    public boolean isSymbolic() {
+        return longValue != null && longValue.isSymbolic() || super.isSymbolic();
+    }
+
     @Override
     public Value invokeMethod(String name, Value[] args, History history) {
         if (name.equals("<init>")) {
@@ -44,6 +44,11 @@ public class LongValue extends Value {
     SymbolicInt symbolic;
     long concrete;
 
+    @Override
+    public boolean isSymbolic() {
+        return symbolic != null;
+    }
+
     @Override
     public Object getConcrete() {
         return concrete;
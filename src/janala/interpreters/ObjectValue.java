@@ -46,6 +46,11 @@ public class ObjectValue extends Value {
     SymbolicObject symbolic;
     int address; // address 0 is null, address -1 is uninitialized address
 
+    @Override
+    public boolean isSymbolic() {
+        return symbolic != null;
+    }
+
     @Override
     public Object getConcrete() {
         return address;
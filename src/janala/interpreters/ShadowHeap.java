@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.interpreters;
+
+import gnu.trove.map.hash.TIntObjectHashMap;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * Maps the objects of the program to the values that shadow them.
+ * <p>
+ * When the interpreter runs in the same JVM as the program, objects are
+ * looked up by identity and held weakly, so a shadow goes away with its
+ * object and two objects with the same identity hash code never share a
+ * shadow.  A shadow that refers to its own object keeps it alive, as in
+ * WeakHashMap.  When the interpreter replays a trace, only the addresses
+ * recorded in it are known, and shadows are looked up by address.
+ */
+public class ShadowHeap {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static class Entry extends WeakReference<Object> {
+        final int hash;
+        Value value;
+        Entry next;
+
+        Entry(Object key, int hash, Value value, Entry next, ReferenceQueue<Object> queue) {
+            super(key, queue);
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    private Entry[] table;
+    private int size;
+    private final ReferenceQueue<Object> queue;
+    private final TIntObjectHashMap<Value> byAddress;
+
+    // metrics
+    private long expunged;
+    private long collisions;
+    private int maxSize;
+
+    public ShadowHeap() {
+        table = new Entry[INITIAL_CAPACITY];
+        queue = new ReferenceQueue<Object>();
+        byAddress = new TIntObjectHashMap<Value>();
+    }
+
+    /**
+     * Returns the shadow of an object, or null if it has none.  ref is the
+     * object, or null if only its address is known.
+     */
+    public Value get(Object ref, int address) {
+        if (ref == null) {
+            return byAddress.get(address);
+        }
+        expunge();
+        for (Entry e = table[address & (table.length - 1)]; e != null; e = e.next) {
+            if (e.hash == address && e.get() == ref) {
+                return e.value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Makes value the shadow of an object.  address must be the identity
+     * hash code of ref if ref is not null.
+     */
+    public void put(Object ref, int address, Value value) {
+        if (ref == null) {
+            byAddress.put(address, value);
+            return;
+        }
+        expunge();
+        int i = address & (table.length - 1);
+        for (Entry e = table[i]; e != null; e = e.next) {
+            if (e.hash == address) {
+                if (e.get() == ref) {
+                    e.value = value;
+                    return;
+                }
+                collisions++;
+            }
+        }
+        table[i] = new Entry(ref, address, value, table[i], queue);
+        if (++size > maxSize) {
+            maxSize = size;
+        }
+        if (size > table.length - (table.length >> 2)) {
+            resize();
+        }
+    }
+
+    /**
+     * Removes the entries of objects that have been collected.
+     */
+    private void expunge() {
+        Object r;
+        while ((r = queue.poll()) != null) {
+            Entry dead = (Entry)r;
+            int i = dead.hash & (table.length - 1);
+            Entry prev = null;
+            for (Entry e = table[i]; e != null; prev = e, e = e.next) {
+                if (e == dead) {
+                    if (prev == null) {
+                        table[i] = e.next;
+                    } else {
+                        prev.next = e.next;
+                    }
+                    e.value = null;
+                    size--;
+                    expunged++;
+                    break;
+                }
+            }
+        }
+    }
+
+    private void resize() {
+        Entry[] old = table;
+        table = new Entry[old.length * 2];
+        for (Entry head : old) {
+            Entry e = head;
+            while (e != null) {
+                Entry next = e.next;
+                int i = e.hash & (table.length - 1);
+                e.next = table[i];
+                table[i] = e;
+                e = next;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of shadows, including those of objects that have
+     * been collected but not yet expunged.
+     */
+    public int size() {
+        return size + byAddress.size();
+    }
+
+    public int capacity() {
+        return table.length;
+    }
+
+    /**
+     * Returns the fraction of the identity table in use.
+     */
+    public double occupancy() {
+        return (double)size / table.length;
+    }
+
+    @Override
+    public String toString() {
+        return "ShadowHeap{size=" + size +
+                ", byAddress=" + byAddress.size() +
+                ", maxSize=" + maxSize +
+                ", capacity=" + table.length +
+                ", occupancy=" + occupancy() +
+                ", expunged=" + expunged +
+                ", collisions=" + collisions +
+                "}";
+    }
+}
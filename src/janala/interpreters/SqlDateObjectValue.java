@@ -45,6 +45,11 @@ public class SqlDateObjectValue extends ObjectValue {
         super(100,-1);
     }
 
+    @Override
+    public boolean isSymbolic() {
+        return longValue != null && longValue.isSymbolic() || super.isSymbolic();
+    }
+
     @Override
     public Value invokeMethod(String name, Value[] args, History history) {
         if (name.equals("<init>")) {
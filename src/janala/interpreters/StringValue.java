@@ -56,6 +56,11 @@ public class StringValue extends ObjectValue {
         this.symbolic = symbolic;
     }
 
+    @Override
+    public boolean isSymbolic() {
+        return symbolic != null || super.isSymbolic();
+    }
+
     @Override
     public String getConcrete() {
         return string;
@@ -65,32 +65,22 @@ package janala.interpreters;
  * Author: Koushik Sen (ksen@cs.berkeley.edu)
  */
 
-import java.util.LinkedList;
 import java.util.Map;
 
 public class SymbolicAndConstraint extends Constraint {
-    public LinkedList<Constraint> constraints;
+    public final ConstraintList constraints;
 
     public SymbolicAndConstraint(Constraint c) {
-        constraints = new LinkedList<Constraint>();
-        if (c!=null)
-            constraints.add(c);
+        constraints = c != null ? ConstraintList.EMPTY.add(c) : ConstraintList.EMPTY;
     }
 
-    private SymbolicAndConstraint(SymbolicOrConstraint c) {
-        constraints = new LinkedList<Constraint>();
-        constraints.addAll(c.constraints);
-    }
-
-    private SymbolicAndConstraint() {
-
+    private SymbolicAndConstraint(ConstraintList constraints) {
+        this.constraints = constraints;
     }
 
     public SymbolicAndConstraint AND(Constraint c) {
         if (c!=null) {
-            SymbolicAndConstraint ret = new SymbolicAndConstraint(this);
-            ret.constraints.add(c);
-            return ret;
+            return ConstraintFactory.intern(new SymbolicAndConstraint(constraints.add(c)));
         } else {
             return this;
         }
@@ -108,7 +98,7 @@ public class SymbolicAndConstraint extends Constraint {
 
     @Override
     public Constraint substitute(Map<String, Long> assignments) {
-        LinkedList<Constraint> tmp = new LinkedList<Constraint>();
+        ConstraintList tmp = ConstraintList.EMPTY;
         Constraint c2;
         if (constraints.isEmpty()) {
             return SymbolicTrueConstraint.instance;
@@ -118,18 +108,30 @@ public class SymbolicAndConstraint extends Constraint {
             if (c2 == SymbolicFalseConstraint.instance) {
                 return SymbolicFalseConstraint.instance;
             } else if (c2 != SymbolicTrueConstraint.instance) {
-                tmp.add(c2);
+                tmp = tmp.add(c2);
             }
         }
         if (!tmp.isEmpty()) {
-            SymbolicAndConstraint ret = new SymbolicAndConstraint();
-            ret.constraints = tmp;
-            return ret;
+            return ConstraintFactory.intern(new SymbolicAndConstraint(tmp));
         } else {
             return SymbolicTrueConstraint.instance;
         }
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if ((o == null) || (getClass() != o.getClass()))
+            return false;
+        return constraints.equals(((SymbolicAndConstraint) o).constraints);
+    }
+
+    @Override
+    public int hashCode() {
+        return 17 * constraints.hashCode();
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
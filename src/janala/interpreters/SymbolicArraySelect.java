@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.interpreters;
+
+import gnu.trove.iterator.TIntLongIterator;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * The constraint value == a[subscript] && 0 <= subscript < a.length, where
+ * the elements of a are linear expressions or constants.  It stands for the
+ * load of an array element at a symbolic index, and is written to the
+ * solver as a chain of if-then-else terms over the subscript instead of a
+ * disjunction over every element.
+ */
+public class SymbolicArraySelect extends Constraint {
+    // linear expressions; value is null if it is the constant valueConstant
+    public final SymbolicInt subscript;
+    public final SymbolicInt value;
+    public final long valueConstant;
+    // element i is symbolic[i] if that is not null, and concrete[i] otherwise
+    public final SymbolicInt[] symbolic;
+    public final long[] concrete;
+    private final int hash;
+
+    public SymbolicArraySelect(SymbolicInt subscript, SymbolicInt value, long valueConstant,
+                               SymbolicInt[] symbolic, long[] concrete) {
+        this.subscript = subscript;
+        this.value = value;
+        this.valueConstant = valueConstant;
+        this.symbolic = symbolic;
+        this.concrete = concrete;
+        int ret = 37;
+        ret = 71 * ret + subscript.hashCode();
+        ret = 71 * ret + (value == null ? (int)valueConstant : value.hashCode());
+        ret = 71 * ret + Arrays.hashCode(symbolic);
+        ret = 71 * ret + Arrays.hashCode(concrete);
+        hash = ret;
+    }
+
+    public int length() {
+        return concrete.length;
+    }
+
+    /**
+     * Returns the last index of the run of elements equal to element i
+     * that starts at i.  A run can be selected with a single test
+     * subscript <= end, once the runs before it have been ruled out.
+     */
+    public int runEnd(int i) {
+        int j = i;
+        while (j + 1 < concrete.length && elementEquals(i, j + 1)) {
+            j++;
+        }
+        return j;
+    }
+
+    private boolean elementEquals(int i, int j) {
+        if (symbolic[i] == null) {
+            return symbolic[j] == null && concrete[i] == concrete[j];
+        }
+        return symbolic[i].equals(symbolic[j]);
+    }
+
+    @Override
+    public void accept(ConstraintVisitor v) {
+        v.visitSymbolicArraySelect(this);
+    }
+
+    @Override
+    public Constraint not() {
+        return new SymbolicNotConstraint(this);
+    }
+
+    @Override
+    public Constraint substitute(Map<String, Long> assignments) {
+        SymbolicInt subscript = substituteLinear(this.subscript, assignments);
+        if (subscript == null) {
+            long i = evaluate(this.subscript, assignments);
+            if (i < 0 || i >= concrete.length) {
+                return SymbolicFalseConstraint.instance;
+            }
+            return equal(substituteValue(assignments), valueConstantAfter(assignments),
+                    substituteElement((int)i, assignments), elementConstantAfter((int)i, assignments));
+        }
+        boolean changed = subscript != this.subscript;
+
+        SymbolicInt value = substituteValue(assignments);
+        changed = changed || value != this.value;
+
+        SymbolicInt[] symbolic = new SymbolicInt[concrete.length];
+        long[] concrete = new long[this.concrete.length];
+        for (int i = 0; i < concrete.length; i++) {
+            symbolic[i] = substituteElement(i, assignments);
+            concrete[i] = elementConstantAfter(i, assignments);
+            changed = changed || symbolic[i] != this.symbolic[i];
+        }
+        if (!changed) {
+            return this;
+        }
+        return new SymbolicArraySelect(subscript, value, valueConstantAfter(assignments), symbolic, concrete);
+    }
+
+    private SymbolicInt substituteValue(Map<String, Long> assignments) {
+        return substituteLinear(value, assignments);
+    }
+
+    private long valueConstantAfter(Map<String, Long> assignments) {
+        return value == null ? valueConstant : evaluate(value, assignments);
+    }
+
+    private SymbolicInt substituteElement(int i, Map<String, Long> assignments) {
+        return substituteLinear(symbolic[i], assignments);
+    }
+
+    private long elementConstantAfter(int i, Map<String, Long> assignments) {
+        return symbolic[i] == null ? concrete[i] : evaluate(symbolic[i], assignments);
+    }
+
+    /**
+     * Returns e with the assigned variables replaced, e itself if none of
+     * its variables is assigned, or null if all are.
+     */
+    private static SymbolicInt substituteLinear(SymbolicInt e, Map<String, Long> assignments) {
+        if (e == null) {
+            return null;
+        }
+        boolean any = false;
+        for (TIntLongIterator it = e.linear.iterator(); it.hasNext(); ) {
+            it.advance();
+            if (assignments.containsKey("x" + it.key())) {
+                any = true;
+                break;
+            }
+        }
+        return any ? (SymbolicInt)e.substitute(assignments) : e;
+    }
+
+    /**
+     * Returns the value of e if all its variables are assigned; the result
+     * is meaningless otherwise.
+     */
+    private static long evaluate(SymbolicInt e, Map<String, Long> assignments) {
+        long ret = e.constant;
+        for (TIntLongIterator it = e.linear.iterator(); it.hasNext(); ) {
+            it.advance();
+            Long l = assignments.get("x" + it.key());
+            if (l != null) {
+                ret += l * it.value();
+            }
+        }
+        return ret;
+    }
+
+    private static Constraint equal(SymbolicInt s1, long c1, SymbolicInt s2, long c2) {
+        SymbolicInt diff;
+        if (s1 == null && s2 == null) {
+            return c1 == c2 ? SymbolicTrueConstraint.instance : SymbolicFalseConstraint.instance;
+        } else if (s2 == null) {
+            diff = s1.subtract(c2);
+        } else if (s1 == null) {
+            diff = s2.subtractFrom(c1);
+        } else {
+            diff = s1.subtract(s2);
+            if (diff == null) {
+                return s1.constant == s2.constant ? SymbolicTrueConstraint.instance : SymbolicFalseConstraint.instance;
+            }
+        }
+        return diff.setop(SymbolicInt.COMPARISON_OPS.EQ);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if ((o == null) || (getClass() != o.getClass()))
+            return false;
+        SymbolicArraySelect e = (SymbolicArraySelect) o;
+        return hash == e.hash
+                && subscript.equals(e.subscript)
+                && (value == null ? e.value == null && valueConstant == e.valueConstant : value.equals(e.value))
+                && Arrays.equals(symbolic, e.symbolic)
+                && Arrays.equals(concrete, e.concrete);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (value == null) {
+            sb.append(valueConstant);
+        } else {
+            value.appendLinear(sb);
+        }
+        sb.append(" == [");
+        for (int i = 0; i < concrete.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            if (symbolic[i] == null) {
+                sb.append(concrete[i]);
+            } else {
+                symbolic[i].appendLinear(sb);
+            }
+        }
+        sb.append("][");
+        subscript.appendLinear(sb);
+        sb.append(']');
+        return sb.toString();
+    }
+}
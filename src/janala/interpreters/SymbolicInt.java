@@ -36,16 +36,21 @@ package janala.interpreters;
  */
 
 import gnu.trove.iterator.TIntLongIterator;
-import gnu.trove.map.hash.TIntLongHashMap;
 
 import java.util.Map;
 
+/**
+ * The constraint linear + constant op 0, or just the expression if op is
+ * UN.  Instances are immutable; those with a comparison are interned by
+ * ConstraintFactory.
+ */
 public class SymbolicInt extends Constraint {
     public enum COMPARISON_OPS {EQ, NE, GT, GE, LT, LE, UN};
 
-    public COMPARISON_OPS op;
-    public TIntLongHashMap linear;
-    public long constant;
+    public final COMPARISON_OPS op;
+    public final LinearTerms linear;
+    public final long constant;
+    private final int hash;
 
     @Override
     public void accept(ConstraintVisitor v) {
@@ -59,48 +64,38 @@ public class SymbolicInt extends Constraint {
         if ((o == null) || (getClass() != o.getClass()))
             return false;
         SymbolicInt e = (SymbolicInt) o;
-        return (linear.equals(e.linear)
+        return (hash == e.hash
+                && linear.equals(e.linear)
                 && (constant == e.constant)
                 && (op == e.op));
     }
 
     public int hashCode() {
-        int ret = 37;
-        ret = 71 * ret + linear.hashCode();
-        ret = 71 * ret + (int) constant;
-            ret = 71 * ret + op.hashCode();
-        return ret;
+        return hash;
     }
 
     public SymbolicInt(int i) {
-        linear = new TIntLongHashMap();
-        linear.put(i, 1L);
-        constant = 0;
-        op = COMPARISON_OPS.UN;
+        this(LinearTerms.of(i), 0, COMPARISON_OPS.UN);
     }
 
-
-    private SymbolicInt() {
-        linear = new TIntLongHashMap();
-        constant = 0;
-        op = COMPARISON_OPS.UN;
+    private SymbolicInt(LinearTerms linear, long constant, COMPARISON_OPS op) {
+        this.linear = linear;
+        this.constant = constant;
+        this.op = op;
+        int ret = 37;
+        ret = 71 * ret + linear.hashCode();
+        ret = 71 * ret + (int) constant;
+        ret = 71 * ret + op.ordinal();
+        hash = ret;
     }
 
-    private SymbolicInt(SymbolicInt e) {
-        this.linear = new TIntLongHashMap(e.linear);
-        constant = e.constant;
-        op = e.op;
+    private static SymbolicInt make(LinearTerms linear, long constant, COMPARISON_OPS op) {
+        SymbolicInt ret = new SymbolicInt(linear, constant, op);
+        return op == COMPARISON_OPS.UN ? ret : ConstraintFactory.intern(ret);
     }
 
     public SymbolicInt negate() {
-        SymbolicInt tmp = new SymbolicInt();
-        for ( TIntLongIterator it = linear.iterator(); it.hasNext(); ) {
-            it.advance();
-            tmp.linear.put(it.key(), -it.value());
-
-        }
-        tmp.constant = -constant;
-        return tmp;
+        return make(linear.multiply(-1), -constant, COMPARISON_OPS.UN);
     }
 
     public SymbolicInt add(long l) {
@@ -108,54 +103,23 @@ public class SymbolicInt extends Constraint {
     }
 
     private SymbolicInt add(long l, boolean add) {
-        SymbolicInt tmp = new SymbolicInt(this);
-        if (add)
-            tmp.constant = constant + l;
-        else
-            tmp.constant = constant - l;
-        return tmp;
+        return make(linear, add ? constant + l : constant - l, op);
     }
 
     public SymbolicInt add(SymbolicInt l) {
         return add(l, true);
     }
 
-    private SymbolicInt add(SymbolicInt l, boolean add) {
-        SymbolicInt tmp = new SymbolicInt(this);
-        SymbolicInt e = (SymbolicInt) l;
-        for ( TIntLongIterator it = e.linear.iterator(); it.hasNext(); ) {
-            it.advance();
-
-            int integer = it.key();
-            long coeff = linear.get(integer);
-            long toadd;
-            if (add) {
-                toadd = coeff + it.value();
-            } else {
-                toadd = coeff - it.value();
-            }
-            if (toadd == 0) {
-                tmp.linear.remove(integer);
-            } else {
-                tmp.linear.put(integer, toadd);
-            }
-        }
-        if (tmp.linear.isEmpty()) {
+    private SymbolicInt add(SymbolicInt e, boolean add) {
+        LinearTerms tmp = linear.add(e.linear, add);
+        if (tmp.isEmpty()) {
             return null;
         }
-
-        if (add)
-            tmp.constant = this.constant + e.constant;
-        else
-            tmp.constant = this.constant - e.constant;
-
-        return tmp;
+        return make(tmp, add ? this.constant + e.constant : this.constant - e.constant, op);
     }
 
     public SymbolicInt subtractFrom(long l) {
-        SymbolicInt e = (SymbolicInt) negate();
-        e.constant = l + e.constant;
-        return e;
+        return make(linear.multiply(-1), l - constant, COMPARISON_OPS.UN);
     }
 
     public SymbolicInt subtract(long l) {
@@ -169,43 +133,35 @@ public class SymbolicInt extends Constraint {
     public SymbolicInt multiply(long l) {
         if (l == 0) return null;
         if (l == 1) return this;
-        SymbolicInt tmp = new SymbolicInt();
-        for ( TIntLongIterator it = linear.iterator(); it.hasNext(); ) {
-            it.advance();
-            
-            int integer = it.key();
-            tmp.linear.put(integer, l * it.value());
-        }
-        tmp.constant = l * constant;
-        return tmp;
+        return make(linear.multiply(l), l * constant, COMPARISON_OPS.UN);
     }
 
     public SymbolicInt setop(COMPARISON_OPS op) {
-        SymbolicInt ret = new SymbolicInt(this);
-        if (ret.op!=COMPARISON_OPS.UN) {
+        if (this.op!=COMPARISON_OPS.UN) {
             if(op==COMPARISON_OPS.EQ) { // (x op 0)==0 is same as !(x op 0)
-                ret = (SymbolicInt) ret.not();
+                return (SymbolicInt) not();
             }
-        } else {
-            ret.op = op;
+            return this;
         }
-        return ret;
+        return make(linear, constant, op);
     }
 
     public Constraint not() {
-        SymbolicInt ret = new SymbolicInt(this);
-        if (ret.op == COMPARISON_OPS.EQ) ret.op = COMPARISON_OPS.NE;
-        else if (ret.op == COMPARISON_OPS.NE) ret.op = COMPARISON_OPS.EQ;
-        else if (ret.op == COMPARISON_OPS.GT) ret.op = COMPARISON_OPS.LE;
-        else if (ret.op == COMPARISON_OPS.GE) ret.op = COMPARISON_OPS.LT;
-        else if (ret.op == COMPARISON_OPS.LT) ret.op = COMPARISON_OPS.GE;
-        else if (ret.op == COMPARISON_OPS.LE) ret.op = COMPARISON_OPS.GT;
-        return ret;
+        COMPARISON_OPS op = this.op;
+        if (op == COMPARISON_OPS.EQ) op = COMPARISON_OPS.NE;
+        else if (op == COMPARISON_OPS.NE) op = COMPARISON_OPS.EQ;
+        else if (op == COMPARISON_OPS.GT) op = COMPARISON_OPS.LE;
+        else if (op == COMPARISON_OPS.GE) op = COMPARISON_OPS.LT;
+        else if (op == COMPARISON_OPS.LT) op = COMPARISON_OPS.GE;
+        else if (op == COMPARISON_OPS.LE) op = COMPARISON_OPS.GT;
+        return make(linear, constant, op);
     }
 
     public Constraint substitute(Map<String, Long> assignments) {
         long val = 0;
-        SymbolicInt ret = null;
+        int[] vars = new int[linear.size()];
+        long[] coeffs = new long[vars.length];
+        int n = 0;
         boolean isSymbolic = false;
         Constraint ret2 = null;
 
@@ -218,16 +174,11 @@ public class SymbolicInt extends Constraint {
                 val += assignments.get("x"+key)*l;
             } else {
                 isSymbolic = true;
-                if (ret == null) {
-                    ret = new SymbolicInt();
-                }
-                ret.linear.put(key,l);
+                vars[n] = key;
+                coeffs[n++] = l;
             }
         }
         //val += this.constant;
-        if (ret != null) {
-            ret.constant = val + this.constant;
-        }
         if (!isSymbolic) {
             if (this.op == COMPARISON_OPS.EQ) {
                 ret2 = (val == -this.constant)?SymbolicTrueConstraint.instance:SymbolicFalseConstraint.instance;
@@ -251,14 +202,45 @@ public class SymbolicInt extends Constraint {
             }
             return ret2;
         } else {
-            ret.op = this.op;
-            return ret;
+            return make(LinearTerms.of(vars, coeffs, n), val + this.constant, this.op);
         }
     }
 
 
     public String toString() {
         StringBuilder sb = new StringBuilder();
+        appendLinear(sb);
+        if (op == COMPARISON_OPS.EQ) {
+            sb.append("==");
+            sb.append('0');
+        } else
+        if (op == COMPARISON_OPS.NE) {
+            sb.append("!=");
+            sb.append('0');
+        } else
+        if (op == COMPARISON_OPS.LE) {
+            sb.append("<=");
+            sb.append('0');
+        } else
+        if (op == COMPARISON_OPS.LT) {
+            sb.append("<");
+            sb.append('0');
+        } else
+        if (op == COMPARISON_OPS.GE) {
+            sb.append(">=");
+            sb.append('0');
+        } else
+        if (op == COMPARISON_OPS.GT) {
+            sb.append(">");
+            sb.append('0');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Appends the linear expression, without the comparison, to sb.
+     */
+    void appendLinear(StringBuilder sb) {
         boolean first = true;
         for ( TIntLongIterator it = linear.iterator(); it.hasNext(); ) {
             it.advance();
@@ -289,35 +271,6 @@ public class SymbolicInt extends Constraint {
                 sb.append('+');
             sb.append(constant);
         }
-        if (op == COMPARISON_OPS.EQ) {
-            sb.append("==");
-            sb.append('0');
-        } else
-        if (op == COMPARISON_OPS.NE) {
-            sb.append("!=");
-            sb.append('0');
-        } else
-        if (op == COMPARISON_OPS.LE) {
-            sb.append("<=");
-            sb.append('0');
-        } else
-        if (op == COMPARISON_OPS.LT) {
-            sb.append("<");
-            sb.append('0');
-        } else
-        if (op == COMPARISON_OPS.GE) {
-            sb.append(">=");
-            sb.append('0');
-        } else
-        if (op == COMPARISON_OPS.GT) {
-            sb.append(">");
-            sb.append('0');
-        }
-        sb.append(" at iid ");
-        sb.append(iid);
-        sb.append(" and index ");
-        sb.append(index);
-        return sb.toString();
     }
 
 //    public void print(PrintStream out) {
@@ -37,7 +37,7 @@ import java.util.Map;
  * Time: 10:52 PM
  */
 public class SymbolicNotConstraint extends Constraint {
-        public Constraint constraint;
+        public final Constraint constraint;
 
         public SymbolicNotConstraint(Constraint c) {
             constraint = c;
@@ -69,6 +69,20 @@ public class SymbolicNotConstraint extends Constraint {
 
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if ((o == null) || (getClass() != o.getClass()))
+            return false;
+        return constraint.equals(((SymbolicNotConstraint) o).constraint);
+    }
+
+    @Override
+    public int hashCode() {
+        return 23 * constraint.hashCode() + 1;
+    }
+
     @Override
         public String toString() {
             StringBuilder sb = new StringBuilder();
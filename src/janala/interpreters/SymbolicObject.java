@@ -6,16 +6,6 @@ import java.util.LinkedList;
  * Author: Koushik Sen (ksen@cs.berkeley.edu)
  */
 
-class Pair<T1, T2> {
-    public T1 fst;
-    public T2 snd;
-
-    Pair(T1 fst, T2 snd) {
-        this.fst = fst;
-        this.snd = snd;
-    }
-}
-
 public class SymbolicObject {
     LinkedList<Pair<Constraint,ObjectValue>> guards;
 
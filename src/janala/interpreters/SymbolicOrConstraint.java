@@ -33,7 +33,6 @@
 
 package janala.interpreters;
 
-import java.util.LinkedList;
 import java.util.Map;
 
 /**
@@ -42,28 +41,19 @@ import java.util.Map;
  * Time: 1:46 PM
  */
 public class SymbolicOrConstraint extends Constraint {
-    public LinkedList<Constraint> constraints;
-
-    private SymbolicOrConstraint() {
-
-    }
+    public final ConstraintList constraints;
 
     public SymbolicOrConstraint(Constraint c) {
-        constraints = new LinkedList<Constraint>();
-        if (c!=null)
-            constraints.add(c);
+        constraints = c != null ? ConstraintList.EMPTY.add(c) : ConstraintList.EMPTY;
     }
 
-    private SymbolicOrConstraint(SymbolicOrConstraint c) {
-        constraints = new LinkedList<Constraint>();
-        constraints.addAll(c.constraints);
+    private SymbolicOrConstraint(ConstraintList constraints) {
+        this.constraints = constraints;
     }
 
     public SymbolicOrConstraint OR(Constraint c) {
         if (c!=null) {
-            SymbolicOrConstraint ret = new SymbolicOrConstraint(this);
-            ret.constraints.add(c);
-            return ret;
+            return ConstraintFactory.intern(new SymbolicOrConstraint(constraints.add(c)));
         } else {
             return this;
         }
@@ -81,7 +71,7 @@ public class SymbolicOrConstraint extends Constraint {
 
     @Override
     public Constraint substitute(Map<String, Long> assignments) {
-        LinkedList<Constraint> tmp = new LinkedList<Constraint>();
+        ConstraintList tmp = ConstraintList.EMPTY;
         Constraint c2;
         if (constraints.isEmpty()) {
             return SymbolicTrueConstraint.instance;
@@ -91,13 +81,11 @@ public class SymbolicOrConstraint extends Constraint {
             if (c2 == SymbolicTrueConstraint.instance) {
                 return SymbolicTrueConstraint.instance;
             } else if (c2 != SymbolicFalseConstraint.instance) {
-                tmp.add(c2);
+                tmp = tmp.add(c2);
             }
         }
         if (!tmp.isEmpty()) {
-            SymbolicOrConstraint ret = new SymbolicOrConstraint();
-            ret.constraints = tmp;
-            return ret;
+            return ConstraintFactory.intern(new SymbolicOrConstraint(tmp));
         } else {
             return SymbolicFalseConstraint.instance;
         }
@@ -121,6 +109,20 @@ public class SymbolicOrConstraint extends Constraint {
 //        }
 //    }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if ((o == null) || (getClass() != o.getClass()))
+            return false;
+        return constraints.equals(((SymbolicOrConstraint) o).constraints);
+    }
+
+    @Override
+    public int hashCode() {
+        return 19 * constraints.hashCode();
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
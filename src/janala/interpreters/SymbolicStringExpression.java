@@ -33,6 +33,8 @@
 
 package janala.interpreters;
 
+import gnu.trove.set.hash.TIntHashSet;
+
 import java.util.ArrayList;
 import java.util.LinkedList;
 
@@ -148,4 +150,20 @@ public class SymbolicStringExpression {
         return null;
     }
 
+    /**
+     * Adds the symbols of the string variables in this expression, and of
+     * their lengths, to symbols.
+     */
+    void collectSymbols(TIntHashSet symbols) {
+        for(Object val:this.list) {
+            if (val instanceof SymbolicStringVar) {
+                SymbolicStringVar var = (SymbolicStringVar)val;
+                symbols.add(var.sym);
+                if (var.length != null && var.length.symbolic != null) {
+                    symbols.addAll(var.length.symbolic.linear.keys());
+                }
+            }
+        }
+    }
+
 }
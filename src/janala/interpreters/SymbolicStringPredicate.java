@@ -33,6 +33,7 @@ package janala.interpreters;
  * Author: Koushik Sen (ksen@cs.berkeley.edu)
  */
 
+import gnu.trove.set.hash.TIntHashSet;
 import janala.solvers.CVC3Solver;
 
 import java.util.ArrayList;
@@ -44,9 +45,11 @@ public class SymbolicStringPredicate extends Constraint {
 
     public enum COMPARISON_OPS {EQ, NE, IN, NOTIN};
 
-    COMPARISON_OPS op;
-    Object left;
-    Object right;
+    final COMPARISON_OPS op;
+    final Object left;
+    final Object right;
+    // computed when first needed; 0 until then
+    private int hash;
 
     public SymbolicStringPredicate(COMPARISON_OPS op, Object left, Object right) {
         this.op = op;
@@ -55,9 +58,7 @@ public class SymbolicStringPredicate extends Constraint {
     }
 
     public SymbolicStringPredicate(SymbolicStringPredicate other) {
-        this.op = other.op;
-        this.left = other.left;
-        this.right = other.right;
+        this(other.op, other.left, other.right);
     }
 
     @Override
@@ -65,24 +66,36 @@ public class SymbolicStringPredicate extends Constraint {
         v.visitSymbolicStringPredicate(this);
     }
 
+    /**
+     * Adds the input symbols this predicate depends on to symbols.
+     */
+    public void collectSymbols(TIntHashSet symbols) {
+        if (left instanceof SymbolicStringExpression) {
+            ((SymbolicStringExpression)left).collectSymbols(symbols);
+        }
+        if (right instanceof SymbolicStringExpression) {
+            ((SymbolicStringExpression)right).collectSymbols(symbols);
+        }
+    }
+
     @Override
     public Constraint not() {
-        SymbolicStringPredicate ret = new SymbolicStringPredicate(this);
+        COMPARISON_OPS op = this.op;
         switch(this.op) {
             case EQ:
-                ret.op = COMPARISON_OPS.NE;
+                op = COMPARISON_OPS.NE;
                 break;
             case NE:
-                ret.op = COMPARISON_OPS.EQ;
+                op = COMPARISON_OPS.EQ;
                 break;
             case IN:
-                ret.op = COMPARISON_OPS.NOTIN;
+                op = COMPARISON_OPS.NOTIN;
                 break;
             case NOTIN:
-                ret.op = COMPARISON_OPS.IN;
+                op = COMPARISON_OPS.IN;
                 break;
         }
-        return ret;
+        return new SymbolicStringPredicate(op, left, right);
     }
 
     @Override
@@ -278,10 +291,12 @@ public class SymbolicStringPredicate extends Constraint {
 
     @Override
     public boolean equals(Object o) {
+        if (this == o)
+            return true;
         if (!(o instanceof SymbolicStringPredicate))
             return false;
         SymbolicStringPredicate tmp = (SymbolicStringPredicate)o;
-        if (this.op != tmp.op) return false;
+        if (this.op != tmp.op || hashCode() != tmp.hashCode()) return false;
         String s1 = stringfy(left);
         String s2 = stringfy(right);
 
@@ -292,4 +307,17 @@ public class SymbolicStringPredicate extends Constraint {
         if (s1.equals(s4) && s2.equals(s3)) return true;
         return false;
     }
+
+    /**
+     * Agrees with equals, which does not tell left from right.
+     */
+    @Override
+    public int hashCode() {
+        int ret = hash;
+        if (ret == 0) {
+            ret = 31 * op.ordinal() + (stringfy(left).hashCode() ^ stringfy(right).hashCode());
+            hash = ret;
+        }
+        return ret;
+    }
 }
@@ -48,6 +48,13 @@ public class Value {
         throw new RuntimeException("Cannot make "+this+" symbolic");
     }
 
+    /**
+     * Returns whether this value depends on an input.
+     */
+    public boolean isSymbolic() {
+        return false;
+    }
+
     public Object getConcrete() {
         return null;
     }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.logger;
+
+import janala.config.Config;
+import janala.logger.inst.Instruction;
+import janala.logger.inst.SPECIAL;
+import janala.utils.SpscQueue;
+
+/**
+ * Concolic execution where the program under test does not wait for the
+ * interpreter.  Callbacks put their instruction into a bounded queue, and a
+ * separate thread takes instructions from it and interprets them exactly as
+ * DirectConcolicExecution does, one instruction behind, so the lookahead on
+ * SPECIAL, INVOKEMETHOD_END and INVOKEMETHOD_EXCEPTION is unchanged.  The
+ * program blocks only when the queue is full (catg.asyncQueueSize).
+ *
+ * Use with -Djanala.loggerClass=janala.logger.AsyncConcolicExecution.  The
+ * program under test must call the callbacks from a single thread.  Since the
+ * interpreter may still be catching up while the JVM shuts down, warnings it
+ * logs at that point can be dropped by java.util.logging.
+ */
+public class AsyncConcolicExecution extends DirectConcolicExecution {
+    // marks the end of the execution; compared by identity
+    private static final Instruction END = new SPECIAL(-1);
+
+    private final SpscQueue<Instruction> queue;
+    private final Thread interpreter;
+
+    public AsyncConcolicExecution() {
+        // an instruction may wait in the queue and then be held as the
+        // current and the next instruction
+        this(new SpscQueue<Instruction>(Config.instance.asyncQueueSize));
+    }
+
+    private AsyncConcolicExecution(SpscQueue<Instruction> queue) {
+        super(queue.capacity() + 2);
+        this.queue = queue;
+        interpreter = new Thread("janala-interpreter") {
+            @Override
+            public void run() {
+                interpret();
+            }
+        };
+        interpreter.setDaemon(true);
+        interpreter.start();
+    }
+
+    private void interpret() {
+        Instruction insn;
+        while ((insn = queue.take()) != END) {
+            try {
+                super.execute(insn);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * The interpreter lags behind, so the instrumented method always runs.
+     */
+    @Override
+    public boolean BEGIN_CONCRETE_CALL() {
+        return false;
+    }
+
+    @Override
+    public void END_CONCRETE_CALL() {
+    }
+
+    @Override
+    protected void execute(Instruction insn) {
+        queue.put(insn);
+    }
+
+    @Override
+    protected void flush() {
+        queue.put(END);
+        try {
+            interpreter.join();
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+        super.execute(null);
+    }
+}
@@ -33,6 +33,11 @@
 
 package janala.logger;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Map;
@@ -47,9 +52,35 @@ public class ClassNames implements Serializable {
     Map<String, Integer> nameToIndex;
     ArrayList<ObjectInfo> classList;
 
-    public final static ClassNames instance = new ClassNames();
+    /**
+     * Where an ahead-of-time instrumented jar keeps the ClassNames that its
+     * code refers to.
+     */
+    public final static String RESOURCE = "janala-classnames.ser";
 
-    public int get(String className) {
+    public final static ClassNames instance = load();
+
+    private static ClassNames load() {
+        InputStream in = ClassLoader.getSystemResourceAsStream(RESOURCE);
+        if (in == null) {
+            return new ClassNames();
+        }
+        try {
+            ObjectInputStream oin = new ObjectInputStream(in);
+            ClassNames ret = (ClassNames)oin.readObject();
+            oin.close();
+            return ret;
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(1);
+        } catch (ClassNotFoundException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+        return null;
+    }
+
+    public synchronized int get(String className) {
         if (nameToIndex==null) {
             nameToIndex = new TreeMap<String, Integer>();
         }
@@ -60,15 +91,130 @@ public class ClassNames implements Serializable {
         if (i==null) {
             i = classList.size();
             nameToIndex.put(className,i);
-            classList.add(new ObjectInfo(className));
+            classList.add(new ObjectInfo(className, this));
         }
         return i;
     }
 
-    public ObjectInfo get(int i) {
+    public synchronized ObjectInfo get(int i) {
         return classList.get(i);
     }
 
+    /**
+     * Returns the entry of a class, or null if it has none; unlike get, no
+     * entry is added.
+     */
+    synchronized ObjectInfo find(String className) {
+        if (nameToIndex == null) {
+            return null;
+        }
+        Integer i = nameToIndex.get(className);
+        return i == null ? null : classList.get(i);
+    }
+
+    /**
+     * Records the superclass and the instance and static fields declared by
+     * a class, in the order they appear in its class file.  Field indices of
+     * the class are then computed from these instead of by reflection.
+     */
+    public synchronized void setLayout(String className, String superName, String[] fields, String[] staticFields) {
+        int i = get(className);
+        classList.get(i).setLayout(superName, fields, staticFields);
+    }
+
+
+    /**
+     * Returns the number of classes, of static and instance fields of each,
+     * and whether each has a layout, so that the entries added afterwards
+     * can be written with writeChanges.
+     */
+    public int[] mark() {
+        int n = classList == null ? 0 : classList.size();
+        int[] ret = new int[1 + 3 * n];
+        ret[0] = n;
+        for (int i = 0; i < n; i++) {
+            ret[1 + 3 * i] = classList.get(i).nFieldNames(true);
+            ret[2 + 3 * i] = classList.get(i).nFieldNames(false);
+            ret[3 + 3 * i] = classList.get(i).hasLayout() ? 1 : 0;
+        }
+        return ret;
+    }
+
+    /**
+     * Writes the classes and fields added since mark.  readChanges adds
+     * them again, with the same indices, to a ClassNames in the state it
+     * was in at mark.
+     */
+    public void writeChanges(int[] mark, DataOutput out) throws IOException {
+        int n = classList == null ? 0 : classList.size();
+        out.writeInt(n - mark[0]);
+        for (int i = mark[0]; i < n; i++) {
+            out.writeUTF(classList.get(i).className);
+        }
+        for (int i = 0; i < n; i++) {
+            ObjectInfo oi = classList.get(i);
+            for (int s = 0; s < 2; s++) {
+                boolean isStatic = s == 0;
+                int from = i < mark[0] ? mark[1 + 3 * i + s] : 0;
+                int to = oi.nFieldNames(isStatic);
+                if (to > from) {
+                    out.writeInt(i);
+                    out.writeBoolean(isStatic);
+                    out.writeInt(to - from);
+                    for (int j = from; j < to; j++) {
+                        out.writeUTF(oi.get(j, isStatic).fieldName);
+                    }
+                }
+            }
+        }
+        out.writeInt(-1);
+        for (int i = 0; i < n; i++) {
+            ObjectInfo oi = classList.get(i);
+            if (oi.hasLayout() && (i >= mark[0] || mark[3 + 3 * i] == 0)) {
+                out.writeInt(i);
+                out.writeUTF(oi.getSuperName() == null ? "" : oi.getSuperName());
+                writeNames(oi.getDeclaredFields(false), out);
+                writeNames(oi.getDeclaredFields(true), out);
+            }
+        }
+        out.writeInt(-1);
+    }
+
+    private static void writeNames(String[] names, DataOutput out) throws IOException {
+        out.writeInt(names.length);
+        for (String name : names) {
+            out.writeUTF(name);
+        }
+    }
+
+    private static String[] readNames(DataInput in) throws IOException {
+        String[] ret = new String[in.readInt()];
+        for (int i = 0; i < ret.length; i++) {
+            ret[i] = in.readUTF();
+        }
+        return ret;
+    }
+
+    public void readChanges(DataInput in) throws IOException {
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            get(in.readUTF().replace('.', '/'));
+        }
+        int cIdx;
+        while ((cIdx = in.readInt()) != -1) {
+            ObjectInfo oi = get(cIdx);
+            boolean isStatic = in.readBoolean();
+            int nFields = in.readInt();
+            for (int j = 0; j < nFields; j++) {
+                oi.get(oi.className, in.readUTF(), isStatic);
+            }
+        }
+        while ((cIdx = in.readInt()) != -1) {
+            String superName = in.readUTF();
+            String[] fields = readNames(in);
+            get(cIdx).setLayout(superName.length() == 0 ? null : superName, fields, readNames(in));
+        }
+    }
 
     public void init() {
         if (classList !=null)
@@ -77,6 +223,16 @@ public class ClassNames implements Serializable {
             }
     }
 
+    /**
+     * Clears the shadow values of static fields.  Class and field indices
+     * are kept because they are baked into the instrumented bytecode.
+     */
+    public void reset() {
+        if (classList !=null)
+            for (ObjectInfo objectInfo : classList) {
+                objectInfo.reset();
+            }
+    }
 
     @Override
     public String toString() {
@@ -724,6 +724,18 @@ public class DJVM {
         intp.SPECIAL(i);
     }
 
+    public static void BLOCK(String block) {
+        intp.BLOCK(block);
+    }
+
+    public static boolean BEGIN_CONCRETE_CALL() {
+        return intp.BEGIN_CONCRETE_CALL();
+    }
+
+    public static void END_CONCRETE_CALL() {
+        intp.END_CONCRETE_CALL();
+    }
+
 
     public static void MAKE_SYMBOLIC() {
         intp.MAKE_SYMBOLIC();
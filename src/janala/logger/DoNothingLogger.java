@@ -734,4 +734,16 @@ public class DoNothingLogger implements Logger {
         
     }
 
+    public void BLOCK(String block) {
+
+    }
+
+    public boolean BEGIN_CONCRETE_CALL() {
+        return true;
+    }
+
+    public void END_CONCRETE_CALL() {
+
+    }
+
 }
@@ -47,6 +47,7 @@ public class FieldInfo implements Serializable {
     String fieldName;
     boolean isStatic;
 
+    private ObjectInfo owner;
     private int fieldId;
 
     public FieldInfo(String className, String fieldName, boolean aStatic) {
@@ -56,14 +57,13 @@ public class FieldInfo implements Serializable {
         fieldId = -1;
     }
 
+    FieldInfo(ObjectInfo owner, String className, String fieldName, boolean aStatic) {
+        this(className, fieldName, aStatic);
+        this.owner = owner;
+    }
+
     public FieldInfo init() {
-        if (fieldId == -1) {
-            if (isStatic) {
-                fieldId = ClassDepot.instance.getStaticFieldIndex(className,fieldName);
-            } else {
-                fieldId = ClassDepot.instance.getFieldIndex(className,fieldName);
-            }
-        }
+        getFieldId();
         return this;
     }
 
@@ -79,7 +79,9 @@ public class FieldInfo implements Serializable {
 
     public int getFieldId() {
         if (fieldId == -1) {
-            if (isStatic) {
+            if (owner != null) {
+                fieldId = owner.getFieldIndex(fieldName, isStatic);
+            } else if (isStatic) {
                 fieldId = ClassDepot.instance.getStaticFieldIndex(className,fieldName);
             } else {
                 fieldId = ClassDepot.instance.getFieldIndex(className,fieldName);
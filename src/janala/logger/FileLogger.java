@@ -49,11 +49,12 @@ import java.io.ObjectOutputStream;
 
 public class FileLogger extends Thread implements Logger {
 
-    private ObjectOutputStream outputStream;
+    private TraceWriter writer;
+    private final InstructionRing ring = new InstructionRing();
 
     public FileLogger() {
         try {
-            outputStream = new ObjectOutputStream(new FileOutputStream(Config.instance.traceFileName));
+            writer = new TraceWriter(new FileOutputStream(Config.instance.traceFileName));
             Runtime.getRuntime().addShutdownHook(this);
         } catch (IOException e) {
             e.printStackTrace();  
@@ -64,8 +65,8 @@ public class FileLogger extends Thread implements Logger {
     @Override
     public void run() {
         try {
-            outputStream.close();
-            outputStream = new ObjectOutputStream(new FileOutputStream(Config.instance.traceAuxFileName));
+            writer.close();
+            ObjectOutputStream outputStream = new ObjectOutputStream(new FileOutputStream(Config.instance.traceAuxFileName));
             outputStream.writeObject(ClassNames.instance);
             //System.out.println(ClassNames.instance);
             outputStream.close();
@@ -80,7 +81,7 @@ public class FileLogger extends Thread implements Logger {
         if (Config.instance.printTrace)
             System.out.println(insn);
         try {
-            outputStream.writeObject(insn);
+            writer.write(insn);
         } catch (IOException e) {
             e.printStackTrace();
             System.exit(1);
@@ -88,704 +89,720 @@ public class FileLogger extends Thread implements Logger {
     }
 
     public void LDC(int iid, int mid, int c) {
-        log(new LDC_int(iid, mid, c) );
+        log(ring.LDC_int(iid, mid, c) );
     }
 
     public void LDC(int iid, int mid, long c) {
-        log(new LDC_long(iid, mid,c) );
+        log(ring.LDC_long(iid, mid,c) );
     }
 
     public void LDC(int iid, int mid, float c) {
-        log(new LDC_float(iid, mid,c) );
+        log(ring.LDC_float(iid, mid,c) );
     }
 
     public void LDC(int iid, int mid, double c) {
-        log(new LDC_double(iid, mid, c) );
+        log(ring.LDC_double(iid, mid, c) );
     }
 
     public void LDC(int iid, int mid, String c) {
-        log(new LDC_String( iid, mid, c, System.identityHashCode(c)) );
+        log(ring.LDC_String( iid, mid, c, System.identityHashCode(c)) );
     }
 
     public void LDC(int iid, int mid, Object c) {
-        log(new LDC_Object( iid, mid, System.identityHashCode(c)) );
+        log(ring.LDC_Object( iid, mid, System.identityHashCode(c)) );
     }
 
     public void IINC(int iid, int mid, int var, int increment) {
-        log(new IINC(iid, mid, var, increment) );
+        log(ring.IINC(iid, mid, var, increment) );
     }
 
     public void MULTIANEWARRAY(int iid, int mid, String desc, int dims) {
-        log(new MULTIANEWARRAY(iid, mid, desc, dims) );
+        log(ring.MULTIANEWARRAY(iid, mid, desc, dims) );
     }
 
     public void LOOKUPSWITCH(int iid, int mid, int dflt, int[] keys, int[] labels) {
-        log(new LOOKUPSWITCH(iid, mid, dflt, keys, labels) );
+        log(ring.LOOKUPSWITCH(iid, mid, dflt, keys, labels) );
     }
 
     public void TABLESWITCH(int iid, int mid, int min, int max, int dflt, int[] labels) {
-        log(new TABLESWITCH(iid, mid, min, max, dflt, labels) );
+        log(ring.TABLESWITCH(iid, mid, min, max, dflt, labels) );
     }
 
     public void IFEQ(int iid, int mid, int label) {
-        log(new IFEQ(iid, mid, label) );
+        log(ring.IFEQ(iid, mid, label) );
     }
 
     public void IFNE(int iid, int mid, int label) {
-        log(new IFNE(iid, mid, label) );
+        log(ring.IFNE(iid, mid, label) );
     }
 
     public void IFLT(int iid, int mid, int label) {
-        log(new IFLT(iid, mid, label) );
+        log(ring.IFLT(iid, mid, label) );
     }
 
     public void IFGE(int iid, int mid, int label) {
-        log(new IFGE(iid, mid, label) );
+        log(ring.IFGE(iid, mid, label) );
     }
 
     public void IFGT(int iid, int mid, int label) {
-        log(new IFGT(iid, mid, label) );
+        log(ring.IFGT(iid, mid, label) );
     }
 
     public void IFLE(int iid, int mid, int label) {
-        log(new IFLE(iid, mid, label) );
+        log(ring.IFLE(iid, mid, label) );
     }
 
     public void IF_ICMPEQ(int iid, int mid, int label) {
-        log(new IF_ICMPEQ(iid, mid, label) );
+        log(ring.IF_ICMPEQ(iid, mid, label) );
     }
 
     public void IF_ICMPNE(int iid, int mid, int label) {
-        log(new IF_ICMPNE(iid, mid, label) );
+        log(ring.IF_ICMPNE(iid, mid, label) );
     }
 
     public void IF_ICMPLT(int iid, int mid, int label) {
-        log(new IF_ICMPLT(iid, mid, label) );
+        log(ring.IF_ICMPLT(iid, mid, label) );
     }
 
     public void IF_ICMPGE(int iid, int mid, int label) {
-        log(new IF_ICMPGE(iid, mid, label) );
+        log(ring.IF_ICMPGE(iid, mid, label) );
     }
 
     public void IF_ICMPGT(int iid, int mid, int label) {
-        log(new IF_ICMPGT(iid, mid, label) );
+        log(ring.IF_ICMPGT(iid, mid, label) );
     }
 
     public void IF_ICMPLE(int iid, int mid, int label) {
-        log(new IF_ICMPLE(iid, mid, label) );
+        log(ring.IF_ICMPLE(iid, mid, label) );
     }
 
     public void IF_ACMPEQ(int iid, int mid, int label) {
-        log(new IF_ACMPEQ(iid, mid, label) );
+        log(ring.IF_ACMPEQ(iid, mid, label) );
     }
 
     public void IF_ACMPNE(int iid, int mid, int label) {
-        log(new IF_ACMPNE(iid, mid, label) );
+        log(ring.IF_ACMPNE(iid, mid, label) );
     }
 
     public void GOTO(int iid, int mid, int label) {
-        log(new GOTO(iid, mid, label) );
+        log(ring.GOTO(iid, mid, label) );
     }
 
     public void JSR(int iid, int mid, int label) {
-        log(new JSR(iid, mid, label) );
+        log(ring.JSR(iid, mid, label) );
     }
 
     public void IFNULL(int iid, int mid, int label) {
-        log(new IFNULL(iid, mid, label) );
+        log(ring.IFNULL(iid, mid, label) );
     }
 
     public void IFNONNULL(int iid, int mid, int label) {
-        log(new IFNONNULL(iid, mid, label) );
+        log(ring.IFNONNULL(iid, mid, label) );
     }
 
     public void INVOKEVIRTUAL(int iid, int mid, String owner, String name, String desc) {
-        log(new INVOKEVIRTUAL(iid, mid,  owner, name, desc) );
+        log(ring.INVOKEVIRTUAL(iid, mid,  owner, name, desc) );
     }
 
     public void INVOKESPECIAL(int iid, int mid, String owner, String name, String desc) {
-        log(new INVOKESPECIAL(iid, mid, owner, name, desc) );
+        log(ring.INVOKESPECIAL(iid, mid, owner, name, desc) );
     }
 
     public void INVOKESTATIC(int iid, int mid, String owner, String name, String desc) {
-        log(new INVOKESTATIC(iid, mid, owner, name, desc) );
+        log(ring.INVOKESTATIC(iid, mid, owner, name, desc) );
     }
 
     public void INVOKEINTERFACE(int iid, int mid, String owner, String name, String desc) {
-        log(new INVOKEINTERFACE(iid, mid, owner, name, desc) );
+        log(ring.INVOKEINTERFACE(iid, mid, owner, name, desc) );
     }
 
     public void GETSTATIC(int iid, int mid, int cIdx, int fIdx, String desc) {
-log(new GETSTATIC(iid, mid, cIdx, fIdx, desc) );
+log(ring.GETSTATIC(iid, mid, cIdx, fIdx, desc) );
     }
 
     public void PUTSTATIC(int iid, int mid, int cIdx, int fIdx, String desc) {
-log(new PUTSTATIC(iid, mid, cIdx, fIdx, desc) );
+log(ring.PUTSTATIC(iid, mid, cIdx, fIdx, desc) );
     }
 
     public void GETFIELD(int iid, int mid, int cIdx, int fIdx, String desc) {
-log(new GETFIELD(iid, mid, cIdx, fIdx, desc) );
+log(ring.GETFIELD(iid, mid, cIdx, fIdx, desc) );
     }
 
     public void PUTFIELD(int iid, int mid, int cIdx, int fIdx, String desc) {
-log(new PUTFIELD(iid, mid, cIdx, fIdx, desc) );
+log(ring.PUTFIELD(iid, mid, cIdx, fIdx, desc) );
     }
 
     public void NEW(int iid, int mid, String type, int cIdx) {
-log(new NEW(iid, mid, type, cIdx) );
+log(ring.NEW(iid, mid, type, cIdx) );
     }
 
     public void ANEWARRAY(int iid, int mid, String type) {
-        log(new ANEWARRAY(iid, mid, type) );
+        log(ring.ANEWARRAY(iid, mid, type) );
     }
 
     public void CHECKCAST(int iid, int mid, String type) {
-        log(new CHECKCAST(iid, mid, type) );
+        log(ring.CHECKCAST(iid, mid, type) );
     }
 
     public void INSTANCEOF(int iid, int mid, String type) {
-        log(new INSTANCEOF(iid, mid, type) );
+        log(ring.INSTANCEOF(iid, mid, type) );
     }
 
     public void BIPUSH(int iid, int mid, int value) {
-        log(new BIPUSH(iid, mid, value) );
+        log(ring.BIPUSH(iid, mid, value) );
     }
 
     public void SIPUSH(int iid, int mid, int value) {
-        log(new SIPUSH(iid, mid, value) );
+        log(ring.SIPUSH(iid, mid, value) );
     }
 
     public void NEWARRAY(int iid, int mid) {
-        log(new NEWARRAY(iid, mid) );
+        log(ring.NEWARRAY(iid, mid) );
     }
 
     public void ILOAD(int iid, int mid, int var) {
-        log(new ILOAD(iid, mid, var) );
+        log(ring.ILOAD(iid, mid, var) );
     }
 
     public void LLOAD(int iid, int mid, int var) {
-        log(new LLOAD(iid, mid, var) );
+        log(ring.LLOAD(iid, mid, var) );
     }
 
     public void FLOAD(int iid, int mid, int var) {
-        log(new FLOAD(iid, mid, var) );
+        log(ring.FLOAD(iid, mid, var) );
     }
 
     public void DLOAD(int iid, int mid, int var) {
-        log(new DLOAD(iid, mid, var) );
+        log(ring.DLOAD(iid, mid, var) );
     }
 
     public void ALOAD(int iid, int mid, int var) {
-        log(new ALOAD(iid, mid, var) );
+        log(ring.ALOAD(iid, mid, var) );
     }
 
     public void ISTORE(int iid, int mid, int var) {
-        log(new ISTORE(iid, mid, var) );
+        log(ring.ISTORE(iid, mid, var) );
     }
 
     public void LSTORE(int iid, int mid, int var) {
-        log(new LSTORE(iid, mid, var) );
+        log(ring.LSTORE(iid, mid, var) );
     }
 
     public void FSTORE(int iid, int mid, int var) {
-        log(new FSTORE(iid, mid, var) );
+        log(ring.FSTORE(iid, mid, var) );
     }
 
     public void DSTORE(int iid, int mid, int var) {
-        log(new DSTORE(iid, mid, var) );
+        log(ring.DSTORE(iid, mid, var) );
     }
 
     public void ASTORE(int iid, int mid, int var) {
-        log(new ASTORE(iid, mid, var) );
+        log(ring.ASTORE(iid, mid, var) );
     }
 
     public void RET(int iid, int mid, int var) {
-        log(new RET(iid, mid, var) );
+        log(ring.RET(iid, mid, var) );
     }
 
     public void NOP(int iid, int mid) {
-        log(new NOP(iid, mid) );
+        log(ring.NOP(iid, mid) );
     }
 
     public void ACONST_NULL(int iid, int mid) {
-        log(new ACONST_NULL(iid, mid) );
+        log(ring.ACONST_NULL(iid, mid) );
     }
 
     public void ICONST_M1(int iid, int mid) {
-        log(new ICONST_M1(iid, mid) );
+        log(ring.ICONST_M1(iid, mid) );
     }
 
     public void ICONST_0(int iid, int mid) {
-        log(new ICONST_0(iid, mid) );
+        log(ring.ICONST_0(iid, mid) );
     }
 
     public void ICONST_1(int iid, int mid) {
-        log(new ICONST_1(iid, mid) );
+        log(ring.ICONST_1(iid, mid) );
     }
 
     public void ICONST_2(int iid, int mid) {
-        log(new ICONST_2(iid, mid) );
+        log(ring.ICONST_2(iid, mid) );
     }
 
     public void ICONST_3(int iid, int mid) {
-        log(new ICONST_3(iid, mid) );
+        log(ring.ICONST_3(iid, mid) );
     }
 
     public void ICONST_4(int iid, int mid) {
-        log(new ICONST_4(iid, mid) );
+        log(ring.ICONST_4(iid, mid) );
     }
 
     public void ICONST_5(int iid, int mid) {
-        log(new ICONST_5(iid, mid) );
+        log(ring.ICONST_5(iid, mid) );
     }
 
     public void LCONST_0(int iid, int mid) {
-        log(new LCONST_0(iid, mid) );
+        log(ring.LCONST_0(iid, mid) );
     }
 
     public void LCONST_1(int iid, int mid) {
-        log(new LCONST_1(iid, mid) );
+        log(ring.LCONST_1(iid, mid) );
     }
 
     public void FCONST_0(int iid, int mid) {
-        log(new FCONST_0(iid, mid) );
+        log(ring.FCONST_0(iid, mid) );
     }
 
     public void FCONST_1(int iid, int mid) {
-        log(new FCONST_1(iid, mid) );
+        log(ring.FCONST_1(iid, mid) );
     }
 
     public void FCONST_2(int iid, int mid) {
-        log(new FCONST_2(iid, mid) );
+        log(ring.FCONST_2(iid, mid) );
     }
 
     public void DCONST_0(int iid, int mid) {
-        log(new DCONST_0(iid, mid) );
+        log(ring.DCONST_0(iid, mid) );
     }
 
     public void DCONST_1(int iid, int mid) {
-        log(new DCONST_1(iid, mid) );
+        log(ring.DCONST_1(iid, mid) );
     }
 
     public void IALOAD(int iid, int mid) {
-        log(new IALOAD(iid, mid) );
+        log(ring.IALOAD(iid, mid) );
     }
 
     public void LALOAD(int iid, int mid) {
-        log(new LALOAD(iid, mid) );
+        log(ring.LALOAD(iid, mid) );
     }
 
     public void FALOAD(int iid, int mid) {
-        log(new FALOAD(iid, mid) );
+        log(ring.FALOAD(iid, mid) );
     }
 
     public void DALOAD(int iid, int mid) {
-        log(new DALOAD(iid, mid) );
+        log(ring.DALOAD(iid, mid) );
     }
 
     public void AALOAD(int iid, int mid) {
-        log(new AALOAD(iid, mid) );
+        log(ring.AALOAD(iid, mid) );
     }
 
     public void BALOAD(int iid, int mid) {
-        log(new BALOAD(iid, mid) );
+        log(ring.BALOAD(iid, mid) );
     }
 
     public void CALOAD(int iid, int mid) {
-        log(new CALOAD(iid, mid) );
+        log(ring.CALOAD(iid, mid) );
     }
 
     public void SALOAD(int iid, int mid) {
-        log(new SALOAD(iid, mid) );
+        log(ring.SALOAD(iid, mid) );
     }
 
     public void IASTORE(int iid, int mid) {
-        log(new IASTORE(iid, mid) );
+        log(ring.IASTORE(iid, mid) );
     }
 
     public void LASTORE(int iid, int mid) {
-        log(new LASTORE(iid, mid) );
+        log(ring.LASTORE(iid, mid) );
     }
 
     public void FASTORE(int iid, int mid) {
-        log(new FASTORE(iid, mid) );
+        log(ring.FASTORE(iid, mid) );
     }
 
     public void DASTORE(int iid, int mid) {
-        log(new DASTORE(iid, mid) );
+        log(ring.DASTORE(iid, mid) );
     }
 
     public void AASTORE(int iid, int mid) {
-        log(new AASTORE(iid, mid) );
+        log(ring.AASTORE(iid, mid) );
     }
 
     public void BASTORE(int iid, int mid) {
-        log(new BASTORE(iid, mid) );
+        log(ring.BASTORE(iid, mid) );
     }
 
     public void CASTORE(int iid, int mid) {
-        log(new CASTORE(iid, mid) );
+        log(ring.CASTORE(iid, mid) );
     }
 
     public void SASTORE(int iid, int mid) {
-        log(new SASTORE(iid, mid) );
+        log(ring.SASTORE(iid, mid) );
     }
 
     public void POP(int iid, int mid) {
-        log(new POP(iid, mid) );
+        log(ring.POP(iid, mid) );
     }
 
     public void POP2(int iid, int mid) {
-        log(new POP2(iid, mid) );
+        log(ring.POP2(iid, mid) );
     }
 
     public void DUP(int iid, int mid) {
-        log(new DUP(iid, mid) );
+        log(ring.DUP(iid, mid) );
     }
 
     public void DUP_X1(int iid, int mid) {
-        log(new DUP_X1(iid, mid) );
+        log(ring.DUP_X1(iid, mid) );
     }
 
     public void DUP_X2(int iid, int mid) {
-        log(new DUP_X2(iid, mid) );
+        log(ring.DUP_X2(iid, mid) );
     }
 
     public void DUP2(int iid, int mid) {
-        log(new DUP2(iid, mid) );
+        log(ring.DUP2(iid, mid) );
     }
 
     public void DUP2_X1(int iid, int mid) {
-        log(new DUP2_X1(iid, mid) );
+        log(ring.DUP2_X1(iid, mid) );
     }
 
     public void DUP2_X2(int iid, int mid) {
-        log(new DUP2_X2(iid, mid) );
+        log(ring.DUP2_X2(iid, mid) );
     }
 
     public void SWAP(int iid, int mid) {
-        log(new SWAP(iid, mid) );
+        log(ring.SWAP(iid, mid) );
     }
 
     public void IADD(int iid, int mid) {
-        log(new IADD(iid, mid) );
+        log(ring.IADD(iid, mid) );
     }
 
     public void LADD(int iid, int mid) {
-        log(new LADD(iid, mid) );
+        log(ring.LADD(iid, mid) );
     }
 
     public void FADD(int iid, int mid) {
-        log(new FADD(iid, mid) );
+        log(ring.FADD(iid, mid) );
     }
 
     public void DADD(int iid, int mid) {
-        log(new DADD(iid, mid) );
+        log(ring.DADD(iid, mid) );
     }
 
     public void ISUB(int iid, int mid) {
-        log(new ISUB(iid, mid) );
+        log(ring.ISUB(iid, mid) );
     }
 
     public void LSUB(int iid, int mid) {
-        log(new LSUB(iid, mid) );
+        log(ring.LSUB(iid, mid) );
     }
 
     public void FSUB(int iid, int mid) {
-        log(new FSUB(iid, mid) );
+        log(ring.FSUB(iid, mid) );
     }
 
     public void DSUB(int iid, int mid) {
-        log(new DSUB(iid, mid) );
+        log(ring.DSUB(iid, mid) );
     }
 
     public void IMUL(int iid, int mid) {
-        log(new IMUL(iid, mid) );
+        log(ring.IMUL(iid, mid) );
     }
 
     public void LMUL(int iid, int mid) {
-        log(new LMUL(iid, mid) );
+        log(ring.LMUL(iid, mid) );
     }
 
     public void FMUL(int iid, int mid) {
-        log(new FMUL(iid, mid) );
+        log(ring.FMUL(iid, mid) );
     }
 
     public void DMUL(int iid, int mid) {
-        log(new DMUL(iid, mid) );
+        log(ring.DMUL(iid, mid) );
     }
 
     public void IDIV(int iid, int mid) {
-        log(new IDIV(iid, mid) );
+        log(ring.IDIV(iid, mid) );
     }
 
     public void LDIV(int iid, int mid) {
-        log(new LDIV(iid, mid) );
+        log(ring.LDIV(iid, mid) );
     }
 
     public void FDIV(int iid, int mid) {
-        log(new FDIV(iid, mid) );
+        log(ring.FDIV(iid, mid) );
     }
 
     public void DDIV(int iid, int mid) {
-        log(new DDIV(iid, mid) );
+        log(ring.DDIV(iid, mid) );
     }
 
     public void IREM(int iid, int mid) {
-        log(new IREM(iid, mid) );
+        log(ring.IREM(iid, mid) );
     }
 
     public void LREM(int iid, int mid) {
-        log(new LREM(iid, mid) );
+        log(ring.LREM(iid, mid) );
     }
 
     public void FREM(int iid, int mid) {
-        log(new FREM(iid, mid) );
+        log(ring.FREM(iid, mid) );
     }
 
     public void DREM(int iid, int mid) {
-        log(new DREM(iid, mid) );
+        log(ring.DREM(iid, mid) );
     }
 
     public void INEG(int iid, int mid) {
-        log(new INEG(iid, mid) );
+        log(ring.INEG(iid, mid) );
     }
 
     public void LNEG(int iid, int mid) {
-        log(new LNEG(iid, mid) );
+        log(ring.LNEG(iid, mid) );
     }
 
     public void FNEG(int iid, int mid) {
-        log(new FNEG(iid, mid) );
+        log(ring.FNEG(iid, mid) );
     }
 
     public void DNEG(int iid, int mid) {
-        log(new DNEG(iid, mid) );
+        log(ring.DNEG(iid, mid) );
     }
 
     public void ISHL(int iid, int mid) {
-        log(new ISHL(iid, mid) );
+        log(ring.ISHL(iid, mid) );
     }
 
     public void LSHL(int iid, int mid) {
-        log(new LSHL(iid, mid) );
+        log(ring.LSHL(iid, mid) );
     }
 
     public void ISHR(int iid, int mid) {
-        log(new ISHR(iid, mid) );
+        log(ring.ISHR(iid, mid) );
     }
 
     public void LSHR(int iid, int mid) {
-        log(new LSHR(iid, mid) );
+        log(ring.LSHR(iid, mid) );
     }
 
     public void IUSHR(int iid, int mid) {
-        log(new IUSHR(iid, mid) );
+        log(ring.IUSHR(iid, mid) );
     }
 
     public void LUSHR(int iid, int mid) {
-        log(new LUSHR(iid, mid) );
+        log(ring.LUSHR(iid, mid) );
     }
 
     public void IAND(int iid, int mid) {
-        log(new IAND(iid, mid) );
+        log(ring.IAND(iid, mid) );
     }
 
     public void LAND(int iid, int mid) {
-        log(new LAND(iid, mid) );
+        log(ring.LAND(iid, mid) );
     }
 
     public void IOR(int iid, int mid) {
-        log(new IOR(iid, mid) );
+        log(ring.IOR(iid, mid) );
     }
 
     public void LOR(int iid, int mid) {
-        log(new LOR(iid, mid) );
+        log(ring.LOR(iid, mid) );
     }
 
     public void IXOR(int iid, int mid) {
-        log(new IXOR(iid, mid) );
+        log(ring.IXOR(iid, mid) );
     }
 
     public void LXOR(int iid, int mid) {
-        log(new LXOR(iid, mid) );
+        log(ring.LXOR(iid, mid) );
     }
 
     public void I2L(int iid, int mid) {
-        log(new I2L(iid, mid) );
+        log(ring.I2L(iid, mid) );
     }
 
     public void I2F(int iid, int mid) {
-        log(new I2F(iid, mid) );
+        log(ring.I2F(iid, mid) );
     }
 
     public void I2D(int iid, int mid) {
-        log(new I2D(iid, mid) );
+        log(ring.I2D(iid, mid) );
     }
 
     public void L2I(int iid, int mid) {
-        log(new L2I(iid, mid) );
+        log(ring.L2I(iid, mid) );
     }
 
     public void L2F(int iid, int mid) {
-        log(new L2F(iid, mid) );
+        log(ring.L2F(iid, mid) );
     }
 
     public void L2D(int iid, int mid) {
-        log(new L2D(iid, mid) );
+        log(ring.L2D(iid, mid) );
     }
 
     public void F2I(int iid, int mid) {
-        log(new F2I(iid, mid) );
+        log(ring.F2I(iid, mid) );
     }
 
     public void F2L(int iid, int mid) {
-        log(new F2L(iid, mid) );
+        log(ring.F2L(iid, mid) );
     }
 
     public void F2D(int iid, int mid) {
-        log(new F2D(iid, mid) );
+        log(ring.F2D(iid, mid) );
     }
 
     public void D2I(int iid, int mid) {
-        log(new D2I(iid, mid) );
+        log(ring.D2I(iid, mid) );
     }
 
     public void D2L(int iid, int mid) {
-        log(new D2L(iid, mid) );
+        log(ring.D2L(iid, mid) );
     }
 
     public void D2F(int iid, int mid) {
-        log(new D2F(iid, mid) );
+        log(ring.D2F(iid, mid) );
     }
 
     public void I2B(int iid, int mid) {
-        log(new I2B(iid, mid) );
+        log(ring.I2B(iid, mid) );
     }
 
     public void I2C(int iid, int mid) {
-        log(new I2C(iid, mid) );
+        log(ring.I2C(iid, mid) );
     }
 
     public void I2S(int iid, int mid) {
-        log(new I2S(iid, mid) );
+        log(ring.I2S(iid, mid) );
     }
 
     public void LCMP(int iid, int mid) {
-        log(new LCMP(iid, mid) );
+        log(ring.LCMP(iid, mid) );
     }
 
     public void FCMPL(int iid, int mid) {
-        log(new FCMPL(iid, mid) );
+        log(ring.FCMPL(iid, mid) );
     }
 
     public void FCMPG(int iid, int mid) {
-        log(new FCMPG(iid, mid) );
+        log(ring.FCMPG(iid, mid) );
     }
 
     public void DCMPL(int iid, int mid) {
-        log(new DCMPL(iid, mid) );
+        log(ring.DCMPL(iid, mid) );
     }
 
     public void DCMPG(int iid, int mid) {
-        log(new DCMPG(iid, mid) );
+        log(ring.DCMPG(iid, mid) );
     }
 
     public void IRETURN(int iid, int mid) {
-        log(new IRETURN(iid, mid) );
+        log(ring.IRETURN(iid, mid) );
     }
 
     public void LRETURN(int iid, int mid) {
-        log(new LRETURN(iid, mid) );
+        log(ring.LRETURN(iid, mid) );
     }
 
     public void FRETURN(int iid, int mid) {
-        log(new FRETURN(iid, mid) );
+        log(ring.FRETURN(iid, mid) );
     }
 
     public void DRETURN(int iid, int mid) {
-        log(new DRETURN(iid, mid) );
+        log(ring.DRETURN(iid, mid) );
     }
 
     public void ARETURN(int iid, int mid) {
-        log(new ARETURN(iid, mid) );
+        log(ring.ARETURN(iid, mid) );
     }
 
     public void RETURN(int iid, int mid) {
-        log(new RETURN(iid, mid) );
+        log(ring.RETURN(iid, mid) );
     }
 
     public void ARRAYLENGTH(int iid, int mid) {
-        log(new ARRAYLENGTH(iid, mid) );
+        log(ring.ARRAYLENGTH(iid, mid) );
     }
 
     public void ATHROW(int iid, int mid) {
-        log(new ATHROW(iid, mid) );
+        log(ring.ATHROW(iid, mid) );
     }
 
     public void MONITORENTER(int iid, int mid) {
-        log(new MONITORENTER(iid, mid) );
+        log(ring.MONITORENTER(iid, mid) );
     }
 
     public void MONITOREXIT(int iid, int mid) {
-        log(new MONITOREXIT(iid, mid) );
+        log(ring.MONITOREXIT(iid, mid) );
     }
 
     public void GETVALUE_double (double v) {
-        log(new GETVALUE_double (v) );
+        log(ring.GETVALUE_double(v) );
     }
 
     public void GETVALUE_long (long v) {
-        log(new GETVALUE_long (v) );
+        log(ring.GETVALUE_long(v) );
     }
 
     public void GETVALUE_Object (Object v) {
         boolean isString = v instanceof String;
-        log(new GETVALUE_Object (System.identityHashCode(v), isString?((String)v):null, isString));
+        log(ring.GETVALUE_Object(System.identityHashCode(v), isString?((String)v):null, isString));
     }
 
     public void GETVALUE_boolean (boolean v) {
-        log(new GETVALUE_boolean (v) );
+        log(ring.GETVALUE_boolean(v) );
     }
 
     public void GETVALUE_byte (byte v) {
-        log(new GETVALUE_byte (v) );
+        log(ring.GETVALUE_byte(v) );
     }
 
     public void GETVALUE_char (char v) {
-        log(new GETVALUE_char (v) );
+        log(ring.GETVALUE_char(v) );
     }
 
     public void GETVALUE_float (float v) {
-        log(new GETVALUE_float (v) );
+        log(ring.GETVALUE_float(v) );
     }
 
     public void GETVALUE_int (int v) {
-        log(new GETVALUE_int(v) );
+        log(ring.GETVALUE_int(v) );
     }
 
     public void GETVALUE_short (short v) {
-        log(new GETVALUE_short(v) );
+        log(ring.GETVALUE_short(v) );
     }
 
     public void GETVALUE_void() {
-        log(new GETVALUE_void() );
+        log(ring.GETVALUE_void() );
     }
 
     public void INVOKEMETHOD_EXCEPTION() {
-        log(new INVOKEMETHOD_EXCEPTION() );
+        log(ring.INVOKEMETHOD_EXCEPTION() );
     }
 
     public void INVOKEMETHOD_END() {
-        log (new INVOKEMETHOD_END());
+        log(ring.INVOKEMETHOD_END());
     }
 
     public void MAKE_SYMBOLIC() {
-        log (new MAKE_SYMBOLIC());
+        log(ring.MAKE_SYMBOLIC());
     }
 
     public void SPECIAL(int i) {
-        log(new SPECIAL(i));
+        log(ring.SPECIAL(i));
+    }
+
+    public void BLOCK(String block) {
+        for (Instruction insn : InstructionBlocks.get(block)) {
+            log(insn);
+        }
+    }
+
+    /**
+     * The trace must be complete, since it is interpreted afterwards.
+     */
+    public boolean BEGIN_CONCRETE_CALL() {
+        return false;
+    }
+
+    public void END_CONCRETE_CALL() {
     }
 
 
@@ -384,4 +384,19 @@ public interface Logger {
 
     public void SPECIAL(int i);
 
+    /**
+     * The callbacks of a basic block, encoded as described in
+     * janala.logger.inst.InstructionBlocks.
+     */
+    public void BLOCK(String block);
+
+    /**
+     * Called on entry to a method that has an uninstrumented copy.  Returns
+     * whether the copy is to be run instead; if so, END_CONCRETE_CALL is
+     * called when it returns or throws.
+     */
+    public boolean BEGIN_CONCRETE_CALL();
+
+    public void END_CONCRETE_CALL();
+
 }
@@ -61,11 +61,100 @@ public class ObjectInfo implements Serializable {
 
     public String className;
 
+    // the layout of the class, taken from its bytecode when it is instrumented
+    private ClassNames classNames;
+    private String superName;
+    private String[] declaredFields;
+    private String[] declaredStaticFields;
+
     public ObjectInfo(String className) {
         this.className = className.replace('/','.');
         nFields = -1;
     }
 
+    ObjectInfo(String className, ClassNames classNames) {
+        this(className);
+        this.classNames = classNames;
+    }
+
+    /**
+     * Records the superclass and the fields declared by the class, so that
+     * its field indices can be computed without loading it by reflection.
+     */
+    void setLayout(String superName, String[] fields, String[] staticFields) {
+        this.superName = superName;
+        declaredFields = fields;
+        declaredStaticFields = staticFields;
+    }
+
+    boolean hasLayout() {
+        return declaredFields != null;
+    }
+
+    String getSuperName() {
+        return superName;
+    }
+
+    String[] getDeclaredFields(boolean isStatic) {
+        return isStatic ? declaredStaticFields : declaredFields;
+    }
+
+    /**
+     * Returns the number of fields of the class, including those of its
+     * superclasses; static fields are counted like ClassTemplate does.
+     */
+    private int countFields(boolean isStatic) {
+        if (!hasLayout()) {
+            return countFields(className, isStatic);
+        }
+        return countSuperFields(isStatic) + getDeclaredFields(isStatic).length;
+    }
+
+    private int countSuperFields(boolean isStatic) {
+        if (superName == null || superName.equals("java/lang/Object")) {
+            return 0;
+        }
+        ObjectInfo parent = classNames.find(superName);
+        if (parent != null) {
+            return parent.countFields(isStatic);
+        }
+        return countFields(superName.replace('/', '.'), isStatic);
+    }
+
+    private static int countFields(String cName, boolean isStatic) {
+        return isStatic ? ClassDepot.instance.nStaticFields(cName) : ClassDepot.instance.nFields(cName);
+    }
+
+    /**
+     * Returns the index of a field of the class, which may be declared by
+     * a superclass.  A field declared by the class hides those of its
+     * superclasses.
+     */
+    int getFieldIndex(String fieldName, boolean isStatic) {
+        if (!hasLayout()) {
+            return getFieldIndex(className, fieldName, isStatic);
+        }
+        String[] declared = getDeclaredFields(isStatic);
+        for (int i = declared.length - 1; i >= 0; i--) {
+            if (declared[i].equals(fieldName)) {
+                return countSuperFields(isStatic) + i;
+            }
+        }
+        if (superName == null || superName.equals("java/lang/Object")) {
+            return -1;
+        }
+        ObjectInfo parent = classNames.find(superName);
+        if (parent != null) {
+            return parent.getFieldIndex(fieldName, isStatic);
+        }
+        return getFieldIndex(superName.replace('/', '.'), fieldName, isStatic);
+    }
+
+    private static int getFieldIndex(String cName, String fieldName, boolean isStatic) {
+        return isStatic ? ClassDepot.instance.getStaticFieldIndex(cName, fieldName)
+                : ClassDepot.instance.getFieldIndex(cName, fieldName);
+    }
+
     private int get(String className,String fieldName, boolean isStatic, Map<String, Integer> fieldNameToIndex, ArrayList<FieldInfo> fieldList) {
         //System.out.println("******************* calling get *******************************");
         if (fieldNameToIndex==null) {
@@ -88,13 +177,13 @@ public class ObjectInfo implements Serializable {
         if (i==null) {
             i = fieldList.size();
             fieldNameToIndex.put(fieldName,i);
-            fieldList.add(new FieldInfo(className,fieldName,isStatic));
+            fieldList.add(new FieldInfo(this,className,fieldName,isStatic));
         }
 //        System.out.println("ObjectInfo "+this);
         return i;
     }
 
-    public int get(String className,String fieldName, boolean isStatic) {
+    public synchronized int get(String className,String fieldName, boolean isStatic) {
         if (isStatic) return get(className,fieldName,isStatic,staticFieldNameToIndex,staticFieldList);
         else return get(className,fieldName,isStatic,fieldNameToIndex,fieldList);
     }
@@ -104,10 +193,15 @@ public class ObjectInfo implements Serializable {
         else return fieldList.get(i);
     }
 
+    int nFieldNames(boolean isStatic) {
+        ArrayList<FieldInfo> list = isStatic ? staticFieldList : fieldList;
+        return list == null ? 0 : list.size();
+    }
+
     public ObjectInfo init() {
         if (nFields==-1) {
-            nFields = ClassDepot.instance.nFields(className);
-            nStaticFields = ClassDepot.instance.nStaticFields(className);
+            nFields = countFields(false);
+            nStaticFields = countFields(true);
             if (fieldList!=null)
                 for (FieldInfo fieldInfo : fieldList) {
                     fieldInfo.init();
@@ -121,6 +215,12 @@ public class ObjectInfo implements Serializable {
         return this;
     }
 
+    public void reset() {
+        if (nFields!=-1) {
+            statics = new Value[nStaticFields];
+        }
+    }
+
     public Value getStaticField(int fieldId) {
         initialize();
         Value v = statics[fieldId];
@@ -149,8 +249,8 @@ public class ObjectInfo implements Serializable {
 
     private void initialize() {
         if (nFields==-1) {
-            nFields = ClassDepot.instance.nFields(className);
-            nStaticFields = ClassDepot.instance.nStaticFields(className);
+            nFields = countFields(false);
+            nStaticFields = countFields(true);
             statics = new Value[nStaticFields];
         }
 
@@ -753,4 +753,17 @@ public class PrintLogger implements Logger {
     public void SPECIAL(int i) {
         System.out.println("SPECIAL i="+i);
     }
+
+    public void BLOCK(String block) {
+        System.out.println("BLOCK block="+block);
+    }
+
+    public boolean BEGIN_CONCRETE_CALL() {
+        System.out.println("BEGIN_CONCRETE_CALL");
+        return false;
+    }
+
+    public void END_CONCRETE_CALL() {
+        System.out.println("END_CONCRETE_CALL");
+    }
 }
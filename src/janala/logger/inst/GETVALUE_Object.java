@@ -37,6 +37,8 @@ public class GETVALUE_Object extends Instruction {
     public int v;
     public boolean isString;
     public String string;
+    // the object itself, when it is interpreted in the JVM that runs it
+    public transient Object ref;
 
     public GETVALUE_Object(int v, String string, boolean isString) {
         super(-1, -1);
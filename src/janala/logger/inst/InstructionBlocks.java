@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.logger.inst;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+
+/**
+ * Decodes the blocks of callbacks written by
+ * janala.instrument.BasicBlockEvents: callbacks separated by ';', each the
+ * name of the callback followed by its int arguments, separated by ' '.
+ * A block is decoded once; its instructions are shared by all the
+ * executions of the block and must not be changed.
+ */
+public class InstructionBlocks {
+    private static final HashMap<String, Instruction[]> blocks = new HashMap<String, Instruction[]>();
+
+    public static synchronized Instruction[] get(String block) {
+        Instruction[] ret = blocks.get(block);
+        if (ret == null) {
+            ret = decode(block);
+            blocks.put(block, ret);
+        }
+        return ret;
+    }
+
+    private static Instruction[] decode(String block) {
+        String[] events = block.split(";");
+        Instruction[] ret = new Instruction[events.length];
+        for (int i = 0; i < events.length; i++) {
+            String[] tokens = events[i].split(" ");
+            Object[] args = new Object[tokens.length - 1];
+            for (int j = 0; j < args.length; j++) {
+                args[j] = Integer.valueOf(tokens[j + 1]);
+            }
+            // LDC is the only callback overloaded on the type of its operand
+            String name = tokens[0].equals("LDC") ? "LDC_int" : tokens[0];
+            ret[i] = newInstruction(name, args);
+        }
+        return ret;
+    }
+
+    private static Instruction newInstruction(String name, Object[] args) {
+        try {
+            Class<?> c = Class.forName("janala.logger.inst." + name);
+            for (Constructor<?> k : c.getConstructors()) {
+                if (k.getParameterTypes().length == args.length) {
+                    return (Instruction)k.newInstance(args);
+                }
+            }
+            throw new IllegalArgumentException("No constructor of " + name + " takes " + args.length + " ints");
+        } catch (ClassNotFoundException e) {
+            e.printStackTrace();
+            System.exit(1);
+        } catch (InstantiationException e) {
+            e.printStackTrace();
+            System.exit(1);
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+            System.exit(1);
+        } catch (InvocationTargetException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+        return null;
+    }
+}
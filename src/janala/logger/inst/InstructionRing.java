@@ -0,0 +1,2224 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.logger.inst;
+
+/**
+ * Hands out reusable instructions so that an online execution does not
+ * allocate an instruction object per bytecode.  Every instruction class has
+ * size slots, filled on first use, and consecutive calls go round the slots
+ * in order.  An instruction returned by this class stays valid for the next
+ * size-1 calls.  Two slots are enough for the one-instruction lookahead of
+ * the interpreter: the instruction being visited and the next one never
+ * share an object.
+ */
+public class InstructionRing {
+    private final int size;
+    private int slot = 0;
+
+    private final AALOAD[] rAALOAD;
+    private final AASTORE[] rAASTORE;
+    private final ACONST_NULL[] rACONST_NULL;
+    private final ALOAD[] rALOAD;
+    private final ANEWARRAY[] rANEWARRAY;
+    private final ARETURN[] rARETURN;
+    private final ARRAYLENGTH[] rARRAYLENGTH;
+    private final ASTORE[] rASTORE;
+    private final ATHROW[] rATHROW;
+    private final BALOAD[] rBALOAD;
+    private final BASTORE[] rBASTORE;
+    private final BIPUSH[] rBIPUSH;
+    private final CALOAD[] rCALOAD;
+    private final CASTORE[] rCASTORE;
+    private final CHECKCAST[] rCHECKCAST;
+    private final D2F[] rD2F;
+    private final D2I[] rD2I;
+    private final D2L[] rD2L;
+    private final DADD[] rDADD;
+    private final DALOAD[] rDALOAD;
+    private final DASTORE[] rDASTORE;
+    private final DCMPG[] rDCMPG;
+    private final DCMPL[] rDCMPL;
+    private final DCONST_0[] rDCONST_0;
+    private final DCONST_1[] rDCONST_1;
+    private final DDIV[] rDDIV;
+    private final DLOAD[] rDLOAD;
+    private final DMUL[] rDMUL;
+    private final DNEG[] rDNEG;
+    private final DREM[] rDREM;
+    private final DRETURN[] rDRETURN;
+    private final DSTORE[] rDSTORE;
+    private final DSUB[] rDSUB;
+    private final DUP[] rDUP;
+    private final DUP2[] rDUP2;
+    private final DUP2_X1[] rDUP2_X1;
+    private final DUP2_X2[] rDUP2_X2;
+    private final DUP_X1[] rDUP_X1;
+    private final DUP_X2[] rDUP_X2;
+    private final F2D[] rF2D;
+    private final F2I[] rF2I;
+    private final F2L[] rF2L;
+    private final FADD[] rFADD;
+    private final FALOAD[] rFALOAD;
+    private final FASTORE[] rFASTORE;
+    private final FCMPG[] rFCMPG;
+    private final FCMPL[] rFCMPL;
+    private final FCONST_0[] rFCONST_0;
+    private final FCONST_1[] rFCONST_1;
+    private final FCONST_2[] rFCONST_2;
+    private final FDIV[] rFDIV;
+    private final FLOAD[] rFLOAD;
+    private final FMUL[] rFMUL;
+    private final FNEG[] rFNEG;
+    private final FREM[] rFREM;
+    private final FRETURN[] rFRETURN;
+    private final FSTORE[] rFSTORE;
+    private final FSUB[] rFSUB;
+    private final GETFIELD[] rGETFIELD;
+    private final GETSTATIC[] rGETSTATIC;
+    private final GETVALUE_Object[] rGETVALUE_Object;
+    private final GETVALUE_boolean[] rGETVALUE_boolean;
+    private final GETVALUE_byte[] rGETVALUE_byte;
+    private final GETVALUE_char[] rGETVALUE_char;
+    private final GETVALUE_double[] rGETVALUE_double;
+    private final GETVALUE_float[] rGETVALUE_float;
+    private final GETVALUE_int[] rGETVALUE_int;
+    private final GETVALUE_long[] rGETVALUE_long;
+    private final GETVALUE_short[] rGETVALUE_short;
+    private final GETVALUE_void[] rGETVALUE_void;
+    private final GOTO[] rGOTO;
+    private final I2B[] rI2B;
+    private final I2C[] rI2C;
+    private final I2D[] rI2D;
+    private final I2F[] rI2F;
+    private final I2L[] rI2L;
+    private final I2S[] rI2S;
+    private final IADD[] rIADD;
+    private final IALOAD[] rIALOAD;
+    private final IAND[] rIAND;
+    private final IASTORE[] rIASTORE;
+    private final ICONST_0[] rICONST_0;
+    private final ICONST_1[] rICONST_1;
+    private final ICONST_2[] rICONST_2;
+    private final ICONST_3[] rICONST_3;
+    private final ICONST_4[] rICONST_4;
+    private final ICONST_5[] rICONST_5;
+    private final ICONST_M1[] rICONST_M1;
+    private final IDIV[] rIDIV;
+    private final IFEQ[] rIFEQ;
+    private final IFGE[] rIFGE;
+    private final IFGT[] rIFGT;
+    private final IFLE[] rIFLE;
+    private final IFLT[] rIFLT;
+    private final IFNE[] rIFNE;
+    private final IFNONNULL[] rIFNONNULL;
+    private final IFNULL[] rIFNULL;
+    private final IF_ACMPEQ[] rIF_ACMPEQ;
+    private final IF_ACMPNE[] rIF_ACMPNE;
+    private final IF_ICMPEQ[] rIF_ICMPEQ;
+    private final IF_ICMPGE[] rIF_ICMPGE;
+    private final IF_ICMPGT[] rIF_ICMPGT;
+    private final IF_ICMPLE[] rIF_ICMPLE;
+    private final IF_ICMPLT[] rIF_ICMPLT;
+    private final IF_ICMPNE[] rIF_ICMPNE;
+    private final IINC[] rIINC;
+    private final ILOAD[] rILOAD;
+    private final IMUL[] rIMUL;
+    private final INEG[] rINEG;
+    private final INSTANCEOF[] rINSTANCEOF;
+    private final INVOKEINTERFACE[] rINVOKEINTERFACE;
+    private final INVOKEMETHOD_END[] rINVOKEMETHOD_END;
+    private final INVOKEMETHOD_EXCEPTION[] rINVOKEMETHOD_EXCEPTION;
+    private final INVOKESPECIAL[] rINVOKESPECIAL;
+    private final INVOKESTATIC[] rINVOKESTATIC;
+    private final INVOKEVIRTUAL[] rINVOKEVIRTUAL;
+    private final IOR[] rIOR;
+    private final IREM[] rIREM;
+    private final IRETURN[] rIRETURN;
+    private final ISHL[] rISHL;
+    private final ISHR[] rISHR;
+    private final ISTORE[] rISTORE;
+    private final ISUB[] rISUB;
+    private final IUSHR[] rIUSHR;
+    private final IXOR[] rIXOR;
+    private final JSR[] rJSR;
+    private final L2D[] rL2D;
+    private final L2F[] rL2F;
+    private final L2I[] rL2I;
+    private final LADD[] rLADD;
+    private final LALOAD[] rLALOAD;
+    private final LAND[] rLAND;
+    private final LASTORE[] rLASTORE;
+    private final LCMP[] rLCMP;
+    private final LCONST_0[] rLCONST_0;
+    private final LCONST_1[] rLCONST_1;
+    private final LDC_Object[] rLDC_Object;
+    private final LDC_String[] rLDC_String;
+    private final LDC_double[] rLDC_double;
+    private final LDC_float[] rLDC_float;
+    private final LDC_int[] rLDC_int;
+    private final LDC_long[] rLDC_long;
+    private final LDIV[] rLDIV;
+    private final LLOAD[] rLLOAD;
+    private final LMUL[] rLMUL;
+    private final LNEG[] rLNEG;
+    private final LOOKUPSWITCH[] rLOOKUPSWITCH;
+    private final LOR[] rLOR;
+    private final LREM[] rLREM;
+    private final LRETURN[] rLRETURN;
+    private final LSHL[] rLSHL;
+    private final LSHR[] rLSHR;
+    private final LSTORE[] rLSTORE;
+    private final LSUB[] rLSUB;
+    private final LUSHR[] rLUSHR;
+    private final LXOR[] rLXOR;
+    private final MAKE_SYMBOLIC[] rMAKE_SYMBOLIC;
+    private final MONITORENTER[] rMONITORENTER;
+    private final MONITOREXIT[] rMONITOREXIT;
+    private final MULTIANEWARRAY[] rMULTIANEWARRAY;
+    private final NEW[] rNEW;
+    private final NEWARRAY[] rNEWARRAY;
+    private final NOP[] rNOP;
+    private final POP[] rPOP;
+    private final POP2[] rPOP2;
+    private final PUTFIELD[] rPUTFIELD;
+    private final PUTSTATIC[] rPUTSTATIC;
+    private final RET[] rRET;
+    private final RETURN[] rRETURN;
+    private final SALOAD[] rSALOAD;
+    private final SASTORE[] rSASTORE;
+    private final SIPUSH[] rSIPUSH;
+    private final SPECIAL[] rSPECIAL;
+    private final SWAP[] rSWAP;
+    private final TABLESWITCH[] rTABLESWITCH;
+
+    public InstructionRing() {
+        this(2);
+    }
+
+    public InstructionRing(int size) {
+        this.size = size;
+        rAALOAD = new AALOAD[size];
+        rAASTORE = new AASTORE[size];
+        rACONST_NULL = new ACONST_NULL[size];
+        rALOAD = new ALOAD[size];
+        rANEWARRAY = new ANEWARRAY[size];
+        rARETURN = new ARETURN[size];
+        rARRAYLENGTH = new ARRAYLENGTH[size];
+        rASTORE = new ASTORE[size];
+        rATHROW = new ATHROW[size];
+        rBALOAD = new BALOAD[size];
+        rBASTORE = new BASTORE[size];
+        rBIPUSH = new BIPUSH[size];
+        rCALOAD = new CALOAD[size];
+        rCASTORE = new CASTORE[size];
+        rCHECKCAST = new CHECKCAST[size];
+        rD2F = new D2F[size];
+        rD2I = new D2I[size];
+        rD2L = new D2L[size];
+        rDADD = new DADD[size];
+        rDALOAD = new DALOAD[size];
+        rDASTORE = new DASTORE[size];
+        rDCMPG = new DCMPG[size];
+        rDCMPL = new DCMPL[size];
+        rDCONST_0 = new DCONST_0[size];
+        rDCONST_1 = new DCONST_1[size];
+        rDDIV = new DDIV[size];
+        rDLOAD = new DLOAD[size];
+        rDMUL = new DMUL[size];
+        rDNEG = new DNEG[size];
+        rDREM = new DREM[size];
+        rDRETURN = new DRETURN[size];
+        rDSTORE = new DSTORE[size];
+        rDSUB = new DSUB[size];
+        rDUP = new DUP[size];
+        rDUP2 = new DUP2[size];
+        rDUP2_X1 = new DUP2_X1[size];
+        rDUP2_X2 = new DUP2_X2[size];
+        rDUP_X1 = new DUP_X1[size];
+        rDUP_X2 = new DUP_X2[size];
+        rF2D = new F2D[size];
+        rF2I = new F2I[size];
+        rF2L = new F2L[size];
+        rFADD = new FADD[size];
+        rFALOAD = new FALOAD[size];
+        rFASTORE = new FASTORE[size];
+        rFCMPG = new FCMPG[size];
+        rFCMPL = new FCMPL[size];
+        rFCONST_0 = new FCONST_0[size];
+        rFCONST_1 = new FCONST_1[size];
+        rFCONST_2 = new FCONST_2[size];
+        rFDIV = new FDIV[size];
+        rFLOAD = new FLOAD[size];
+        rFMUL = new FMUL[size];
+        rFNEG = new FNEG[size];
+        rFREM = new FREM[size];
+        rFRETURN = new FRETURN[size];
+        rFSTORE = new FSTORE[size];
+        rFSUB = new FSUB[size];
+        rGETFIELD = new GETFIELD[size];
+        rGETSTATIC = new GETSTATIC[size];
+        rGETVALUE_Object = new GETVALUE_Object[size];
+        rGETVALUE_boolean = new GETVALUE_boolean[size];
+        rGETVALUE_byte = new GETVALUE_byte[size];
+        rGETVALUE_char = new GETVALUE_char[size];
+        rGETVALUE_double = new GETVALUE_double[size];
+        rGETVALUE_float = new GETVALUE_float[size];
+        rGETVALUE_int = new GETVALUE_int[size];
+        rGETVALUE_long = new GETVALUE_long[size];
+        rGETVALUE_short = new GETVALUE_short[size];
+        rGETVALUE_void = new GETVALUE_void[size];
+        rGOTO = new GOTO[size];
+        rI2B = new I2B[size];
+        rI2C = new I2C[size];
+        rI2D = new I2D[size];
+        rI2F = new I2F[size];
+        rI2L = new I2L[size];
+        rI2S = new I2S[size];
+        rIADD = new IADD[size];
+        rIALOAD = new IALOAD[size];
+        rIAND = new IAND[size];
+        rIASTORE = new IASTORE[size];
+        rICONST_0 = new ICONST_0[size];
+        rICONST_1 = new ICONST_1[size];
+        rICONST_2 = new ICONST_2[size];
+        rICONST_3 = new ICONST_3[size];
+        rICONST_4 = new ICONST_4[size];
+        rICONST_5 = new ICONST_5[size];
+        rICONST_M1 = new ICONST_M1[size];
+        rIDIV = new IDIV[size];
+        rIFEQ = new IFEQ[size];
+        rIFGE = new IFGE[size];
+        rIFGT = new IFGT[size];
+        rIFLE = new IFLE[size];
+        rIFLT = new IFLT[size];
+        rIFNE = new IFNE[size];
+        rIFNONNULL = new IFNONNULL[size];
+        rIFNULL = new IFNULL[size];
+        rIF_ACMPEQ = new IF_ACMPEQ[size];
+        rIF_ACMPNE = new IF_ACMPNE[size];
+        rIF_ICMPEQ = new IF_ICMPEQ[size];
+        rIF_ICMPGE = new IF_ICMPGE[size];
+        rIF_ICMPGT = new IF_ICMPGT[size];
+        rIF_ICMPLE = new IF_ICMPLE[size];
+        rIF_ICMPLT = new IF_ICMPLT[size];
+        rIF_ICMPNE = new IF_ICMPNE[size];
+        rIINC = new IINC[size];
+        rILOAD = new ILOAD[size];
+        rIMUL = new IMUL[size];
+        rINEG = new INEG[size];
+        rINSTANCEOF = new INSTANCEOF[size];
+        rINVOKEINTERFACE = new INVOKEINTERFACE[size];
+        rINVOKEMETHOD_END = new INVOKEMETHOD_END[size];
+        rINVOKEMETHOD_EXCEPTION = new INVOKEMETHOD_EXCEPTION[size];
+        rINVOKESPECIAL = new INVOKESPECIAL[size];
+        rINVOKESTATIC = new INVOKESTATIC[size];
+        rINVOKEVIRTUAL = new INVOKEVIRTUAL[size];
+        rIOR = new IOR[size];
+        rIREM = new IREM[size];
+        rIRETURN = new IRETURN[size];
+        rISHL = new ISHL[size];
+        rISHR = new ISHR[size];
+        rISTORE = new ISTORE[size];
+        rISUB = new ISUB[size];
+        rIUSHR = new IUSHR[size];
+        rIXOR = new IXOR[size];
+        rJSR = new JSR[size];
+        rL2D = new L2D[size];
+        rL2F = new L2F[size];
+        rL2I = new L2I[size];
+        rLADD = new LADD[size];
+        rLALOAD = new LALOAD[size];
+        rLAND = new LAND[size];
+        rLASTORE = new LASTORE[size];
+        rLCMP = new LCMP[size];
+        rLCONST_0 = new LCONST_0[size];
+        rLCONST_1 = new LCONST_1[size];
+        rLDC_Object = new LDC_Object[size];
+        rLDC_String = new LDC_String[size];
+        rLDC_double = new LDC_double[size];
+        rLDC_float = new LDC_float[size];
+        rLDC_int = new LDC_int[size];
+        rLDC_long = new LDC_long[size];
+        rLDIV = new LDIV[size];
+        rLLOAD = new LLOAD[size];
+        rLMUL = new LMUL[size];
+        rLNEG = new LNEG[size];
+        rLOOKUPSWITCH = new LOOKUPSWITCH[size];
+        rLOR = new LOR[size];
+        rLREM = new LREM[size];
+        rLRETURN = new LRETURN[size];
+        rLSHL = new LSHL[size];
+        rLSHR = new LSHR[size];
+        rLSTORE = new LSTORE[size];
+        rLSUB = new LSUB[size];
+        rLUSHR = new LUSHR[size];
+        rLXOR = new LXOR[size];
+        rMAKE_SYMBOLIC = new MAKE_SYMBOLIC[size];
+        rMONITORENTER = new MONITORENTER[size];
+        rMONITOREXIT = new MONITOREXIT[size];
+        rMULTIANEWARRAY = new MULTIANEWARRAY[size];
+        rNEW = new NEW[size];
+        rNEWARRAY = new NEWARRAY[size];
+        rNOP = new NOP[size];
+        rPOP = new POP[size];
+        rPOP2 = new POP2[size];
+        rPUTFIELD = new PUTFIELD[size];
+        rPUTSTATIC = new PUTSTATIC[size];
+        rRET = new RET[size];
+        rRETURN = new RETURN[size];
+        rSALOAD = new SALOAD[size];
+        rSASTORE = new SASTORE[size];
+        rSIPUSH = new SIPUSH[size];
+        rSPECIAL = new SPECIAL[size];
+        rSWAP = new SWAP[size];
+        rTABLESWITCH = new TABLESWITCH[size];
+    }
+
+    private int next() {
+        if (++slot == size) {
+            slot = 0;
+        }
+        return slot;
+    }
+
+    public AALOAD AALOAD(int iid, int mid) {
+        AALOAD ret = rAALOAD[next()];
+        if (ret == null) {
+            ret = rAALOAD[slot] = new AALOAD(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public AASTORE AASTORE(int iid, int mid) {
+        AASTORE ret = rAASTORE[next()];
+        if (ret == null) {
+            ret = rAASTORE[slot] = new AASTORE(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public ACONST_NULL ACONST_NULL(int iid, int mid) {
+        ACONST_NULL ret = rACONST_NULL[next()];
+        if (ret == null) {
+            ret = rACONST_NULL[slot] = new ACONST_NULL(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public ALOAD ALOAD(int iid, int mid, int var) {
+        ALOAD ret = rALOAD[next()];
+        if (ret == null) {
+            ret = rALOAD[slot] = new ALOAD(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.var = var;
+        return ret;
+    }
+
+    public ANEWARRAY ANEWARRAY(int iid, int mid, String type) {
+        ANEWARRAY ret = rANEWARRAY[next()];
+        if (ret == null) {
+            ret = rANEWARRAY[slot] = new ANEWARRAY(0, 0, null);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.type = type;
+        return ret;
+    }
+
+    public ARETURN ARETURN(int iid, int mid) {
+        ARETURN ret = rARETURN[next()];
+        if (ret == null) {
+            ret = rARETURN[slot] = new ARETURN(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public ARRAYLENGTH ARRAYLENGTH(int iid, int mid) {
+        ARRAYLENGTH ret = rARRAYLENGTH[next()];
+        if (ret == null) {
+            ret = rARRAYLENGTH[slot] = new ARRAYLENGTH(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public ASTORE ASTORE(int iid, int mid, int var) {
+        ASTORE ret = rASTORE[next()];
+        if (ret == null) {
+            ret = rASTORE[slot] = new ASTORE(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.var = var;
+        return ret;
+    }
+
+    public ATHROW ATHROW(int iid, int mid) {
+        ATHROW ret = rATHROW[next()];
+        if (ret == null) {
+            ret = rATHROW[slot] = new ATHROW(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public BALOAD BALOAD(int iid, int mid) {
+        BALOAD ret = rBALOAD[next()];
+        if (ret == null) {
+            ret = rBALOAD[slot] = new BALOAD(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public BASTORE BASTORE(int iid, int mid) {
+        BASTORE ret = rBASTORE[next()];
+        if (ret == null) {
+            ret = rBASTORE[slot] = new BASTORE(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public BIPUSH BIPUSH(int iid, int mid, int value) {
+        BIPUSH ret = rBIPUSH[next()];
+        if (ret == null) {
+            ret = rBIPUSH[slot] = new BIPUSH(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.value = value;
+        return ret;
+    }
+
+    public CALOAD CALOAD(int iid, int mid) {
+        CALOAD ret = rCALOAD[next()];
+        if (ret == null) {
+            ret = rCALOAD[slot] = new CALOAD(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public CASTORE CASTORE(int iid, int mid) {
+        CASTORE ret = rCASTORE[next()];
+        if (ret == null) {
+            ret = rCASTORE[slot] = new CASTORE(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public CHECKCAST CHECKCAST(int iid, int mid, String type) {
+        CHECKCAST ret = rCHECKCAST[next()];
+        if (ret == null) {
+            ret = rCHECKCAST[slot] = new CHECKCAST(0, 0, null);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.type = type;
+        return ret;
+    }
+
+    public D2F D2F(int iid, int mid) {
+        D2F ret = rD2F[next()];
+        if (ret == null) {
+            ret = rD2F[slot] = new D2F(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public D2I D2I(int iid, int mid) {
+        D2I ret = rD2I[next()];
+        if (ret == null) {
+            ret = rD2I[slot] = new D2I(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public D2L D2L(int iid, int mid) {
+        D2L ret = rD2L[next()];
+        if (ret == null) {
+            ret = rD2L[slot] = new D2L(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DADD DADD(int iid, int mid) {
+        DADD ret = rDADD[next()];
+        if (ret == null) {
+            ret = rDADD[slot] = new DADD(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DALOAD DALOAD(int iid, int mid) {
+        DALOAD ret = rDALOAD[next()];
+        if (ret == null) {
+            ret = rDALOAD[slot] = new DALOAD(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DASTORE DASTORE(int iid, int mid) {
+        DASTORE ret = rDASTORE[next()];
+        if (ret == null) {
+            ret = rDASTORE[slot] = new DASTORE(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DCMPG DCMPG(int iid, int mid) {
+        DCMPG ret = rDCMPG[next()];
+        if (ret == null) {
+            ret = rDCMPG[slot] = new DCMPG(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DCMPL DCMPL(int iid, int mid) {
+        DCMPL ret = rDCMPL[next()];
+        if (ret == null) {
+            ret = rDCMPL[slot] = new DCMPL(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DCONST_0 DCONST_0(int iid, int mid) {
+        DCONST_0 ret = rDCONST_0[next()];
+        if (ret == null) {
+            ret = rDCONST_0[slot] = new DCONST_0(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DCONST_1 DCONST_1(int iid, int mid) {
+        DCONST_1 ret = rDCONST_1[next()];
+        if (ret == null) {
+            ret = rDCONST_1[slot] = new DCONST_1(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DDIV DDIV(int iid, int mid) {
+        DDIV ret = rDDIV[next()];
+        if (ret == null) {
+            ret = rDDIV[slot] = new DDIV(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DLOAD DLOAD(int iid, int mid, int var) {
+        DLOAD ret = rDLOAD[next()];
+        if (ret == null) {
+            ret = rDLOAD[slot] = new DLOAD(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.var = var;
+        return ret;
+    }
+
+    public DMUL DMUL(int iid, int mid) {
+        DMUL ret = rDMUL[next()];
+        if (ret == null) {
+            ret = rDMUL[slot] = new DMUL(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DNEG DNEG(int iid, int mid) {
+        DNEG ret = rDNEG[next()];
+        if (ret == null) {
+            ret = rDNEG[slot] = new DNEG(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DREM DREM(int iid, int mid) {
+        DREM ret = rDREM[next()];
+        if (ret == null) {
+            ret = rDREM[slot] = new DREM(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DRETURN DRETURN(int iid, int mid) {
+        DRETURN ret = rDRETURN[next()];
+        if (ret == null) {
+            ret = rDRETURN[slot] = new DRETURN(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DSTORE DSTORE(int iid, int mid, int var) {
+        DSTORE ret = rDSTORE[next()];
+        if (ret == null) {
+            ret = rDSTORE[slot] = new DSTORE(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.var = var;
+        return ret;
+    }
+
+    public DSUB DSUB(int iid, int mid) {
+        DSUB ret = rDSUB[next()];
+        if (ret == null) {
+            ret = rDSUB[slot] = new DSUB(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DUP DUP(int iid, int mid) {
+        DUP ret = rDUP[next()];
+        if (ret == null) {
+            ret = rDUP[slot] = new DUP(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DUP2 DUP2(int iid, int mid) {
+        DUP2 ret = rDUP2[next()];
+        if (ret == null) {
+            ret = rDUP2[slot] = new DUP2(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DUP2_X1 DUP2_X1(int iid, int mid) {
+        DUP2_X1 ret = rDUP2_X1[next()];
+        if (ret == null) {
+            ret = rDUP2_X1[slot] = new DUP2_X1(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DUP2_X2 DUP2_X2(int iid, int mid) {
+        DUP2_X2 ret = rDUP2_X2[next()];
+        if (ret == null) {
+            ret = rDUP2_X2[slot] = new DUP2_X2(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DUP_X1 DUP_X1(int iid, int mid) {
+        DUP_X1 ret = rDUP_X1[next()];
+        if (ret == null) {
+            ret = rDUP_X1[slot] = new DUP_X1(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public DUP_X2 DUP_X2(int iid, int mid) {
+        DUP_X2 ret = rDUP_X2[next()];
+        if (ret == null) {
+            ret = rDUP_X2[slot] = new DUP_X2(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public F2D F2D(int iid, int mid) {
+        F2D ret = rF2D[next()];
+        if (ret == null) {
+            ret = rF2D[slot] = new F2D(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public F2I F2I(int iid, int mid) {
+        F2I ret = rF2I[next()];
+        if (ret == null) {
+            ret = rF2I[slot] = new F2I(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public F2L F2L(int iid, int mid) {
+        F2L ret = rF2L[next()];
+        if (ret == null) {
+            ret = rF2L[slot] = new F2L(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public FADD FADD(int iid, int mid) {
+        FADD ret = rFADD[next()];
+        if (ret == null) {
+            ret = rFADD[slot] = new FADD(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public FALOAD FALOAD(int iid, int mid) {
+        FALOAD ret = rFALOAD[next()];
+        if (ret == null) {
+            ret = rFALOAD[slot] = new FALOAD(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public FASTORE FASTORE(int iid, int mid) {
+        FASTORE ret = rFASTORE[next()];
+        if (ret == null) {
+            ret = rFASTORE[slot] = new FASTORE(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public FCMPG FCMPG(int iid, int mid) {
+        FCMPG ret = rFCMPG[next()];
+        if (ret == null) {
+            ret = rFCMPG[slot] = new FCMPG(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public FCMPL FCMPL(int iid, int mid) {
+        FCMPL ret = rFCMPL[next()];
+        if (ret == null) {
+            ret = rFCMPL[slot] = new FCMPL(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public FCONST_0 FCONST_0(int iid, int mid) {
+        FCONST_0 ret = rFCONST_0[next()];
+        if (ret == null) {
+            ret = rFCONST_0[slot] = new FCONST_0(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public FCONST_1 FCONST_1(int iid, int mid) {
+        FCONST_1 ret = rFCONST_1[next()];
+        if (ret == null) {
+            ret = rFCONST_1[slot] = new FCONST_1(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public FCONST_2 FCONST_2(int iid, int mid) {
+        FCONST_2 ret = rFCONST_2[next()];
+        if (ret == null) {
+            ret = rFCONST_2[slot] = new FCONST_2(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public FDIV FDIV(int iid, int mid) {
+        FDIV ret = rFDIV[next()];
+        if (ret == null) {
+            ret = rFDIV[slot] = new FDIV(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public FLOAD FLOAD(int iid, int mid, int var) {
+        FLOAD ret = rFLOAD[next()];
+        if (ret == null) {
+            ret = rFLOAD[slot] = new FLOAD(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.var = var;
+        return ret;
+    }
+
+    public FMUL FMUL(int iid, int mid) {
+        FMUL ret = rFMUL[next()];
+        if (ret == null) {
+            ret = rFMUL[slot] = new FMUL(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public FNEG FNEG(int iid, int mid) {
+        FNEG ret = rFNEG[next()];
+        if (ret == null) {
+            ret = rFNEG[slot] = new FNEG(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public FREM FREM(int iid, int mid) {
+        FREM ret = rFREM[next()];
+        if (ret == null) {
+            ret = rFREM[slot] = new FREM(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public FRETURN FRETURN(int iid, int mid) {
+        FRETURN ret = rFRETURN[next()];
+        if (ret == null) {
+            ret = rFRETURN[slot] = new FRETURN(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public FSTORE FSTORE(int iid, int mid, int var) {
+        FSTORE ret = rFSTORE[next()];
+        if (ret == null) {
+            ret = rFSTORE[slot] = new FSTORE(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.var = var;
+        return ret;
+    }
+
+    public FSUB FSUB(int iid, int mid) {
+        FSUB ret = rFSUB[next()];
+        if (ret == null) {
+            ret = rFSUB[slot] = new FSUB(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public GETFIELD GETFIELD(int iid, int mid, int cIdx, int fIdx, String desc) {
+        GETFIELD ret = rGETFIELD[next()];
+        if (ret == null) {
+            ret = rGETFIELD[slot] = new GETFIELD(0, 0, 0, 0, null);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.cIdx = cIdx;
+        ret.fIdx = fIdx;
+        ret.desc = desc;
+        return ret;
+    }
+
+    public GETSTATIC GETSTATIC(int iid, int mid, int cIdx, int fIdx, String desc) {
+        GETSTATIC ret = rGETSTATIC[next()];
+        if (ret == null) {
+            ret = rGETSTATIC[slot] = new GETSTATIC(0, 0, 0, 0, null);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.cIdx = cIdx;
+        ret.fIdx = fIdx;
+        ret.desc = desc;
+        return ret;
+    }
+
+    public GETVALUE_Object GETVALUE_Object(int v, String string, boolean isString) {
+        GETVALUE_Object ret = rGETVALUE_Object[next()];
+        if (ret == null) {
+            ret = rGETVALUE_Object[slot] = new GETVALUE_Object(0, null, false);
+        }
+        ret.v = v;
+        ret.string = string;
+        ret.isString = isString;
+        ret.ref = null;
+        return ret;
+    }
+
+    public GETVALUE_boolean GETVALUE_boolean(boolean v) {
+        GETVALUE_boolean ret = rGETVALUE_boolean[next()];
+        if (ret == null) {
+            ret = rGETVALUE_boolean[slot] = new GETVALUE_boolean(false);
+        }
+        ret.v = v;
+        return ret;
+    }
+
+    public GETVALUE_byte GETVALUE_byte(byte v) {
+        GETVALUE_byte ret = rGETVALUE_byte[next()];
+        if (ret == null) {
+            ret = rGETVALUE_byte[slot] = new GETVALUE_byte((byte)0);
+        }
+        ret.v = v;
+        return ret;
+    }
+
+    public GETVALUE_char GETVALUE_char(char v) {
+        GETVALUE_char ret = rGETVALUE_char[next()];
+        if (ret == null) {
+            ret = rGETVALUE_char[slot] = new GETVALUE_char('\0');
+        }
+        ret.v = v;
+        return ret;
+    }
+
+    public GETVALUE_double GETVALUE_double(double v) {
+        GETVALUE_double ret = rGETVALUE_double[next()];
+        if (ret == null) {
+            ret = rGETVALUE_double[slot] = new GETVALUE_double(0);
+        }
+        ret.v = v;
+        return ret;
+    }
+
+    public GETVALUE_float GETVALUE_float(float v) {
+        GETVALUE_float ret = rGETVALUE_float[next()];
+        if (ret == null) {
+            ret = rGETVALUE_float[slot] = new GETVALUE_float(0);
+        }
+        ret.v = v;
+        return ret;
+    }
+
+    public GETVALUE_int GETVALUE_int(int v) {
+        GETVALUE_int ret = rGETVALUE_int[next()];
+        if (ret == null) {
+            ret = rGETVALUE_int[slot] = new GETVALUE_int(0);
+        }
+        ret.v = v;
+        return ret;
+    }
+
+    public GETVALUE_long GETVALUE_long(long v) {
+        GETVALUE_long ret = rGETVALUE_long[next()];
+        if (ret == null) {
+            ret = rGETVALUE_long[slot] = new GETVALUE_long(0);
+        }
+        ret.v = v;
+        return ret;
+    }
+
+    public GETVALUE_short GETVALUE_short(short v) {
+        GETVALUE_short ret = rGETVALUE_short[next()];
+        if (ret == null) {
+            ret = rGETVALUE_short[slot] = new GETVALUE_short((short)0);
+        }
+        ret.v = v;
+        return ret;
+    }
+
+    public GETVALUE_void GETVALUE_void() {
+        GETVALUE_void ret = rGETVALUE_void[next()];
+        if (ret == null) {
+            ret = rGETVALUE_void[slot] = new GETVALUE_void();
+        }
+        return ret;
+    }
+
+    public GOTO GOTO(int iid, int mid, int label) {
+        GOTO ret = rGOTO[next()];
+        if (ret == null) {
+            ret = rGOTO[slot] = new GOTO(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.label = label;
+        return ret;
+    }
+
+    public I2B I2B(int iid, int mid) {
+        I2B ret = rI2B[next()];
+        if (ret == null) {
+            ret = rI2B[slot] = new I2B(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public I2C I2C(int iid, int mid) {
+        I2C ret = rI2C[next()];
+        if (ret == null) {
+            ret = rI2C[slot] = new I2C(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public I2D I2D(int iid, int mid) {
+        I2D ret = rI2D[next()];
+        if (ret == null) {
+            ret = rI2D[slot] = new I2D(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public I2F I2F(int iid, int mid) {
+        I2F ret = rI2F[next()];
+        if (ret == null) {
+            ret = rI2F[slot] = new I2F(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public I2L I2L(int iid, int mid) {
+        I2L ret = rI2L[next()];
+        if (ret == null) {
+            ret = rI2L[slot] = new I2L(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public I2S I2S(int iid, int mid) {
+        I2S ret = rI2S[next()];
+        if (ret == null) {
+            ret = rI2S[slot] = new I2S(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public IADD IADD(int iid, int mid) {
+        IADD ret = rIADD[next()];
+        if (ret == null) {
+            ret = rIADD[slot] = new IADD(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public IALOAD IALOAD(int iid, int mid) {
+        IALOAD ret = rIALOAD[next()];
+        if (ret == null) {
+            ret = rIALOAD[slot] = new IALOAD(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public IAND IAND(int iid, int mid) {
+        IAND ret = rIAND[next()];
+        if (ret == null) {
+            ret = rIAND[slot] = new IAND(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public IASTORE IASTORE(int iid, int mid) {
+        IASTORE ret = rIASTORE[next()];
+        if (ret == null) {
+            ret = rIASTORE[slot] = new IASTORE(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public ICONST_0 ICONST_0(int iid, int mid) {
+        ICONST_0 ret = rICONST_0[next()];
+        if (ret == null) {
+            ret = rICONST_0[slot] = new ICONST_0(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public ICONST_1 ICONST_1(int iid, int mid) {
+        ICONST_1 ret = rICONST_1[next()];
+        if (ret == null) {
+            ret = rICONST_1[slot] = new ICONST_1(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public ICONST_2 ICONST_2(int iid, int mid) {
+        ICONST_2 ret = rICONST_2[next()];
+        if (ret == null) {
+            ret = rICONST_2[slot] = new ICONST_2(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public ICONST_3 ICONST_3(int iid, int mid) {
+        ICONST_3 ret = rICONST_3[next()];
+        if (ret == null) {
+            ret = rICONST_3[slot] = new ICONST_3(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public ICONST_4 ICONST_4(int iid, int mid) {
+        ICONST_4 ret = rICONST_4[next()];
+        if (ret == null) {
+            ret = rICONST_4[slot] = new ICONST_4(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public ICONST_5 ICONST_5(int iid, int mid) {
+        ICONST_5 ret = rICONST_5[next()];
+        if (ret == null) {
+            ret = rICONST_5[slot] = new ICONST_5(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public ICONST_M1 ICONST_M1(int iid, int mid) {
+        ICONST_M1 ret = rICONST_M1[next()];
+        if (ret == null) {
+            ret = rICONST_M1[slot] = new ICONST_M1(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public IDIV IDIV(int iid, int mid) {
+        IDIV ret = rIDIV[next()];
+        if (ret == null) {
+            ret = rIDIV[slot] = new IDIV(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public IFEQ IFEQ(int iid, int mid, int label) {
+        IFEQ ret = rIFEQ[next()];
+        if (ret == null) {
+            ret = rIFEQ[slot] = new IFEQ(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.label = label;
+        return ret;
+    }
+
+    public IFGE IFGE(int iid, int mid, int label) {
+        IFGE ret = rIFGE[next()];
+        if (ret == null) {
+            ret = rIFGE[slot] = new IFGE(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.label = label;
+        return ret;
+    }
+
+    public IFGT IFGT(int iid, int mid, int label) {
+        IFGT ret = rIFGT[next()];
+        if (ret == null) {
+            ret = rIFGT[slot] = new IFGT(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.label = label;
+        return ret;
+    }
+
+    public IFLE IFLE(int iid, int mid, int label) {
+        IFLE ret = rIFLE[next()];
+        if (ret == null) {
+            ret = rIFLE[slot] = new IFLE(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.label = label;
+        return ret;
+    }
+
+    public IFLT IFLT(int iid, int mid, int label) {
+        IFLT ret = rIFLT[next()];
+        if (ret == null) {
+            ret = rIFLT[slot] = new IFLT(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.label = label;
+        return ret;
+    }
+
+    public IFNE IFNE(int iid, int mid, int label) {
+        IFNE ret = rIFNE[next()];
+        if (ret == null) {
+            ret = rIFNE[slot] = new IFNE(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.label = label;
+        return ret;
+    }
+
+    public IFNONNULL IFNONNULL(int iid, int mid, int label) {
+        IFNONNULL ret = rIFNONNULL[next()];
+        if (ret == null) {
+            ret = rIFNONNULL[slot] = new IFNONNULL(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.label = label;
+        return ret;
+    }
+
+    public IFNULL IFNULL(int iid, int mid, int label) {
+        IFNULL ret = rIFNULL[next()];
+        if (ret == null) {
+            ret = rIFNULL[slot] = new IFNULL(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.label = label;
+        return ret;
+    }
+
+    public IF_ACMPEQ IF_ACMPEQ(int iid, int mid, int label) {
+        IF_ACMPEQ ret = rIF_ACMPEQ[next()];
+        if (ret == null) {
+            ret = rIF_ACMPEQ[slot] = new IF_ACMPEQ(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.label = label;
+        return ret;
+    }
+
+    public IF_ACMPNE IF_ACMPNE(int iid, int mid, int label) {
+        IF_ACMPNE ret = rIF_ACMPNE[next()];
+        if (ret == null) {
+            ret = rIF_ACMPNE[slot] = new IF_ACMPNE(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.label = label;
+        return ret;
+    }
+
+    public IF_ICMPEQ IF_ICMPEQ(int iid, int mid, int label) {
+        IF_ICMPEQ ret = rIF_ICMPEQ[next()];
+        if (ret == null) {
+            ret = rIF_ICMPEQ[slot] = new IF_ICMPEQ(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.label = label;
+        return ret;
+    }
+
+    public IF_ICMPGE IF_ICMPGE(int iid, int mid, int label) {
+        IF_ICMPGE ret = rIF_ICMPGE[next()];
+        if (ret == null) {
+            ret = rIF_ICMPGE[slot] = new IF_ICMPGE(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.label = label;
+        return ret;
+    }
+
+    public IF_ICMPGT IF_ICMPGT(int iid, int mid, int label) {
+        IF_ICMPGT ret = rIF_ICMPGT[next()];
+        if (ret == null) {
+            ret = rIF_ICMPGT[slot] = new IF_ICMPGT(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.label = label;
+        return ret;
+    }
+
+    public IF_ICMPLE IF_ICMPLE(int iid, int mid, int label) {
+        IF_ICMPLE ret = rIF_ICMPLE[next()];
+        if (ret == null) {
+            ret = rIF_ICMPLE[slot] = new IF_ICMPLE(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.label = label;
+        return ret;
+    }
+
+    public IF_ICMPLT IF_ICMPLT(int iid, int mid, int label) {
+        IF_ICMPLT ret = rIF_ICMPLT[next()];
+        if (ret == null) {
+            ret = rIF_ICMPLT[slot] = new IF_ICMPLT(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.label = label;
+        return ret;
+    }
+
+    public IF_ICMPNE IF_ICMPNE(int iid, int mid, int label) {
+        IF_ICMPNE ret = rIF_ICMPNE[next()];
+        if (ret == null) {
+            ret = rIF_ICMPNE[slot] = new IF_ICMPNE(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.label = label;
+        return ret;
+    }
+
+    public IINC IINC(int iid, int mid, int var, int increment) {
+        IINC ret = rIINC[next()];
+        if (ret == null) {
+            ret = rIINC[slot] = new IINC(0, 0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.var = var;
+        ret.increment = increment;
+        return ret;
+    }
+
+    public ILOAD ILOAD(int iid, int mid, int var) {
+        ILOAD ret = rILOAD[next()];
+        if (ret == null) {
+            ret = rILOAD[slot] = new ILOAD(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.var = var;
+        return ret;
+    }
+
+    public IMUL IMUL(int iid, int mid) {
+        IMUL ret = rIMUL[next()];
+        if (ret == null) {
+            ret = rIMUL[slot] = new IMUL(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public INEG INEG(int iid, int mid) {
+        INEG ret = rINEG[next()];
+        if (ret == null) {
+            ret = rINEG[slot] = new INEG(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public INSTANCEOF INSTANCEOF(int iid, int mid, String type) {
+        INSTANCEOF ret = rINSTANCEOF[next()];
+        if (ret == null) {
+            ret = rINSTANCEOF[slot] = new INSTANCEOF(0, 0, null);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.type = type;
+        return ret;
+    }
+
+    public INVOKEINTERFACE INVOKEINTERFACE(int iid, int mid, String owner, String name, String desc) {
+        INVOKEINTERFACE ret = rINVOKEINTERFACE[next()];
+        if (ret == null) {
+            ret = rINVOKEINTERFACE[slot] = new INVOKEINTERFACE(0, 0, null, null, null);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.owner = owner;
+        ret.name = name;
+        ret.desc = desc;
+        return ret;
+    }
+
+    public INVOKEMETHOD_END INVOKEMETHOD_END() {
+        INVOKEMETHOD_END ret = rINVOKEMETHOD_END[next()];
+        if (ret == null) {
+            ret = rINVOKEMETHOD_END[slot] = new INVOKEMETHOD_END();
+        }
+        return ret;
+    }
+
+    public INVOKEMETHOD_EXCEPTION INVOKEMETHOD_EXCEPTION() {
+        INVOKEMETHOD_EXCEPTION ret = rINVOKEMETHOD_EXCEPTION[next()];
+        if (ret == null) {
+            ret = rINVOKEMETHOD_EXCEPTION[slot] = new INVOKEMETHOD_EXCEPTION();
+        }
+        return ret;
+    }
+
+    public INVOKESPECIAL INVOKESPECIAL(int iid, int mid, String owner, String name, String desc) {
+        INVOKESPECIAL ret = rINVOKESPECIAL[next()];
+        if (ret == null) {
+            ret = rINVOKESPECIAL[slot] = new INVOKESPECIAL(0, 0, null, null, null);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.owner = owner;
+        ret.name = name;
+        ret.desc = desc;
+        return ret;
+    }
+
+    public INVOKESTATIC INVOKESTATIC(int iid, int mid, String owner, String name, String desc) {
+        INVOKESTATIC ret = rINVOKESTATIC[next()];
+        if (ret == null) {
+            ret = rINVOKESTATIC[slot] = new INVOKESTATIC(0, 0, null, null, null);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.owner = owner;
+        ret.name = name;
+        ret.desc = desc;
+        return ret;
+    }
+
+    public INVOKEVIRTUAL INVOKEVIRTUAL(int iid, int mid, String owner, String name, String desc) {
+        INVOKEVIRTUAL ret = rINVOKEVIRTUAL[next()];
+        if (ret == null) {
+            ret = rINVOKEVIRTUAL[slot] = new INVOKEVIRTUAL(0, 0, null, null, null);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.owner = owner;
+        ret.name = name;
+        ret.desc = desc;
+        return ret;
+    }
+
+    public IOR IOR(int iid, int mid) {
+        IOR ret = rIOR[next()];
+        if (ret == null) {
+            ret = rIOR[slot] = new IOR(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public IREM IREM(int iid, int mid) {
+        IREM ret = rIREM[next()];
+        if (ret == null) {
+            ret = rIREM[slot] = new IREM(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public IRETURN IRETURN(int iid, int mid) {
+        IRETURN ret = rIRETURN[next()];
+        if (ret == null) {
+            ret = rIRETURN[slot] = new IRETURN(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public ISHL ISHL(int iid, int mid) {
+        ISHL ret = rISHL[next()];
+        if (ret == null) {
+            ret = rISHL[slot] = new ISHL(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public ISHR ISHR(int iid, int mid) {
+        ISHR ret = rISHR[next()];
+        if (ret == null) {
+            ret = rISHR[slot] = new ISHR(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public ISTORE ISTORE(int iid, int mid, int var) {
+        ISTORE ret = rISTORE[next()];
+        if (ret == null) {
+            ret = rISTORE[slot] = new ISTORE(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.var = var;
+        return ret;
+    }
+
+    public ISUB ISUB(int iid, int mid) {
+        ISUB ret = rISUB[next()];
+        if (ret == null) {
+            ret = rISUB[slot] = new ISUB(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public IUSHR IUSHR(int iid, int mid) {
+        IUSHR ret = rIUSHR[next()];
+        if (ret == null) {
+            ret = rIUSHR[slot] = new IUSHR(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public IXOR IXOR(int iid, int mid) {
+        IXOR ret = rIXOR[next()];
+        if (ret == null) {
+            ret = rIXOR[slot] = new IXOR(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public JSR JSR(int iid, int mid, int label) {
+        JSR ret = rJSR[next()];
+        if (ret == null) {
+            ret = rJSR[slot] = new JSR(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.label = label;
+        return ret;
+    }
+
+    public L2D L2D(int iid, int mid) {
+        L2D ret = rL2D[next()];
+        if (ret == null) {
+            ret = rL2D[slot] = new L2D(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public L2F L2F(int iid, int mid) {
+        L2F ret = rL2F[next()];
+        if (ret == null) {
+            ret = rL2F[slot] = new L2F(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public L2I L2I(int iid, int mid) {
+        L2I ret = rL2I[next()];
+        if (ret == null) {
+            ret = rL2I[slot] = new L2I(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public LADD LADD(int iid, int mid) {
+        LADD ret = rLADD[next()];
+        if (ret == null) {
+            ret = rLADD[slot] = new LADD(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public LALOAD LALOAD(int iid, int mid) {
+        LALOAD ret = rLALOAD[next()];
+        if (ret == null) {
+            ret = rLALOAD[slot] = new LALOAD(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public LAND LAND(int iid, int mid) {
+        LAND ret = rLAND[next()];
+        if (ret == null) {
+            ret = rLAND[slot] = new LAND(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public LASTORE LASTORE(int iid, int mid) {
+        LASTORE ret = rLASTORE[next()];
+        if (ret == null) {
+            ret = rLASTORE[slot] = new LASTORE(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public LCMP LCMP(int iid, int mid) {
+        LCMP ret = rLCMP[next()];
+        if (ret == null) {
+            ret = rLCMP[slot] = new LCMP(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public LCONST_0 LCONST_0(int iid, int mid) {
+        LCONST_0 ret = rLCONST_0[next()];
+        if (ret == null) {
+            ret = rLCONST_0[slot] = new LCONST_0(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public LCONST_1 LCONST_1(int iid, int mid) {
+        LCONST_1 ret = rLCONST_1[next()];
+        if (ret == null) {
+            ret = rLCONST_1[slot] = new LCONST_1(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public LDC_Object LDC_Object(int iid, int mid, int c) {
+        LDC_Object ret = rLDC_Object[next()];
+        if (ret == null) {
+            ret = rLDC_Object[slot] = new LDC_Object(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.c = c;
+        ret.ref = null;
+        return ret;
+    }
+
+    public LDC_String LDC_String(int iid, int mid, String c, int address) {
+        LDC_String ret = rLDC_String[next()];
+        if (ret == null) {
+            ret = rLDC_String[slot] = new LDC_String(0, 0, null, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.c = c;
+        ret.address = address;
+        return ret;
+    }
+
+    public LDC_double LDC_double(int iid, int mid, double c) {
+        LDC_double ret = rLDC_double[next()];
+        if (ret == null) {
+            ret = rLDC_double[slot] = new LDC_double(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.c = c;
+        return ret;
+    }
+
+    public LDC_float LDC_float(int iid, int mid, float c) {
+        LDC_float ret = rLDC_float[next()];
+        if (ret == null) {
+            ret = rLDC_float[slot] = new LDC_float(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.c = c;
+        return ret;
+    }
+
+    public LDC_int LDC_int(int iid, int mid, int c) {
+        LDC_int ret = rLDC_int[next()];
+        if (ret == null) {
+            ret = rLDC_int[slot] = new LDC_int(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.c = c;
+        return ret;
+    }
+
+    public LDC_long LDC_long(int iid, int mid, long c) {
+        LDC_long ret = rLDC_long[next()];
+        if (ret == null) {
+            ret = rLDC_long[slot] = new LDC_long(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.c = c;
+        return ret;
+    }
+
+    public LDIV LDIV(int iid, int mid) {
+        LDIV ret = rLDIV[next()];
+        if (ret == null) {
+            ret = rLDIV[slot] = new LDIV(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public LLOAD LLOAD(int iid, int mid, int var) {
+        LLOAD ret = rLLOAD[next()];
+        if (ret == null) {
+            ret = rLLOAD[slot] = new LLOAD(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.var = var;
+        return ret;
+    }
+
+    public LMUL LMUL(int iid, int mid) {
+        LMUL ret = rLMUL[next()];
+        if (ret == null) {
+            ret = rLMUL[slot] = new LMUL(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public LNEG LNEG(int iid, int mid) {
+        LNEG ret = rLNEG[next()];
+        if (ret == null) {
+            ret = rLNEG[slot] = new LNEG(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public LOOKUPSWITCH LOOKUPSWITCH(int iid, int mid, int dflt, int[] keys, int[] labels) {
+        LOOKUPSWITCH ret = rLOOKUPSWITCH[next()];
+        if (ret == null) {
+            ret = rLOOKUPSWITCH[slot] = new LOOKUPSWITCH(0, 0, 0, null, null);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.dflt = dflt;
+        ret.keys = keys;
+        ret.labels = labels;
+        return ret;
+    }
+
+    public LOR LOR(int iid, int mid) {
+        LOR ret = rLOR[next()];
+        if (ret == null) {
+            ret = rLOR[slot] = new LOR(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public LREM LREM(int iid, int mid) {
+        LREM ret = rLREM[next()];
+        if (ret == null) {
+            ret = rLREM[slot] = new LREM(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public LRETURN LRETURN(int iid, int mid) {
+        LRETURN ret = rLRETURN[next()];
+        if (ret == null) {
+            ret = rLRETURN[slot] = new LRETURN(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public LSHL LSHL(int iid, int mid) {
+        LSHL ret = rLSHL[next()];
+        if (ret == null) {
+            ret = rLSHL[slot] = new LSHL(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public LSHR LSHR(int iid, int mid) {
+        LSHR ret = rLSHR[next()];
+        if (ret == null) {
+            ret = rLSHR[slot] = new LSHR(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public LSTORE LSTORE(int iid, int mid, int var) {
+        LSTORE ret = rLSTORE[next()];
+        if (ret == null) {
+            ret = rLSTORE[slot] = new LSTORE(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.var = var;
+        return ret;
+    }
+
+    public LSUB LSUB(int iid, int mid) {
+        LSUB ret = rLSUB[next()];
+        if (ret == null) {
+            ret = rLSUB[slot] = new LSUB(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public LUSHR LUSHR(int iid, int mid) {
+        LUSHR ret = rLUSHR[next()];
+        if (ret == null) {
+            ret = rLUSHR[slot] = new LUSHR(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public LXOR LXOR(int iid, int mid) {
+        LXOR ret = rLXOR[next()];
+        if (ret == null) {
+            ret = rLXOR[slot] = new LXOR(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public MAKE_SYMBOLIC MAKE_SYMBOLIC() {
+        MAKE_SYMBOLIC ret = rMAKE_SYMBOLIC[next()];
+        if (ret == null) {
+            ret = rMAKE_SYMBOLIC[slot] = new MAKE_SYMBOLIC();
+        }
+        return ret;
+    }
+
+    public MONITORENTER MONITORENTER(int iid, int mid) {
+        MONITORENTER ret = rMONITORENTER[next()];
+        if (ret == null) {
+            ret = rMONITORENTER[slot] = new MONITORENTER(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public MONITOREXIT MONITOREXIT(int iid, int mid) {
+        MONITOREXIT ret = rMONITOREXIT[next()];
+        if (ret == null) {
+            ret = rMONITOREXIT[slot] = new MONITOREXIT(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public MULTIANEWARRAY MULTIANEWARRAY(int iid, int mid, String desc, int dims) {
+        MULTIANEWARRAY ret = rMULTIANEWARRAY[next()];
+        if (ret == null) {
+            ret = rMULTIANEWARRAY[slot] = new MULTIANEWARRAY(0, 0, null, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.desc = desc;
+        ret.dims = dims;
+        return ret;
+    }
+
+    public NEW NEW(int iid, int mid, String type, int cIdx) {
+        NEW ret = rNEW[next()];
+        if (ret == null) {
+            ret = rNEW[slot] = new NEW(0, 0, null, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.type = type;
+        ret.cIdx = cIdx;
+        return ret;
+    }
+
+    public NEWARRAY NEWARRAY(int iid, int mid) {
+        NEWARRAY ret = rNEWARRAY[next()];
+        if (ret == null) {
+            ret = rNEWARRAY[slot] = new NEWARRAY(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public NOP NOP(int iid, int mid) {
+        NOP ret = rNOP[next()];
+        if (ret == null) {
+            ret = rNOP[slot] = new NOP(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public POP POP(int iid, int mid) {
+        POP ret = rPOP[next()];
+        if (ret == null) {
+            ret = rPOP[slot] = new POP(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public POP2 POP2(int iid, int mid) {
+        POP2 ret = rPOP2[next()];
+        if (ret == null) {
+            ret = rPOP2[slot] = new POP2(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public PUTFIELD PUTFIELD(int iid, int mid, int cIdx, int fIdx, String desc) {
+        PUTFIELD ret = rPUTFIELD[next()];
+        if (ret == null) {
+            ret = rPUTFIELD[slot] = new PUTFIELD(0, 0, 0, 0, null);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.cIdx = cIdx;
+        ret.fIdx = fIdx;
+        ret.desc = desc;
+        return ret;
+    }
+
+    public PUTSTATIC PUTSTATIC(int iid, int mid, int cIdx, int fIdx, String desc) {
+        PUTSTATIC ret = rPUTSTATIC[next()];
+        if (ret == null) {
+            ret = rPUTSTATIC[slot] = new PUTSTATIC(0, 0, 0, 0, null);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.cIdx = cIdx;
+        ret.fIdx = fIdx;
+        ret.desc = desc;
+        return ret;
+    }
+
+    public RET RET(int iid, int mid, int var) {
+        RET ret = rRET[next()];
+        if (ret == null) {
+            ret = rRET[slot] = new RET(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.var = var;
+        return ret;
+    }
+
+    public RETURN RETURN(int iid, int mid) {
+        RETURN ret = rRETURN[next()];
+        if (ret == null) {
+            ret = rRETURN[slot] = new RETURN(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public SALOAD SALOAD(int iid, int mid) {
+        SALOAD ret = rSALOAD[next()];
+        if (ret == null) {
+            ret = rSALOAD[slot] = new SALOAD(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public SASTORE SASTORE(int iid, int mid) {
+        SASTORE ret = rSASTORE[next()];
+        if (ret == null) {
+            ret = rSASTORE[slot] = new SASTORE(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public SIPUSH SIPUSH(int iid, int mid, int value) {
+        SIPUSH ret = rSIPUSH[next()];
+        if (ret == null) {
+            ret = rSIPUSH[slot] = new SIPUSH(0, 0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.value = value;
+        return ret;
+    }
+
+    public SPECIAL SPECIAL(int i) {
+        SPECIAL ret = rSPECIAL[next()];
+        if (ret == null) {
+            ret = rSPECIAL[slot] = new SPECIAL(0);
+        }
+        ret.i = i;
+        return ret;
+    }
+
+    public SWAP SWAP(int iid, int mid) {
+        SWAP ret = rSWAP[next()];
+        if (ret == null) {
+            ret = rSWAP[slot] = new SWAP(0, 0);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        return ret;
+    }
+
+    public TABLESWITCH TABLESWITCH(int iid, int mid, int min, int max, int dflt, int[] labels) {
+        TABLESWITCH ret = rTABLESWITCH[next()];
+        if (ret == null) {
+            ret = rTABLESWITCH[slot] = new TABLESWITCH(0, 0, 0, 0, 0, null);
+        }
+        ret.iid = iid;
+        ret.mid = mid;
+        ret.min = min;
+        ret.max = max;
+        ret.dflt = dflt;
+        ret.labels = labels;
+        return ret;
+    }
+}
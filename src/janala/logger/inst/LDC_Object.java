@@ -40,6 +40,8 @@ package janala.logger.inst;
  */
 public class LDC_Object extends Instruction {
     public int c;
+    // the object itself, when it is interpreted in the JVM that runs it
+    public transient Object ref;
 
     public LDC_Object(int iid, int mid, int c) {
         super(iid, mid);
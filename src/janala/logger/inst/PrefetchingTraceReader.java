@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.logger.inst;
+
+import janala.utils.SpscQueue;
+
+import java.io.IOException;
+
+/**
+ * Reads a trace like TraceReader, but decodes it on a separate thread.  The
+ * decoder fills batches of instructions ahead of the reader; prefetch is
+ * the number of full batches it may have waiting.  Batches are handed back
+ * to the decoder once read, so they are allocated only once.
+ */
+public class PrefetchingTraceReader {
+    private static final int BATCH_SIZE = 1024;
+
+    private static class Batch {
+        final Instruction[] insns = new Instruction[BATCH_SIZE];
+        int size;
+        boolean isLast;
+        IOException error;
+    }
+
+    private final TraceReader reader;
+    private final SpscQueue<Batch> full;
+    private final SpscQueue<Batch> empty;
+    private final Thread decoder;
+    private Batch current;
+    private int index;
+
+    public PrefetchingTraceReader(String name, int prefetch) throws IOException {
+        full = new SpscQueue<Batch>(prefetch);
+        empty = new SpscQueue<Batch>(full.capacity() + 1);
+        for (int i = 0; i < full.capacity() + 1; i++) {
+            empty.put(new Batch());
+        }
+        // every instruction of the batches in flight, plus the next
+        // instruction the interpreter looks ahead at, must stay valid
+        reader = new TraceReader(name, (full.capacity() + 2) * BATCH_SIZE + 2);
+        decoder = new Thread("janala-trace-decoder") {
+            @Override
+            public void run() {
+                decode();
+            }
+        };
+        decoder.setDaemon(true);
+        decoder.start();
+    }
+
+    private void decode() {
+        boolean isLast = false;
+        while (!isLast) {
+            Batch b = empty.take();
+            b.size = 0;
+            try {
+                Instruction insn = null;
+                while (b.size < BATCH_SIZE && (insn = reader.read()) != null) {
+                    b.insns[b.size++] = insn;
+                }
+                isLast = insn == null;
+            } catch (IOException e) {
+                b.error = e;
+                isLast = true;
+            }
+            b.isLast = isLast;
+            full.put(b);
+        }
+    }
+
+    /**
+     * Returns the next instruction of the trace, or null at its end.
+     */
+    public Instruction read() throws IOException {
+        while (current == null || index == current.size) {
+            if (current != null) {
+                if (current.isLast) {
+                    if (current.error != null) {
+                        throw current.error;
+                    }
+                    return null;
+                }
+                empty.put(current);
+            }
+            current = full.take();
+            index = 0;
+        }
+        return current.insns[index++];
+    }
+
+    public void close() throws IOException {
+        reader.close();
+    }
+}
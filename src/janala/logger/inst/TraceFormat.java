@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.logger.inst;
+
+/**
+ * Constants of the binary trace format shared by TraceWriter and
+ * TraceReader.  The opcodes must only be appended to; changing them
+ * requires a new VERSION.
+ */
+abstract class TraceFormat {
+    static final int MAGIC = 0x4a545243; // "JTRC"
+    static final int VERSION = 1;
+
+    static final int END = 0;
+    static final int AALOAD = 1;
+    static final int AASTORE = 2;
+    static final int ACONST_NULL = 3;
+    static final int ALOAD = 4;
+    static final int ANEWARRAY = 5;
+    static final int ARETURN = 6;
+    static final int ARRAYLENGTH = 7;
+    static final int ASTORE = 8;
+    static final int ATHROW = 9;
+    static final int BALOAD = 10;
+    static final int BASTORE = 11;
+    static final int BIPUSH = 12;
+    static final int CALOAD = 13;
+    static final int CASTORE = 14;
+    static final int CHECKCAST = 15;
+    static final int D2F = 16;
+    static final int D2I = 17;
+    static final int D2L = 18;
+    static final int DADD = 19;
+    static final int DALOAD = 20;
+    static final int DASTORE = 21;
+    static final int DCMPG = 22;
+    static final int DCMPL = 23;
+    static final int DCONST_0 = 24;
+    static final int DCONST_1 = 25;
+    static final int DDIV = 26;
+    static final int DLOAD = 27;
+    static final int DMUL = 28;
+    static final int DNEG = 29;
+    static final int DREM = 30;
+    static final int DRETURN = 31;
+    static final int DSTORE = 32;
+    static final int DSUB = 33;
+    static final int DUP = 34;
+    static final int DUP2 = 35;
+    static final int DUP2_X1 = 36;
+    static final int DUP2_X2 = 37;
+    static final int DUP_X1 = 38;
+    static final int DUP_X2 = 39;
+    static final int F2D = 40;
+    static final int F2I = 41;
+    static final int F2L = 42;
+    static final int FADD = 43;
+    static final int FALOAD = 44;
+    static final int FASTORE = 45;
+    static final int FCMPG = 46;
+    static final int FCMPL = 47;
+    static final int FCONST_0 = 48;
+    static final int FCONST_1 = 49;
+    static final int FCONST_2 = 50;
+    static final int FDIV = 51;
+    static final int FLOAD = 52;
+    static final int FMUL = 53;
+    static final int FNEG = 54;
+    static final int FREM = 55;
+    static final int FRETURN = 56;
+    static final int FSTORE = 57;
+    static final int FSUB = 58;
+    static final int GETFIELD = 59;
+    static final int GETSTATIC = 60;
+    static final int GETVALUE_Object = 61;
+    static final int GETVALUE_boolean = 62;
+    static final int GETVALUE_byte = 63;
+    static final int GETVALUE_char = 64;
+    static final int GETVALUE_double = 65;
+    static final int GETVALUE_float = 66;
+    static final int GETVALUE_int = 67;
+    static final int GETVALUE_long = 68;
+    static final int GETVALUE_short = 69;
+    static final int GETVALUE_void = 70;
+    static final int GOTO = 71;
+    static final int I2B = 72;
+    static final int I2C = 73;
+    static final int I2D = 74;
+    static final int I2F = 75;
+    static final int I2L = 76;
+    static final int I2S = 77;
+    static final int IADD = 78;
+    static final int IALOAD = 79;
+    static final int IAND = 80;
+    static final int IASTORE = 81;
+    static final int ICONST_0 = 82;
+    static final int ICONST_1 = 83;
+    static final int ICONST_2 = 84;
+    static final int ICONST_3 = 85;
+    static final int ICONST_4 = 86;
+    static final int ICONST_5 = 87;
+    static final int ICONST_M1 = 88;
+    static final int IDIV = 89;
+    static final int IFEQ = 90;
+    static final int IFGE = 91;
+    static final int IFGT = 92;
+    static final int IFLE = 93;
+    static final int IFLT = 94;
+    static final int IFNE = 95;
+    static final int IFNONNULL = 96;
+    static final int IFNULL = 97;
+    static final int IF_ACMPEQ = 98;
+    static final int IF_ACMPNE = 99;
+    static final int IF_ICMPEQ = 100;
+    static final int IF_ICMPGE = 101;
+    static final int IF_ICMPGT = 102;
+    static final int IF_ICMPLE = 103;
+    static final int IF_ICMPLT = 104;
+    static final int IF_ICMPNE = 105;
+    static final int IINC = 106;
+    static final int ILOAD = 107;
+    static final int IMUL = 108;
+    static final int INEG = 109;
+    static final int INSTANCEOF = 110;
+    static final int INVOKEINTERFACE = 111;
+    static final int INVOKEMETHOD_END = 112;
+    static final int INVOKEMETHOD_EXCEPTION = 113;
+    static final int INVOKESPECIAL = 114;
+    static final int INVOKESTATIC = 115;
+    static final int INVOKEVIRTUAL = 116;
+    static final int IOR = 117;
+    static final int IREM = 118;
+    static final int IRETURN = 119;
+    static final int ISHL = 120;
+    static final int ISHR = 121;
+    static final int ISTORE = 122;
+    static final int ISUB = 123;
+    static final int IUSHR = 124;
+    static final int IXOR = 125;
+    static final int JSR = 126;
+    static final int L2D = 127;
+    static final int L2F = 128;
+    static final int L2I = 129;
+    static final int LADD = 130;
+    static final int LALOAD = 131;
+    static final int LAND = 132;
+    static final int LASTORE = 133;
+    static final int LCMP = 134;
+    static final int LCONST_0 = 135;
+    static final int LCONST_1 = 136;
+    static final int LDC_Object = 137;
+    static final int LDC_String = 138;
+    static final int LDC_double = 139;
+    static final int LDC_float = 140;
+    static final int LDC_int = 141;
+    static final int LDC_long = 142;
+    static final int LDIV = 143;
+    static final int LLOAD = 144;
+    static final int LMUL = 145;
+    static final int LNEG = 146;
+    static final int LOOKUPSWITCH = 147;
+    static final int LOR = 148;
+    static final int LREM = 149;
+    static final int LRETURN = 150;
+    static final int LSHL = 151;
+    static final int LSHR = 152;
+    static final int LSTORE = 153;
+    static final int LSUB = 154;
+    static final int LUSHR = 155;
+    static final int LXOR = 156;
+    static final int MAKE_SYMBOLIC = 157;
+    static final int MONITORENTER = 158;
+    static final int MONITOREXIT = 159;
+    static final int MULTIANEWARRAY = 160;
+    static final int NEW = 161;
+    static final int NEWARRAY = 162;
+    static final int NOP = 163;
+    static final int POP = 164;
+    static final int POP2 = 165;
+    static final int PUTFIELD = 166;
+    static final int PUTSTATIC = 167;
+    static final int RET = 168;
+    static final int RETURN = 169;
+    static final int SALOAD = 170;
+    static final int SASTORE = 171;
+    static final int SIPUSH = 172;
+    static final int SPECIAL = 173;
+    static final int SWAP = 174;
+    static final int TABLESWITCH = 175;
+}
@@ -0,0 +1,979 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.logger.inst;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+
+/**
+ * Reads a trace written by TraceWriter through a memory-mapped window that
+ * slides over the file.  Instructions are handed out by an
+ * InstructionRing, so an instruction returned by read() stays valid only
+ * for the next ringSize-1 calls.
+ */
+public class TraceReader extends TraceFormat {
+    private static final long WINDOW = 1L << 26;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final long length;
+    private MappedByteBuffer buf;
+    private long base = 0;
+    private final InstructionRing ring;
+    private final ArrayList<String> strings = new ArrayList<String>();
+    private int lastIid = 0;
+    private int lastMid = 0;
+    private boolean isEnd = false;
+
+    public TraceReader(String name, int ringSize) throws IOException {
+        file = new RandomAccessFile(name, "r");
+        channel = file.getChannel();
+        length = channel.size();
+        ring = new InstructionRing(ringSize);
+        map(0);
+        if (length < 5 || readFixedInt() != MAGIC) {
+            close();
+            throw new IOException(name + " is not a trace file");
+        }
+        int version = readByte();
+        if (version != VERSION) {
+            close();
+            throw new IOException(name + " has trace version " + version + ", expected " + VERSION);
+        }
+    }
+
+    public void close() throws IOException {
+        file.close();
+    }
+
+    private void map(long offset) throws IOException {
+        base = offset;
+        buf = channel.map(FileChannel.MapMode.READ_ONLY, base, Math.min(WINDOW, length - base));
+    }
+
+    private int readByte() throws IOException {
+        if (!buf.hasRemaining()) {
+            if (base + buf.position() >= length) {
+                throw new IOException("Truncated trace");
+            }
+            map(base + buf.position());
+        }
+        return buf.get() & 0xFF;
+    }
+
+    private long readVarLong() throws IOException {
+        long ret = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = readByte();
+            ret |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return ret;
+    }
+
+    private int readInt() throws IOException {
+        int v = (int) readVarLong();
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private long readLong() throws IOException {
+        long v = readVarLong();
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private int readFixedInt() throws IOException {
+        return (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+    }
+
+    private long readFixedLong() throws IOException {
+        long hi = readFixedInt();
+        return (hi << 32) | (readFixedInt() & 0xFFFFFFFFL);
+    }
+
+    private float readFloat() throws IOException {
+        return Float.intBitsToFloat(readFixedInt());
+    }
+
+    private double readDouble() throws IOException {
+        return Double.longBitsToDouble(readFixedLong());
+    }
+
+    private boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    private int[] readIntArray() throws IOException {
+        int len = (int) readVarLong() - 1;
+        if (len < 0) {
+            return null;
+        }
+        int[] ret = new int[len];
+        for (int i = 0; i < len; i++) {
+            ret[i] = readInt();
+        }
+        return ret;
+    }
+
+    private String readString() throws IOException {
+        int len = (int) readVarLong() - 1;
+        if (len < 0) {
+            return null;
+        }
+        char[] ret = new char[len];
+        for (int i = 0; i < len; i++) {
+            ret[i] = (char) readVarLong();
+        }
+        return new String(ret);
+    }
+
+    private String readSymbol() throws IOException {
+        int idx = (int) readVarLong() - 1;
+        if (idx < 0) {
+            return null;
+        }
+        if (idx == strings.size()) {
+            strings.add(readString());
+        }
+        return strings.get(idx);
+    }
+
+    /**
+     * Returns the next instruction of the trace, or null at its end.
+     */
+    public Instruction read() throws IOException {
+        if (isEnd) {
+            return null;
+        }
+        int opcode = readByte();
+        if (opcode == END) {
+            isEnd = true;
+            return null;
+        }
+        if (opcode >= hasIds.length) {
+            throw new IOException("Unknown opcode " + opcode + " in trace");
+        }
+        int iid = lastIid;
+        int mid = lastMid;
+        if (hasIds[opcode]) {
+            lastIid = iid += readInt();
+            lastMid = mid += readInt();
+        }
+        switch (opcode) {
+            case AALOAD: {
+                return ring.AALOAD(iid, mid);
+            }
+            case AASTORE: {
+                return ring.AASTORE(iid, mid);
+            }
+            case ACONST_NULL: {
+                return ring.ACONST_NULL(iid, mid);
+            }
+            case ALOAD: {
+                int var = readInt();
+                return ring.ALOAD(iid, mid, var);
+            }
+            case ANEWARRAY: {
+                String type = readSymbol();
+                return ring.ANEWARRAY(iid, mid, type);
+            }
+            case ARETURN: {
+                return ring.ARETURN(iid, mid);
+            }
+            case ARRAYLENGTH: {
+                return ring.ARRAYLENGTH(iid, mid);
+            }
+            case ASTORE: {
+                int var = readInt();
+                return ring.ASTORE(iid, mid, var);
+            }
+            case ATHROW: {
+                return ring.ATHROW(iid, mid);
+            }
+            case BALOAD: {
+                return ring.BALOAD(iid, mid);
+            }
+            case BASTORE: {
+                return ring.BASTORE(iid, mid);
+            }
+            case BIPUSH: {
+                int value = readInt();
+                return ring.BIPUSH(iid, mid, value);
+            }
+            case CALOAD: {
+                return ring.CALOAD(iid, mid);
+            }
+            case CASTORE: {
+                return ring.CASTORE(iid, mid);
+            }
+            case CHECKCAST: {
+                String type = readSymbol();
+                return ring.CHECKCAST(iid, mid, type);
+            }
+            case D2F: {
+                return ring.D2F(iid, mid);
+            }
+            case D2I: {
+                return ring.D2I(iid, mid);
+            }
+            case D2L: {
+                return ring.D2L(iid, mid);
+            }
+            case DADD: {
+                return ring.DADD(iid, mid);
+            }
+            case DALOAD: {
+                return ring.DALOAD(iid, mid);
+            }
+            case DASTORE: {
+                return ring.DASTORE(iid, mid);
+            }
+            case DCMPG: {
+                return ring.DCMPG(iid, mid);
+            }
+            case DCMPL: {
+                return ring.DCMPL(iid, mid);
+            }
+            case DCONST_0: {
+                return ring.DCONST_0(iid, mid);
+            }
+            case DCONST_1: {
+                return ring.DCONST_1(iid, mid);
+            }
+            case DDIV: {
+                return ring.DDIV(iid, mid);
+            }
+            case DLOAD: {
+                int var = readInt();
+                return ring.DLOAD(iid, mid, var);
+            }
+            case DMUL: {
+                return ring.DMUL(iid, mid);
+            }
+            case DNEG: {
+                return ring.DNEG(iid, mid);
+            }
+            case DREM: {
+                return ring.DREM(iid, mid);
+            }
+            case DRETURN: {
+                return ring.DRETURN(iid, mid);
+            }
+            case DSTORE: {
+                int var = readInt();
+                return ring.DSTORE(iid, mid, var);
+            }
+            case DSUB: {
+                return ring.DSUB(iid, mid);
+            }
+            case DUP: {
+                return ring.DUP(iid, mid);
+            }
+            case DUP2: {
+                return ring.DUP2(iid, mid);
+            }
+            case DUP2_X1: {
+                return ring.DUP2_X1(iid, mid);
+            }
+            case DUP2_X2: {
+                return ring.DUP2_X2(iid, mid);
+            }
+            case DUP_X1: {
+                return ring.DUP_X1(iid, mid);
+            }
+            case DUP_X2: {
+                return ring.DUP_X2(iid, mid);
+            }
+            case F2D: {
+                return ring.F2D(iid, mid);
+            }
+            case F2I: {
+                return ring.F2I(iid, mid);
+            }
+            case F2L: {
+                return ring.F2L(iid, mid);
+            }
+            case FADD: {
+                return ring.FADD(iid, mid);
+            }
+            case FALOAD: {
+                return ring.FALOAD(iid, mid);
+            }
+            case FASTORE: {
+                return ring.FASTORE(iid, mid);
+            }
+            case FCMPG: {
+                return ring.FCMPG(iid, mid);
+            }
+            case FCMPL: {
+                return ring.FCMPL(iid, mid);
+            }
+            case FCONST_0: {
+                return ring.FCONST_0(iid, mid);
+            }
+            case FCONST_1: {
+                return ring.FCONST_1(iid, mid);
+            }
+            case FCONST_2: {
+                return ring.FCONST_2(iid, mid);
+            }
+            case FDIV: {
+                return ring.FDIV(iid, mid);
+            }
+            case FLOAD: {
+                int var = readInt();
+                return ring.FLOAD(iid, mid, var);
+            }
+            case FMUL: {
+                return ring.FMUL(iid, mid);
+            }
+            case FNEG: {
+                return ring.FNEG(iid, mid);
+            }
+            case FREM: {
+                return ring.FREM(iid, mid);
+            }
+            case FRETURN: {
+                return ring.FRETURN(iid, mid);
+            }
+            case FSTORE: {
+                int var = readInt();
+                return ring.FSTORE(iid, mid, var);
+            }
+            case FSUB: {
+                return ring.FSUB(iid, mid);
+            }
+            case GETFIELD: {
+                int cIdx = readInt();
+                int fIdx = readInt();
+                String desc = readSymbol();
+                return ring.GETFIELD(iid, mid, cIdx, fIdx, desc);
+            }
+            case GETSTATIC: {
+                int cIdx = readInt();
+                int fIdx = readInt();
+                String desc = readSymbol();
+                return ring.GETSTATIC(iid, mid, cIdx, fIdx, desc);
+            }
+            case GETVALUE_Object: {
+                int v = readInt();
+                String string = readString();
+                boolean isString = readBoolean();
+                return ring.GETVALUE_Object(v, string, isString);
+            }
+            case GETVALUE_boolean: {
+                boolean v = readBoolean();
+                return ring.GETVALUE_boolean(v);
+            }
+            case GETVALUE_byte: {
+                byte v = (byte) readInt();
+                return ring.GETVALUE_byte(v);
+            }
+            case GETVALUE_char: {
+                char v = (char) readInt();
+                return ring.GETVALUE_char(v);
+            }
+            case GETVALUE_double: {
+                double v = readDouble();
+                return ring.GETVALUE_double(v);
+            }
+            case GETVALUE_float: {
+                float v = readFloat();
+                return ring.GETVALUE_float(v);
+            }
+            case GETVALUE_int: {
+                int v = readInt();
+                return ring.GETVALUE_int(v);
+            }
+            case GETVALUE_long: {
+                long v = readLong();
+                return ring.GETVALUE_long(v);
+            }
+            case GETVALUE_short: {
+                short v = (short) readInt();
+                return ring.GETVALUE_short(v);
+            }
+            case GETVALUE_void: {
+                return ring.GETVALUE_void();
+            }
+            case GOTO: {
+                int label = readInt();
+                return ring.GOTO(iid, mid, label);
+            }
+            case I2B: {
+                return ring.I2B(iid, mid);
+            }
+            case I2C: {
+                return ring.I2C(iid, mid);
+            }
+            case I2D: {
+                return ring.I2D(iid, mid);
+            }
+            case I2F: {
+                return ring.I2F(iid, mid);
+            }
+            case I2L: {
+                return ring.I2L(iid, mid);
+            }
+            case I2S: {
+                return ring.I2S(iid, mid);
+            }
+            case IADD: {
+                return ring.IADD(iid, mid);
+            }
+            case IALOAD: {
+                return ring.IALOAD(iid, mid);
+            }
+            case IAND: {
+                return ring.IAND(iid, mid);
+            }
+            case IASTORE: {
+                return ring.IASTORE(iid, mid);
+            }
+            case ICONST_0: {
+                return ring.ICONST_0(iid, mid);
+            }
+            case ICONST_1: {
+                return ring.ICONST_1(iid, mid);
+            }
+            case ICONST_2: {
+                return ring.ICONST_2(iid, mid);
+            }
+            case ICONST_3: {
+                return ring.ICONST_3(iid, mid);
+            }
+            case ICONST_4: {
+                return ring.ICONST_4(iid, mid);
+            }
+            case ICONST_5: {
+                return ring.ICONST_5(iid, mid);
+            }
+            case ICONST_M1: {
+                return ring.ICONST_M1(iid, mid);
+            }
+            case IDIV: {
+                return ring.IDIV(iid, mid);
+            }
+            case IFEQ: {
+                int label = readInt();
+                return ring.IFEQ(iid, mid, label);
+            }
+            case IFGE: {
+                int label = readInt();
+                return ring.IFGE(iid, mid, label);
+            }
+            case IFGT: {
+                int label = readInt();
+                return ring.IFGT(iid, mid, label);
+            }
+            case IFLE: {
+                int label = readInt();
+                return ring.IFLE(iid, mid, label);
+            }
+            case IFLT: {
+                int label = readInt();
+                return ring.IFLT(iid, mid, label);
+            }
+            case IFNE: {
+                int label = readInt();
+                return ring.IFNE(iid, mid, label);
+            }
+            case IFNONNULL: {
+                int label = readInt();
+                return ring.IFNONNULL(iid, mid, label);
+            }
+            case IFNULL: {
+                int label = readInt();
+                return ring.IFNULL(iid, mid, label);
+            }
+            case IF_ACMPEQ: {
+                int label = readInt();
+                return ring.IF_ACMPEQ(iid, mid, label);
+            }
+            case IF_ACMPNE: {
+                int label = readInt();
+                return ring.IF_ACMPNE(iid, mid, label);
+            }
+            case IF_ICMPEQ: {
+                int label = readInt();
+                return ring.IF_ICMPEQ(iid, mid, label);
+            }
+            case IF_ICMPGE: {
+                int label = readInt();
+                return ring.IF_ICMPGE(iid, mid, label);
+            }
+            case IF_ICMPGT: {
+                int label = readInt();
+                return ring.IF_ICMPGT(iid, mid, label);
+            }
+            case IF_ICMPLE: {
+                int label = readInt();
+                return ring.IF_ICMPLE(iid, mid, label);
+            }
+            case IF_ICMPLT: {
+                int label = readInt();
+                return ring.IF_ICMPLT(iid, mid, label);
+            }
+            case IF_ICMPNE: {
+                int label = readInt();
+                return ring.IF_ICMPNE(iid, mid, label);
+            }
+            case IINC: {
+                int var = readInt();
+                int increment = readInt();
+                return ring.IINC(iid, mid, var, increment);
+            }
+            case ILOAD: {
+                int var = readInt();
+                return ring.ILOAD(iid, mid, var);
+            }
+            case IMUL: {
+                return ring.IMUL(iid, mid);
+            }
+            case INEG: {
+                return ring.INEG(iid, mid);
+            }
+            case INSTANCEOF: {
+                String type = readSymbol();
+                return ring.INSTANCEOF(iid, mid, type);
+            }
+            case INVOKEINTERFACE: {
+                String owner = readSymbol();
+                String name = readSymbol();
+                String desc = readSymbol();
+                return ring.INVOKEINTERFACE(iid, mid, owner, name, desc);
+            }
+            case INVOKEMETHOD_END: {
+                return ring.INVOKEMETHOD_END();
+            }
+            case INVOKEMETHOD_EXCEPTION: {
+                return ring.INVOKEMETHOD_EXCEPTION();
+            }
+            case INVOKESPECIAL: {
+                String owner = readSymbol();
+                String name = readSymbol();
+                String desc = readSymbol();
+                return ring.INVOKESPECIAL(iid, mid, owner, name, desc);
+            }
+            case INVOKESTATIC: {
+                String owner = readSymbol();
+                String name = readSymbol();
+                String desc = readSymbol();
+                return ring.INVOKESTATIC(iid, mid, owner, name, desc);
+            }
+            case INVOKEVIRTUAL: {
+                String owner = readSymbol();
+                String name = readSymbol();
+                String desc = readSymbol();
+                return ring.INVOKEVIRTUAL(iid, mid, owner, name, desc);
+            }
+            case IOR: {
+                return ring.IOR(iid, mid);
+            }
+            case IREM: {
+                return ring.IREM(iid, mid);
+            }
+            case IRETURN: {
+                return ring.IRETURN(iid, mid);
+            }
+            case ISHL: {
+                return ring.ISHL(iid, mid);
+            }
+            case ISHR: {
+                return ring.ISHR(iid, mid);
+            }
+            case ISTORE: {
+                int var = readInt();
+                return ring.ISTORE(iid, mid, var);
+            }
+            case ISUB: {
+                return ring.ISUB(iid, mid);
+            }
+            case IUSHR: {
+                return ring.IUSHR(iid, mid);
+            }
+            case IXOR: {
+                return ring.IXOR(iid, mid);
+            }
+            case JSR: {
+                int label = readInt();
+                return ring.JSR(iid, mid, label);
+            }
+            case L2D: {
+                return ring.L2D(iid, mid);
+            }
+            case L2F: {
+                return ring.L2F(iid, mid);
+            }
+            case L2I: {
+                return ring.L2I(iid, mid);
+            }
+            case LADD: {
+                return ring.LADD(iid, mid);
+            }
+            case LALOAD: {
+                return ring.LALOAD(iid, mid);
+            }
+            case LAND: {
+                return ring.LAND(iid, mid);
+            }
+            case LASTORE: {
+                return ring.LASTORE(iid, mid);
+            }
+            case LCMP: {
+                return ring.LCMP(iid, mid);
+            }
+            case LCONST_0: {
+                return ring.LCONST_0(iid, mid);
+            }
+            case LCONST_1: {
+                return ring.LCONST_1(iid, mid);
+            }
+            case LDC_Object: {
+                int c = readInt();
+                return ring.LDC_Object(iid, mid, c);
+            }
+            case LDC_String: {
+                String c = readString();
+                int address = readInt();
+                return ring.LDC_String(iid, mid, c, address);
+            }
+            case LDC_double: {
+                double c = readDouble();
+                return ring.LDC_double(iid, mid, c);
+            }
+            case LDC_float: {
+                float c = readFloat();
+                return ring.LDC_float(iid, mid, c);
+            }
+            case LDC_int: {
+                int c = readInt();
+                return ring.LDC_int(iid, mid, c);
+            }
+            case LDC_long: {
+                long c = readLong();
+                return ring.LDC_long(iid, mid, c);
+            }
+            case LDIV: {
+                return ring.LDIV(iid, mid);
+            }
+            case LLOAD: {
+                int var = readInt();
+                return ring.LLOAD(iid, mid, var);
+            }
+            case LMUL: {
+                return ring.LMUL(iid, mid);
+            }
+            case LNEG: {
+                return ring.LNEG(iid, mid);
+            }
+            case LOOKUPSWITCH: {
+                int dflt = readInt();
+                int[] keys = readIntArray();
+                int[] labels = readIntArray();
+                return ring.LOOKUPSWITCH(iid, mid, dflt, keys, labels);
+            }
+            case LOR: {
+                return ring.LOR(iid, mid);
+            }
+            case LREM: {
+                return ring.LREM(iid, mid);
+            }
+            case LRETURN: {
+                return ring.LRETURN(iid, mid);
+            }
+            case LSHL: {
+                return ring.LSHL(iid, mid);
+            }
+            case LSHR: {
+                return ring.LSHR(iid, mid);
+            }
+            case LSTORE: {
+                int var = readInt();
+                return ring.LSTORE(iid, mid, var);
+            }
+            case LSUB: {
+                return ring.LSUB(iid, mid);
+            }
+            case LUSHR: {
+                return ring.LUSHR(iid, mid);
+            }
+            case LXOR: {
+                return ring.LXOR(iid, mid);
+            }
+            case MAKE_SYMBOLIC: {
+                return ring.MAKE_SYMBOLIC();
+            }
+            case MONITORENTER: {
+                return ring.MONITORENTER(iid, mid);
+            }
+            case MONITOREXIT: {
+                return ring.MONITOREXIT(iid, mid);
+            }
+            case MULTIANEWARRAY: {
+                String desc = readSymbol();
+                int dims = readInt();
+                return ring.MULTIANEWARRAY(iid, mid, desc, dims);
+            }
+            case NEW: {
+                String type = readSymbol();
+                int cIdx = readInt();
+                return ring.NEW(iid, mid, type, cIdx);
+            }
+            case NEWARRAY: {
+                return ring.NEWARRAY(iid, mid);
+            }
+            case NOP: {
+                return ring.NOP(iid, mid);
+            }
+            case POP: {
+                return ring.POP(iid, mid);
+            }
+            case POP2: {
+                return ring.POP2(iid, mid);
+            }
+            case PUTFIELD: {
+                int cIdx = readInt();
+                int fIdx = readInt();
+                String desc = readSymbol();
+                return ring.PUTFIELD(iid, mid, cIdx, fIdx, desc);
+            }
+            case PUTSTATIC: {
+                int cIdx = readInt();
+                int fIdx = readInt();
+                String desc = readSymbol();
+                return ring.PUTSTATIC(iid, mid, cIdx, fIdx, desc);
+            }
+            case RET: {
+                int var = readInt();
+                return ring.RET(iid, mid, var);
+            }
+            case RETURN: {
+                return ring.RETURN(iid, mid);
+            }
+            case SALOAD: {
+                return ring.SALOAD(iid, mid);
+            }
+            case SASTORE: {
+                return ring.SASTORE(iid, mid);
+            }
+            case SIPUSH: {
+                int value = readInt();
+                return ring.SIPUSH(iid, mid, value);
+            }
+            case SPECIAL: {
+                int i = readInt();
+                return ring.SPECIAL(i);
+            }
+            case SWAP: {
+                return ring.SWAP(iid, mid);
+            }
+            case TABLESWITCH: {
+                int min = readInt();
+                int max = readInt();
+                int dflt = readInt();
+                int[] labels = readIntArray();
+                return ring.TABLESWITCH(iid, mid, min, max, dflt, labels);
+            }
+            default:
+                throw new IOException("Unknown opcode " + opcode + " in trace");
+        }
+    }
+
+    private static final boolean[] hasIds = new boolean[176];
+
+    static {
+        hasIds[AALOAD] = true;
+        hasIds[AASTORE] = true;
+        hasIds[ACONST_NULL] = true;
+        hasIds[ALOAD] = true;
+        hasIds[ANEWARRAY] = true;
+        hasIds[ARETURN] = true;
+        hasIds[ARRAYLENGTH] = true;
+        hasIds[ASTORE] = true;
+        hasIds[ATHROW] = true;
+        hasIds[BALOAD] = true;
+        hasIds[BASTORE] = true;
+        hasIds[BIPUSH] = true;
+        hasIds[CALOAD] = true;
+        hasIds[CASTORE] = true;
+        hasIds[CHECKCAST] = true;
+        hasIds[D2F] = true;
+        hasIds[D2I] = true;
+        hasIds[D2L] = true;
+        hasIds[DADD] = true;
+        hasIds[DALOAD] = true;
+        hasIds[DASTORE] = true;
+        hasIds[DCMPG] = true;
+        hasIds[DCMPL] = true;
+        hasIds[DCONST_0] = true;
+        hasIds[DCONST_1] = true;
+        hasIds[DDIV] = true;
+        hasIds[DLOAD] = true;
+        hasIds[DMUL] = true;
+        hasIds[DNEG] = true;
+        hasIds[DREM] = true;
+        hasIds[DRETURN] = true;
+        hasIds[DSTORE] = true;
+        hasIds[DSUB] = true;
+        hasIds[DUP] = true;
+        hasIds[DUP2] = true;
+        hasIds[DUP2_X1] = true;
+        hasIds[DUP2_X2] = true;
+        hasIds[DUP_X1] = true;
+        hasIds[DUP_X2] = true;
+        hasIds[F2D] = true;
+        hasIds[F2I] = true;
+        hasIds[F2L] = true;
+        hasIds[FADD] = true;
+        hasIds[FALOAD] = true;
+        hasIds[FASTORE] = true;
+        hasIds[FCMPG] = true;
+        hasIds[FCMPL] = true;
+        hasIds[FCONST_0] = true;
+        hasIds[FCONST_1] = true;
+        hasIds[FCONST_2] = true;
+        hasIds[FDIV] = true;
+        hasIds[FLOAD] = true;
+        hasIds[FMUL] = true;
+        hasIds[FNEG] = true;
+        hasIds[FREM] = true;
+        hasIds[FRETURN] = true;
+        hasIds[FSTORE] = true;
+        hasIds[FSUB] = true;
+        hasIds[GETFIELD] = true;
+        hasIds[GETSTATIC] = true;
+        hasIds[GOTO] = true;
+        hasIds[I2B] = true;
+        hasIds[I2C] = true;
+        hasIds[I2D] = true;
+        hasIds[I2F] = true;
+        hasIds[I2L] = true;
+        hasIds[I2S] = true;
+        hasIds[IADD] = true;
+        hasIds[IALOAD] = true;
+        hasIds[IAND] = true;
+        hasIds[IASTORE] = true;
+        hasIds[ICONST_0] = true;
+        hasIds[ICONST_1] = true;
+        hasIds[ICONST_2] = true;
+        hasIds[ICONST_3] = true;
+        hasIds[ICONST_4] = true;
+        hasIds[ICONST_5] = true;
+        hasIds[ICONST_M1] = true;
+        hasIds[IDIV] = true;
+        hasIds[IFEQ] = true;
+        hasIds[IFGE] = true;
+        hasIds[IFGT] = true;
+        hasIds[IFLE] = true;
+        hasIds[IFLT] = true;
+        hasIds[IFNE] = true;
+        hasIds[IFNONNULL] = true;
+        hasIds[IFNULL] = true;
+        hasIds[IF_ACMPEQ] = true;
+        hasIds[IF_ACMPNE] = true;
+        hasIds[IF_ICMPEQ] = true;
+        hasIds[IF_ICMPGE] = true;
+        hasIds[IF_ICMPGT] = true;
+        hasIds[IF_ICMPLE] = true;
+        hasIds[IF_ICMPLT] = true;
+        hasIds[IF_ICMPNE] = true;
+        hasIds[IINC] = true;
+        hasIds[ILOAD] = true;
+        hasIds[IMUL] = true;
+        hasIds[INEG] = true;
+        hasIds[INSTANCEOF] = true;
+        hasIds[INVOKEINTERFACE] = true;
+        hasIds[INVOKESPECIAL] = true;
+        hasIds[INVOKESTATIC] = true;
+        hasIds[INVOKEVIRTUAL] = true;
+        hasIds[IOR] = true;
+        hasIds[IREM] = true;
+        hasIds[IRETURN] = true;
+        hasIds[ISHL] = true;
+        hasIds[ISHR] = true;
+        hasIds[ISTORE] = true;
+        hasIds[ISUB] = true;
+        hasIds[IUSHR] = true;
+        hasIds[IXOR] = true;
+        hasIds[JSR] = true;
+        hasIds[L2D] = true;
+        hasIds[L2F] = true;
+        hasIds[L2I] = true;
+        hasIds[LADD] = true;
+        hasIds[LALOAD] = true;
+        hasIds[LAND] = true;
+        hasIds[LASTORE] = true;
+        hasIds[LCMP] = true;
+        hasIds[LCONST_0] = true;
+        hasIds[LCONST_1] = true;
+        hasIds[LDC_Object] = true;
+        hasIds[LDC_String] = true;
+        hasIds[LDC_double] = true;
+        hasIds[LDC_float] = true;
+        hasIds[LDC_int] = true;
+        hasIds[LDC_long] = true;
+        hasIds[LDIV] = true;
+        hasIds[LLOAD] = true;
+        hasIds[LMUL] = true;
+        hasIds[LNEG] = true;
+        hasIds[LOOKUPSWITCH] = true;
+        hasIds[LOR] = true;
+        hasIds[LREM] = true;
+        hasIds[LRETURN] = true;
+        hasIds[LSHL] = true;
+        hasIds[LSHR] = true;
+        hasIds[LSTORE] = true;
+        hasIds[LSUB] = true;
+        hasIds[LUSHR] = true;
+        hasIds[LXOR] = true;
+        hasIds[MONITORENTER] = true;
+        hasIds[MONITOREXIT] = true;
+        hasIds[MULTIANEWARRAY] = true;
+        hasIds[NEW] = true;
+        hasIds[NEWARRAY] = true;
+        hasIds[NOP] = true;
+        hasIds[POP] = true;
+        hasIds[POP2] = true;
+        hasIds[PUTFIELD] = true;
+        hasIds[PUTSTATIC] = true;
+        hasIds[RET] = true;
+        hasIds[RETURN] = true;
+        hasIds[SALOAD] = true;
+        hasIds[SASTORE] = true;
+        hasIds[SIPUSH] = true;
+        hasIds[SWAP] = true;
+        hasIds[TABLESWITCH] = true;
+    }
+}
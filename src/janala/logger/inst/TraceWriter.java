@@ -0,0 +1,982 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.logger.inst;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+
+/**
+ * Writes instructions in the compact binary trace format read by
+ * TraceReader.  A trace is the header (TraceFormat.MAGIC, TraceFormat.VERSION)
+ * followed by one record per instruction: an opcode byte, the iid and mid
+ * as zigzag varint deltas from the previous record, and the operands.  Int
+ * and long operands are zigzag varints, float and double operands their raw
+ * bits, and owner, name, desc and type strings indices into a string table
+ * that is built as the trace is written.  Other strings are written inline.
+ * The trace ends with opcode TraceFormat.END.
+ */
+public class TraceWriter extends TraceFormat implements IVisitor {
+    private final OutputStream out;
+    private final byte[] buf = new byte[1 << 16];
+    private int pos = 0;
+    private final HashMap<String, Integer> strings = new HashMap<String, Integer>();
+    private int lastIid = 0;
+    private int lastMid = 0;
+    private IOException error;
+
+    public TraceWriter(OutputStream out) throws IOException {
+        this.out = out;
+        writeFixedInt(MAGIC);
+        writeByte(VERSION);
+        check();
+    }
+
+    public void write(Instruction insn) throws IOException {
+        insn.visit(this);
+        check();
+    }
+
+    public void close() throws IOException {
+        writeByte(END);
+        flush();
+        check();
+        out.close();
+    }
+
+    // IVisitor methods cannot throw IOException; the first one is kept here
+    private void check() throws IOException {
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void flush() {
+        try {
+            out.write(buf, 0, pos);
+        } catch (IOException e) {
+            if (error == null) {
+                error = e;
+            }
+        }
+        pos = 0;
+    }
+
+    private void writeByte(int b) {
+        if (pos == buf.length) {
+            flush();
+        }
+        buf[pos++] = (byte) b;
+    }
+
+    private void writeVarLong(long v) {
+        while ((v & ~0x7FL) != 0) {
+            writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        writeByte((int) v);
+    }
+
+    private void writeInt(int v) {
+        writeVarLong(((v << 1) ^ (v >> 31)) & 0xFFFFFFFFL);
+    }
+
+    private void writeLong(long v) {
+        writeVarLong((v << 1) ^ (v >> 63));
+    }
+
+    private void writeFixedInt(int v) {
+        writeByte(v >>> 24);
+        writeByte(v >>> 16);
+        writeByte(v >>> 8);
+        writeByte(v);
+    }
+
+    private void writeFixedLong(long v) {
+        writeFixedInt((int) (v >>> 32));
+        writeFixedInt((int) v);
+    }
+
+    private void writeFloat(float v) {
+        writeFixedInt(Float.floatToRawIntBits(v));
+    }
+
+    private void writeDouble(double v) {
+        writeFixedLong(Double.doubleToRawLongBits(v));
+    }
+
+    private void writeBoolean(boolean v) {
+        writeByte(v ? 1 : 0);
+    }
+
+    private void writeIntArray(int[] v) {
+        if (v == null) {
+            writeVarLong(0);
+            return;
+        }
+        writeVarLong(v.length + 1L);
+        for (int x : v) {
+            writeInt(x);
+        }
+    }
+
+    private void writeString(String s) {
+        if (s == null) {
+            writeVarLong(0);
+            return;
+        }
+        int len = s.length();
+        writeVarLong(len + 1L);
+        for (int i = 0; i < len; i++) {
+            writeVarLong(s.charAt(i));
+        }
+    }
+
+    /**
+     * Writes 0 for null, the index plus one of a string already in the
+     * table, or the size of the table plus one followed by a new string.
+     */
+    private void writeSymbol(String s) {
+        if (s == null) {
+            writeVarLong(0);
+            return;
+        }
+        Integer idx = strings.get(s);
+        if (idx != null) {
+            writeVarLong(idx + 1L);
+        } else {
+            idx = strings.size();
+            strings.put(s, idx);
+            writeVarLong(idx + 1L);
+            writeString(s);
+        }
+    }
+
+    private void writeHeader(int opcode, Instruction insn) {
+        writeByte(opcode);
+        writeInt(insn.iid - lastIid);
+        writeInt(insn.mid - lastMid);
+        lastIid = insn.iid;
+        lastMid = insn.mid;
+    }
+
+    public void setNext(Instruction next) {
+    }
+
+    public void visitAALOAD(AALOAD inst) {
+        writeHeader(AALOAD, inst);
+    }
+
+    public void visitAASTORE(AASTORE inst) {
+        writeHeader(AASTORE, inst);
+    }
+
+    public void visitACONST_NULL(ACONST_NULL inst) {
+        writeHeader(ACONST_NULL, inst);
+    }
+
+    public void visitALOAD(ALOAD inst) {
+        writeHeader(ALOAD, inst);
+        writeInt(inst.var);
+    }
+
+    public void visitANEWARRAY(ANEWARRAY inst) {
+        writeHeader(ANEWARRAY, inst);
+        writeSymbol(inst.type);
+    }
+
+    public void visitARETURN(ARETURN inst) {
+        writeHeader(ARETURN, inst);
+    }
+
+    public void visitARRAYLENGTH(ARRAYLENGTH inst) {
+        writeHeader(ARRAYLENGTH, inst);
+    }
+
+    public void visitASTORE(ASTORE inst) {
+        writeHeader(ASTORE, inst);
+        writeInt(inst.var);
+    }
+
+    public void visitATHROW(ATHROW inst) {
+        writeHeader(ATHROW, inst);
+    }
+
+    public void visitBALOAD(BALOAD inst) {
+        writeHeader(BALOAD, inst);
+    }
+
+    public void visitBASTORE(BASTORE inst) {
+        writeHeader(BASTORE, inst);
+    }
+
+    public void visitBIPUSH(BIPUSH inst) {
+        writeHeader(BIPUSH, inst);
+        writeInt(inst.value);
+    }
+
+    public void visitCALOAD(CALOAD inst) {
+        writeHeader(CALOAD, inst);
+    }
+
+    public void visitCASTORE(CASTORE inst) {
+        writeHeader(CASTORE, inst);
+    }
+
+    public void visitCHECKCAST(CHECKCAST inst) {
+        writeHeader(CHECKCAST, inst);
+        writeSymbol(inst.type);
+    }
+
+    public void visitD2F(D2F inst) {
+        writeHeader(D2F, inst);
+    }
+
+    public void visitD2I(D2I inst) {
+        writeHeader(D2I, inst);
+    }
+
+    public void visitD2L(D2L inst) {
+        writeHeader(D2L, inst);
+    }
+
+    public void visitDADD(DADD inst) {
+        writeHeader(DADD, inst);
+    }
+
+    public void visitDALOAD(DALOAD inst) {
+        writeHeader(DALOAD, inst);
+    }
+
+    public void visitDASTORE(DASTORE inst) {
+        writeHeader(DASTORE, inst);
+    }
+
+    public void visitDCMPG(DCMPG inst) {
+        writeHeader(DCMPG, inst);
+    }
+
+    public void visitDCMPL(DCMPL inst) {
+        writeHeader(DCMPL, inst);
+    }
+
+    public void visitDCONST_0(DCONST_0 inst) {
+        writeHeader(DCONST_0, inst);
+    }
+
+    public void visitDCONST_1(DCONST_1 inst) {
+        writeHeader(DCONST_1, inst);
+    }
+
+    public void visitDDIV(DDIV inst) {
+        writeHeader(DDIV, inst);
+    }
+
+    public void visitDLOAD(DLOAD inst) {
+        writeHeader(DLOAD, inst);
+        writeInt(inst.var);
+    }
+
+    public void visitDMUL(DMUL inst) {
+        writeHeader(DMUL, inst);
+    }
+
+    public void visitDNEG(DNEG inst) {
+        writeHeader(DNEG, inst);
+    }
+
+    public void visitDREM(DREM inst) {
+        writeHeader(DREM, inst);
+    }
+
+    public void visitDRETURN(DRETURN inst) {
+        writeHeader(DRETURN, inst);
+    }
+
+    public void visitDSTORE(DSTORE inst) {
+        writeHeader(DSTORE, inst);
+        writeInt(inst.var);
+    }
+
+    public void visitDSUB(DSUB inst) {
+        writeHeader(DSUB, inst);
+    }
+
+    public void visitDUP(DUP inst) {
+        writeHeader(DUP, inst);
+    }
+
+    public void visitDUP2(DUP2 inst) {
+        writeHeader(DUP2, inst);
+    }
+
+    public void visitDUP2_X1(DUP2_X1 inst) {
+        writeHeader(DUP2_X1, inst);
+    }
+
+    public void visitDUP2_X2(DUP2_X2 inst) {
+        writeHeader(DUP2_X2, inst);
+    }
+
+    public void visitDUP_X1(DUP_X1 inst) {
+        writeHeader(DUP_X1, inst);
+    }
+
+    public void visitDUP_X2(DUP_X2 inst) {
+        writeHeader(DUP_X2, inst);
+    }
+
+    public void visitF2D(F2D inst) {
+        writeHeader(F2D, inst);
+    }
+
+    public void visitF2I(F2I inst) {
+        writeHeader(F2I, inst);
+    }
+
+    public void visitF2L(F2L inst) {
+        writeHeader(F2L, inst);
+    }
+
+    public void visitFADD(FADD inst) {
+        writeHeader(FADD, inst);
+    }
+
+    public void visitFALOAD(FALOAD inst) {
+        writeHeader(FALOAD, inst);
+    }
+
+    public void visitFASTORE(FASTORE inst) {
+        writeHeader(FASTORE, inst);
+    }
+
+    public void visitFCMPG(FCMPG inst) {
+        writeHeader(FCMPG, inst);
+    }
+
+    public void visitFCMPL(FCMPL inst) {
+        writeHeader(FCMPL, inst);
+    }
+
+    public void visitFCONST_0(FCONST_0 inst) {
+        writeHeader(FCONST_0, inst);
+    }
+
+    public void visitFCONST_1(FCONST_1 inst) {
+        writeHeader(FCONST_1, inst);
+    }
+
+    public void visitFCONST_2(FCONST_2 inst) {
+        writeHeader(FCONST_2, inst);
+    }
+
+    public void visitFDIV(FDIV inst) {
+        writeHeader(FDIV, inst);
+    }
+
+    public void visitFLOAD(FLOAD inst) {
+        writeHeader(FLOAD, inst);
+        writeInt(inst.var);
+    }
+
+    public void visitFMUL(FMUL inst) {
+        writeHeader(FMUL, inst);
+    }
+
+    public void visitFNEG(FNEG inst) {
+        writeHeader(FNEG, inst);
+    }
+
+    public void visitFREM(FREM inst) {
+        writeHeader(FREM, inst);
+    }
+
+    public void visitFRETURN(FRETURN inst) {
+        writeHeader(FRETURN, inst);
+    }
+
+    public void visitFSTORE(FSTORE inst) {
+        writeHeader(FSTORE, inst);
+        writeInt(inst.var);
+    }
+
+    public void visitFSUB(FSUB inst) {
+        writeHeader(FSUB, inst);
+    }
+
+    public void visitGETFIELD(GETFIELD inst) {
+        writeHeader(GETFIELD, inst);
+        writeInt(inst.cIdx);
+        writeInt(inst.fIdx);
+        writeSymbol(inst.desc);
+    }
+
+    public void visitGETSTATIC(GETSTATIC inst) {
+        writeHeader(GETSTATIC, inst);
+        writeInt(inst.cIdx);
+        writeInt(inst.fIdx);
+        writeSymbol(inst.desc);
+    }
+
+    public void visitGETVALUE_Object(GETVALUE_Object inst) {
+        writeByte(GETVALUE_Object);
+        writeInt(inst.v);
+        writeString(inst.string);
+        writeBoolean(inst.isString);
+    }
+
+    public void visitGETVALUE_boolean(GETVALUE_boolean inst) {
+        writeByte(GETVALUE_boolean);
+        writeBoolean(inst.v);
+    }
+
+    public void visitGETVALUE_byte(GETVALUE_byte inst) {
+        writeByte(GETVALUE_byte);
+        writeInt(inst.v);
+    }
+
+    public void visitGETVALUE_char(GETVALUE_char inst) {
+        writeByte(GETVALUE_char);
+        writeInt(inst.v);
+    }
+
+    public void visitGETVALUE_double(GETVALUE_double inst) {
+        writeByte(GETVALUE_double);
+        writeDouble(inst.v);
+    }
+
+    public void visitGETVALUE_float(GETVALUE_float inst) {
+        writeByte(GETVALUE_float);
+        writeFloat(inst.v);
+    }
+
+    public void visitGETVALUE_int(GETVALUE_int inst) {
+        writeByte(GETVALUE_int);
+        writeInt(inst.v);
+    }
+
+    public void visitGETVALUE_long(GETVALUE_long inst) {
+        writeByte(GETVALUE_long);
+        writeLong(inst.v);
+    }
+
+    public void visitGETVALUE_short(GETVALUE_short inst) {
+        writeByte(GETVALUE_short);
+        writeInt(inst.v);
+    }
+
+    public void visitGETVALUE_void(GETVALUE_void inst) {
+        writeByte(GETVALUE_void);
+    }
+
+    public void visitGOTO(GOTO inst) {
+        writeHeader(GOTO, inst);
+        writeInt(inst.label);
+    }
+
+    public void visitI2B(I2B inst) {
+        writeHeader(I2B, inst);
+    }
+
+    public void visitI2C(I2C inst) {
+        writeHeader(I2C, inst);
+    }
+
+    public void visitI2D(I2D inst) {
+        writeHeader(I2D, inst);
+    }
+
+    public void visitI2F(I2F inst) {
+        writeHeader(I2F, inst);
+    }
+
+    public void visitI2L(I2L inst) {
+        writeHeader(I2L, inst);
+    }
+
+    public void visitI2S(I2S inst) {
+        writeHeader(I2S, inst);
+    }
+
+    public void visitIADD(IADD inst) {
+        writeHeader(IADD, inst);
+    }
+
+    public void visitIALOAD(IALOAD inst) {
+        writeHeader(IALOAD, inst);
+    }
+
+    public void visitIAND(IAND inst) {
+        writeHeader(IAND, inst);
+    }
+
+    public void visitIASTORE(IASTORE inst) {
+        writeHeader(IASTORE, inst);
+    }
+
+    public void visitICONST_0(ICONST_0 inst) {
+        writeHeader(ICONST_0, inst);
+    }
+
+    public void visitICONST_1(ICONST_1 inst) {
+        writeHeader(ICONST_1, inst);
+    }
+
+    public void visitICONST_2(ICONST_2 inst) {
+        writeHeader(ICONST_2, inst);
+    }
+
+    public void visitICONST_3(ICONST_3 inst) {
+        writeHeader(ICONST_3, inst);
+    }
+
+    public void visitICONST_4(ICONST_4 inst) {
+        writeHeader(ICONST_4, inst);
+    }
+
+    public void visitICONST_5(ICONST_5 inst) {
+        writeHeader(ICONST_5, inst);
+    }
+
+    public void visitICONST_M1(ICONST_M1 inst) {
+        writeHeader(ICONST_M1, inst);
+    }
+
+    public void visitIDIV(IDIV inst) {
+        writeHeader(IDIV, inst);
+    }
+
+    public void visitIFEQ(IFEQ inst) {
+        writeHeader(IFEQ, inst);
+        writeInt(inst.label);
+    }
+
+    public void visitIFGE(IFGE inst) {
+        writeHeader(IFGE, inst);
+        writeInt(inst.label);
+    }
+
+    public void visitIFGT(IFGT inst) {
+        writeHeader(IFGT, inst);
+        writeInt(inst.label);
+    }
+
+    public void visitIFLE(IFLE inst) {
+        writeHeader(IFLE, inst);
+        writeInt(inst.label);
+    }
+
+    public void visitIFLT(IFLT inst) {
+        writeHeader(IFLT, inst);
+        writeInt(inst.label);
+    }
+
+    public void visitIFNE(IFNE inst) {
+        writeHeader(IFNE, inst);
+        writeInt(inst.label);
+    }
+
+    public void visitIFNONNULL(IFNONNULL inst) {
+        writeHeader(IFNONNULL, inst);
+        writeInt(inst.label);
+    }
+
+    public void visitIFNULL(IFNULL inst) {
+        writeHeader(IFNULL, inst);
+        writeInt(inst.label);
+    }
+
+    public void visitIF_ACMPEQ(IF_ACMPEQ inst) {
+        writeHeader(IF_ACMPEQ, inst);
+        writeInt(inst.label);
+    }
+
+    public void visitIF_ACMPNE(IF_ACMPNE inst) {
+        writeHeader(IF_ACMPNE, inst);
+        writeInt(inst.label);
+    }
+
+    public void visitIF_ICMPEQ(IF_ICMPEQ inst) {
+        writeHeader(IF_ICMPEQ, inst);
+        writeInt(inst.label);
+    }
+
+    public void visitIF_ICMPGE(IF_ICMPGE inst) {
+        writeHeader(IF_ICMPGE, inst);
+        writeInt(inst.label);
+    }
+
+    public void visitIF_ICMPGT(IF_ICMPGT inst) {
+        writeHeader(IF_ICMPGT, inst);
+        writeInt(inst.label);
+    }
+
+    public void visitIF_ICMPLE(IF_ICMPLE inst) {
+        writeHeader(IF_ICMPLE, inst);
+        writeInt(inst.label);
+    }
+
+    public void visitIF_ICMPLT(IF_ICMPLT inst) {
+        writeHeader(IF_ICMPLT, inst);
+        writeInt(inst.label);
+    }
+
+    public void visitIF_ICMPNE(IF_ICMPNE inst) {
+        writeHeader(IF_ICMPNE, inst);
+        writeInt(inst.label);
+    }
+
+    public void visitIINC(IINC inst) {
+        writeHeader(IINC, inst);
+        writeInt(inst.var);
+        writeInt(inst.increment);
+    }
+
+    public void visitILOAD(ILOAD inst) {
+        writeHeader(ILOAD, inst);
+        writeInt(inst.var);
+    }
+
+    public void visitIMUL(IMUL inst) {
+        writeHeader(IMUL, inst);
+    }
+
+    public void visitINEG(INEG inst) {
+        writeHeader(INEG, inst);
+    }
+
+    public void visitINSTANCEOF(INSTANCEOF inst) {
+        writeHeader(INSTANCEOF, inst);
+        writeSymbol(inst.type);
+    }
+
+    public void visitINVOKEINTERFACE(INVOKEINTERFACE inst) {
+        writeHeader(INVOKEINTERFACE, inst);
+        writeSymbol(inst.owner);
+        writeSymbol(inst.name);
+        writeSymbol(inst.desc);
+    }
+
+    public void visitINVOKEMETHOD_END(INVOKEMETHOD_END inst) {
+        writeByte(INVOKEMETHOD_END);
+    }
+
+    public void visitINVOKEMETHOD_EXCEPTION(INVOKEMETHOD_EXCEPTION inst) {
+        writeByte(INVOKEMETHOD_EXCEPTION);
+    }
+
+    public void visitINVOKESPECIAL(INVOKESPECIAL inst) {
+        writeHeader(INVOKESPECIAL, inst);
+        writeSymbol(inst.owner);
+        writeSymbol(inst.name);
+        writeSymbol(inst.desc);
+    }
+
+    public void visitINVOKESTATIC(INVOKESTATIC inst) {
+        writeHeader(INVOKESTATIC, inst);
+        writeSymbol(inst.owner);
+        writeSymbol(inst.name);
+        writeSymbol(inst.desc);
+    }
+
+    public void visitINVOKEVIRTUAL(INVOKEVIRTUAL inst) {
+        writeHeader(INVOKEVIRTUAL, inst);
+        writeSymbol(inst.owner);
+        writeSymbol(inst.name);
+        writeSymbol(inst.desc);
+    }
+
+    public void visitIOR(IOR inst) {
+        writeHeader(IOR, inst);
+    }
+
+    public void visitIREM(IREM inst) {
+        writeHeader(IREM, inst);
+    }
+
+    public void visitIRETURN(IRETURN inst) {
+        writeHeader(IRETURN, inst);
+    }
+
+    public void visitISHL(ISHL inst) {
+        writeHeader(ISHL, inst);
+    }
+
+    public void visitISHR(ISHR inst) {
+        writeHeader(ISHR, inst);
+    }
+
+    public void visitISTORE(ISTORE inst) {
+        writeHeader(ISTORE, inst);
+        writeInt(inst.var);
+    }
+
+    public void visitISUB(ISUB inst) {
+        writeHeader(ISUB, inst);
+    }
+
+    public void visitIUSHR(IUSHR inst) {
+        writeHeader(IUSHR, inst);
+    }
+
+    public void visitIXOR(IXOR inst) {
+        writeHeader(IXOR, inst);
+    }
+
+    public void visitJSR(JSR inst) {
+        writeHeader(JSR, inst);
+        writeInt(inst.label);
+    }
+
+    public void visitL2D(L2D inst) {
+        writeHeader(L2D, inst);
+    }
+
+    public void visitL2F(L2F inst) {
+        writeHeader(L2F, inst);
+    }
+
+    public void visitL2I(L2I inst) {
+        writeHeader(L2I, inst);
+    }
+
+    public void visitLADD(LADD inst) {
+        writeHeader(LADD, inst);
+    }
+
+    public void visitLALOAD(LALOAD inst) {
+        writeHeader(LALOAD, inst);
+    }
+
+    public void visitLAND(LAND inst) {
+        writeHeader(LAND, inst);
+    }
+
+    public void visitLASTORE(LASTORE inst) {
+        writeHeader(LASTORE, inst);
+    }
+
+    public void visitLCMP(LCMP inst) {
+        writeHeader(LCMP, inst);
+    }
+
+    public void visitLCONST_0(LCONST_0 inst) {
+        writeHeader(LCONST_0, inst);
+    }
+
+    public void visitLCONST_1(LCONST_1 inst) {
+        writeHeader(LCONST_1, inst);
+    }
+
+    public void visitLDC_Object(LDC_Object inst) {
+        writeHeader(LDC_Object, inst);
+        writeInt(inst.c);
+    }
+
+    public void visitLDC_String(LDC_String inst) {
+        writeHeader(LDC_String, inst);
+        writeString(inst.c);
+        writeInt(inst.address);
+    }
+
+    public void visitLDC_double(LDC_double inst) {
+        writeHeader(LDC_double, inst);
+        writeDouble(inst.c);
+    }
+
+    public void visitLDC_float(LDC_float inst) {
+        writeHeader(LDC_float, inst);
+        writeFloat(inst.c);
+    }
+
+    public void visitLDC_int(LDC_int inst) {
+        writeHeader(LDC_int, inst);
+        writeInt(inst.c);
+    }
+
+    public void visitLDC_long(LDC_long inst) {
+        writeHeader(LDC_long, inst);
+        writeLong(inst.c);
+    }
+
+    public void visitLDIV(LDIV inst) {
+        writeHeader(LDIV, inst);
+    }
+
+    public void visitLLOAD(LLOAD inst) {
+        writeHeader(LLOAD, inst);
+        writeInt(inst.var);
+    }
+
+    public void visitLMUL(LMUL inst) {
+        writeHeader(LMUL, inst);
+    }
+
+    public void visitLNEG(LNEG inst) {
+        writeHeader(LNEG, inst);
+    }
+
+    public void visitLOOKUPSWITCH(LOOKUPSWITCH inst) {
+        writeHeader(LOOKUPSWITCH, inst);
+        writeInt(inst.dflt);
+        writeIntArray(inst.keys);
+        writeIntArray(inst.labels);
+    }
+
+    public void visitLOR(LOR inst) {
+        writeHeader(LOR, inst);
+    }
+
+    public void visitLREM(LREM inst) {
+        writeHeader(LREM, inst);
+    }
+
+    public void visitLRETURN(LRETURN inst) {
+        writeHeader(LRETURN, inst);
+    }
+
+    public void visitLSHL(LSHL inst) {
+        writeHeader(LSHL, inst);
+    }
+
+    public void visitLSHR(LSHR inst) {
+        writeHeader(LSHR, inst);
+    }
+
+    public void visitLSTORE(LSTORE inst) {
+        writeHeader(LSTORE, inst);
+        writeInt(inst.var);
+    }
+
+    public void visitLSUB(LSUB inst) {
+        writeHeader(LSUB, inst);
+    }
+
+    public void visitLUSHR(LUSHR inst) {
+        writeHeader(LUSHR, inst);
+    }
+
+    public void visitLXOR(LXOR inst) {
+        writeHeader(LXOR, inst);
+    }
+
+    public void visitMAKE_SYMBOLIC(MAKE_SYMBOLIC inst) {
+        writeByte(MAKE_SYMBOLIC);
+    }
+
+    public void visitMONITORENTER(MONITORENTER inst) {
+        writeHeader(MONITORENTER, inst);
+    }
+
+    public void visitMONITOREXIT(MONITOREXIT inst) {
+        writeHeader(MONITOREXIT, inst);
+    }
+
+    public void visitMULTIANEWARRAY(MULTIANEWARRAY inst) {
+        writeHeader(MULTIANEWARRAY, inst);
+        writeSymbol(inst.desc);
+        writeInt(inst.dims);
+    }
+
+    public void visitNEW(NEW inst) {
+        writeHeader(NEW, inst);
+        writeSymbol(inst.type);
+        writeInt(inst.cIdx);
+    }
+
+    public void visitNEWARRAY(NEWARRAY inst) {
+        writeHeader(NEWARRAY, inst);
+    }
+
+    public void visitNOP(NOP inst) {
+        writeHeader(NOP, inst);
+    }
+
+    public void visitPOP(POP inst) {
+        writeHeader(POP, inst);
+    }
+
+    public void visitPOP2(POP2 inst) {
+        writeHeader(POP2, inst);
+    }
+
+    public void visitPUTFIELD(PUTFIELD inst) {
+        writeHeader(PUTFIELD, inst);
+        writeInt(inst.cIdx);
+        writeInt(inst.fIdx);
+        writeSymbol(inst.desc);
+    }
+
+    public void visitPUTSTATIC(PUTSTATIC inst) {
+        writeHeader(PUTSTATIC, inst);
+        writeInt(inst.cIdx);
+        writeInt(inst.fIdx);
+        writeSymbol(inst.desc);
+    }
+
+    public void visitRET(RET inst) {
+        writeHeader(RET, inst);
+        writeInt(inst.var);
+    }
+
+    public void visitRETURN(RETURN inst) {
+        writeHeader(RETURN, inst);
+    }
+
+    public void visitSALOAD(SALOAD inst) {
+        writeHeader(SALOAD, inst);
+    }
+
+    public void visitSASTORE(SASTORE inst) {
+        writeHeader(SASTORE, inst);
+    }
+
+    public void visitSIPUSH(SIPUSH inst) {
+        writeHeader(SIPUSH, inst);
+        writeInt(inst.value);
+    }
+
+    public void visitSPECIAL(SPECIAL inst) {
+        writeByte(SPECIAL);
+        writeInt(inst.i);
+    }
+
+    public void visitSWAP(SWAP inst) {
+        writeHeader(SWAP, inst);
+    }
+
+    public void visitTABLESWITCH(TABLESWITCH inst) {
+        writeHeader(TABLESWITCH, inst);
+        writeInt(inst.min);
+        writeInt(inst.max);
+        writeInt(inst.dflt);
+        writeIntArray(inst.labels);
+    }
+}
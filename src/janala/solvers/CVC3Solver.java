@@ -54,6 +54,8 @@ public class CVC3Solver implements Solver {
     LinkedList<InputElement> inputs;
     ArrayList<Constraint> constraints;
     int pathConstraintIndex;
+    Map<String, Long> solution;
+    boolean unsat;
     private final static Logger logger = MyLogger.getLogger(CVC3Solver.class.getName());
     private final static Logger tester = MyLogger.getTestLogger(Config.mainClass+"."+Config.iteration);
 
@@ -75,6 +77,9 @@ public class CVC3Solver implements Solver {
     public void visitSymbolicIntCompare(SymbolicIntCompareConstraint c) {
     }
 
+    public void visitSymbolicArraySelect(SymbolicArraySelect c) {
+    }
+
     public void visitSymbolicOr(SymbolicOrConstraint c) {
     }
 
@@ -207,11 +212,84 @@ public class CVC3Solver implements Solver {
             SymbolicStringPredicate str = (SymbolicStringPredicate) con;
             Constraint intConstraint = str.getFormula(freeVars, type, soln);
             print(intConstraint, out, freeVars, type, soln);
+        } else if (con instanceof SymbolicArraySelect) {
+            printArraySelect((SymbolicArraySelect)con, out, freeVars);
         } else {
             throw new RuntimeException("Unimplemented constraint type "+con);
         }
     }
 
+    /**
+     * Prints the linear expression e, or the constant c if e is null.
+     */
+    static void printLinear(SymbolicInt e, long c, PrintStream out, LinkedHashSet<String> freeVars) {
+        out.print('(');
+        if (e == null) {
+            out.print(c);
+        } else {
+            boolean first2 = true;
+            for ( TIntLongIterator it = e.linear.iterator(); it.hasNext(); ) {
+                it.advance();
+
+                int integer = it.key();
+                freeVars.add("x"+integer);
+                if (first2) {
+                    first2 = false;
+                } else {
+                    out.print(" + ");
+                }
+                out.print('x');
+                out.print(integer);
+                out.print("*(");
+                out.print(it.value());
+                out.print(')');
+            }
+            if (e.constant != 0) {
+                out.print("+(");
+                out.print(e.constant);
+                out.print(')');
+            }
+        }
+        out.print(')');
+    }
+
+    /**
+     * Prints an array select as a bounds check and an IF-THEN-ELSIF chain
+     * with one branch per run of equal elements.
+     */
+    static void printArraySelect(SymbolicArraySelect c, PrintStream out, LinkedHashSet<String> freeVars) {
+        int n = c.length();
+        printLinear(c.subscript, 0, out, freeVars);
+        out.print(" >= 0 AND ");
+        printLinear(c.subscript, 0, out, freeVars);
+        out.print(" < ");
+        out.print(n);
+        out.print(" AND ");
+        printLinear(c.value, c.valueConstant, out, freeVars);
+        out.print(" = ");
+        int i = 0, end = c.runEnd(0);
+        if (end < n - 1) {
+            out.print("(IF ");
+            while (end < n - 1) {
+                printLinear(c.subscript, 0, out, freeVars);
+                out.print(" <= ");
+                out.print(end);
+                out.print(" THEN ");
+                printLinear(c.symbolic[i], c.concrete[i], out, freeVars);
+                i = end + 1;
+                end = c.runEnd(i);
+                if (end < n - 1) {
+                    out.print(" ELSIF ");
+                }
+            }
+            out.print(" ELSE ");
+            printLinear(c.symbolic[i], c.concrete[i], out, freeVars);
+            out.print(" ENDIF)");
+        } else {
+            printLinear(c.symbolic[0], c.concrete[0], out, freeVars);
+        }
+    }
+
     static public void concatFile(LinkedHashSet<String> freeVars, String from, String to, boolean cvc4) throws java.io.IOException {
         PrintStream pw = new PrintStream(new BufferedOutputStream(new FileOutputStream(to)));
 
@@ -345,7 +423,11 @@ public class CVC3Solver implements Solver {
 //    }
 
 
-    private void writeInputs(TreeMap<String, Long> soln) {
+    /**
+     * Writes the next inputs: the value of each input in soln, or its
+     * current value if soln does not mention it.
+     */
+    static void writeInputs(LinkedList<InputElement> inputs, Map<String, Long> soln) {
         try {
             FileUtil.moveFile(Config.instance.inputs, Config.instance.inputs+".bak");
             PrintStream out = new PrintStream(
@@ -484,9 +566,18 @@ public class CVC3Solver implements Solver {
         }
     }
 
+    public Map<String, Long> getSolution() {
+        return solution;
+    }
+
+    public boolean isUnsat() {
+        return unsat;
+    }
+
     public boolean solve() {
         int count = 0, MAX_COUNT = 100;
         String extra = null, negatedSolution, negatedSolution2;
+        unsat = false;
         //console.log("Doing search at "+i+ " with tail "+(tail+1));
         while(count < MAX_COUNT) {
             TreeMap<String, Long> soln = new TreeMap<String, Long>();
@@ -496,7 +587,8 @@ public class CVC3Solver implements Solver {
                 //System.out.println("Solving string constraint: "+count);
                 negatedSolution2 = solve(null, CONSTRAINT_TYPE.STR, soln);
                 if (negatedSolution2 != null) {
-                    writeInputs(soln);
+                    writeInputs(inputs, soln);
+                    solution = soln;
                     tester.log(Level.INFO,"Feasible = true at "+pathConstraintIndex);
                     return true;
                 } else {
@@ -507,6 +599,8 @@ public class CVC3Solver implements Solver {
                     }
                 }
             } else {
+                // no int model is left that the string constraints admit
+                unsat = true;
                 tester.log(Level.INFO,"Feasible = false at "+pathConstraintIndex);
                 return false;
             }
@@ -36,14 +36,13 @@ package janala.solvers;
 import gnu.trove.iterator.TIntLongIterator;
 import janala.config.Config;
 import janala.interpreters.*;
-import janala.interpreters.StringValue;
-import janala.utils.FileUtil;
 import janala.utils.MyLogger;
 
 import java.io.*;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.TreeMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -52,6 +51,8 @@ public class CVC4Solver implements Solver {
     LinkedList<InputElement> inputs;
     ArrayList<Constraint> constraints;
     int pathConstraintIndex;
+    Map<String, Long> solution;
+    boolean unsat;
     private final static Logger logger = MyLogger.getLogger(CVC4Solver.class.getName());
     private final static Logger tester = MyLogger.getTestLogger(Config.mainClass+"."+Config.iteration);
 
@@ -182,6 +183,8 @@ public class CVC4Solver implements Solver {
             SymbolicStringPredicate str = (SymbolicStringPredicate) con;
             Constraint intConstraint = str.getFormula(freeVars, type, soln);
             print(intConstraint, out, freeVars, type, soln);
+        } else if (con instanceof SymbolicArraySelect) {
+            CVC3Solver.printArraySelect((SymbolicArraySelect)con, out, freeVars);
         } else {
             throw new RuntimeException("Unimplemented constraint type "+con);
         }
@@ -220,6 +223,10 @@ public class CVC4Solver implements Solver {
 
     }
 
+    public void visitSymbolicArraySelect(SymbolicArraySelect c) {
+
+    }
+
     public enum RESULT_TYPE {TRUE, FALSE, UNKNOWN};
 
     private boolean quickUnsatCheck(CVC3Solver.CONSTRAINT_TYPE type) {
@@ -287,67 +294,6 @@ public class CVC4Solver implements Solver {
         }
     }
 
-    private void writeInputs(TreeMap<String, Long> soln) {
-        try {
-            FileUtil.moveFile(Config.instance.inputs, Config.instance.inputs + ".bak");
-            PrintStream out = new PrintStream(
-                    new BufferedOutputStream(
-                            new FileOutputStream(Config.instance.inputs)));
-
-            for (InputElement ielem: inputs) {
-                Integer sym = ielem.symbol;
-                Value val = ielem.value;
-                if (sym.intValue() == Config.instance.scopeBeginSymbol) {
-                    out.println(Config.instance.scopeBeginMarker);
-                } else if (sym.intValue() == Config.instance.scopeEndSymbol) {
-                    out.println(Config.instance.scopeEndMarker);
-                } else {
-                    //System.out.println("sym "+sym);
-                    Long l = soln.get("x"+sym);
-                    if (l != null) {
-                        out.println(l);
-                        //System.out.println("l = " + l);
-                    } else {
-                        if (val instanceof StringValue) {
-                            StringValue sval = (StringValue)val;
-                            String old = sval.getConcrete();
-                            IntValue tmp = sval.getSymbolic().getField("length");
-                            int len = (int)(long)tmp.substituteInLinear(soln);
-                            StringBuilder ret = new StringBuilder();
-                            for (int i=0 ; i< len; i++) {
-                                Long v = soln.get("x"+sym+"__"+i);
-
-                                char c;
-                                if (v != null) {
-                                    c = (char)(long)v;
-                                    //System.out.println("--1");
-                                } else if (i < old.length()){
-                                    //System.out.println("--2"+old+" "+old.length());
-                                    c = old.charAt(i);
-                                } else {
-                                    //System.out.println("--3");
-                                    c = 'a';
-                                }
-                                ret.append(c);
-                                //System.out.println("~~~~~~~~~~~~~~~\"" + ret + "\"");
-                            }
-                            out.println(ret);
-                        } else {
-                            out.println(val.getConcrete());
-                        }
-
-                    }
-                }
-            }
-
-            out.close();
-        } catch (IOException ioe) {
-            ioe.printStackTrace();
-            logger.log(Level.SEVERE,"{0}",ioe);
-            Runtime.getRuntime().halt(1);
-        }
-    }
-
     private String processInputs(BufferedReader br, TreeMap<String, Long> soln) {
         String line = null;
         String negatedSolution = null;
@@ -410,16 +356,26 @@ public class CVC4Solver implements Solver {
         }
     }
 
+    public Map<String, Long> getSolution() {
+        return solution;
+    }
+
+    public boolean isUnsat() {
+        return unsat;
+    }
+
     public boolean solve() {
         int count = 0, MAX_COUNT = 100;
         String extra = null, negatedSolution, negatedSolution2;
+        unsat = false;
         while(count < MAX_COUNT) {
             TreeMap<String, Long> soln = new TreeMap<String, Long>();
             negatedSolution = solve(extra, CVC3Solver.CONSTRAINT_TYPE.INT, soln);
             if (negatedSolution != null) {
                 negatedSolution2 = solve(null, CVC3Solver.CONSTRAINT_TYPE.STR, soln);
                 if (negatedSolution2 != null) {
-                    writeInputs(soln);
+                    CVC3Solver.writeInputs(inputs, soln);
+                    solution = soln;
                     tester.log(Level.INFO,"Feasible = true at "+pathConstraintIndex);
                     return true;
                 } else {
@@ -430,6 +386,8 @@ public class CVC4Solver implements Solver {
                     }
                 }
             } else {
+                // no int model is left that the string constraints admit
+                unsat = true;
                 tester.log(Level.INFO,"Feasible = false at "+pathConstraintIndex);
                 return false;
             }
@@ -50,6 +50,7 @@ import java.io.FileOutputStream;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -81,6 +82,14 @@ public class ChocoSolver implements Solver{
         //To change body of implemented methods use File | Settings | File Templates.
     }
 
+    public Map<String, Long> getSolution() {
+        return null;
+    }
+
+    public boolean isUnsat() {
+        return false;
+    }
+
     private Constraint initSolver(Constraint c) {
         if (first) {
             first = false;
@@ -105,6 +114,10 @@ public class ChocoSolver implements Solver{
         throw new RuntimeException("Unimplemented feature");
     }
 
+    public void visitSymbolicArraySelect(SymbolicArraySelect c) {
+        throw new RuntimeException("Unimplemented feature");
+    }
+
     public choco.kernel.model.constraints.Constraint createSymbolicInt(SymbolicInt c) {
         logger.log(Level.INFO,"{0}",c);
         boolean first2 = true;
@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package janala.solvers;
+
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import janala.interpreters.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Rewrites path constraints before they reach a solver.  normalize is
+ * applied to each constraint as it is added to the path: it pushes
+ * negations down to the literals, flattens nested conjunctions and
+ * disjunctions, folds constant subterms and drops duplicates.  simplify
+ * builds the query for flipping one branch: it removes duplicate
+ * conjuncts, merges the bounds on each single variable into an interval
+ * and detects queries that are unsatisfiable without calling a solver.
+ */
+public class ConstraintSimplifier {
+
+    /**
+     * Returns c in negation normal form, with constant and duplicate
+     * subterms removed.  The result is SymbolicTrueConstraint.instance or
+     * SymbolicFalseConstraint.instance if c folds to a constant.
+     */
+    public static Constraint normalize(Constraint c) {
+        if (isEmpty(c)) {
+            return SymbolicTrueConstraint.instance;
+        } else if (c instanceof SymbolicNotConstraint) {
+            return negate(((SymbolicNotConstraint)c).constraint);
+        } else if (c instanceof SymbolicAndConstraint) {
+            ArrayList<Constraint> children = new ArrayList<Constraint>();
+            for (Constraint child : ((SymbolicAndConstraint)c).constraints) {
+                children.add(normalize(child));
+            }
+            return combine(true, children);
+        } else if (c instanceof SymbolicOrConstraint) {
+            ArrayList<Constraint> children = new ArrayList<Constraint>();
+            for (Constraint child : ((SymbolicOrConstraint)c).constraints) {
+                children.add(normalize(child));
+            }
+            return combine(false, children);
+        } else if (c instanceof SymbolicInt) {
+            SymbolicInt i = (SymbolicInt)c;
+            if (i.linear.isEmpty() && i.op != SymbolicInt.COMPARISON_OPS.UN) {
+                return holds(i.constant, i.op) ? SymbolicTrueConstraint.instance : SymbolicFalseConstraint.instance;
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Returns true if c is a conjunction or disjunction without operands.
+     * assumeOrBegin builds one when none of the operands is symbolic; it
+     * constrains nothing, whichever way it is negated.
+     */
+    private static boolean isEmpty(Constraint c) {
+        return (c instanceof SymbolicAndConstraint && ((SymbolicAndConstraint)c).constraints.isEmpty())
+                || (c instanceof SymbolicOrConstraint && ((SymbolicOrConstraint)c).constraints.isEmpty());
+    }
+
+    /**
+     * Returns the normalized negation of c.
+     */
+    private static Constraint negate(Constraint c) {
+        if (isEmpty(c)) {
+            return SymbolicTrueConstraint.instance;
+        } else if (c instanceof SymbolicNotConstraint) {
+            return normalize(((SymbolicNotConstraint)c).constraint);
+        } else if (c instanceof SymbolicAndConstraint || c instanceof SymbolicOrConstraint) {
+            ArrayList<Constraint> children = new ArrayList<Constraint>();
+            Iterable<Constraint> list = c instanceof SymbolicAndConstraint
+                    ? ((SymbolicAndConstraint)c).constraints
+                    : ((SymbolicOrConstraint)c).constraints;
+            for (Constraint child : list) {
+                children.add(negate(child));
+            }
+            return combine(!(c instanceof SymbolicAndConstraint), children);
+        }
+        Constraint ret = c.not();
+        if (ret instanceof SymbolicNotConstraint) {
+            // a literal without a negated form, e.g. an array select
+            return ret;
+        }
+        return normalize(ret);
+    }
+
+    /**
+     * Builds the conjunction (or disjunction) of normalized children.
+     */
+    private static Constraint combine(boolean and, List<Constraint> children) {
+        Constraint unit = and ? SymbolicTrueConstraint.instance : SymbolicFalseConstraint.instance;
+        Constraint zero = and ? SymbolicFalseConstraint.instance : SymbolicTrueConstraint.instance;
+        LinkedHashSet<Constraint> flat = new LinkedHashSet<Constraint>();
+        for (Constraint child : children) {
+            Iterable<Constraint> nested = null;
+            if (and && child instanceof SymbolicAndConstraint) {
+                nested = ((SymbolicAndConstraint)child).constraints;
+            } else if (!and && child instanceof SymbolicOrConstraint) {
+                nested = ((SymbolicOrConstraint)child).constraints;
+            }
+            if (nested != null) {
+                for (Constraint c : nested) {
+                    flat.add(c);
+                }
+            } else if (child == zero) {
+                return zero;
+            } else if (child != unit) {
+                flat.add(child);
+            }
+        }
+        for (Constraint c : flat) {
+            // x and !x, or x or !x
+            if (c instanceof SymbolicInt && flat.contains(c.not())) {
+                return zero;
+            }
+        }
+        if (flat.isEmpty()) {
+            return unit;
+        }
+        Constraint ret = null;
+        for (Constraint c : flat) {
+            if (ret == null) {
+                ret = c;
+            } else if (and) {
+                ret = (ret instanceof SymbolicAndConstraint ? (SymbolicAndConstraint)ret : new SymbolicAndConstraint(ret)).AND(c);
+            } else {
+                ret = (ret instanceof SymbolicOrConstraint ? (SymbolicOrConstraint)ret : new SymbolicOrConstraint(ret)).OR(c);
+            }
+        }
+        return ret;
+    }
+
+    private static boolean holds(long value, SymbolicInt.COMPARISON_OPS op) {
+        switch (op) {
+            case EQ: return value == 0;
+            case NE: return value != 0;
+            case GT: return value > 0;
+            case GE: return value >= 0;
+            case LT: return value < 0;
+            case LE: return value <= 0;
+            default: return false;
+        }
+    }
+
+    /**
+     * The values a single variable may take: lo..hi without excluded.
+     */
+    private static class Interval {
+        final int var;
+        long lo = Long.MIN_VALUE;
+        long hi = Long.MAX_VALUE;
+        boolean empty = false;
+        final TLongArrayList excluded = new TLongArrayList();
+
+        Interval(int var) {
+            this.var = var;
+        }
+
+        /**
+         * Moves the ends past excluded values and returns false if no
+         * value is left.
+         */
+        boolean tighten() {
+            boolean changed = true;
+            while (changed && !empty && lo <= hi) {
+                changed = false;
+                if (excluded.contains(lo)) {
+                    lo++;
+                    changed = true;
+                }
+                if (lo <= hi && excluded.contains(hi)) {
+                    hi--;
+                    changed = true;
+                }
+            }
+            return !empty && lo <= hi;
+        }
+    }
+
+    private static long floorDiv(long x, long y) {
+        long q = x / y;
+        if ((x % y != 0) && ((x < 0) != (y < 0))) {
+            q--;
+        }
+        return q;
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -floorDiv(-x, y);
+    }
+
+    /**
+     * Restricts interval to the values of its variable that satisfy
+     * c = a*x + constant op 0.  Returns false if c cannot be expressed as
+     * an interval, which only happens for NE with a remainder; such a c
+     * holds for every integer x.
+     */
+    private static boolean restrict(Interval interval, SymbolicInt c) {
+        long a = c.linear.get(interval.var);
+        long k = -c.constant;
+        // bring c into the form a*x >= k, a*x <= k, a*x == k or a*x != k
+        SymbolicInt.COMPARISON_OPS op = c.op;
+        if (op == SymbolicInt.COMPARISON_OPS.GT) {
+            op = SymbolicInt.COMPARISON_OPS.GE;
+            k++;
+        } else if (op == SymbolicInt.COMPARISON_OPS.LT) {
+            op = SymbolicInt.COMPARISON_OPS.LE;
+            k--;
+        }
+        if (op == SymbolicInt.COMPARISON_OPS.LE) {
+            op = SymbolicInt.COMPARISON_OPS.GE;
+            a = -a;
+            k = -k;
+        }
+        if (op == SymbolicInt.COMPARISON_OPS.GE) {
+            if (a > 0) {
+                interval.lo = Math.max(interval.lo, ceilDiv(k, a));
+            } else {
+                interval.hi = Math.min(interval.hi, floorDiv(k, a));
+            }
+        } else if (op == SymbolicInt.COMPARISON_OPS.EQ) {
+            if (k % a != 0) {
+                interval.empty = true;
+            } else {
+                interval.lo = Math.max(interval.lo, k / a);
+                interval.hi = Math.min(interval.hi, k / a);
+            }
+        } else {
+            if (k % a != 0) {
+                return false;
+            }
+            interval.excluded.add(k / a);
+        }
+        return true;
+    }
+
+    private static boolean isBound(Constraint c) {
+        if (c instanceof SymbolicInt) {
+            SymbolicInt i = (SymbolicInt)c;
+            return i.linear.size() == 1 && i.op != SymbolicInt.COMPARISON_OPS.UN;
+        }
+        return false;
+    }
+
+    /**
+     * Builds the query for negating pathConstraint[index] under
+     * pathConstraint[0..index-1].  The result holds the simplified prefix
+     * followed by pathConstraint[index], so that a solver negates its
+     * last element as before.  Returns null if the query is
+     * unsatisfiable on its face.
+     */
+    public static ArrayList<Constraint> simplify(List<Constraint> pathConstraint, int index) {
+        LinkedHashSet<Constraint> conjuncts = new LinkedHashSet<Constraint>();
+        for (int i = 0; i < index; i++) {
+            Constraint c = pathConstraint.get(i);
+            if (c instanceof SymbolicAndConstraint) {
+                for (Constraint child : ((SymbolicAndConstraint)c).constraints) {
+                    conjuncts.add(child);
+                }
+            } else if (c == SymbolicFalseConstraint.instance) {
+                return null;
+            } else if (c != SymbolicTrueConstraint.instance) {
+                conjuncts.add(c);
+            }
+        }
+        Constraint last = pathConstraint.get(index);
+        Constraint goal = negate(last);
+        if (goal == SymbolicFalseConstraint.instance || conjuncts.contains(last)) {
+            return null;
+        }
+
+        // the position of an Interval in out is that of the first bound
+        // on its variable
+        ArrayList<Object> out = new ArrayList<Object>();
+        TIntObjectHashMap<Interval> intervals = new TIntObjectHashMap<Interval>();
+        for (Constraint c : conjuncts) {
+            if (isBound(c)) {
+                int var = ((SymbolicInt)c).linear.keys()[0];
+                Interval interval = intervals.get(var);
+                if (interval == null) {
+                    interval = new Interval(var);
+                    intervals.put(var, interval);
+                    out.add(interval);
+                }
+                restrict(interval, (SymbolicInt)c);
+            } else {
+                out.add(c);
+            }
+        }
+        for (Object o : out) {
+            if (o instanceof Interval && !((Interval)o).tighten()) {
+                return null;
+            }
+        }
+        if (isBound(goal)) {
+            SymbolicInt g = (SymbolicInt)goal;
+            Interval interval = intervals.get(g.linear.keys()[0]);
+            if (interval != null && g.op != SymbolicInt.COMPARISON_OPS.NE) {
+                Interval tmp = new Interval(interval.var);
+                tmp.lo = interval.lo;
+                tmp.hi = interval.hi;
+                tmp.empty = interval.empty;
+                tmp.excluded.addAll(interval.excluded);
+                restrict(tmp, g);
+                if (!tmp.tighten()) {
+                    return null;
+                }
+            } else if (interval != null && interval.lo == interval.hi) {
+                // x != v under x == v
+                Interval tmp = new Interval(interval.var);
+                if (restrict(tmp, g) && tmp.excluded.contains(interval.lo)) {
+                    return null;
+                }
+            }
+        }
+
+        ArrayList<Constraint> ret = new ArrayList<Constraint>(out.size() + 1);
+        for (Object o : out) {
+            if (o instanceof Interval) {
+                Interval interval = (Interval)o;
+                SymbolicInt x = new SymbolicInt(interval.var);
+                if (interval.lo == interval.hi) {
+                    ret.add(x.subtract(interval.lo).setop(SymbolicInt.COMPARISON_OPS.EQ));
+                    continue;
+                }
+                if (interval.lo != Long.MIN_VALUE) {
+                    ret.add(x.subtract(interval.lo).setop(SymbolicInt.COMPARISON_OPS.GE));
+                }
+                if (interval.hi != Long.MAX_VALUE) {
+                    ret.add(x.subtract(interval.hi).setop(SymbolicInt.COMPARISON_OPS.LE));
+                }
+                for (int i = 0; i < interval.excluded.size(); i++) {
+                    long v = interval.excluded.get(i);
+                    if (interval.lo < v && v < interval.hi) {
+                        ret.add(x.subtract(v).setop(SymbolicInt.COMPARISON_OPS.NE));
+                    }
+                }
+            } else {
+                ret.add((Constraint)o);
+            }
+        }
+        ret.add(last);
+        return ret;
+    }
+}
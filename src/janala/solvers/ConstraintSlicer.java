@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package janala.solvers;
+
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.set.hash.TIntHashSet;
+import janala.interpreters.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the input symbols of a path into independent classes, with a
+ * union-find that is updated as constraints are appended to the path.
+ * slice keeps only the part of a query that shares symbols, directly or
+ * transitively, with the branch being negated; inputs outside it keep
+ * their concrete values.
+ *
+ * Classes are never split again: a constraint removed from the path
+ * leaves its unions behind, which only makes slices larger.
+ */
+public class ConstraintSlicer {
+    private final TIntIntHashMap parent = new TIntIntHashMap();
+    // false once a constraint whose symbols are not known has been added
+    private boolean sliceable = true;
+
+    private int find(int x) {
+        int root = x;
+        while (parent.containsKey(root)) {
+            root = parent.get(root);
+        }
+        while (x != root) {
+            int next = parent.get(x);
+            parent.put(x, root);
+            x = next;
+        }
+        return root;
+    }
+
+    private void union(int x, int y) {
+        x = find(x);
+        y = find(y);
+        if (x != y) {
+            parent.put(x, y);
+        }
+    }
+
+    /**
+     * Adds the input symbols of c to symbols and returns true, or returns
+     * false if they cannot be determined.
+     */
+    static boolean collectSymbols(Constraint c, TIntHashSet symbols) {
+        if (c instanceof SymbolicInt) {
+            symbols.addAll(((SymbolicInt)c).linear.keys());
+        } else if (c instanceof SymbolicAndConstraint) {
+            for (Constraint child : ((SymbolicAndConstraint)c).constraints) {
+                if (!collectSymbols(child, symbols)) return false;
+            }
+        } else if (c instanceof SymbolicOrConstraint) {
+            for (Constraint child : ((SymbolicOrConstraint)c).constraints) {
+                if (!collectSymbols(child, symbols)) return false;
+            }
+        } else if (c instanceof SymbolicNotConstraint) {
+            return collectSymbols(((SymbolicNotConstraint)c).constraint, symbols);
+        } else if (c instanceof SymbolicStringPredicate) {
+            ((SymbolicStringPredicate)c).collectSymbols(symbols);
+        } else if (c instanceof SymbolicArraySelect) {
+            SymbolicArraySelect select = (SymbolicArraySelect)c;
+            symbols.addAll(select.subscript.linear.keys());
+            if (select.value != null) {
+                symbols.addAll(select.value.linear.keys());
+            }
+            for (SymbolicInt e : select.symbolic) {
+                if (e != null) {
+                    symbols.addAll(e.linear.keys());
+                }
+            }
+        } else if (!(c instanceof SymbolicTrueConstraint) && !(c instanceof SymbolicFalseConstraint)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Merges the classes of the symbols of c.
+     */
+    public void add(Constraint c) {
+        if (!sliceable) {
+            return;
+        }
+        TIntHashSet symbols = new TIntHashSet();
+        if (!collectSymbols(c, symbols)) {
+            sliceable = false;
+            parent.clear();
+            return;
+        }
+        TIntIterator it = symbols.iterator();
+        if (it.hasNext()) {
+            int first = it.next();
+            while (it.hasNext()) {
+                union(first, it.next());
+            }
+        }
+    }
+
+    /**
+     * Returns the constraints of query[0..index-1] that share a class with
+     * query[index], followed by query[index].
+     */
+    public ArrayList<Constraint> slice(List<Constraint> query, int index) {
+        ArrayList<Constraint> ret = new ArrayList<Constraint>(index + 1);
+        Constraint last = query.get(index);
+        TIntHashSet symbols = new TIntHashSet();
+        if (!sliceable || !collectSymbols(last, symbols)) {
+            ret.addAll(query.subList(0, index + 1));
+            return ret;
+        }
+        TIntHashSet roots = new TIntHashSet();
+        for (TIntIterator it = symbols.iterator(); it.hasNext(); ) {
+            roots.add(find(it.next()));
+        }
+        for (int i = 0; i < index; i++) {
+            Constraint c = query.get(i);
+            symbols.clear();
+            if (!collectSymbols(c, symbols) || symbols.isEmpty()) {
+                ret.add(c);
+                continue;
+            }
+            for (TIntIterator it = symbols.iterator(); it.hasNext(); ) {
+                if (roots.contains(find(it.next()))) {
+                    ret.add(c);
+                    break;
+                }
+            }
+        }
+        ret.add(last);
+        return ret;
+    }
+}
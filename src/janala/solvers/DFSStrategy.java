@@ -68,15 +68,28 @@ public class DFSStrategy extends Strategy {
         return dfs(history, j, to, solver);
     }
 
+    protected boolean isCandidate(int i, BranchElement current) {
+        return !current.done && current.pathConstraintIndex != -1;
+    }
+
+    /**
+     * Called when the other side of the branch at i is proven unsatisfiable.
+     */
+    protected void unsat(int i, BranchElement current) {
+    }
+
     private int dfs(ArrayList<Element> history, int from, int to, History solver) {
         for (int i=from; i > to; i--) {
             Element tmp = history.get(i);
             if (tmp instanceof BranchElement) {
                 BranchElement current = (BranchElement) tmp;
-                if (!current.done && current.pathConstraintIndex != -1) {
+                if (isCandidate(i, current)) {
                     if (solver.solveAt(current.pathConstraintIndex)) {
                         return i;
                     }
+                    if (solver.isUnsat()) {
+                        unsat(i, current);
+                    }
                 }
             }
         }
@@ -40,9 +40,17 @@ import java.io.Serializable;
  * Date: 6/22/12
  * Time: 2:28 PM
  */
-public class Element implements Serializable {
+public class Element implements Serializable, Cloneable {
     int iid;
 
+    public Element copy() {
+        try {
+            return (Element)super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public boolean isInvalidScopeBegin() {
         return false;
     }
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.solvers;
+
+import janala.utils.MyLogger;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The tree of all paths seen so far in a campaign.  A node stands for one
+ * branch instance; its children are keyed by the direction taken and by the
+ * iid of the next branch.  For each direction a node remembers whether that
+ * side is still pending, has been explored, was proven unsat, made the
+ * execution diverge from the prediction, or is closed because the branch
+ * was marked done, as for assumptions and concrete branches.  Unlike the history list, the tree
+ * survives from one execution to the next.
+ */
+public class ExecutionTree implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final byte PENDING = 0;
+    public static final byte EXPLORED = 1;
+    public static final byte UNSAT = 2;
+    public static final byte DIVERGED = 3;
+    public static final byte CLOSED = 4;
+
+    private final static Logger logger = MyLogger.getLogger(ExecutionTree.class.getName());
+
+    public static class Node {
+        final int iid;
+        final byte[] status = new byte[2];
+        final Node[] next = new Node[2];
+        // next node with the same parent and direction but a different iid
+        Node sibling;
+
+        Node(int iid) {
+            this.iid = iid;
+        }
+    }
+
+    // serialized by writeObject, which does not recurse along paths
+    private transient Node root = new Node(-1);
+    private transient Node target;
+    private boolean targetSide;
+
+    private static int side(boolean branch) {
+        return branch ? 1 : 0;
+    }
+
+    private Node child(Node parent, int dir, int iid) {
+        Node n = parent.next[dir];
+        while (n != null && n.iid != iid) {
+            n = n.sibling;
+        }
+        if (n == null) {
+            n = new Node(iid);
+            n.sibling = parent.next[dir];
+            parent.next[dir] = n;
+        }
+        return n;
+    }
+
+    /**
+     * Adds the path of the first historySize elements of history to the
+     * tree and marks the directions it took as explored.  The other side of
+     * a branch marked done is closed unless it was already seen.  Returns
+     * the node of every branch element, indexed like history.
+     */
+    public Node[] record(ArrayList<Element> history, int historySize) {
+        Node[] ret = new Node[historySize];
+        Node parent = root;
+        int dir = 0;
+        for (int i = 0; i < historySize; i++) {
+            Element tmp = history.get(i);
+            if (tmp instanceof BranchElement) {
+                BranchElement current = (BranchElement) tmp;
+                Node n = child(parent, dir, current.iid);
+                dir = side(current.branch);
+                n.status[dir] = EXPLORED;
+                if (current.done && n.status[1-dir] == PENDING) {
+                    n.status[1-dir] = CLOSED;
+                }
+                ret[i] = n;
+                parent = n;
+            }
+        }
+        return ret;
+    }
+
+    public byte getStatus(Node n, boolean branch) {
+        return n.status[side(branch)];
+    }
+
+    public void setStatus(Node n, boolean branch, byte status) {
+        n.status[side(branch)] = status;
+    }
+
+    /**
+     * Remembers the side that the next execution is expected to take.
+     */
+    public void setTarget(Node n, boolean branch) {
+        target = n;
+        targetSide = branch;
+    }
+
+    /**
+     * Called when the execution did not follow the prediction: the side
+     * aimed at is not tried again.
+     */
+    public void targetMissed() {
+        if (target != null && getStatus(target, targetSide) == PENDING) {
+            setStatus(target, targetSide, DIVERGED);
+        }
+        target = null;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        IdentityHashMap<Node, Integer> ids = new IdentityHashMap<Node, Integer>();
+        ArrayList<Node> nodes = new ArrayList<Node>();
+        ids.put(root, 0);
+        nodes.add(root);
+        for (int i = 0; i < nodes.size(); i++) {
+            Node n = nodes.get(i);
+            Node[] links = {n.next[0], n.next[1], n.sibling};
+            for (Node m : links) {
+                if (m != null && !ids.containsKey(m)) {
+                    ids.put(m, nodes.size());
+                    nodes.add(m);
+                }
+            }
+        }
+        out.writeInt(nodes.size());
+        for (Node n : nodes) {
+            out.writeInt(n.iid);
+            out.writeByte(n.status[0]);
+            out.writeByte(n.status[1]);
+            out.writeInt(n.next[0] == null ? -1 : ids.get(n.next[0]));
+            out.writeInt(n.next[1] == null ? -1 : ids.get(n.next[1]));
+            out.writeInt(n.sibling == null ? -1 : ids.get(n.sibling));
+        }
+        out.writeInt(target == null ? -1 : ids.get(target));
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int size = in.readInt();
+        Node[] nodes = new Node[size];
+        int[] links = new int[3 * size];
+        for (int i = 0; i < size; i++) {
+            nodes[i] = new Node(in.readInt());
+            nodes[i].status[0] = in.readByte();
+            nodes[i].status[1] = in.readByte();
+            links[3*i] = in.readInt();
+            links[3*i+1] = in.readInt();
+            links[3*i+2] = in.readInt();
+        }
+        for (int i = 0; i < size; i++) {
+            nodes[i].next[0] = links[3*i] == -1 ? null : nodes[links[3*i]];
+            nodes[i].next[1] = links[3*i+1] == -1 ? null : nodes[links[3*i+1]];
+            nodes[i].sibling = links[3*i+2] == -1 ? null : nodes[links[3*i+2]];
+        }
+        root = nodes[0];
+        int t = in.readInt();
+        target = t == -1 ? null : nodes[t];
+    }
+
+    public static ExecutionTree read(String file) {
+        ObjectInputStream inputStream = null;
+        try {
+            inputStream = new ObjectInputStream(new FileInputStream(file));
+            Object tmp = inputStream.readObject();
+            if (tmp instanceof ExecutionTree) {
+                return (ExecutionTree) tmp;
+            }
+        } catch (Exception e) {
+        } finally {
+            try {
+                if (inputStream != null) {
+                    inputStream.close();
+                }
+            } catch (IOException ex) {
+                logger.log(Level.WARNING, "", ex);
+            }
+        }
+        return new ExecutionTree();
+    }
+
+    public void write(String file) {
+        ObjectOutputStream outputStream;
+        try {
+            outputStream = new ObjectOutputStream(new FileOutputStream(file));
+            outputStream.writeObject(this);
+            outputStream.close();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "", e);
+            System.exit(1);
+        }
+    }
+}
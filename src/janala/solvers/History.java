@@ -33,6 +33,7 @@
 
 package janala.solvers;
 
+import gnu.trove.list.array.TIntArrayList;
 import janala.config.Config;
 import janala.csit6910.InputCollector;
 import janala.interpreters.*;
@@ -42,7 +43,9 @@ import janala.utils.MyLogger;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Stack;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -55,12 +58,33 @@ import java.util.logging.Logger;
 public class History {
     private ArrayList<Element> history;
     private ArrayList<Constraint> pathConstraint;
+    // the iid and history index at which each path constraint was added;
+    // constraints are shared, so they cannot carry these themselves
+    private TIntArrayList pathConstraintIids;
+    private TIntArrayList pathConstraintIndices;
+    private ConstraintSlicer slicer = new ConstraintSlicer();
     private int index;
     private Solver solver;
     private final static Logger logger = MyLogger.getLogger(History.class.getName());
     private final static Logger tester = MyLogger.getTestLogger(Config.mainClass+"."+Config.iteration);
     private boolean ignore;
     private boolean predictionFailed = false;
+    private final static String BACKTRACK_FLAG = "backtrackFlag";
+
+    // set when the history is handed from one execution to the next in
+    // memory instead of through Config.instance.history
+    private boolean keepInMemory = false;
+    private ArrayList<Element> initialHistory;
+    private ArrayList<Element> previousHistory;
+    private ArrayList<Element> nextHistory;
+    private ExecutionTree tree;
+    private SolverCache cache;
+    // queries answered by ConstraintSimplifier or the cache without
+    // calling the solver
+    private int trivialQueries = 0;
+    private int cachedQueries = 0;
+    private int queries = 0;
+    private boolean unsat;
 
     private LinkedList<InputElement> inputs;
 //    private ArrayList<Value> inputs;
@@ -71,6 +95,8 @@ public class History {
     private History(Solver solver) {
         history = new ArrayList<Element>(1024);
         pathConstraint = new ArrayList<Constraint>(1024);
+        pathConstraintIids = new TIntArrayList(1024);
+        pathConstraintIndices = new TIntArrayList(1024);
         inputs = new LinkedList<InputElement>();
         index = 0;
         this.solver = solver;
@@ -110,65 +136,67 @@ public class History {
     }
 
     public static void createBackTrackHistory(int skipIndex) {
-        ObjectInputStream inputStream = null;
-        ArrayList<Element> history;
-        System.out.println("back up history begin");
-        try {
-            inputStream = new ObjectInputStream(new FileInputStream(Config.instance.history));
-            Object tmp = inputStream.readObject();
-            System.out.println("back up history 2");
-            if (tmp instanceof ArrayList) {
-                history = (ArrayList)tmp;
-                ((BranchElement)history.get(skipIndex)).done = true; 
-                System.out.println("back up history 3");
-                ObjectOutputStream outputStream;
-                try {
-                    outputStream = new ObjectOutputStream(new FileOutputStream(Config.instance.history+".bak"));
-                    outputStream.writeObject(history);
-                    outputStream.close();
-                    System.out.println("backed up history");
-        
-                } catch (IOException e) {
-                    logger.log(Level.SEVERE, "", e);
-                    System.out.println("back up history 5" + e);
-                    e.printStackTrace();
-                    System.exit(1);
-                }                
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("back up history 4"+e);
-
-        } finally {
-            try {
-                if (inputStream != null) {
-                    inputStream.close();
-                }
-            } catch (IOException ex) {
-                logger.log(Level.WARNING, "", ex);
-            }
+        if (!FileUtil.exists(Config.instance.history)) {
+            return;
         }
+        FileUtil.copyFile(Config.instance.history, Config.instance.history+".bak");
+        PackedHistory.setDone(Config.instance.history+".bak", skipIndex);
+        System.out.println("backed up history");
     }
 
     public static History readHistory(Solver solver) {
-        ObjectInputStream inputStream = null;
         History ret = new History(solver);
+        PackedHistory packed = PackedHistory.read(Config.instance.history);
+        if (packed != null) {
+            ret.history = packed.toList();
+        }
+        return ret;
+    }
 
-        try {
-            inputStream = new ObjectInputStream(new FileInputStream(Config.instance.history));
-            Object tmp = inputStream.readObject();
-            if (tmp instanceof ArrayList) {
-                ret.history = (ArrayList)tmp;
-            }
-        } catch (Exception e) {
-        } finally {
-            try {
-                if (inputStream != null) {
-                    inputStream.close();
-                }
-            } catch (IOException ex) {
-                logger.log(Level.WARNING, "", ex);
+    /**
+     * Creates an empty history for the first execution of a campaign that
+     * runs all executions in one JVM.
+     */
+    public static History createInMemoryHistory(Solver solver) {
+        History ret = new History(solver);
+        ret.keepInMemory = true;
+        ret.initialHistory = copyOf(ret.history);
+        return ret;
+    }
+
+    /**
+     * Returns the history to replay in the next execution of an in-memory
+     * campaign, or null if the search is over.  Must be called after
+     * solveAndSave.
+     */
+    public History next(Solver solver) {
+        if (nextHistory == null && !FileUtil.exists(BACKTRACK_FLAG)) {
+            return null;
+        }
+        History ret = new History(solver);
+        ret.keepInMemory = true;
+        if (nextHistory != null) {
+            ret.history = nextHistory;
+        }
+        ret.initialHistory = copyOf(ret.history);
+        ret.previousHistory = predictionFailed ? null : initialHistory;
+        ret.tree = tree;
+        ret.cache = cache;
+        return ret;
+    }
+
+    private static ArrayList<Element> copyOf(ArrayList<Element> history) {
+        return copyOf(history, null);
+    }
+
+    private static ArrayList<Element> copyOf(ArrayList<Element> history, Map<Element, Element> origin) {
+        ArrayList<Element> ret = new ArrayList<Element>(history.size());
+        for (Element e : history) {
+            Element c = e.copy();
+            if (origin != null) {
+                origin.put(c, e);
             }
+            ret.add(c);
         }
         return ret;
     }
@@ -276,9 +304,17 @@ public class History {
             history.add(current);
         }
         if (constraint!=null) {
-            constraint.iid = iid;
-            constraint.index = index;
+            constraint = ConstraintSimplifier.normalize(constraint);
+            if (constraint == SymbolicTrueConstraint.instance) {
+                // the other side of the branch is infeasible
+                constraint = null;
+            }
+        }
+        if (constraint!=null) {
+            pathConstraintIids.add(iid);
+            pathConstraintIndices.add(index);
             pathConstraint.add(constraint);
+            slicer.add(constraint);
             current.pathConstraintIndex = pathConstraint.size()-1;
         } else {
             current.pathConstraintIndex = -1;
@@ -292,18 +328,26 @@ public class History {
 
     public void solveAndSave() {
         int i = 0;
-        String file = "backtrackFlag";
+        String file = BACKTRACK_FLAG;
         if (Config.instance.printConstraints) {
             for(Constraint c:pathConstraint) {
-                System.out.println(i+":"+c);
+                System.out.println(i+":"+c+" at iid "+pathConstraintIids.get(i)+" and index "+pathConstraintIndices.get(i));
                 i++;
             }
         }
-        if (predictionFailed) {
+        if (Config.parallelWorker) {
+            solveAndSplit();
+        } else if (predictionFailed) {
+            strategy.predictionFailed(this);
             System.out.println("***********");
             // backtrack
             FileUtil.moveFile(Config.instance.inputs+".bak", Config.instance.inputs);
-            FileUtil.moveFile(Config.instance.history+".bak", Config.instance.history);
+            if (keepInMemory) {
+                // without a backup the history file keeps what was read
+                nextHistory = previousHistory != null ? previousHistory : initialHistory;
+            } else {
+                FileUtil.moveFile(Config.instance.history+".bak", Config.instance.history);
+            }
             FileUtil.touch(file);
         } else {
             if ((i=strategy.solve(history,index,this))>=0) {
@@ -321,21 +365,157 @@ public class History {
                 removeHistory();
             }
         }
+        if (tree != null && !keepInMemory) {
+            tree.write(Config.instance.treeFile);
+        }
+        if (cache != null && !keepInMemory) {
+            cache.write(Config.instance.solverCacheFile);
+        }
         // csit6910 -- collect input goes here
         System.out.println("-------------------------------solveAndSave [" + inputCollector.getClassname() +"]");
         inputCollector.collectInputFile();
     }
 
-    boolean solveAt(int pathConstraintIndex) {
-        solver.setInputs(inputs);
-        solver.setPathConstraint(pathConstraint);
-        solver.setPathConstraintIndex(pathConstraintIndex);
-        for (int i=pathConstraintIndex; i>=0; i--) {
-            pathConstraint.get(i).accept(solver);
+    /**
+     * Used by a worker of a parallel campaign.  Instead of picking one next
+     * input, asks the strategy for every branch of this path that can be
+     * flipped and writes one (inputs.k, history.k) pair per branch.  In each
+     * pair all branches flipped by the other pairs are marked done, so that
+     * the subtrees handed out are disjoint.  A run whose prediction failed
+     * has already been covered by its parent and produces no pairs.
+     */
+    private void solveAndSplit() {
+        if (predictionFailed) {
+            logger.log(Level.INFO, "Prediction failed, dropping this path.");
+            return;
+        }
+        ArrayList<ArrayList<Element>> children = new ArrayList<ArrayList<Element>>();
+        ArrayList<Map<Element, Element>> origins = new ArrayList<Map<Element, Element>>();
+        int i;
+        while (true) {
+            Map<Element, Element> origin = new IdentityHashMap<Element, Element>();
+            ArrayList<Element> work = copyOf(history, origin);
+            if ((i = strategy.solve(work, index, this)) < 0) {
+                break;
+            }
+            if (i != Integer.MAX_VALUE) {
+                flipBranch(work, i);
+            }
+            BranchElement flipped = null;
+            for (Element e : work) {
+                Element o = origin.get(e);
+                if (e instanceof BranchElement && o != null
+                        && ((BranchElement)e).branch != ((BranchElement)o).branch) {
+                    flipped = (BranchElement)o;
+                    break;
+                }
+            }
+            if (flipped == null) {
+                logger.log(Level.SEVERE, "Strategy did not flip a branch.");
+                break;
+            }
+            flipped.done = true;
+            children.add(work);
+            origins.add(origin);
+            FileUtil.copyFile(Config.instance.inputs, Config.instance.inputs + "." + children.size());
         }
+        for (int k = 0; k < children.size(); k++) {
+            ArrayList<Element> child = children.get(k);
+            Map<Element, Element> origin = origins.get(k);
+            for (Element e : child) {
+                Element o = origin.get(e);
+                if (o instanceof BranchElement && ((BranchElement)o).done) {
+                    ((BranchElement)e).done = true;
+                }
+            }
+            writeHistory(child, Config.instance.history + "." + (k+1));
+        }
+        logger.log(Level.INFO, "Split into " + children.size() + " paths.");
+    }
+
+    /**
+     * Returns the execution tree of the campaign, reading it on first use.
+     */
+    public ExecutionTree getExecutionTree() {
+        if (tree == null) {
+            tree = keepInMemory ? new ExecutionTree() : ExecutionTree.read(Config.instance.treeFile);
+        }
+        return tree;
+    }
+
+    /**
+     * Returns the solver cache of the campaign, reading it on first use.
+     */
+    private SolverCache getSolverCache() {
+        if (cache == null) {
+            cache = keepInMemory ? new SolverCache() : SolverCache.read(Config.instance.solverCacheFile);
+        }
+        return cache;
+    }
+
+    boolean solveAt(int pathConstraintIndex) {
+        ArrayList<Constraint> query = slicer.slice(pathConstraint, pathConstraintIndex);
+        query = ConstraintSimplifier.simplify(query, query.size()-1);
         // csit6910 -- trace purpose
         System.out.println("-------------------------------solveAt---1");
-        return solver.solve();
+        return solve(query);
+    }
+
+    /**
+     * Negates the last constraint of query under the others, or returns
+     * false if query is null, i.e. unsatisfiable on its face.  Queries
+     * answered before are taken from the solver cache.
+     */
+    private boolean solve(ArrayList<Constraint> query) {
+        queries++;
+        unsat = true;
+        if (query == null) {
+            trivialQueries++;
+            logger.log(Level.FINE, "Query "+queries+" is unsatisfiable, "+trivialQueries+" answered without the solver");
+            return false;
+        }
+        SolverCache cache = getSolverCache();
+        String[] key = SolverCache.key(query);
+        if (cache.isUnsat(key)) {
+            cachedQueries++;
+            logger.log(Level.FINE, "Query "+queries+" is unsat by the cache, "+cachedQueries+" answered by the cache");
+            return false;
+        }
+        Map<String, Long> model = cache.findModel(key, query);
+        if (model != null) {
+            cachedQueries++;
+            logger.log(Level.FINE, "Query "+queries+" is sat by the cache, "+cachedQueries+" answered by the cache");
+            CVC3Solver.writeInputs(inputs, model);
+            unsat = false;
+            return true;
+        }
+        solver.setInputs(inputs);
+        solver.setPathConstraint(query);
+        solver.setPathConstraintIndex(query.size()-1);
+        for (int i=query.size()-1; i>=0; i--) {
+            query.get(i).accept(solver);
+        }
+        if (solver.solve()) {
+            Map<String, Long> solution = solver.getSolution();
+            if (solution != null) {
+                cache.addModel(key, solution);
+            }
+            unsat = false;
+            return true;
+        }
+        unsat = solver.isUnsat();
+        if (unsat) {
+            cache.addUnsat(key);
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the last query was proven unsatisfiable, as opposed
+     * to failing because the solver gave up.
+     */
+    boolean isUnsat() {
+        return unsat;
     }
 
     private ArrayList<Constraint> collectPathConstraints(int head, int n) {
@@ -370,47 +550,53 @@ public class History {
     }
 
     boolean solveAt(int head, int pathConstraintIndex) {
-        ArrayList<Constraint> pathConstraint;
-        solver.setInputs(inputs);
-        solver.setPathConstraint(pathConstraint = collectPathConstraints(head, pathConstraintIndex));
-        solver.setPathConstraintIndex(pathConstraint.size()-1);
-        for (int i=pathConstraint.size()-1; i>=0; i--) {
-            pathConstraint.get(i).accept(solver);
-        }
+        ArrayList<Constraint> pathConstraint = collectPathConstraints(head, pathConstraintIndex);
+        ArrayList<Constraint> query = slicer.slice(pathConstraint, pathConstraint.size()-1);
+        query = ConstraintSimplifier.simplify(query, query.size()-1);
         // csit6910 -- trace purpose
         System.out.println("-------------------------------solveAt---2");
-        return solver.solve();
+        return solve(query);
     }
 
     private void removeHistory() {
+        if (keepInMemory) {
+            nextHistory = null;
+            logger.log(Level.INFO, "Done with search.");
+            return;
+        }
         File f = new File(Config.instance.history);
         f.delete();
         logger.log(Level.INFO, "Done with search.");
     }
 
+    private static void flipBranch(ArrayList<Element> history, int i) {
+        BranchElement current = (BranchElement)history.get(i);
+        current.done = true;
+        current.branch = !current.branch;
+        int len = history.size();
+        for (int j=len-1; j>i; j--) {
+            history.remove(j);
+        }
+    }
+
     private void writeHistory(int i) {
         if (i != Integer.MAX_VALUE) {
-            BranchElement current = (BranchElement)history.get(i);
-            current.done = true;
-            current.branch = !current.branch;
-            int len = history.size();
-            for (int j=len-1; j>i; j--) {
-                history.remove(j);
-            }
+            flipBranch(history, i);
         }
-        FileUtil.moveFile(Config.instance.history, Config.instance.history+".bak");
-
-        ObjectOutputStream outputStream;
-        try {
-            outputStream = new ObjectOutputStream(new FileOutputStream(Config.instance.history));
-            outputStream.writeObject(history);
-            outputStream.close();
-
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "", e);
-            System.exit(1);
+        if (keepInMemory) {
+            nextHistory = history;
+            return;
+        }
+        if (FileUtil.exists(Config.instance.history)) {
+            FileUtil.copyFile(Config.instance.history, Config.instance.history+".bak");
+        } else {
+            FileUtil.remove(Config.instance.history+".bak");
         }
+        writeHistory(history, Config.instance.history);
+    }
 
+    private static void writeHistory(ArrayList<Element> history, String file) {
+        PackedHistory.pack(history).write(file);
     }
 
     public void setLastBranchDone() {
@@ -425,6 +611,8 @@ public class History {
         Constraint ret = null;
         if (current.pathConstraintIndex!=-1) {
             ret =  pathConstraint.remove(pathConstraint.size()-1);
+            pathConstraintIids.removeAt(pathConstraintIids.size()-1);
+            pathConstraintIndices.removeAt(pathConstraintIndices.size()-1);
         }
         if (index<=history.size()-1) {
             history.remove(index);
@@ -0,0 +1,790 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package janala.solvers;
+
+import gnu.trove.iterator.TIntLongIterator;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntLongHashMap;
+import janala.config.Config;
+import janala.interpreters.*;
+import janala.utils.MyLogger;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Decides linear integer path constraints in this JVM, without writing a
+ * formula or starting a process.  The query is turned into bounds on the
+ * inputs and on one slack variable per linear form, and checked with the
+ * simplex method of Dutertre and de Moura; integrality is recovered by
+ * branch and bound and disjunctions by case splitting.  Queries with
+ * string predicates, or on which the search gives up, are handed to
+ * Config.instance.getFallbackSolver().
+ */
+public class LinearSolver implements Solver {
+    private final static Logger logger = MyLogger.getLogger(LinearSolver.class.getName());
+    private final static Logger tester = MyLogger.getTestLogger(Config.mainClass+"."+Config.iteration);
+
+    // case splits and branch and bound nodes per query
+    private static final int MAX_NODES = 10000;
+    // nested branch and bound splits; unbounded problems can branch forever
+    private static final int MAX_DEPTH = 200;
+    // pivots per simplex check
+    private static final int MAX_PIVOTS = 10000;
+
+    private static final int SAT = 0;
+    private static final int UNSAT = 1;
+    private static final int UNKNOWN = 2;
+
+    LinkedList<InputElement> inputs;
+    ArrayList<Constraint> constraints;
+    int pathConstraintIndex;
+    Map<String, Long> solution;
+    boolean unsat;
+    private Solver fallback;
+
+    public void setInputs(LinkedList<InputElement> inputs) {
+        this.inputs = inputs;
+    }
+
+    public void setPathConstraint(ArrayList<Constraint> pathConstraint) {
+        this.constraints = pathConstraint;
+    }
+
+    public void setPathConstraintIndex(int pathConstraintIndex) {
+        this.pathConstraintIndex = pathConstraintIndex;
+    }
+
+    public Map<String, Long> getSolution() {
+        return solution;
+    }
+
+    public boolean isUnsat() {
+        return unsat;
+    }
+
+    public void visitSymbolicInt(SymbolicInt c) {
+    }
+
+    public void visitSymbolicOr(SymbolicOrConstraint c) {
+    }
+
+    public void visitSymbolicStringPredicate(SymbolicStringPredicate c) {
+    }
+
+    public void visitSymbolicAnd(SymbolicAndConstraint c) {
+    }
+
+    public void visitSymbolicNot(SymbolicNotConstraint c) {
+    }
+
+    public void visitSymbolicTrue(SymbolicTrueConstraint c) {
+    }
+
+    public void visitSymbolicFalse(SymbolicFalseConstraint c) {
+    }
+
+    public void visitSymbolicIntCompare(SymbolicIntCompareConstraint c) {
+    }
+
+    public void visitSymbolicArraySelect(SymbolicArraySelect c) {
+    }
+
+    public boolean solve() {
+        solution = null;
+        unsat = false;
+        Problem problem = new Problem();
+        ArrayList<Node> query = new ArrayList<Node>();
+        boolean supported = true;
+        for (int i = 0; i <= pathConstraintIndex && supported; i++) {
+            Node n = problem.build(constraints.get(i), i == pathConstraintIndex);
+            if (n == null) {
+                supported = false;
+            } else {
+                query.add(n);
+            }
+        }
+        if (supported) {
+            TreeMap<String, Long> soln = new TreeMap<String, Long>();
+            int res = problem.solve(query, soln);
+            if (res == SAT) {
+                CVC3Solver.writeInputs(inputs, soln);
+                solution = soln;
+                tester.log(Level.INFO,"Feasible = true at "+pathConstraintIndex);
+                return true;
+            } else if (res == UNSAT) {
+                unsat = true;
+                tester.log(Level.INFO,"Feasible = false at "+pathConstraintIndex);
+                return false;
+            }
+            logger.log(Level.FINE, "Gave up on the query at "+pathConstraintIndex);
+        }
+        if (fallback == null) {
+            fallback = Config.instance.getFallbackSolver();
+            if (fallback == null) {
+                logger.log(Level.WARNING, "No fallback solver for the query at "+pathConstraintIndex);
+                return false;
+            }
+        }
+        fallback.setInputs(inputs);
+        fallback.setPathConstraint(constraints);
+        fallback.setPathConstraintIndex(pathConstraintIndex);
+        boolean ret = fallback.solve();
+        solution = ret ? fallback.getSolution() : null;
+        unsat = !ret && fallback.isUnsat();
+        return ret;
+    }
+
+    /**
+     * A rational number with BigInteger parts, den > 0.
+     */
+    private static final class Q implements Comparable<Q> {
+        static final Q ZERO = new Q(BigInteger.ZERO, BigInteger.ONE);
+        static final Q ONE = new Q(BigInteger.ONE, BigInteger.ONE);
+
+        final BigInteger num;
+        final BigInteger den;
+
+        private Q(BigInteger num, BigInteger den) {
+            this.num = num;
+            this.den = den;
+        }
+
+        static Q of(long l) {
+            return l == 0 ? ZERO : new Q(BigInteger.valueOf(l), BigInteger.ONE);
+        }
+
+        static Q of(BigInteger num, BigInteger den) {
+            if (den.signum() < 0) {
+                num = num.negate();
+                den = den.negate();
+            }
+            BigInteger g = num.gcd(den);
+            if (!g.equals(BigInteger.ONE)) {
+                num = num.divide(g);
+                den = den.divide(g);
+            }
+            return new Q(num, den);
+        }
+
+        Q add(Q o) {
+            if (den.equals(BigInteger.ONE) && o.den.equals(BigInteger.ONE)) {
+                return new Q(num.add(o.num), BigInteger.ONE);
+            }
+            return of(num.multiply(o.den).add(o.num.multiply(den)), den.multiply(o.den));
+        }
+
+        Q subtract(Q o) {
+            return add(o.negate());
+        }
+
+        Q multiply(Q o) {
+            return of(num.multiply(o.num), den.multiply(o.den));
+        }
+
+        Q divide(Q o) {
+            return of(num.multiply(o.den), den.multiply(o.num));
+        }
+
+        Q negate() {
+            return new Q(num.negate(), den);
+        }
+
+        int signum() {
+            return num.signum();
+        }
+
+        boolean isInteger() {
+            return den.equals(BigInteger.ONE);
+        }
+
+        Q floor() {
+            BigInteger[] qr = num.divideAndRemainder(den);
+            BigInteger q = qr[0];
+            if (qr[1].signum() < 0) {
+                q = q.subtract(BigInteger.ONE);
+            }
+            return new Q(q, BigInteger.ONE);
+        }
+
+        Q ceil() {
+            return negate().floor().negate();
+        }
+
+        public int compareTo(Q o) {
+            return num.multiply(o.den).compareTo(o.num.multiply(den));
+        }
+
+        @Override
+        public String toString() {
+            return isInteger() ? num.toString() : num + "/" + den;
+        }
+    }
+
+    private static abstract class Node {
+    }
+
+    private static final class Const extends Node {
+        static final Const TRUE = new Const();
+        static final Const FALSE = new Const();
+    }
+
+    /**
+     * var <= bound, var >= bound or var == bound.
+     */
+    private static final class Atom extends Node {
+        static final int LE = 0;
+        static final int GE = 1;
+        static final int EQ = 2;
+
+        final int var;
+        final int kind;
+        final long bound;
+
+        Atom(int var, int kind, long bound) {
+            this.var = var;
+            this.kind = kind;
+            this.bound = bound;
+        }
+    }
+
+    private static final class And extends Node {
+        final ArrayList<Node> children = new ArrayList<Node>();
+    }
+
+    private static final class Or extends Node {
+        final ArrayList<Node> children = new ArrayList<Node>();
+    }
+
+    /**
+     * A linear expression lin + constant.
+     */
+    private static final class Linear {
+        final TIntLongHashMap lin = new TIntLongHashMap();
+        long constant;
+
+        Linear(SymbolicInt e, long c) {
+            if (e == null) {
+                constant = c;
+            } else {
+                for (TIntLongIterator it = e.linear.iterator(); it.hasNext(); ) {
+                    it.advance();
+                    lin.put(it.key(), it.value());
+                }
+                constant = e.constant;
+            }
+        }
+
+        Linear subtract(Linear o) {
+            Linear ret = new Linear(null, constant - o.constant);
+            ret.lin.putAll(lin);
+            for (TIntLongIterator it = o.lin.iterator(); it.hasNext(); ) {
+                it.advance();
+                long v = ret.lin.get(it.key()) - it.value();
+                if (v == 0) {
+                    ret.lin.remove(it.key());
+                } else {
+                    ret.lin.put(it.key(), v);
+                }
+            }
+            return ret;
+        }
+    }
+
+    private static long gcd(long a, long b) {
+        a = Math.abs(a);
+        b = Math.abs(b);
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    private static long floorDiv(long x, long y) {
+        long q = x / y;
+        if ((x % y != 0) && ((x < 0) != (y < 0))) {
+            q--;
+        }
+        return q;
+    }
+
+    /**
+     * The variables, slack rows and simplex state of one query.  Inputs
+     * x<i> and slack variables share one index space; slack variables
+     * start out basic, each defined by its row.
+     */
+    private static final class Problem {
+        // input symbol of each input variable index
+        final ArrayList<Integer> symbols = new ArrayList<Integer>();
+        final TIntIntHashMap inputIndex = new TIntIntHashMap();
+        // slack variable index of each canonical linear form
+        final HashMap<String, Integer> slackIndex = new HashMap<String, Integer>();
+        // the forms, as parallel input indices and coefficients
+        final ArrayList<int[]> slackVars = new ArrayList<int[]>();
+        final ArrayList<long[]> slackCoeffs = new ArrayList<long[]>();
+
+        int n;
+        // a[r][j]: coefficient of non-basic j in the row of basic[r]; null is 0
+        Q[][] a;
+        int[] basic;
+        int[] rowOf;
+        Q[] value;
+        Q[] lower;
+        Q[] upper;
+        int nodes;
+
+        private int input(int symbol) {
+            if (inputIndex.containsKey(symbol)) {
+                return inputIndex.get(symbol);
+            }
+            int ret = symbols.size();
+            symbols.add(symbol);
+            inputIndex.put(symbol, ret);
+            return ret;
+        }
+
+        /**
+         * Returns the node for e op 0, with op one of EQ, NE, LT, LE, GT
+         * and GE.
+         */
+        Node atom(Linear e, SymbolicInt.COMPARISON_OPS op) {
+            long k = -e.constant;
+            int kind;
+            switch (op) {
+                case LT: k--; kind = Atom.LE; break;
+                case LE: kind = Atom.LE; break;
+                case GT: k++; kind = Atom.GE; break;
+                case GE: kind = Atom.GE; break;
+                case EQ: kind = Atom.EQ; break;
+                case NE: {
+                    Or ret = new Or();
+                    ret.children.add(atom(e, SymbolicInt.COMPARISON_OPS.LT));
+                    ret.children.add(atom(e, SymbolicInt.COMPARISON_OPS.GT));
+                    return ret;
+                }
+                default: return null;
+            }
+            int size = e.lin.size();
+            if (size == 0) {
+                boolean holds = kind == Atom.LE ? 0 <= k : kind == Atom.GE ? 0 >= k : k == 0;
+                return holds ? Const.TRUE : Const.FALSE;
+            }
+            // canonical form: by increasing symbol, first coefficient
+            // positive, coefficients without a common divisor
+            int[] vars = e.lin.keys();
+            Arrays.sort(vars);
+            long[] coeffs = new long[size];
+            long g = 0;
+            for (int i = 0; i < size; i++) {
+                coeffs[i] = e.lin.get(vars[i]);
+                g = gcd(g, coeffs[i]);
+            }
+            if (coeffs[0] < 0) {
+                g = -g;
+                k = -k;
+                if (kind != Atom.EQ) {
+                    kind = 1 - kind;
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                coeffs[i] /= g;
+            }
+            g = Math.abs(g);
+            if (kind == Atom.LE) {
+                k = floorDiv(k, g);
+            } else if (kind == Atom.GE) {
+                k = -floorDiv(-k, g);
+            } else if (k % g != 0) {
+                return Const.FALSE;
+            } else {
+                k = k / g;
+            }
+            for (int i = 0; i < size; i++) {
+                vars[i] = input(vars[i]);
+            }
+            if (size == 1) {
+                return new Atom(vars[0], kind, k);
+            }
+            String key = Arrays.toString(vars) + Arrays.toString(coeffs);
+            Integer slack = slackIndex.get(key);
+            if (slack == null) {
+                slack = slackVars.size();
+                slackIndex.put(key, slack);
+                slackVars.add(vars);
+                slackCoeffs.add(coeffs);
+            }
+            // slack indices are shifted past the inputs in solve
+            return new Atom(-1 - slack, kind, k);
+        }
+
+        /**
+         * Returns the node for c, or for its negation, or null if c is not
+         * linear integer arithmetic.
+         */
+        Node build(Constraint c, boolean negate) {
+            if (c instanceof SymbolicTrueConstraint) {
+                return negate ? Const.FALSE : Const.TRUE;
+            } else if (c instanceof SymbolicFalseConstraint) {
+                return negate ? Const.TRUE : Const.FALSE;
+            } else if (c instanceof SymbolicInt) {
+                SymbolicInt i = (SymbolicInt) (negate ? c.not() : c);
+                return atom(new Linear(i, 0), i.op);
+            } else if (c instanceof SymbolicNotConstraint) {
+                return build(((SymbolicNotConstraint) c).constraint, !negate);
+            } else if (c instanceof SymbolicAndConstraint || c instanceof SymbolicOrConstraint) {
+                boolean and = c instanceof SymbolicAndConstraint;
+                ConstraintList list = and
+                        ? ((SymbolicAndConstraint) c).constraints
+                        : ((SymbolicOrConstraint) c).constraints;
+                if (list.isEmpty()) {
+                    // see ConstraintSimplifier.normalize
+                    return Const.TRUE;
+                }
+                Node ret = and != negate ? new And() : new Or();
+                ArrayList<Node> children = ret instanceof And ? ((And) ret).children : ((Or) ret).children;
+                for (Constraint child : list) {
+                    Node n = build(child, negate);
+                    if (n == null) {
+                        return null;
+                    }
+                    children.add(n);
+                }
+                return ret;
+            } else if (c instanceof SymbolicArraySelect) {
+                return select((SymbolicArraySelect) c, negate);
+            }
+            return null;
+        }
+
+        /**
+         * value == element[subscript] is the disjunction over the runs of
+         * equal elements of subscript in run and value == element; its
+         * negation also allows subscript out of bounds.
+         */
+        Node select(SymbolicArraySelect c, boolean negate) {
+            Linear subscript = new Linear(c.subscript, 0);
+            Linear value = new Linear(c.value, c.valueConstant);
+            int length = c.length();
+            Or ret = new Or();
+            if (negate) {
+                ret.children.add(atom(subscript, SymbolicInt.COMPARISON_OPS.LT));
+                Linear tmp = subscript.subtract(new Linear(null, length));
+                ret.children.add(atom(tmp, SymbolicInt.COMPARISON_OPS.GE));
+            }
+            int i = 0;
+            while (i < length) {
+                int end = c.runEnd(i);
+                And run = new And();
+                run.children.add(atom(subscript.subtract(new Linear(null, i)), SymbolicInt.COMPARISON_OPS.GE));
+                run.children.add(atom(subscript.subtract(new Linear(null, end)), SymbolicInt.COMPARISON_OPS.LE));
+                Linear element = new Linear(c.symbolic[i], c.concrete[i]);
+                run.children.add(atom(value.subtract(element),
+                        negate ? SymbolicInt.COMPARISON_OPS.NE : SymbolicInt.COMPARISON_OPS.EQ));
+                ret.children.add(run);
+                i = end + 1;
+            }
+            return ret;
+        }
+
+        /**
+         * Decides the conjunction of query and puts a model into soln.
+         */
+        int solve(List<Node> query, Map<String, Long> soln) {
+            int inputs = symbols.size();
+            int slacks = slackVars.size();
+            n = inputs + slacks;
+            a = new Q[slacks][n];
+            basic = new int[slacks];
+            rowOf = new int[n];
+            Arrays.fill(rowOf, -1);
+            value = new Q[n];
+            Arrays.fill(value, Q.ZERO);
+            lower = new Q[n];
+            upper = new Q[n];
+            for (int r = 0; r < slacks; r++) {
+                int[] vars = slackVars.get(r);
+                long[] coeffs = slackCoeffs.get(r);
+                for (int i = 0; i < vars.length; i++) {
+                    a[r][vars[i]] = Q.of(coeffs[i]);
+                }
+                basic[r] = inputs + r;
+                rowOf[inputs + r] = r;
+            }
+            int res = search(query, new ArrayList<Or>());
+            if (res == SAT) {
+                for (int j = 0; j < inputs; j++) {
+                    BigInteger v = value[j].num;
+                    if (v.bitLength() > 63) {
+                        return UNKNOWN;
+                    }
+                    soln.put("x" + symbols.get(j), v.longValue());
+                }
+            }
+            return res;
+        }
+
+        private int index(Atom atom) {
+            return atom.var >= 0 ? atom.var : symbols.size() - 1 - atom.var;
+        }
+
+        private boolean assertAll(List<Node> nodes, List<Or> pending) {
+            for (Node node : nodes) {
+                if (node == Const.FALSE) {
+                    return false;
+                } else if (node instanceof Atom) {
+                    Atom atom = (Atom) node;
+                    Q bound = Q.of(atom.bound);
+                    int x = index(atom);
+                    if (atom.kind != Atom.GE && !assertUpper(x, bound)) {
+                        return false;
+                    }
+                    if (atom.kind != Atom.LE && !assertLower(x, bound)) {
+                        return false;
+                    }
+                } else if (node instanceof And) {
+                    if (!assertAll(((And) node).children, pending)) {
+                        return false;
+                    }
+                } else if (node instanceof Or) {
+                    pending.add((Or) node);
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Asserts facts, then splits on the pending disjunctions one at a
+         * time.
+         */
+        private int search(List<Node> facts, List<Or> ors) {
+            if (++nodes > MAX_NODES) {
+                return UNKNOWN;
+            }
+            ArrayList<Or> pending = new ArrayList<Or>(ors);
+            if (!assertAll(facts, pending)) {
+                return UNSAT;
+            }
+            int res = check();
+            if (res != SAT) {
+                return res;
+            }
+            if (pending.isEmpty()) {
+                return branchAndBound(0);
+            }
+            Or or = pending.remove(0);
+            boolean unknown = false;
+            for (Node child : or.children) {
+                Q[] savedLower = lower.clone();
+                Q[] savedUpper = upper.clone();
+                res = search(Collections.singletonList(child), pending);
+                if (res == SAT) {
+                    return SAT;
+                }
+                unknown = unknown || res == UNKNOWN;
+                lower = savedLower;
+                upper = savedUpper;
+            }
+            return unknown ? UNKNOWN : UNSAT;
+        }
+
+        private int branchAndBound(int depth) {
+            if (++nodes > MAX_NODES || depth > MAX_DEPTH) {
+                return UNKNOWN;
+            }
+            int res = check();
+            if (res != SAT) {
+                return res;
+            }
+            int x = -1;
+            for (int j = 0; j < symbols.size(); j++) {
+                if (!value[j].isInteger()) {
+                    x = j;
+                    break;
+                }
+            }
+            if (x == -1) {
+                return SAT;
+            }
+            Q v = value[x];
+            boolean unknown = false;
+            for (int side = 0; side < 2; side++) {
+                Q[] savedLower = lower.clone();
+                Q[] savedUpper = upper.clone();
+                if (side == 0 ? assertUpper(x, v.floor()) : assertLower(x, v.ceil())) {
+                    res = branchAndBound(depth + 1);
+                    if (res == SAT) {
+                        return SAT;
+                    }
+                    unknown = unknown || res == UNKNOWN;
+                }
+                lower = savedLower;
+                upper = savedUpper;
+            }
+            return unknown ? UNKNOWN : UNSAT;
+        }
+
+        private boolean assertUpper(int x, Q c) {
+            if (upper[x] != null && upper[x].compareTo(c) <= 0) {
+                return true;
+            }
+            if (lower[x] != null && lower[x].compareTo(c) > 0) {
+                return false;
+            }
+            upper[x] = c;
+            if (rowOf[x] == -1 && value[x].compareTo(c) > 0) {
+                update(x, c);
+            }
+            return true;
+        }
+
+        private boolean assertLower(int x, Q c) {
+            if (lower[x] != null && lower[x].compareTo(c) >= 0) {
+                return true;
+            }
+            if (upper[x] != null && upper[x].compareTo(c) < 0) {
+                return false;
+            }
+            lower[x] = c;
+            if (rowOf[x] == -1 && value[x].compareTo(c) < 0) {
+                update(x, c);
+            }
+            return true;
+        }
+
+        /**
+         * Sets non-basic x to v and the basic variables to match.
+         */
+        private void update(int x, Q v) {
+            Q delta = v.subtract(value[x]);
+            for (int r = 0; r < basic.length; r++) {
+                if (a[r][x] != null) {
+                    value[basic[r]] = value[basic[r]].add(a[r][x].multiply(delta));
+                }
+            }
+            value[x] = v;
+        }
+
+        private boolean canIncrease(int x) {
+            return upper[x] == null || value[x].compareTo(upper[x]) < 0;
+        }
+
+        private boolean canDecrease(int x) {
+            return lower[x] == null || value[x].compareTo(lower[x]) > 0;
+        }
+
+        /**
+         * Moves the basic variables into their bounds, choosing the
+         * smallest candidates (Bland's rule) so that it terminates.
+         */
+        private int check() {
+            for (int pivots = 0; pivots < MAX_PIVOTS; pivots++) {
+                int r = -1;
+                for (int k = 0; k < basic.length; k++) {
+                    int b = basic[k];
+                    if ((r == -1 || b < basic[r])
+                            && ((lower[b] != null && value[b].compareTo(lower[b]) < 0)
+                                || (upper[b] != null && value[b].compareTo(upper[b]) > 0))) {
+                        r = k;
+                    }
+                }
+                if (r == -1) {
+                    return SAT;
+                }
+                int b = basic[r];
+                boolean increase = lower[b] != null && value[b].compareTo(lower[b]) < 0;
+                int j = -1;
+                for (int x = 0; x < n && j == -1; x++) {
+                    Q coeff = a[r][x];
+                    if (coeff == null) {
+                        continue;
+                    }
+                    if ((increase == (coeff.signum() > 0)) ? canIncrease(x) : canDecrease(x)) {
+                        j = x;
+                    }
+                }
+                if (j == -1) {
+                    return UNSAT;
+                }
+                pivotAndUpdate(r, j, increase ? lower[b] : upper[b]);
+            }
+            return UNKNOWN;
+        }
+
+        /**
+         * Sets basic[r] to v by moving non-basic j, then swaps the two.
+         */
+        private void pivotAndUpdate(int r, int j, Q v) {
+            int b = basic[r];
+            Q theta = v.subtract(value[b]).divide(a[r][j]);
+            value[b] = v;
+            value[j] = value[j].add(theta);
+            for (int k = 0; k < basic.length; k++) {
+                if (k != r && a[k][j] != null) {
+                    value[basic[k]] = value[basic[k]].add(a[k][j].multiply(theta));
+                }
+            }
+            // b = sum a[r][i] x_i becomes x_j = b/a[r][j] - sum a[r][i]/a[r][j] x_i
+            Q[] row = a[r];
+            Q inverse = Q.ONE.divide(row[j]);
+            for (int i = 0; i < n; i++) {
+                if (row[i] != null) {
+                    row[i] = i == j ? null : row[i].negate().multiply(inverse);
+                }
+            }
+            row[b] = inverse;
+            basic[r] = j;
+            rowOf[j] = r;
+            rowOf[b] = -1;
+            for (int k = 0; k < basic.length; k++) {
+                Q c = a[k][j];
+                if (k == r || c == null) {
+                    continue;
+                }
+                a[k][j] = null;
+                for (int i = 0; i < n; i++) {
+                    if (row[i] != null) {
+                        Q sum = a[k][i] == null ? c.multiply(row[i]) : a[k][i].add(c.multiply(row[i]));
+                        a[k][i] = sum.signum() == 0 ? null : sum;
+                    }
+                }
+            }
+        }
+    }
+}
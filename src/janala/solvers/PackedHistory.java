@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.solvers;
+
+import janala.utils.MyLogger;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A history in packed form: the iids and path constraint indices are kept
+ * in parallel int arrays and the boolean fields of the elements in bitsets,
+ * so no object is needed per element.
+ *
+ * On disk a history is a header (magic, version, number of elements)
+ * followed by one fixed size record (iid, path constraint index, flags) per
+ * element.  write() sets the new length of the file first and then maps
+ * it, so only the records from the first one that changed are rewritten.
+ * read() and setDone() use plain channel reads and writes, so no mapping
+ * outlives the calls that resize the file.
+ */
+public class PackedHistory {
+    private final static Logger logger = MyLogger.getLogger(PackedHistory.class.getName());
+
+    private static final int MAGIC = 0x4a484953; // "JHIS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 12;
+    private static final int RECORD_SIZE = 12;
+
+    private static final int METHOD = 1;
+    private static final int BRANCH = 2;
+    private static final int DONE = 4;
+    private static final int FORCE_TRUTH = 8;
+    private static final int BEGIN = 16;
+    private static final int ABSTRACTED = 32;
+    private static final int VALID_EXPANSION = 64;
+
+    private int size;
+    private int[] iids;
+    private int[] constraintIndices;
+    private final BitSet method = new BitSet();
+    private final BitSet branch = new BitSet();
+    private final BitSet done = new BitSet();
+    private final BitSet forceTruth = new BitSet();
+    private final BitSet begin = new BitSet();
+    private final BitSet abstracted = new BitSet();
+    private final BitSet validExpansion = new BitSet();
+
+    public PackedHistory(int capacity) {
+        iids = new int[Math.max(capacity, 16)];
+        constraintIndices = new int[iids.length];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void append(Element e) {
+        if (size == iids.length) {
+            int[] tmp = new int[2 * size];
+            System.arraycopy(iids, 0, tmp, 0, size);
+            iids = tmp;
+            tmp = new int[2 * size];
+            System.arraycopy(constraintIndices, 0, tmp, 0, size);
+            constraintIndices = tmp;
+        }
+        iids[size] = e.iid;
+        if (e instanceof BranchElement) {
+            BranchElement b = (BranchElement) e;
+            constraintIndices[size] = b.pathConstraintIndex;
+            branch.set(size, b.branch);
+            done.set(size, b.done);
+            forceTruth.set(size, b.isForceTruth);
+        } else {
+            MethodElement m = (MethodElement) e;
+            constraintIndices[size] = -1;
+            method.set(size);
+            begin.set(size, m.isBegin);
+            abstracted.set(size, m.isAbstracted);
+            validExpansion.set(size, m.isValidExpansion);
+        }
+        size++;
+    }
+
+    public Element get(int i) {
+        if (method.get(i)) {
+            MethodElement m = new MethodElement(begin.get(i), iids[i]);
+            m.isAbstracted = abstracted.get(i);
+            m.isValidExpansion = validExpansion.get(i);
+            return m;
+        }
+        BranchElement b = new BranchElement(branch.get(i), done.get(i), constraintIndices[i], iids[i]);
+        b.isForceTruth = forceTruth.get(i);
+        return b;
+    }
+
+    public static PackedHistory pack(ArrayList<Element> history) {
+        PackedHistory ret = new PackedHistory(history.size());
+        for (Element e : history) {
+            ret.append(e);
+        }
+        return ret;
+    }
+
+    public ArrayList<Element> toList() {
+        ArrayList<Element> ret = new ArrayList<Element>(Math.max(size, 1024));
+        for (int i = 0; i < size; i++) {
+            ret.add(get(i));
+        }
+        return ret;
+    }
+
+    private int flags(int i) {
+        int ret = 0;
+        if (method.get(i)) ret |= METHOD;
+        if (branch.get(i)) ret |= BRANCH;
+        if (done.get(i)) ret |= DONE;
+        if (forceTruth.get(i)) ret |= FORCE_TRUTH;
+        if (begin.get(i)) ret |= BEGIN;
+        if (abstracted.get(i)) ret |= ABSTRACTED;
+        if (validExpansion.get(i)) ret |= VALID_EXPANSION;
+        return ret;
+    }
+
+    private void setFlags(int i, int flags) {
+        method.set(i, (flags & METHOD) != 0);
+        branch.set(i, (flags & BRANCH) != 0);
+        done.set(i, (flags & DONE) != 0);
+        forceTruth.set(i, (flags & FORCE_TRUTH) != 0);
+        begin.set(i, (flags & BEGIN) != 0);
+        abstracted.set(i, (flags & ABSTRACTED) != 0);
+        validExpansion.set(i, (flags & VALID_EXPANSION) != 0);
+    }
+
+    private static int storedSize(ByteBuffer buf, long length) {
+        if (length < HEADER_SIZE || buf.getInt(0) != MAGIC) {
+            return -1;
+        }
+        if (buf.getInt(4) != VERSION) {
+            logger.log(Level.WARNING, "Unknown history version " + buf.getInt(4));
+            return -1;
+        }
+        int ret = buf.getInt(8);
+        if (HEADER_SIZE + (long) ret * RECORD_SIZE > length) {
+            return -1;
+        }
+        return ret;
+    }
+
+    private static ByteBuffer readAt(FileChannel ch, long position, int n) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(n);
+        while (buf.hasRemaining()) {
+            if (ch.read(buf, position + buf.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        buf.flip();
+        return buf;
+    }
+
+    /**
+     * Returns the history stored in file, or null if there is none.
+     */
+    public static PackedHistory read(String file) {
+        if (!new File(file).exists()) {
+            return null;
+        }
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            FileChannel ch = raf.getChannel();
+            long length = ch.size();
+            ByteBuffer buf = readAt(ch, 0, (int) length);
+            int n = storedSize(buf, length);
+            if (n < 0) {
+                return null;
+            }
+            PackedHistory ret = new PackedHistory(n);
+            for (int i = 0; i < n; i++) {
+                int off = HEADER_SIZE + i * RECORD_SIZE;
+                ret.iids[i] = buf.getInt(off);
+                ret.constraintIndices[i] = buf.getInt(off + 4);
+                ret.setFlags(i, buf.getInt(off + 8));
+            }
+            ret.size = n;
+            return ret;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "", e);
+            return null;
+        } finally {
+            close(raf);
+        }
+    }
+
+    /**
+     * Stores this history in file.  Records that are already in the file
+     * are left alone; the rest of the file is rewritten and its length
+     * adjusted in place.
+     */
+    public void write(String file) {
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "rw");
+            FileChannel ch = raf.getChannel();
+            long oldLength = ch.size();
+            long newLength = HEADER_SIZE + (long) size * RECORD_SIZE;
+            int old = -1;
+            if (oldLength >= HEADER_SIZE) {
+                old = storedSize(readAt(ch, 0, HEADER_SIZE), oldLength);
+            }
+            if (oldLength != newLength) {
+                raf.setLength(newLength);
+            }
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, newLength);
+
+            int i = 0;
+            for (int n = Math.min(old, size); i < n; i++) {
+                int off = HEADER_SIZE + i * RECORD_SIZE;
+                if (buf.getInt(off) != iids[i] || buf.getInt(off + 4) != constraintIndices[i]
+                        || buf.getInt(off + 8) != flags(i)) {
+                    break;
+                }
+            }
+            for (; i < size; i++) {
+                int off = HEADER_SIZE + i * RECORD_SIZE;
+                buf.putInt(off, iids[i]);
+                buf.putInt(off + 4, constraintIndices[i]);
+                buf.putInt(off + 8, flags(i));
+            }
+            buf.putInt(0, MAGIC);
+            buf.putInt(4, VERSION);
+            buf.putInt(8, size);
+            buf.force();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "", e);
+            System.exit(1);
+        } finally {
+            close(raf);
+        }
+    }
+
+    /**
+     * Marks the branch at index as done directly in file.
+     */
+    public static void setDone(String file, int index) {
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "rw");
+            FileChannel ch = raf.getChannel();
+            long length = ch.size();
+            int n = -1;
+            if (length >= HEADER_SIZE) {
+                n = storedSize(readAt(ch, 0, HEADER_SIZE), length);
+            }
+            if (index < 0 || index >= n) {
+                throw new IOException("No element " + index + " in " + file);
+            }
+            long off = HEADER_SIZE + (long) index * RECORD_SIZE + 8;
+            ByteBuffer buf = readAt(ch, off, 4);
+            int flags = buf.getInt(0);
+            if ((flags & METHOD) != 0) {
+                throw new IOException("Element " + index + " in " + file + " is not a branch");
+            }
+            buf.putInt(0, flags | DONE);
+            ch.write(buf, off);
+            ch.force(false);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "", e);
+            System.exit(1);
+        } finally {
+            close(raf);
+        }
+    }
+
+    private static void close(RandomAccessFile raf) {
+        try {
+            if (raf != null) {
+                raf.close();
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "", e);
+        }
+    }
+}
@@ -38,6 +38,7 @@ import janala.interpreters.ConstraintVisitor;
 
 import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.Map;
 
 /**
  * Author: Koushik Sen (ksen@cs.berkeley.edu)
@@ -49,4 +50,16 @@ public interface Solver extends ConstraintVisitor {
     public void setInputs(LinkedList<InputElement> inputs);
     public void setPathConstraint(ArrayList<Constraint> pathConstraint);
     public void setPathConstraintIndex(int pathConstraintIndex);
+
+    /**
+     * Returns the assignment to x<i> and x<i>__<j> found by the last
+     * successful solve, or null if the solver does not report one.
+     */
+    public Map<String, Long> getSolution();
+
+    /**
+     * Returns true if the last solve returned false because the query was
+     * proven unsatisfiable, and false if the solver gave up on it.
+     */
+    public boolean isUnsat();
 }
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package janala.solvers;
+
+import gnu.trove.set.hash.TIntHashSet;
+import janala.interpreters.Constraint;
+import janala.interpreters.SymbolicTrueConstraint;
+import janala.utils.MyLogger;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Remembers the answers to solver queries within a campaign.  A query is
+ * keyed by the sorted text of its constraints, the last one negated.  A
+ * query is unsat if the key of an unsat query is a subset of its key, and
+ * sat if it has the key of a sat query or one of the recent models
+ * satisfies it.  Like the execution tree, the cache survives from one
+ * execution to the next.
+ */
+public class SolverCache implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int MAX_ENTRIES = 1024;
+    private static final int MAX_TRIES = 64;
+
+    private final static Logger logger = MyLogger.getLogger(SolverCache.class.getName());
+
+    private final ArrayList<String[]> unsat = new ArrayList<String[]>();
+    private final LinkedHashMap<String, TreeMap<String, Long>> models = new LinkedHashMap<String, TreeMap<String, Long>>();
+
+    /**
+     * Returns the key of a query whose last constraint is to be negated.
+     */
+    public static String[] key(List<Constraint> query) {
+        int n = query.size();
+        String[] ret = new String[n];
+        for (int i = 0; i < n - 1; i++) {
+            ret[i] = query.get(i).toString();
+        }
+        ret[n - 1] = "!(" + query.get(n - 1) + ")";
+        Arrays.sort(ret);
+        return ret;
+    }
+
+    private static String join(String[] key) {
+        StringBuilder sb = new StringBuilder();
+        for (String s : key) {
+            sb.append(s).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static boolean isSubset(String[] a, String[] b) {
+        int j = 0;
+        for (String s : a) {
+            while (j < b.length && b[j].compareTo(s) < 0) {
+                j++;
+            }
+            if (j == b.length || !b[j].equals(s)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if a query with a subset of these constraints was unsat.
+     */
+    public boolean isUnsat(String[] key) {
+        for (String[] u : unsat) {
+            if (u.length <= key.length && isSubset(u, key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean satisfies(List<Constraint> query, Map<String, Long> model) {
+        int n = query.size();
+        for (int i = 0; i < n - 1; i++) {
+            if (query.get(i).substitute(model) != SymbolicTrueConstraint.instance) {
+                return false;
+            }
+        }
+        return query.get(n - 1).not().substitute(model) == SymbolicTrueConstraint.instance;
+    }
+
+    /**
+     * Returns the part of model that assigns x<i> or x<i>__<j> for i in
+     * symbols.
+     */
+    private static TreeMap<String, Long> restrict(Map<String, Long> model, TIntHashSet symbols) {
+        TreeMap<String, Long> ret = new TreeMap<String, Long>();
+        for (Map.Entry<String, Long> e : model.entrySet()) {
+            String name = e.getKey();
+            int end = name.indexOf("__");
+            try {
+                int sym = Integer.parseInt(name.substring(1, end < 0 ? name.length() : end));
+                if (symbols.contains(sym)) {
+                    ret.put(name, e.getValue());
+                }
+            } catch (NumberFormatException ex) {
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Returns a model of query, or null if none is cached.  A model taken
+     * from another query is cut down to the symbols of this one, so that
+     * the other inputs keep their values.
+     */
+    public Map<String, Long> findModel(String[] key, List<Constraint> query) {
+        TreeMap<String, Long> ret = models.get(join(key));
+        if (ret != null) {
+            return ret;
+        }
+        TIntHashSet symbols = new TIntHashSet();
+        for (Constraint c : query) {
+            if (!ConstraintSlicer.collectSymbols(c, symbols)) {
+                return null;
+            }
+        }
+        ArrayList<TreeMap<String, Long>> recent = new ArrayList<TreeMap<String, Long>>(models.values());
+        for (int i = recent.size() - 1; i >= 0 && i >= recent.size() - MAX_TRIES; i--) {
+            if (satisfies(query, recent.get(i))) {
+                return restrict(recent.get(i), symbols);
+            }
+        }
+        return null;
+    }
+
+    public void addUnsat(String[] key) {
+        if (unsat.size() >= MAX_ENTRIES) {
+            unsat.remove(0);
+        }
+        unsat.add(key);
+    }
+
+    public void addModel(String[] key, Map<String, Long> model) {
+        if (models.size() >= MAX_ENTRIES) {
+            Iterator<String> it = models.keySet().iterator();
+            it.next();
+            it.remove();
+        }
+        models.put(join(key), new TreeMap<String, Long>(model));
+    }
+
+    public static SolverCache read(String file) {
+        ObjectInputStream inputStream = null;
+        try {
+            inputStream = new ObjectInputStream(new FileInputStream(file));
+            Object tmp = inputStream.readObject();
+            if (tmp instanceof SolverCache) {
+                return (SolverCache) tmp;
+            }
+        } catch (Exception e) {
+        } finally {
+            try {
+                if (inputStream != null) {
+                    inputStream.close();
+                }
+            } catch (IOException ex) {
+                logger.log(Level.WARNING, "", ex);
+            }
+        }
+        return new SolverCache();
+    }
+
+    public void write(String file) {
+        ObjectOutputStream outputStream;
+        try {
+            outputStream = new ObjectOutputStream(new FileOutputStream(file));
+            outputStream.writeObject(this);
+            outputStream.close();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "", e);
+            System.exit(1);
+        }
+    }
+}
@@ -42,4 +42,7 @@ import java.util.ArrayList;
  */
 public abstract class Strategy {
     abstract public int solve(ArrayList<Element> history, int historySize, History solver);
+
+    public void predictionFailed(History solver) {
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2012, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * 1. Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package janala.solvers;
+
+import java.util.ArrayList;
+
+/**
+ * Depth-first search guided by the execution tree of the campaign.  A branch
+ * is flipped only if the other side is still pending in the tree, so a side
+ * that was explored, proven unsat or missed by an earlier execution is never
+ * solved again, whatever path leads to it.
+ */
+public class TreeStrategy extends DFSStrategy {
+    private ExecutionTree tree;
+    private ExecutionTree.Node[] nodes;
+
+    @Override
+    public int solve(ArrayList<Element> history, int historySize, History solver) {
+        tree = solver.getExecutionTree();
+        nodes = tree.record(history, historySize);
+        int ret = super.solve(history, historySize, solver);
+        if (ret >= 0) {
+            tree.setTarget(nodes[ret], !((BranchElement)history.get(ret)).branch);
+        }
+        return ret;
+    }
+
+    @Override
+    public void predictionFailed(History solver) {
+        solver.getExecutionTree().targetMissed();
+    }
+
+    @Override
+    protected boolean isCandidate(int i, BranchElement current) {
+        return !current.done && current.pathConstraintIndex != -1
+                && tree.getStatus(nodes[i], !current.branch) == ExecutionTree.PENDING;
+    }
+
+    @Override
+    protected void unsat(int i, BranchElement current) {
+        tree.setStatus(nodes[i], !current.branch, ExecutionTree.UNSAT);
+    }
+}
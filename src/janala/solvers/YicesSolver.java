@@ -41,6 +41,7 @@ import janala.utils.MyLogger;
 import java.io.*;
 import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.TreeMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -70,6 +71,14 @@ public class YicesSolver implements Solver {
         //To change body of implemented methods use File | Settings | File Templates.
     }
 
+    public Map<String, Long> getSolution() {
+        return null;
+    }
+
+    public boolean isUnsat() {
+        return false;
+    }
+
     private Constraint initSolver(Constraint c) {
         if (first) {
             first = false;
@@ -89,6 +98,10 @@ public class YicesSolver implements Solver {
         throw new RuntimeException("Unimplemented feature");
     }
 
+    public void visitSymbolicArraySelect(SymbolicArraySelect c) {
+        throw new RuntimeException("Unimplemented feature");
+    }
+
     public void visitSymbolicOr(SymbolicOrConstraint c) {
         throw new RuntimeException("Unimplemented feature");
     }
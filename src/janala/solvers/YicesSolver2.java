@@ -41,6 +41,7 @@ import janala.utils.MyLogger;
 import java.io.*;
 import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.TreeMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -70,6 +71,14 @@ public class YicesSolver2 implements Solver {
         //To change body of implemented methods use File | Settings | File Templates.
     }
 
+    public Map<String, Long> getSolution() {
+        return null;
+    }
+
+    public boolean isUnsat() {
+        return false;
+    }
+
     private Constraint initSolver(Constraint c) {
         if (first) {
             first = false;
@@ -91,6 +100,12 @@ public class YicesSolver2 implements Solver {
         constraints.add(c2);
     }
 
+    public void visitSymbolicArraySelect(SymbolicArraySelect c) {
+        Constraint c2 = initSolver(c);
+        logger.log(Level.INFO,"{0}",c2);
+        constraints.add(c2);
+    }
+
     public void visitSymbolicOr(SymbolicOrConstraint c) {
         Constraint c2 = initSolver(c);
         logger.log(Level.INFO,"{0}",c2);
@@ -196,12 +211,79 @@ public class YicesSolver2 implements Solver {
             out.print("(NOT ");
             print(not.constraint,out);
             out.print(")");
+        } else if (con instanceof SymbolicArraySelect) {
+            SymbolicArraySelect c = (SymbolicArraySelect)con;
+            int n = c.length();
+            out.print("(and (>= ");
+            printLinear(c.subscript, 0, out);
+            out.print(" 0) (< ");
+            printLinear(c.subscript, 0, out);
+            out.print(" ");
+            out.print(n);
+            out.print(") (= ");
+            printLinear(c.value, c.valueConstant, out);
+            out.print(" ");
+            int nRuns = 0;
+            for (int i = 0, end = c.runEnd(0); ; i = end + 1, end = c.runEnd(i)) {
+                if (end == n - 1) {
+                    printLinear(c.symbolic[i], c.concrete[i], out);
+                    break;
+                }
+                out.print("(ite (<= ");
+                printLinear(c.subscript, 0, out);
+                out.print(" ");
+                out.print(end);
+                out.print(") ");
+                printLinear(c.symbolic[i], c.concrete[i], out);
+                out.print(" ");
+                nRuns++;
+            }
+            for (int i = 0; i < nRuns; i++) {
+                out.print(")");
+            }
+            out.print("))");
         } else {
             throw new RuntimeException("Unimplemented constraint type "+con);
         }
 
     }
 
+    /**
+     * Prints the linear expression e, or the constant c if e is null.
+     */
+    private void printLinear(SymbolicInt e, long c, PrintStream out) {
+        if (e == null) {
+            if (c < 0) {
+                out.print("(- 0 ");
+                out.print(-c);
+                out.print(")");
+            } else {
+                out.print(c);
+            }
+            return;
+        }
+        out.print("(+ ");
+        for ( TIntLongIterator it = e.linear.iterator(); it.hasNext(); ) {
+            it.advance();
+
+            int key = it.key();
+            long val = it.value();
+            if (val < 0) {
+                out.print("(* (- 0 ");
+                out.print(-val);
+                out.print(") x");
+            } else {
+                out.print("(* ");
+                out.print(val);
+                out.print(" x");
+            }
+            out.print(key);
+            out.print(") ");
+        }
+        printLinear(null, e.constant, out);
+        out.print(")");
+    }
+
     public boolean solve() {
         try {
             PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(Config.instance.formulaFile)));
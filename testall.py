@@ -102,14 +102,14 @@ tests = ["5 tests.test_q1_q4_min",
     "6 tests.DBInsertTest",
     "5 tests.OrAssumptionTest",
     "4 tests.OrAssumptionTest2",
-    "5 tests.AssertIfPossibleTest1",
+    "6 tests.AssertIfPossibleTest1",
     "10 tests.AssertIfPossibleTest2",
     "79 tests.ManyColumnsOrRecords",
-    "7 tests.AbstractionTest1",
+    "8 tests.AbstractionTest1",
     "14 tests.AbstractionTest2",
     "7 tests.DataAnnotation6",
     "5 tests.DataAnnotation7",
-    "100 tests.ManyColumnsRecords2",
+    "101 tests.ManyColumnsRecords2",
     "29 tests.QSort",
     "29 tests.QSortLong",
     "25 tests.InsertionSort",
@@ -0,0 +1,103 @@
+# Copyright (c) 2014, NTT Multimedia Communications Laboratories, Inc. and Koushik Sen
+#
+# All rights reserved.
+#
+# Redistribution and use in source and binary forms, with or without
+# modification, are permitted provided that the following conditions are
+# met:
+#
+# 1. Redistributions of source code must retain the above copyright
+# notice, this list of conditions and the following disclaimer.
+#
+# 2. Redistributions in binary form must reproduce the above copyright
+# notice, this list of conditions and the following disclaimer in the
+# documentation and/or other materials provided with the distribution.
+#
+# THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+# "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+# LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+# A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+# HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+# SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+# LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+# DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+# THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+# (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+# OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+# Runs each test with CampaignRunner and with ParallelCampaign and checks
+# that both write the same verdict to the test log as concolic.py would.
+import argparse
+import os
+import shutil
+import subprocess
+import shlex
+import platform
+import sys
+
+def getArguments ():
+    parser = argparse.ArgumentParser()
+    parser.add_argument("-w", "--workers", help="Number of executions ParallelCampaign runs at once.", type=int, default=2)
+    parser.add_argument("-v", "--verbose", help="Print commands that are executed.", action="store_true")
+    args = parser.parse_args()
+    return args
+
+def verdict (cmd, windows):
+    catg_tmp_dir = "catg_tmp"
+    try:
+        shutil.rmtree(catg_tmp_dir)
+    except: pass
+    os.mkdir(catg_tmp_dir)
+    os.chdir(catg_tmp_dir)
+    subprocess.call(shlex.split(cmd), shell=windows)
+    try:
+        with open("test.log", 'r') as f:
+            ret = f.read().strip()
+    except IOError:
+        ret = "no verdict"
+    os.chdir("..")
+    return ret
+
+
+args = getArguments()
+
+if platform.system() == "Windows":
+    sep = ";"
+    windows=True
+else:
+    sep = ":"
+    windows=False
+catg_home = os.path.abspath(os.path.dirname(__file__)).replace("\\","/")+"/"
+classpath = catg_home+"out/production/tests"+sep+catg_home+"out/production/janala"+sep+catg_home+"lib/asm-all-3.3.1.jar"+sep+catg_home+"lib/trove-3.0.3.jar"+sep+catg_home+"lib/automaton.jar"+sep+catg_home+"lib/iagent.jar"
+java = "java -Djanala.conf="+catg_home+"catg.conf -cp "+classpath+" "
+
+# ParallelCampaign does not refine abstractions, so the Abstraction tests
+# are left out.  The last two budgets are one execution too large, so both
+# campaigns must fail them.
+tests = ["4 tests.Testme",
+    "4 tests.TestmeLong",
+    "3 tests.Array1",
+    "5 tests.BoolTest3",
+    "5 tests.Linear",
+    "8 tests.SwitchTest",
+    "25 tests.InsertionSort",
+    "5 tests.Testme",
+    "4 tests.Array1"]
+
+failed = 0
+for test in tests:
+    serial = java+"janala.campaign.CampaignRunner "+test
+    parallel = java+"janala.campaign.ParallelCampaign "+str(args.workers)+" "+test
+    if args.verbose:
+        print(serial)
+        print(parallel)
+    expected = verdict(serial, windows)
+    actual = verdict(parallel, windows)
+    if expected == actual:
+        print("same verdict: "+expected)
+    else:
+        failed = failed + 1
+        print("****************** different verdicts for "+test+": CampaignRunner says '"+expected+"', ParallelCampaign says '"+actual+"'")
+
+if failed > 0:
+    sys.exit(1)